@@ -0,0 +1,76 @@
+package com.example.device.api.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Enables the device caches.
+ *
+ * <p>The cache manager itself is auto-configured from {@code spring.cache.*}
+ * (Caffeine, bounded size, TTL and statistics); caches that need a different
+ * policy are registered here.</p>
+ */
+@Configuration
+@EnableCaching
+public class DeviceCacheConfig {
+
+    /**
+     * {@code id -> DeviceResponse}.
+     */
+    public static final String DEVICES_BY_ID = "devicesById";
+
+    /**
+     * {@code (brand, name) -> DeviceResponse}, see {@link DeviceCacheKeys#brandAndName}.
+     */
+    public static final String DEVICES_BY_BRAND_AND_NAME = "devicesByBrandAndName";
+
+    /**
+     * {@code DeviceFilter -> total count}. Not evicted on writes,
+     * so it uses a short TTL of its own.
+     */
+    public static final String DEVICE_COUNTS = "deviceCounts";
+
+    /**
+     * On virtual threads, {@code @Cacheable(sync = true)} must not load inside Caffeine's
+     * map lock ({@code synchronized}): a loader waiting there for a database connection pins
+     * its carrier, and a few of those stall every virtual thread. In async mode the map only
+     * holds a future while the load runs on a virtual thread of its own, so waiting for it
+     * is an ordinary park. Runs first, so later customizers see the async manager.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public CacheManagerCustomizer<CaffeineCacheManager> virtualThreadCacheCustomizer(CacheProperties cacheProperties) {
+        ThreadFactory loaders = Thread.ofVirtual().name("cache-loader-", 0).factory();
+        return cacheManager -> {
+            cacheManager.setCaffeine(Caffeine.from(cacheProperties.getCaffeine().getSpec())
+                    .executor(task -> loaders.newThread(task).start()));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> deviceCountsCacheCustomizer(
+            @Value("${device.cache.counts.ttl:PT30S}") Duration ttl,
+            @Value("${device.cache.counts.maximum-size:1000}") long maximumSize) {
+        return cacheManager -> cacheManager.registerCustomCache(DEVICE_COUNTS,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build());
+    }
+}
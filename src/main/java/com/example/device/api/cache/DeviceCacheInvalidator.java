@@ -0,0 +1,87 @@
+package com.example.device.api.cache;
+
+import com.example.device.api.event.DeviceChange;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.event.DevicesSeenEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+
+/**
+ * Evicts cached lookups of changed devices.
+ *
+ * <p>Runs on the writing thread right after commit, before the write returns to the client.
+ * Evicting before commit would let a concurrent read cache the old row again in the gap;
+ * a lookup still loading when the eviction happens is waited for and then discarded.</p>
+ *
+ * <p>Heartbeat flushes change no device, but move {@code lastSeenAt} of the cached responses;
+ * their devices are evicted the same way.</p>
+ *
+ * <p>Events touching more than {@code device.cache.bulk-clear-threshold} devices clear both
+ * caches at once instead of evicting every device, which costs one hash probe per key.</p>
+ */
+@Slf4j
+@Component
+public class DeviceCacheInvalidator {
+
+    private final Cache byId;
+    private final Cache byBrandAndName;
+    private final int bulkClearThreshold;
+
+    public DeviceCacheInvalidator(CacheManager cacheManager,
+                                  @Value("${device.cache.bulk-clear-threshold:1000}") int bulkClearThreshold) {
+        this.byId = Objects.requireNonNull(cacheManager.getCache(DeviceCacheConfig.DEVICES_BY_ID));
+        this.byBrandAndName = Objects.requireNonNull(
+                cacheManager.getCache(DeviceCacheConfig.DEVICES_BY_BRAND_AND_NAME));
+        this.bulkClearThreshold = bulkClearThreshold;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        if (clearIfMore(event.changes().size())) {
+            return;
+        }
+        for (DeviceChange change : event.changes()) {
+            evict(change.before());
+            evict(change.after());
+        }
+    }
+
+    /**
+     * The heartbeat flush writes without a transaction, so this runs right after its update.
+     */
+    @EventListener
+    public void onDevicesSeen(DevicesSeenEvent event) {
+        if (clearIfMore(event.seen().size())) {
+            return;
+        }
+        event.seen().forEach(this::evict);
+    }
+
+    private boolean clearIfMore(int devices) {
+        if (devices <= bulkClearThreshold) {
+            return false;
+        }
+        log.debug("Clearing device caches after {} changes", devices);
+        byId.clear();
+        byBrandAndName.clear();
+        return true;
+    }
+
+    private void evict(DeviceSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        log.debug("Evicting cached device id={}", snapshot.id());
+        byId.evict(snapshot.id());
+        byBrandAndName.evict(DeviceCacheKeys.brandAndName(snapshot.brand(), snapshot.name()));
+    }
+}
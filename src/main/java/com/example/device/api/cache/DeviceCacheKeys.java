@@ -0,0 +1,20 @@
+package com.example.device.api.cache;
+
+import lombok.experimental.UtilityClass;
+
+import static com.example.device.api.utils.StringUtil.normalize;
+
+@UtilityClass
+public class DeviceCacheKeys {
+
+    public record BrandAndName(String brand, String name) {
+    }
+
+    /**
+     * Cache key of a brand + name lookup. Inputs are normalized the same way
+     * the query is, so {@code " Apple"} and {@code "Apple"} share one entry.
+     */
+    public static BrandAndName brandAndName(String brand, String name) {
+        return new BrandAndName(normalize(brand), normalize(name));
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.device.api.controller;
 
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.requests.DeviceStateTransitionRequest;
 import com.example.device.api.dto.requests.PatchDeviceRequest;
 import com.example.device.api.dto.requests.UpdateDeviceRequest;
 import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.dto.responses.DeviceStateTransitionResponse;
+import com.example.device.api.dto.responses.DeviceUpsertResult;
 import com.example.device.api.exception.dto.ErrorDetailsDto;
 import com.example.device.api.service.CommandDeviceService;
+import com.example.device.api.utils.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,13 +19,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import static org.springframework.util.MimeTypeUtils.APPLICATION_JSON_VALUE;
 
 /**
- * Handles update operations (PUT, PATCH) for device resources.
+ * Handles update operations (PUT, PATCH, upsert, bulk state transitions) for device resources.
  */
 @RestController
 @RequestMapping("/device-api")
@@ -37,11 +45,13 @@ public class CommandDeviceController {
      *     <li>Name & brand CANNOT be updated if the device is IN_USE</li>
      *     <li>Brand + name pair must remain unique</li>
      *     <li>createdAt cannot be modified</li>
+     *     <li>With {@code If-Match}, the device must exist and still be at one of the listed versions (412 otherwise)</li>
      * </ul>
      *
-     * @param id device ID
+     * @param id      device ID
+     * @param ifMatch optional {@code ETag} of the device as last read
      * @param request update payload containing ALL updatable fields
-     * @return updated device response
+     * @return updated device response with its new {@code ETag}
      */
     @Operation(
             operationId = "updateDevice",
@@ -52,6 +62,7 @@ public class CommandDeviceController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Device updated successfully",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "Current version of the device"),
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = DeviceResponse.class)
@@ -73,6 +84,14 @@ public class CommandDeviceController {
                             schema = @Schema(implementation = ErrorDetailsDto.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "If-Match does not match the current device version, or the device does not exist",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "409",
                     description = "Device with the same brand + name already exists",
@@ -93,10 +112,12 @@ public class CommandDeviceController {
     @PutMapping(value = "/{id}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<DeviceResponse> updateDevice(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateDeviceRequest request
     ) {
-        log.info("PUT update device id={}", id);
-        return ResponseEntity.ok(commandService.updateDevice(id, request));
+        log.debug("PUT update device id={}, ifMatch={}", id, ifMatch);
+        DeviceResponse device = commandService.updateDevice(id, request, ETagUtils.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtils.of(device.getVersion())).body(device);
     }
 
     /**
@@ -107,11 +128,13 @@ public class CommandDeviceController {
      *     <li>Only provided fields are updated</li>
      *     <li>Name & brand cannot change if the device is IN_USE</li>
      *     <li>Brand + name must remain unique</li>
+     *     <li>With {@code If-Match}, the device must exist and still be at one of the listed versions (412 otherwise)</li>
      * </ul>
      *
-     * @param id device ID
+     * @param id      device ID
+     * @param ifMatch optional {@code ETag} of the device as last read
      * @param request partial update payload
-     * @return updated device response
+     * @return updated device response with its new {@code ETag}
      */
     @Operation(
             operationId = "patchDevice",
@@ -122,6 +145,7 @@ public class CommandDeviceController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Device patched successfully",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "Current version of the device"),
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = DeviceResponse.class)
@@ -143,6 +167,14 @@ public class CommandDeviceController {
                             schema = @Schema(implementation = ErrorDetailsDto.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "If-Match does not match the current device version, or the device does not exist",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "409",
                     description = "Device with the same brand + name already exists",
@@ -155,9 +187,119 @@ public class CommandDeviceController {
     @PatchMapping(value = "/{id}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<DeviceResponse> patchDevice(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody PatchDeviceRequest request
     ) {
-        log.info("PATCH update device id={}", id);
-        return ResponseEntity.ok(commandService.patchDevice(id, request));
+        log.debug("PATCH update device id={}, ifMatch={}", id, ifMatch);
+        DeviceResponse device = commandService.patchDevice(id, request, ETagUtils.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETagUtils.of(device.getVersion())).body(device);
+    }
+
+    /**
+     * {@code PUT /device-api/devices} : Create or update a device identified by brand + name.
+     *
+     * <p>One statement and one round trip: the device is created if no device with the
+     * same brand and name exists, otherwise its state is set. Intended for clients that
+     * synchronize devices from another system.</p>
+     *
+     * @param request full device representation; brand + name identify the device
+     * @return 201 with the created device, or 200 with the updated device
+     */
+    @Operation(
+            operationId = "upsertDevice",
+            summary = "Create or update a device by brand + name",
+            tags = {"Command"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Existing device updated (or already up to date)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DeviceResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Device created",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DeviceResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unexpected server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            )
+    })
+    @PutMapping(value = "/devices", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<DeviceResponse> upsertDevice(@Valid @RequestBody CreateDeviceRequest request) {
+        log.debug("PUT upsert device brand={}, name={}", request.getBrand(), request.getName());
+
+        DeviceUpsertResult result = commandService.upsertDevice(request);
+        return ResponseEntity.status(result.created() ? HttpStatus.CREATED : HttpStatus.OK)
+                .eTag(ETagUtils.of(result.device().getVersion()))
+                .body(result.device());
+    }
+
+    /**
+     * {@code POST /device-api/devices/state} : Move many devices to one state.
+     *
+     * <p>Devices are selected by an id list or by criteria (the filters of {@code GET /devices})
+     * and written with a single statement. Devices already in the target state and unknown ids
+     * are counted as skipped.</p>
+     *
+     * @param request ids or filter, and the target state
+     * @return affected and skipped counts
+     */
+    @Operation(
+            operationId = "transitionDeviceStates",
+            summary = "Move devices selected by ids or filter to one state",
+            tags = {"Command"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Devices transitioned",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DeviceStateTransitionResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request, both or neither of ids and filter, or empty filter",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unexpected server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            )
+    })
+    @PostMapping(value = "/devices/state", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<DeviceStateTransitionResponse> transitionStates(
+            @Valid @RequestBody DeviceStateTransitionRequest request
+    ) {
+        log.debug("POST transition devices to {}", request.getTargetState());
+        return ResponseEntity.ok(commandService.transitionStates(request));
     }
 }
@@ -1,6 +1,8 @@
 package com.example.device.api.controller;
 
+import com.example.device.api.dto.requests.BatchCreateDeviceRequest;
 import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.responses.BatchCreateDeviceResponse;
 import com.example.device.api.dto.responses.DeviceResponse;
 import com.example.device.api.exception.dto.ErrorDetailsDto;
 import com.example.device.api.service.CreateDeviceService;
@@ -53,10 +55,42 @@ public class CreateDeviceController {
     public ResponseEntity<DeviceResponse> createDevice(
             @Valid @RequestBody CreateDeviceRequest request) {
 
-        log.info("Creating device: name={}, brand={}, state={}",
+        log.debug("Creating device: name={}, brand={}, state={}",
                 request.getName(), request.getBrand(),  request.getState());
 
         DeviceResponse response = createDeviceService.createDevice(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
+
+    /**
+     * POST /device-api/devices/batch : Create many devices in one call.
+     *
+     * <p>Existing and repeated brand + name pairs do not fail the request,
+     * they are reported per item.</p>
+     *
+     * @param request devices to create, at most {@value BatchCreateDeviceRequest#MAX_DEVICES}.
+     * @return BatchCreateDeviceResponse with one result per requested device.
+     */
+    @Operation(
+            summary = "Create many devices in one call",
+            tags = {"Create"}
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per-item outcomes",
+                    content = @Content(schema = @Schema(implementation = BatchCreateDeviceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request, no devices or too many devices",
+                    content = @Content(schema = @Schema(implementation = ErrorDetailsDto.class))),
+            @ApiResponse(responseCode = "409", description = "A device was created concurrently with the same brand and name",
+                    content = @Content(schema = @Schema(implementation = ErrorDetailsDto.class))),
+            @ApiResponse(responseCode = "500", description = "Unexpected server error",
+                    content = @Content(schema = @Schema(implementation = ErrorDetailsDto.class)))
+    })
+    @PostMapping(path = "/devices/batch", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchCreateDeviceResponse> createDevices(
+            @Valid @RequestBody BatchCreateDeviceRequest request) {
+
+        log.debug("Creating batch of {} devices", request.getDevices().size());
+
+        return ResponseEntity.ok(createDeviceService.createDevices(request));
+    }
 }
@@ -1,18 +1,26 @@
 package com.example.device.api.controller;
 
+import com.example.device.api.dto.requests.BulkDeleteDeviceRequest;
+import com.example.device.api.dto.responses.BulkDeleteDeviceResponse;
 import com.example.device.api.exception.dto.ErrorDetailsDto;
 import com.example.device.api.service.DeleteDeviceService;
+import com.example.device.api.utils.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -38,9 +46,11 @@ public class DeleteDeviceController {
      * <ul>
      *     <li>Device must exist, otherwise 404 is returned</li>
      *     <li>Device cannot be deleted if its state is IN_USE (403)</li>
+     *     <li>With {@code If-Match}, the device must exist and still be at one of the listed versions (412 otherwise)</li>
      * </ul>
      *
-     * @param id ID of the device to delete
+     * @param id      ID of the device to delete
+     * @param ifMatch optional {@code ETag} of the device as last read
      * @return HTTP 204 No Content if deletion is successful
      */
     @Operation(
@@ -70,6 +80,14 @@ public class DeleteDeviceController {
                             schema = @Schema(implementation = ErrorDetailsDto.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "If-Match does not match the current device version, or the device does not exist",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Unexpected server error",
@@ -80,12 +98,64 @@ public class DeleteDeviceController {
             )
     })
     @DeleteMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE)
-    public ResponseEntity<Void> deleteDevice(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteDevice(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        log.info("Request to delete device id={}", id);
+        log.debug("Request to delete device id={}, ifMatch={}", id, ifMatch);
 
-        deleteService.deleteDevice(id);
+        deleteService.deleteDevice(id, ETagUtils.parseIfMatch(ifMatch));
 
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * {@code POST /device-api/devices/delete} : Delete many devices by ids or filter.
+     *
+     * <p>Devices in state IN_USE are kept. The devices are deleted in chunks with one statement
+     * each, without loading them first; for ids the response tells for every id whether it was
+     * deleted, is in use or does not exist. A filter commits chunk by chunk and returns totals only.</p>
+     *
+     * @param request ids or filter
+     * @return totals, and per-id outcomes for ids
+     */
+    @Operation(
+            operationId = "deleteDevices",
+            summary = "Delete devices selected by ids or filter",
+            description = "Deletes all selected devices that are not in use.",
+            tags = {"Devices"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Selected devices processed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkDeleteDeviceResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request, both or neither of ids and filter, or empty filter",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unexpected server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            )
+    })
+    @PostMapping(value = "/devices/delete", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkDeleteDeviceResponse> deleteDevices(@Valid @RequestBody BulkDeleteDeviceRequest request) {
+
+        log.debug("Request to bulk delete devices");
+
+        return ResponseEntity.ok(deleteService.deleteDevices(request));
+    }
 }
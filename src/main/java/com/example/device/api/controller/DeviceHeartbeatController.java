@@ -0,0 +1,64 @@
+package com.example.device.api.controller;
+
+import com.example.device.api.exception.dto.ErrorDetailsDto;
+import com.example.device.api.service.DeviceHeartbeatService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Receives device heartbeats.
+ */
+@RestController
+@RequestMapping("/device-api")
+@RequiredArgsConstructor
+public class DeviceHeartbeatController {
+
+    private final DeviceHeartbeatService heartbeatService;
+
+    /**
+     * {@code POST /device-api/{id}/heartbeat} : Record that a device has been seen.
+     *
+     * <p>The heartbeat is buffered and written with the next batch, so the response does not
+     * wait for the database. Heartbeats of unknown devices are accepted and dropped on write.
+     * Not logged per request: devices report several times per second.</p>
+     *
+     * @param id device ID
+     * @return empty response
+     */
+    @Operation(
+            operationId = "recordHeartbeat",
+            summary = "Record that a device has been seen",
+            tags = {"Heartbeat"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Heartbeat accepted"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Heartbeat buffer is full, retry later",
+                    headers = @Header(name = HttpHeaders.RETRY_AFTER, description = "Seconds to wait before retrying"),
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            )
+    })
+    @PostMapping("/{id}/heartbeat")
+    public ResponseEntity<Void> recordHeartbeat(@PathVariable Long id) {
+        heartbeatService.recordHeartbeat(id);
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.device.api.controller;
+
+import com.example.device.api.dto.responses.DeviceStatisticsResponse;
+import com.example.device.api.exception.dto.ErrorDetailsDto;
+import com.example.device.api.service.DeviceStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Exposes inventory statistics (device counts per state and per brand).
+ */
+@RestController
+@RequestMapping("/device-api")
+@RequiredArgsConstructor
+@Slf4j
+public class DeviceStatisticsController {
+
+    private final DeviceStatisticsService statisticsService;
+
+    /**
+     * {@code GET /device-api/devices/statistics} : Device counts per state and per brand.
+     *
+     * <p>Served from in-memory counters; no table scan per request.</p>
+     *
+     * @return device histograms
+     */
+    @Operation(
+            operationId = "getDeviceStatistics",
+            summary = "Device counts per state and per brand",
+            tags = {"Statistics"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Device histograms",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DeviceStatisticsResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unexpected server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            )
+    })
+    @GetMapping(value = "/devices/statistics", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<DeviceStatisticsResponse> getStatistics() {
+        log.debug("Fetching device statistics");
+        return ResponseEntity.ok(statisticsService.getStatistics());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.device.api.controller;
+
+import com.example.device.api.dto.requests.DeviceExportRequest;
+import com.example.device.api.exception.dto.ErrorDetailsDto;
+import com.example.device.api.service.ExportDeviceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the device inventory as NDJSON or CSV.
+ * The response is written on an async thread while rows are read from the database.
+ */
+@RestController
+@RequestMapping("/device-api")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportDeviceController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportDeviceService exportDeviceService;
+
+    /**
+     * {@code GET /device-api/devices/export} :
+     * Export all devices matching the optional filters (brand, name, state, nameContains, brandPrefix).
+     *
+     * <p>Rows are written as they are read, so memory use does not depend on the export size.
+     * With {@code gzip=true} the body is compressed on the fly and sent with
+     * {@code Content-Encoding: gzip}.</p>
+     *
+     * @param request filters, output format and compression flag
+     * @return streamed export body
+     */
+    @Operation(
+            operationId = "exportDevices",
+            summary = "Stream devices as NDJSON or CSV with optional filters",
+            tags = {"Export"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Device export stream",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid filter or format",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            )
+    })
+    @GetMapping("/devices/export")
+    public ResponseEntity<StreamingResponseBody> exportDevices(
+            @ParameterObject @Valid DeviceExportRequest request) {
+
+        log.debug("Exporting devices with brand={}, name={}, state={}, nameContains={}, brandPrefix={}, "
+                        + "format={}, gzip={}",
+                request.getBrand(),
+                request.getName(),
+                request.getState(),
+                request.getNameContains(),
+                request.getBrandPrefix(),
+                request.getFormat(),
+                request.isGzip()
+        );
+
+        String fileName = "devices." + request.getFormat().getFileExtension()
+                + (request.isGzip() ? ".gz" : "");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(request.getFormat().getMediaType()));
+        headers.setContentDisposition(ContentDisposition.attachment().filename(fileName).build());
+        if (request.isGzip()) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody body = out -> {
+            if (request.isGzip()) {
+                GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                exportDeviceService.exportDevices(request, gzip);
+                gzip.finish();
+            } else {
+                exportDeviceService.exportDevices(request, out);
+            }
+        };
+
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.device.api.controller;
+
+import com.example.device.api.dto.requests.ExportFormat;
+import com.example.device.api.dto.responses.DeviceImportReport;
+import com.example.device.api.exception.dto.ErrorDetailsDto;
+import com.example.device.api.service.ImportDeviceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Bulk loads devices from NDJSON or CSV, e.g. the output of the export endpoint.
+ */
+@RestController
+@RequestMapping("/device-api")
+@RequiredArgsConstructor
+@Slf4j
+public class ImportDeviceController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ImportDeviceService importDeviceService;
+
+    /**
+     * {@code POST /device-api/devices/import} :
+     * Import devices from the request body.
+     *
+     * <p>The body is streamed into the database, so its size is not limited by memory.
+     * A CSV body starts with a header row naming its columns ({@code name}, {@code brand},
+     * {@code state}; {@code id} and {@code createdAt} are ignored). A body sent with
+     * {@code Content-Encoding: gzip} is decompressed on the fly.</p>
+     *
+     * @param format          body format
+     * @param contentEncoding optional {@code gzip} content encoding
+     * @param body            request body
+     * @return import report with the rejected rows and reasons
+     */
+    @Operation(
+            operationId = "importDevices",
+            summary = "Bulk import devices from NDJSON or CSV",
+            tags = {"Import"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import report",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DeviceImportReport.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty body, unknown CSV columns or malformed CSV",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            )
+    })
+    @PostMapping(path = "/devices/import", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<DeviceImportReport> importDevices(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @Parameter(hidden = true) InputStream body) throws IOException {
+
+        boolean gzip = "gzip".equalsIgnoreCase(contentEncoding);
+        log.debug("Importing devices, format={}, gzip={}", format, gzip);
+
+        InputStream in = gzip ? new GZIPInputStream(body, GZIP_BUFFER_SIZE) : body;
+        return ResponseEntity.ok(importDeviceService.importDevices(format, in));
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.device.api.controller;
 
 import com.example.device.api.dto.requests.DeviceFilterRequest;
+import com.example.device.api.dto.requests.DeviceLookupRequest;
+import com.example.device.api.dto.requests.DeviceResolveRequest;
+import com.example.device.api.dto.responses.DeviceLookupResponse;
+import com.example.device.api.dto.responses.DeviceResolution;
 import com.example.device.api.dto.responses.DeviceResponse;
 import com.example.device.api.exception.dto.ErrorDetailsDto;
 import com.example.device.api.service.QueryDeviceService;
+import com.example.device.api.utils.CursorUtils;
+import com.example.device.api.utils.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,6 +21,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,8 +30,9 @@ import java.util.List;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 /**
- * Handles all read-only operations for devices (GET endpoints).
- * Supports filtering, offset-based pagination, and direct lookups by ID or brand/name pair.
+ * Handles all read-only operations for devices.
+ * Supports filtering, offset and keyset (cursor) pagination, direct lookups by ID or brand/name pair,
+ * and multi-get by IDs or brand/name pairs.
  */
 @RestController
 @RequestMapping("/device-api")
@@ -31,11 +40,17 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @Slf4j
 public class QueryDeviceController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final QueryDeviceService queryDeviceService;
 
     /**
      * {@code GET /device-api/{id}} : Fetch a device by its ID.
      *
+     * <p>The {@code ETag} header carries the device version; send it back in {@code If-Match}
+     * to make an update or delete conditional, or in {@code If-None-Match} to get 304 if unchanged.</p>
+     *
      * @param id ID of the device to fetch.
      * @return a {@link DeviceResponse} if found, or 404 error response.
      */
@@ -48,6 +63,7 @@ public class QueryDeviceController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Device found",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "Current version of the device"),
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = DeviceResponse.class)
@@ -72,13 +88,15 @@ public class QueryDeviceController {
     })
     @GetMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<DeviceResponse> getDeviceById(@PathVariable Long id) {
-        log.info("Fetching device by id={}", id);
-        return ResponseEntity.ok(queryDeviceService.getDeviceById(id));
+        log.debug("Fetching device by id={}", id);
+        DeviceResponse device = queryDeviceService.getDeviceById(id);
+        return ResponseEntity.ok().eTag(ETagUtils.of(device.getVersion())).body(device);
     }
 
     /**
      * {@code GET /device-api/devices} :
-     * Fetch devices using optional filters (brand, name, state) and offset-based pagination.
+     * Fetch devices using optional filters (brand, name, state, nameContains, brandPrefix)
+     * and offset or cursor pagination.
      *
      * <p>If pagination parameters are not provided:
      * <ul>
@@ -86,7 +104,18 @@ public class QueryDeviceController {
      *     <li>offset = 0 (default)</li>
      * </ul>
      *
-     * @param request filtering + pagination parameters (brand, name, state, limit, offset)
+     * <p>When a page is full, the {@code X-Next-Cursor} header carries an opaque cursor for the
+     * next page. Passing it back as {@code cursor} switches to keyset pagination, whose latency
+     * does not grow with the page depth.</p>
+     *
+     * <p>With {@code count=EXACT|ESTIMATE|CACHED} the total number of devices matching the
+     * filters is returned in the {@code X-Total-Count} header.</p>
+     *
+     * <p>{@code nameContains} and {@code brandPrefix} match case-insensitively and are served by
+     * trigram indexes.</p>
+     *
+     * @param request filtering + pagination parameters (brand, name, state, nameContains, brandPrefix,
+     *                limit, offset, cursor, count)
      * @return list of devices matching filters and paging rules
      */
     @Operation(
@@ -98,11 +127,29 @@ public class QueryDeviceController {
             @ApiResponse(
                     responseCode = "200",
                     description = "List of devices",
+                    headers = {
+                            @Header(
+                                    name = NEXT_CURSOR_HEADER,
+                                    description = "Cursor for the next page, present when the page is full"
+                            ),
+                            @Header(
+                                    name = TOTAL_COUNT_HEADER,
+                                    description = "Total number of matching devices, present when count is set"
+                            )
+                    },
                     content = @Content(
                             mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = DeviceResponse.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid filter, pagination parameters or cursor",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal server error",
@@ -116,16 +163,32 @@ public class QueryDeviceController {
     public ResponseEntity<List<DeviceResponse>> getDevices(
             @ParameterObject @Valid DeviceFilterRequest request) {
 
-        log.info(
-                "Fetching devices with brand={}, name={}, state={}, limit={}, offset={}",
+        log.debug(
+                "Fetching devices with brand={}, name={}, state={}, nameContains={}, brandPrefix={}, "
+                        + "limit={}, offset={}, cursor={}, count={}",
                 request.getBrand(),
                 request.getName(),
                 request.getState(),
+                request.getNameContains(),
+                request.getBrandPrefix(),
                 request.getLimit(),
-                request.getOffset()
+                request.getOffset(),
+                request.getCursor(),
+                request.getCount()
         );
 
-        return ResponseEntity.ok(queryDeviceService.getDevices(request));
+        List<DeviceResponse> devices = queryDeviceService.getDevices(request);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (!devices.isEmpty() && devices.size() >= request.getLimit()) {
+            DeviceResponse last = devices.getLast();
+            headers.add(NEXT_CURSOR_HEADER, CursorUtils.encode(last.getCreatedAt(), last.getId()));
+        }
+        if (request.getCount() != null) {
+            headers.add(TOTAL_COUNT_HEADER, String.valueOf(queryDeviceService.countDevices(request)));
+        }
+
+        return ResponseEntity.ok().headers(headers).body(devices);
     }
 
     /**
@@ -134,7 +197,7 @@ public class QueryDeviceController {
      *
      * @param brand device brand (required)
      * @param name  device name (required)
-     * @return a single {@link DeviceResponse} or 404 if not found
+     * @return a single {@link DeviceResponse} with its {@code ETag}, or 404 if not found
      */
     @Operation(
             operationId = "getDeviceByBrandAndName",
@@ -145,6 +208,7 @@ public class QueryDeviceController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Device found",
+                    headers = @Header(name = HttpHeaders.ETAG, description = "Current version of the device"),
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = DeviceResponse.class)
@@ -172,8 +236,98 @@ public class QueryDeviceController {
             @RequestParam  String brand,
             @RequestParam  String name
     ) {
-        log.info("Fetching device by brand={} and name={}", brand, name);
-        return ResponseEntity.ok(queryDeviceService.getDeviceByBrandAndName(brand, name));
+        log.debug("Fetching device by brand={} and name={}", brand, name);
+        DeviceResponse device = queryDeviceService.getDeviceByBrandAndName(brand, name);
+        return ResponseEntity.ok().eTag(ETagUtils.of(device.getVersion())).body(device);
+    }
+
+    /**
+     * {@code POST /device-api/devices/lookup} :
+     * Fetch many devices by ID with a single query.
+     *
+     * @param request IDs to fetch (at most {@value DeviceLookupRequest#MAX_IDS})
+     * @return found devices and the IDs that do not exist
+     */
+    @Operation(
+            operationId = "getDevicesByIds",
+            summary = "Fetch many devices by ID in one call",
+            tags = {"Query"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Found devices and missing IDs",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = DeviceLookupResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No IDs or too many IDs",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unexpected server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            )
+    })
+    @PostMapping(value = "/devices/lookup", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<DeviceLookupResponse> getDevicesByIds(
+            @Valid @RequestBody DeviceLookupRequest request) {
+        log.debug("Fetching {} devices by id", request.getIds().length);
+        return ResponseEntity.ok(queryDeviceService.getDevicesByIds(request.getIds()));
     }
-}
 
+    /**
+     * {@code POST /device-api/search/bulk} :
+     * Resolve many brand + name pairs with a single query.
+     *
+     * @param request pairs to resolve (at most {@value DeviceResolveRequest#MAX_KEYS})
+     * @return one result per pair, in request order, with the device or {@code found=false}
+     */
+    @Operation(
+            operationId = "resolveDevicesByBrandAndName",
+            summary = "Resolve many brand + name pairs in one call",
+            tags = {"Query"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "One result per requested pair",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = DeviceResolution.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No pairs, too many pairs or blank brand/name",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Unexpected server error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorDetailsDto.class)
+                    )
+            )
+    })
+    @PostMapping(value = "/search/bulk", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<DeviceResolution>> resolveDevicesByBrandAndName(
+            @Valid @RequestBody DeviceResolveRequest request) {
+        log.debug("Resolving {} devices by brand and name", request.getKeys().size());
+        return ResponseEntity.ok(queryDeviceService.resolveByBrandAndName(request.getKeys()));
+    }
+}
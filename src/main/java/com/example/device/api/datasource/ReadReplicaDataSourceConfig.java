@@ -0,0 +1,126 @@
+package com.example.device.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to streaming read replicas.
+ *
+ * <p>The application data source is a {@link LazyConnectionDataSourceProxy}: the physical
+ * connection is only fetched on the first statement, once the transaction manager has marked
+ * the connection read-only. Connections of {@code @Transactional(readOnly = true)} work then
+ * come from the {@link ReplicaRoutingDataSource}, everything else from the primary pool
+ * ({@code spring.datasource.*}).</p>
+ *
+ * <p>Replicas use the primary's credentials, as a physical standby has the same roles.</p>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "device.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    /**
+     * The pool Spring Boot would create, which backs off once another data source is defined.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${device.datasource.replicas.urls:}") List<String> urls,
+            @Value("${device.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${device.datasource.replicas.connection-timeout:PT5S}") Duration connectionTimeout,
+            @Value("${device.datasource.replicas.max-lag:PT5S}") Duration maxLag,
+            AutowireCapableBeanFactory beanFactory,
+            MeterRegistry meterRegistry) {
+
+        List<String> replicaUrls = urls.stream().filter(StringUtils::hasText).map(String::trim).toList();
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalStateException("device.datasource.replicas.enabled is set, but device.datasource.replicas.urls is empty");
+        }
+
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + i;
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(replicaUrls.get(i));
+            pool.setUsername(properties.determineUsername());
+            pool.setPassword(properties.determinePassword());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setMaximumPoolSize(maximumPoolSize);
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+            pool.setReadOnly(true);
+            // start even if the replica is down; the health check keeps it out of rotation
+            pool.setInitializationFailTimeout(-1);
+
+            // initialized like a bean, so post-processors (pool metrics, the virtual-thread
+            // concurrency limit) apply to replica pools as to the primary
+            DataSource dataSource = (DataSource) beanFactory.initializeBean(pool, name + "DataSource");
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, dataSource));
+            log.info("Routing read-only transactions to '{}' at {}", name, pool.getJdbcUrl());
+        }
+
+        var routing = new ReplicaRoutingDataSource(replicas, primaryDataSource, maxLag);
+        registerMetrics(routing, meterRegistry);
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ReplicaRoutingDataSource replicaRoutingDataSource) {
+
+        var dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    private static void registerMetrics(ReplicaRoutingDataSource routing, MeterRegistry registry) {
+        for (ReplicaRoutingDataSource.Replica replica : routing.getReplicas()) {
+            Gauge.builder("device.datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("Whether the replica is in rotation")
+                    .tag("replica", replica.getName())
+                    .register(registry);
+            FunctionCounter.builder("device.datasource.read-only.connections", replica,
+                            ReplicaRoutingDataSource.Replica::getConnections)
+                    .description("Connections handed out for read-only transactions")
+                    .tag("target", replica.getName())
+                    .register(registry);
+        }
+        FunctionCounter.builder("device.datasource.read-only.connections", routing,
+                        ReplicaRoutingDataSource::getPrimaryConnections)
+                .description("Connections handed out for read-only transactions")
+                .tag("target", "primary")
+                .register(registry);
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.device.api.datasource;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out connections of healthy read replicas, round-robin, and of the primary when none is healthy.
+ *
+ * <p>A replica is assumed healthy until a connection to it fails or a health check finds it
+ * unreachable, not streaming WAL from the primary, or lagging more than {@code maxLag} behind it;
+ * the next successful check puts it back into rotation. A server that is not a standby is
+ * always up to date. Only read-only transactions get here, see
+ * {@link ReadReplicaDataSourceConfig}.</p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    /**
+     * Write position of the primary when the health check starts.
+     */
+    static final String PRIMARY_WAL_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    /**
+     * State of a replica relative to the primary's write position ({@code ?}).
+     *
+     * <p>A standby whose WAL stream broke has replayed everything it received, so comparing its
+     * own receive and replay positions would report no lag while it falls behind. It is up to date
+     * once it has replayed the primary's position; until then it has to be streaming, and its lag is
+     * the age of its last replayed transaction. The receiver status is only visible to roles with
+     * {@code pg_read_all_stats}; for others a running receiver is taken as streaming.</p>
+     */
+    static final String REPLICA_STATE_QUERY = """
+            SELECT NOT pg_is_in_recovery(),
+                   EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE COALESCE(status, 'streaming') = 'streaming'),
+                   COALESCE(pg_last_wal_replay_lsn() >= ?::pg_lsn, false),
+                   COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            """;
+
+    @Getter
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryConnections = new LongAdder();
+
+    public ReplicaRoutingDataSource(List<Replica> replicas, DataSource primary, Duration maxLag) {
+        this.replicas = List.copyOf(replicas);
+        this.primary = primary;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * @return read-only connections that went to the primary because no replica was healthy
+     */
+    public long getPrimaryConnections() {
+        return primaryConnections.sum();
+    }
+
+    /**
+     * Probes every replica and takes it out of or back into rotation.
+     * Without the primary's write position the replicas cannot be judged and keep their state.
+     */
+    @Scheduled(fixedDelayString = "${device.datasource.replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        String primaryLsn;
+        try {
+            primaryLsn = primaryWalLsn();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Replica health check skipped, primary WAL position unavailable: {}", e.getMessage());
+            return;
+        }
+
+        for (Replica replica : replicas) {
+            String problem;
+            try {
+                problem = problem(replica.getDataSource(), primaryLsn);
+            } catch (SQLException | RuntimeException e) {
+                problem = e.getMessage();
+            }
+            if (problem != null) {
+                markDown(replica, problem);
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Replica '{}' is back in rotation", replica.getName());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            try {
+                if (replica.getDataSource().isWrapperFor(Closeable.class)) {
+                    replica.getDataSource().unwrap(Closeable.class).close();
+                }
+            } catch (Exception e) {
+                log.warn("Failed to close replica '{}': {}", replica.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = source.get(replica.getDataSource());
+                replica.connections.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        primaryConnections.increment();
+        return source.get(primary);
+    }
+
+    private String primaryWalLsn() throws SQLException {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(PRIMARY_WAL_LSN_QUERY)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    /**
+     * @return why the replica must not serve reads, or {@code null} if it may
+     */
+    private String problem(DataSource replica, String primaryLsn) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement(REPLICA_STATE_QUERY)) {
+            statement.setString(1, primaryLsn);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                if (rs.getBoolean(1) || rs.getBoolean(3)) {
+                    return null;
+                }
+                if (!rs.getBoolean(2)) {
+                    return "not streaming WAL from the primary";
+                }
+                Duration lag = Duration.ofMillis(Math.round(rs.getDouble(4) * 1000));
+                return lag.compareTo(maxLag) > 0 ? "replication lag " + lag : null;
+            }
+        }
+    }
+
+    private static void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica '{}' taken out of rotation: {}", replica.getName(), reason);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * One replica pool and its routing state.
+     */
+    @Getter
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        @Getter(AccessLevel.NONE)
+        private final LongAdder connections = new LongAdder();
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * @return connections handed out from this replica
+         */
+        public long getConnections() {
+            return connections.sum();
+        }
+    }
+}
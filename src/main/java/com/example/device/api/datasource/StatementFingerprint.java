@@ -0,0 +1,35 @@
+package com.example.device.api.datasource;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalized SQL text that identifies a statement independently of its literal values.
+ *
+ * <p>Whitespace is collapsed, string and numeric literals become {@code ?} and lists of
+ * placeholders ({@code IN (?, ?, ?)}) collapse to {@code (?)}, so the same query with
+ * a different number of ids still has one fingerprint.</p>
+ */
+public final class StatementFingerprint {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private StatementFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String normalized = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        return PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?)");
+    }
+
+    /**
+     * @return short stable id of a fingerprint, used as metric tag and in the slow-statement log
+     */
+    public static String id(String fingerprint) {
+        return "%08x".formatted(fingerprint.hashCode());
+    }
+}
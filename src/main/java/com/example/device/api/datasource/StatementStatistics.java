@@ -0,0 +1,142 @@
+package com.example.device.api.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency per statement fingerprint and the slow-statement log.
+ *
+ * <p>Every statement is recorded in a {@code device.jdbc.statements} timer tagged with its
+ * fingerprint id, with percentiles and a histogram. The number of fingerprints is bounded;
+ * statements beyond {@code maxFingerprints} share the fingerprint {@code other}.</p>
+ *
+ * <p>A statement taking {@code slowThreshold} or longer is logged with the shapes of its
+ * bind parameters (type and length, never the value). The log is sampled per fingerprint:
+ * one line per {@code slowLogInterval}, reporting how many slow executions it stood for.</p>
+ */
+@Slf4j
+public class StatementStatistics {
+
+    static final String METRIC = "device.jdbc.statements";
+    static final String OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowThreshold;
+    private final long slowLogIntervalNanos;
+    private final int maxFingerprints;
+
+    /**
+     * Raw SQL to its fingerprint entry; Hibernate and the JDBC repository reuse a small set of
+     * SQL strings, so each is normalized once.
+     */
+    private final Cache<String, Entry> bySql = Caffeine.newBuilder().maximumSize(10_000).build();
+    private final ConcurrentMap<String, Entry> byFingerprint = new ConcurrentHashMap<>();
+
+    public StatementStatistics(MeterRegistry meterRegistry, Duration slowThreshold,
+                               Duration slowLogInterval, int maxFingerprints) {
+        this.meterRegistry = meterRegistry;
+        this.slowThreshold = slowThreshold;
+        this.slowLogIntervalNanos = slowLogInterval.toNanos();
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    /**
+     * @param sql        statement text as sent to the driver
+     * @param nanos      execution time
+     * @param parameters shapes of the bind parameters by index, empty for plain statements; not retained
+     * @param batchSize  statements in the batch, {@code 0} if not a batch
+     */
+    public void record(String sql, long nanos, Map<Integer, String> parameters, int batchSize) {
+        Entry entry = bySql.get(sql, this::entry);
+        entry.timer.record(nanos, TimeUnit.NANOSECONDS);
+
+        if (nanos >= slowThreshold.toNanos()) {
+            long now = System.nanoTime();
+            long last = entry.lastLogged.get();
+            if (last != 0 && now - last < slowLogIntervalNanos || !entry.lastLogged.compareAndSet(last, now)) {
+                entry.suppressed.incrementAndGet();
+                return;
+            }
+            log.warn("Slow statement {} | {} ms | batch={} | params={} | {} more since last report | {}",
+                    entry.id, TimeUnit.NANOSECONDS.toMillis(nanos), batchSize, parameters,
+                    entry.suppressed.getAndSet(0), entry.fingerprint);
+        }
+    }
+
+    /**
+     * @return fingerprints by total time spent, highest first
+     */
+    public List<FingerprintStatistics> snapshot() {
+        return byFingerprint.values().stream()
+                .map(Entry::statistics)
+                .sorted(Comparator.comparingDouble(FingerprintStatistics::totalMillis).reversed())
+                .toList();
+    }
+
+    private Entry entry(String sql) {
+        String fingerprint = StatementFingerprint.of(sql);
+        Entry entry = byFingerprint.get(fingerprint);
+        if (entry != null) {
+            return entry;
+        }
+        if (byFingerprint.size() >= maxFingerprints) {
+            return byFingerprint.computeIfAbsent(OTHER, key -> new Entry(OTHER, OTHER));
+        }
+        return byFingerprint.computeIfAbsent(fingerprint,
+                key -> new Entry(StatementFingerprint.id(key), key));
+    }
+
+    private final class Entry {
+
+        private final String id;
+        private final String fingerprint;
+        private final Timer timer;
+        private final AtomicLong lastLogged = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Entry(String id, String fingerprint) {
+            this.id = id;
+            this.fingerprint = fingerprint;
+            this.timer = Timer.builder(METRIC)
+                    .description("JDBC statement execution time by fingerprint")
+                    .tag("fingerprint", id)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+        }
+
+        private FingerprintStatistics statistics() {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                percentiles.put("p" + Math.round(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS));
+            }
+            return new FingerprintStatistics(id, fingerprint, snapshot.count(),
+                    snapshot.total(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS), percentiles);
+        }
+    }
+
+    /**
+     * Latency of one fingerprint; percentiles cover the last few minutes, count and total all time.
+     */
+    public record FingerprintStatistics(String id, String sql, long count, double totalMillis,
+                                        double maxMillis, Map<String, Double> percentilesMillis) {
+    }
+}
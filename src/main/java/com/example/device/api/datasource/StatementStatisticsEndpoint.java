@@ -0,0 +1,22 @@
+package com.example.device.api.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/sqlstatements}: latency per statement fingerprint, most total time first.
+ */
+@Endpoint(id = "sqlstatements")
+@RequiredArgsConstructor
+public class StatementStatisticsEndpoint {
+
+    private final StatementStatistics statementStatistics;
+
+    @ReadOperation
+    public List<StatementStatistics.FingerprintStatistics> statements() {
+        return statementStatistics.snapshot();
+    }
+}
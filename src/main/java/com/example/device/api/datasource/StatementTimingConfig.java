@@ -0,0 +1,66 @@
+package com.example.device.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Statement timing on every connection pool, in place of logging each statement
+ * ({@code spring.jpa.show-sql}): see {@link StatementStatistics} for what is recorded and logged.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "device.jdbc.statements.enabled", matchIfMissing = true)
+public class StatementTimingConfig {
+
+    @Bean
+    public StatementStatistics statementStatistics(
+            MeterRegistry meterRegistry,
+            @Value("${device.jdbc.statements.slow-threshold:PT0.2S}") Duration slowThreshold,
+            @Value("${device.jdbc.statements.slow-log-interval:PT10S}") Duration slowLogInterval,
+            @Value("${device.jdbc.statements.max-fingerprints:200}") int maxFingerprints) {
+        return new StatementStatistics(meterRegistry, slowThreshold, slowLogInterval, maxFingerprints);
+    }
+
+    @Bean
+    public StatementStatisticsEndpoint statementStatisticsEndpoint(StatementStatistics statementStatistics) {
+        return new StatementStatisticsEndpoint(statementStatistics);
+    }
+
+    /**
+     * Static, so the post-processor is registered before the data source is created. Ordered,
+     * so it runs before the virtual-thread permit limit, which then wraps the timed pool.
+     */
+    @Bean
+    public static BeanPostProcessor statementTimingDataSourcePostProcessor(
+            ObjectProvider<StatementStatistics> statementStatistics) {
+
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    log.info("Timing statements of data source '{}'", beanName);
+                    return new StatementTimingDataSource(hikari, statementStatistics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+
+        @Override
+        default int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.device.api.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Times every statement executed on its connections and reports it to {@link StatementStatistics}.
+ *
+ * <p>Connections and statements are JDK proxies. Bind parameters are recorded as shapes:
+ * {@code String(12)}, {@code Long}, {@code null}, {@code bigint[250]} for arrays made by
+ * {@link Connection#createArrayOf}; values are never kept. A query is timed until its
+ * {@code ResultSet} is returned, not while it is read.</p>
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final StatementStatistics statistics;
+
+    public StatementTimingDataSource(DataSource target, StatementStatistics statistics) {
+        super(target);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new ConnectionHandler(super.getConnection()).proxy;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return new ConnectionHandler(super.getConnection(username, password)).proxy;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(
+                StatementTimingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final Connection proxy;
+
+        /**
+         * Shapes of the arrays created on this connection, looked up when one is bound.
+         */
+        private final Map<Array, String> arrayShapes = new IdentityHashMap<>();
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+            this.proxy = proxy(Connection.class, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Timed " + connection;
+                default:
+                    break;
+            }
+
+            Object result = StatementTimingDataSource.invoke(connection, method, args);
+
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler(this, (Statement) result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new StatementHandler(this, (Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new StatementHandler(this, (Statement) result, (String) args[0]));
+                case "createArrayOf" -> {
+                    arrayShapes.put((Array) result, "%s[%d]".formatted(args[0], ((Object[]) args[1]).length));
+                    yield result;
+                }
+                case "close" -> {
+                    arrayShapes.clear();
+                    yield result;
+                }
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final ConnectionHandler connection;
+        private final Statement statement;
+        private final String sql;
+        private final Map<Integer, String> parameters = new TreeMap<>();
+        private String batchSql;
+        private int batchSize;
+
+        private StatementHandler(ConnectionHandler connection, Statement statement, String sql) {
+            this.connection = connection;
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Timed " + statement;
+                case "getConnection":
+                    // the caller must get the timed connection back, not the one underneath
+                    return connection.proxy;
+                default:
+                    break;
+            }
+
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? "null" : shape(args[1]));
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                if (args != null && batchSql == null) {
+                    batchSql = (String) args[0];
+                }
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSql = null;
+                batchSize = 0;
+            }
+            return StatementTimingDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            boolean batch = method.getName().endsWith("Batch");
+            String executed = args != null && args.length > 0 && args[0] instanceof String text
+                    ? text
+                    : batch && batchSql != null ? batchSql : sql;
+            long start = System.nanoTime();
+            try {
+                return StatementTimingDataSource.invoke(statement, method, args);
+            } finally {
+                if (executed != null) {
+                    statistics.record(executed, System.nanoTime() - start, parameters, batch ? batchSize : 0);
+                }
+                if (batch) {
+                    batchSql = null;
+                    batchSize = 0;
+                }
+            }
+        }
+
+        private String shape(Object value) {
+            return switch (value) {
+                case null -> "null";
+                case String text -> "String(" + text.length() + ")";
+                case byte[] bytes -> "byte[" + bytes.length + "]";
+                case Array array -> connection.arrayShapes.getOrDefault(array, "Array");
+                default -> value.getClass().getSimpleName();
+            };
+        }
+    }
+}
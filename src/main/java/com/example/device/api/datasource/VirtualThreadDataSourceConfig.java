@@ -0,0 +1,62 @@
+package com.example.device.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Database concurrency limit for the virtual-thread execution mode.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true}, Spring Boot runs Tomcat requests,
+ * async request processing (streamed exports) and scheduled jobs on virtual threads,
+ * so the number of requests inside the services is no longer capped by a thread pool.
+ * The Hikari pool is then wrapped in a {@link ConcurrencyLimitingDataSource} with one
+ * permit per pooled connection, so surplus requests queue on the permits instead of
+ * piling up in the pool and failing on its connection timeout.</p>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "device.datasource.concurrency-limit.enabled", matchIfMissing = true)
+public class VirtualThreadDataSourceConfig {
+
+    /**
+     * Static, so the post-processor is registered before the data source is created.
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            @Value("${device.datasource.concurrency-limit.acquire-timeout:PT30S}") Duration acquireTimeout) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                HikariDataSource hikari = pool(bean);
+                if (hikari != null) {
+                    int permits = hikari.getMaximumPoolSize();
+                    log.info("Limiting data source '{}' to {} concurrent connections", beanName, permits);
+                    return new ConcurrencyLimitingDataSource((DataSource) bean, permits, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * @return the pool, also when statement timing already wraps it
+     */
+    private static HikariDataSource pool(Object bean) {
+        if (bean instanceof StatementTimingDataSource timed) {
+            return timed.getTargetDataSource() instanceof HikariDataSource hikari ? hikari : null;
+        }
+        return bean instanceof HikariDataSource hikari ? hikari : null;
+    }
+}
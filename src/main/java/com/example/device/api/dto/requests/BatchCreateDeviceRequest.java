@@ -0,0 +1,25 @@
+package com.example.device.api.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating many devices in one call.
+ */
+@Data
+@Accessors(chain = true)
+public class BatchCreateDeviceRequest {
+
+    public static final int MAX_DEVICES = 10_000;
+
+    @NotNull(message = "Devices are required")
+    @Size(min = 1, max = MAX_DEVICES, message = "Between 1 and " + MAX_DEVICES + " devices are allowed")
+    @Schema(description = "Devices to create", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<@Valid @NotNull CreateDeviceRequest> devices;
+}
@@ -0,0 +1,28 @@
+package com.example.device.api.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Request DTO for deleting many devices in one call.
+ * Devices are selected either by id or by criteria, not both.
+ */
+@Data
+@Accessors(chain = true)
+public class BulkDeleteDeviceRequest {
+
+    public static final int MAX_IDS = 50_000;
+
+    @Size(min = 1, max = MAX_IDS, message = "Between 1 and " + MAX_IDS + " ids are allowed")
+    @Schema(description = "Ids of the devices to delete; mutually exclusive with filter",
+            example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private long[] ids;
+
+    @Valid
+    @Schema(description = "Criteria selecting the devices to delete; mutually exclusive with ids",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private DeviceCriteriaRequest filter;
+}
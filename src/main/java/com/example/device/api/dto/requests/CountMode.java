@@ -0,0 +1,23 @@
+package com.example.device.api.dto.requests;
+
+/**
+ * How the total number of devices matching a listing filter is computed.
+ */
+public enum CountMode {
+
+    /**
+     * {@code count(*)} over the filter. Accurate, but scans every matching row;
+     * meant for selective filters.
+     */
+    EXACT,
+
+    /**
+     * Row estimate of the query planner. Constant cost, approximate.
+     */
+    ESTIMATE,
+
+    /**
+     * Exact count cached per filter for a short time.
+     */
+    CACHED
+}
@@ -18,20 +18,24 @@ import lombok.experimental.Accessors;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class CreateDeviceRequest {
 
+    public static final String ALLOWED_CHARACTERS = "^[A-Za-z0-9 _\\-]+$";
+    public static final int MIN_LENGTH = 3;
+    public static final int MAX_LENGTH = 255;
+
     @Schema(description = "Device name", example = "name")
     @NotBlank(message = "Device name cannot be blank")
-    @Size(max = 255, min = 3, message = "Device name must have a valid length, max = 255")
+    @Size(max = MAX_LENGTH, min = MIN_LENGTH, message = "Device name must have a valid length, max = 255")
     @Pattern(
-            regexp = "^[A-Za-z0-9 _\\-]+$",
+            regexp = ALLOWED_CHARACTERS,
             message = "Device name contains invalid characters"
     )
     private String name;
 
     @Schema(description = "Brand of device", example = "Brand")
     @NotBlank(message = "Device brand cannot be blank")
-    @Size(max = 255, min = 3, message = "Brand must have a valid length, max = 255")
+    @Size(max = MAX_LENGTH, min = MIN_LENGTH, message = "Brand must have a valid length, max = 255")
     @Pattern(
-            regexp = "^[A-Za-z0-9 _\\-]+$",
+            regexp = ALLOWED_CHARACTERS,
             message = "Brand contains invalid characters"
     )
     private String brand;
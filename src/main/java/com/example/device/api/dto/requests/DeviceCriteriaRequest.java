@@ -0,0 +1,41 @@
+package com.example.device.api.dto.requests;
+
+import com.example.device.api.entity.DeviceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Device selection criteria for bulk operations; the filters of
+ * {@link DeviceFilterRequest} without paging. All given criteria must match.
+ */
+@Data
+@Accessors(chain = true)
+public class DeviceCriteriaRequest {
+
+    @Size(min = 3, max = 255, message = "Brand must be at least 3 characters")
+    @Schema(description = "OPTIONAL: device brand", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private String brand;
+
+    @Size(min = 3, max = 255, message = "Name must be at least 3 characters")
+    @Schema(description = "OPTIONAL: device name", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private String name;
+
+    @Schema(
+            description = "OPTIONAL: current device state",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+            allowableValues = {"AVAILABLE", "IN_USE", "INACTIVE"}
+    )
+    private DeviceState state;
+
+    @Size(min = 3, max = 255, message = "Name search must be at least 3 characters")
+    @Schema(description = "OPTIONAL: case-insensitive substring of the device name",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private String nameContains;
+
+    @Size(min = 3, max = 255, message = "Brand prefix must be at least 3 characters")
+    @Schema(description = "OPTIONAL: case-insensitive prefix of the device brand",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private String brandPrefix;
+}
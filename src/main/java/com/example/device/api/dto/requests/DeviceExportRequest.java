@@ -0,0 +1,70 @@
+package com.example.device.api.dto.requests;
+
+import com.example.device.api.entity.DeviceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Request DTO for the streaming device export.
+ * Accepts the same filters as {@link DeviceFilterRequest}, without pagination.
+ */
+@Data
+@Accessors(chain = true)
+public class DeviceExportRequest {
+
+    @Size(min = 3, max = 255, message = "Brand must be at least 3 characters")
+    @Schema(description = "OPTIONAL: device brand filter",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private String brand;
+
+    @Size(min = 3, max = 255, message = "Name must be at least 3 characters")
+    @Schema(description = "OPTIONAL: device name filter",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private String name;
+
+    @Schema(
+            description = "Device state (optional)",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+            allowableValues = {"AVAILABLE", "IN_USE", "INACTIVE"}
+    )
+    private DeviceState state;
+
+    /**
+     * Optional case-insensitive substring of the device name.
+     */
+    @Size(min = 3, max = 255, message = "Name search must be at least 3 characters")
+    @Schema(description = "OPTIONAL: case-insensitive substring of the device name",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private String nameContains;
+
+    /**
+     * Optional case-insensitive prefix of the device brand.
+     */
+    @Size(min = 3, max = 255, message = "Brand prefix must be at least 3 characters")
+    @Schema(description = "OPTIONAL: case-insensitive prefix of the device brand",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private String brandPrefix;
+
+    /**
+     * Output format. Defaults to NDJSON.
+     */
+    @NotNull(message = "Format is required")
+    @Schema(description = "Output format", defaultValue = "NDJSON",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+            allowableValues = {"NDJSON", "CSV"})
+    private ExportFormat format = ExportFormat.NDJSON;
+
+    /**
+     * Whether to gzip the response body on the fly.
+     */
+    @Schema(description = "Compress the response with gzip", defaultValue = "false",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private boolean gzip;
+}
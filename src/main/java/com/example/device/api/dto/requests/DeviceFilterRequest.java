@@ -42,6 +42,24 @@ public class DeviceFilterRequest {
     )
     private DeviceState state;
 
+    /**
+     * Optional case-insensitive substring of the device name.
+     */
+    @Size(min = 3, max = 255, message = "Name search must be at least 3 characters")
+    @Schema(description = "OPTIONAL: case-insensitive substring of the device name",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private String nameContains;
+
+    /**
+     * Optional case-insensitive prefix of the device brand.
+     */
+    @Size(min = 3, max = 255, message = "Brand prefix must be at least 3 characters")
+    @Schema(description = "OPTIONAL: case-insensitive prefix of the device brand",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    private String brandPrefix;
+
     /**
      * Limit for number of items returned.
      * Defaults to 100.
@@ -61,4 +79,24 @@ public class DeviceFilterRequest {
             requiredMode = Schema.RequiredMode.NOT_REQUIRED,
             defaultValue = "0")
     private Integer offset = 0;
+
+    /**
+     * Optional keyset cursor returned in the {@code X-Next-Cursor} header of a previous page.
+     * When present, {@code offset} is ignored.
+     */
+    @Size(max = 512, message = "Cursor is too long")
+    @Schema(description = "Opaque cursor from the X-Next-Cursor header of the previous page; "
+            + "when set, offset is ignored",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private String cursor;
+
+    /**
+     * Optional total count mode. When set, the total number of devices matching the
+     * filters is returned in the {@code X-Total-Count} header.
+     */
+    @Schema(description = "OPTIONAL: return the total number of matching devices in X-Total-Count, "
+            + "computed exactly, estimated by the planner or cached for a short time",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+            allowableValues = {"EXACT", "ESTIMATE", "CACHED"})
+    private CountMode count;
 }
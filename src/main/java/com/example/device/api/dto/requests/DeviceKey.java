@@ -0,0 +1,29 @@
+package com.example.device.api.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Natural key of a device: the unique brand + name pair.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class DeviceKey {
+
+    @Schema(description = "Brand of device", example = "Apple")
+    @NotBlank(message = "Device brand cannot be blank")
+    @Size(max = 255, message = "Brand must have a valid length, max = 255")
+    private String brand;
+
+    @Schema(description = "Device name", example = "iPhone 15")
+    @NotBlank(message = "Device name cannot be blank")
+    @Size(max = 255, message = "Device name must have a valid length, max = 255")
+    private String name;
+}
@@ -0,0 +1,23 @@
+package com.example.device.api.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Request DTO for fetching many devices by id in one call.
+ */
+@Data
+@Accessors(chain = true)
+public class DeviceLookupRequest {
+
+    public static final int MAX_IDS = 1000;
+
+    @NotNull(message = "Ids are required")
+    @Size(min = 1, max = MAX_IDS, message = "Between 1 and " + MAX_IDS + " ids are allowed")
+    @Schema(description = "Device ids to fetch", example = "[1, 2, 3]",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private long[] ids;
+}
@@ -0,0 +1,25 @@
+package com.example.device.api.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * Request DTO for resolving many brand + name pairs in one call.
+ */
+@Data
+@Accessors(chain = true)
+public class DeviceResolveRequest {
+
+    public static final int MAX_KEYS = 5000;
+
+    @NotNull(message = "Keys are required")
+    @Size(min = 1, max = MAX_KEYS, message = "Between 1 and " + MAX_KEYS + " keys are allowed")
+    @Schema(description = "Brand + name pairs to resolve", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<@Valid @NotNull DeviceKey> keys;
+}
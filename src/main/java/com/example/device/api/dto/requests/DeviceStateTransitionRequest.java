@@ -0,0 +1,36 @@
+package com.example.device.api.dto.requests;
+
+import com.example.device.api.entity.DeviceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * Request DTO for moving many devices to one state in one call.
+ * Devices are selected either by id or by criteria, not both.
+ */
+@Data
+@Accessors(chain = true)
+public class DeviceStateTransitionRequest {
+
+    public static final int MAX_IDS = 10_000;
+
+    @Size(min = 1, max = MAX_IDS, message = "Between 1 and " + MAX_IDS + " ids are allowed")
+    @Schema(description = "Ids of the devices to transition; mutually exclusive with filter",
+            example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private long[] ids;
+
+    @Valid
+    @Schema(description = "Criteria selecting the devices to transition; mutually exclusive with ids",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+    private DeviceCriteriaRequest filter;
+
+    @NotNull(message = "Target state is required")
+    @Schema(description = "State to move the selected devices to",
+            allowableValues = {"AVAILABLE", "IN_USE", "INACTIVE"},
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private DeviceState targetState;
+}
@@ -0,0 +1,18 @@
+package com.example.device.api.dto.requests;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Supported formats of the device inventory export and import.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+}
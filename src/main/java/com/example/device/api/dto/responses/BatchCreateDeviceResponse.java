@@ -0,0 +1,28 @@
+package com.example.device.api.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * Response of a batch create: per-item outcomes in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class BatchCreateDeviceResponse {
+
+    @Schema(description = "Number of devices created")
+    private int created;
+
+    @Schema(description = "Number of items that were not created")
+    private int rejected;
+
+    @Schema(description = "One result per requested item, in request order")
+    private List<BatchCreateItemResult> items;
+}
@@ -0,0 +1,28 @@
+package com.example.device.api.dto.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Result of one item of a batch create.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchCreateItemResult {
+
+    @Schema(description = "Position of the item in the request")
+    private int index;
+
+    @Schema(description = "Outcome of the item")
+    private BatchCreateStatus status;
+
+    @Schema(description = "Created device, or the existing one for ALREADY_EXISTS; absent for DUPLICATE_IN_BATCH")
+    private DeviceResponse device;
+}
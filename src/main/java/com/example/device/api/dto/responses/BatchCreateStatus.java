@@ -0,0 +1,13 @@
+package com.example.device.api.dto.responses;
+
+/**
+ * Outcome of one item of a batch create.
+ */
+public enum BatchCreateStatus {
+    /** The device was created. */
+    CREATED,
+    /** A device with the same brand and name already exists; it is returned instead. */
+    ALREADY_EXISTS,
+    /** An earlier item of the same batch has the same brand and name. */
+    DUPLICATE_IN_BATCH
+}
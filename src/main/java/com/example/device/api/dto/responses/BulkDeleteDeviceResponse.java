@@ -0,0 +1,33 @@
+package com.example.device.api.dto.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * Response of a bulk delete: totals and, for a selection by ids, one result per id, ordered by id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkDeleteDeviceResponse {
+
+    @Schema(description = "Number of devices deleted")
+    private long deleted;
+
+    @Schema(description = "Number of devices kept because they are IN_USE")
+    private long inUse;
+
+    @Schema(description = "Number of requested ids without a device; always 0 for a filter")
+    private long notFound;
+
+    @Schema(description = "One result per requested id, ordered by id; absent for a filter")
+    private List<BulkDeleteItemResult> items;
+}
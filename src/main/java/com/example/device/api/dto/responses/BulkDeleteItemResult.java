@@ -0,0 +1,23 @@
+package com.example.device.api.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Result for one device of a bulk delete.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class BulkDeleteItemResult {
+
+    @Schema(description = "Device id")
+    private long id;
+
+    @Schema(description = "Outcome for the device")
+    private BulkDeleteStatus status;
+}
@@ -0,0 +1,13 @@
+package com.example.device.api.dto.responses;
+
+/**
+ * Outcome for one device of a bulk delete.
+ */
+public enum BulkDeleteStatus {
+    /** The device was deleted. */
+    DELETED,
+    /** The device is {@code IN_USE} and was kept. */
+    IN_USE,
+    /** No device with this id exists. */
+    NOT_FOUND
+}
@@ -0,0 +1,31 @@
+package com.example.device.api.dto.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * One rejected row of an import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceImportRejection {
+
+    @Schema(description = "1-based row (CSV data row or NDJSON line)")
+    private long row;
+
+    @Schema(description = "Name as imported")
+    private String name;
+
+    @Schema(description = "Brand as imported")
+    private String brand;
+
+    @Schema(description = "Why the row was not imported")
+    private String reason;
+}
@@ -0,0 +1,31 @@
+package com.example.device.api.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class DeviceImportReport {
+
+    @Schema(description = "Number of rows read")
+    private long received;
+
+    @Schema(description = "Number of devices created")
+    private long imported;
+
+    @Schema(description = "Number of rows not imported")
+    private long rejected;
+
+    @Schema(description = "Rejected rows in input order, at most the first 1000")
+    private List<DeviceImportRejection> rejections;
+}
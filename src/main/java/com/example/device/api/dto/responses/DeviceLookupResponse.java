@@ -0,0 +1,25 @@
+package com.example.device.api.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * Response DTO of a multi-get: found devices and the requested ids that do not exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class DeviceLookupResponse {
+
+    @Schema(description = "Found devices, ordered by id")
+    private List<DeviceResponse> devices;
+
+    @Schema(description = "Requested ids without a device, ordered ascending")
+    private long[] missingIds;
+}
@@ -0,0 +1,31 @@
+package com.example.device.api.dto.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Result of resolving one brand + name pair.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeviceResolution {
+
+    @Schema(description = "Requested brand (normalized)")
+    private String brand;
+
+    @Schema(description = "Requested name (normalized)")
+    private String name;
+
+    @Schema(description = "Whether a device with this brand and name exists")
+    private boolean found;
+
+    @Schema(description = "The device, absent when not found")
+    private DeviceResponse device;
+}
@@ -1,16 +1,26 @@
 package com.example.device.api.dto.responses;
 
 import com.example.device.api.entity.DeviceState;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
 import java.time.LocalDateTime;
 
 /**
  * Response DTO representing a device.
+ *
+ * <p>The all-args constructor is used by JPA constructor projections, so read
+ * queries can build responses straight from result rows; keep the field order
+ * in sync with those queries.</p>
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Accessors(chain = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class DeviceResponse {
@@ -20,4 +30,16 @@ public class DeviceResponse {
     private String brand;
     private DeviceState state;
     private LocalDateTime createdAt;
+
+    /**
+     * Time of the last flushed heartbeat, absent if the device never reported one.
+     */
+    private LocalDateTime lastSeenAt;
+
+    /**
+     * Sent as the {@code ETag} header rather than in the body.
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long version;
 }
@@ -0,0 +1,24 @@
+package com.example.device.api.dto.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Outcome of a bulk state transition.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class DeviceStateTransitionResponse {
+
+    @Schema(description = "Number of devices moved to the target state")
+    private long affected;
+
+    @Schema(description = "Number of selected devices left unchanged: already in the target state, "
+            + "or (for an id list) not found")
+    private long skipped;
+}
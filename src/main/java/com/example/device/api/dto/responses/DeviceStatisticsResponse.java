@@ -0,0 +1,29 @@
+package com.example.device.api.dto.responses;
+
+import com.example.device.api.entity.DeviceState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+
+/**
+ * Inventory histograms: device counts per state and per brand.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class DeviceStatisticsResponse {
+
+    @Schema(description = "Total number of devices")
+    private long total;
+
+    @Schema(description = "Device count per state")
+    private Map<DeviceState, Long> byState;
+
+    @Schema(description = "Device count per brand, ordered by brand")
+    private Map<String, Long> byBrand;
+}
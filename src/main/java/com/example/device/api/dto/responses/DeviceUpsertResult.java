@@ -0,0 +1,10 @@
+package com.example.device.api.dto.responses;
+
+/**
+ * Outcome of an upsert by brand + name.
+ *
+ * @param device  the device as stored
+ * @param created whether the device was created rather than updated
+ */
+public record DeviceUpsertResult(DeviceResponse device, boolean created) {
+}
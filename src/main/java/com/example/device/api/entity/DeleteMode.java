@@ -0,0 +1,11 @@
+package com.example.device.api.entity;
+
+/**
+ * How devices are deleted, set by {@code device.delete.mode}.
+ */
+public enum DeleteMode {
+    /** The row is removed immediately. */
+    HARD,
+    /** The row is marked with {@code deleted_at} and removed later by the purger. */
+    SOFT
+}
@@ -5,19 +5,32 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDateTime;
 
 /**
  * Device entity stored in PostgreSQL.
+ *
+ * <p>Soft-deleted rows ({@code deleted_at} set) are invisible to every JPA query and load;
+ * the partial indexes of the table only contain live rows.</p>
  */
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @Data
 @Accessors(chain = true)
 @Entity
 @Table(name = "devices")
+@SQLRestriction("deleted_at IS NULL")
 public class Device extends CreateAuditable {
 
+    /**
+     * Sequence ids (rather than IDENTITY) keep Hibernate insert batching enabled;
+     * the pooled optimizer reserves {@code allocationSize} ids per {@code nextval}.
+     * The allocation size must match the sequence increment set in the changelog.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "devices_id_seq")
+    @SequenceGenerator(name = "devices_id_seq", sequenceName = "devices_id_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -30,4 +43,20 @@ public class Device extends CreateAuditable {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private DeviceState state;
+
+    /**
+     * Written only by the heartbeat flush in
+     * {@link com.example.device.api.repository.jdbc.DeviceJdbcRepository}, never by JPA,
+     * so a concurrent entity update cannot move it back.
+     */
+    @Column(name = "last_seen_at", insertable = false, updatable = false)
+    private LocalDateTime lastSeenAt;
+
+    /**
+     * Incremented on every write; the JDBC write paths in
+     * {@link com.example.device.api.repository.jdbc.DeviceJdbcRepository} increment it themselves.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,15 @@
+package com.example.device.api.event;
+
+/**
+ * A single device modification.
+ *
+ * @param before state before the change, {@code null} for a created device; its {@code state}
+ *               is {@code null} if the writer could not tell the previous state
+ * @param after  state after the change, {@code null} for a deleted device
+ */
+public record DeviceChange(DeviceSnapshot before, DeviceSnapshot after) {
+
+    public boolean previousStateUnknown() {
+        return before != null && before.state() == null;
+    }
+}
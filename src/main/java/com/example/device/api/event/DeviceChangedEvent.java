@@ -0,0 +1,30 @@
+package com.example.device.api.event;
+
+import java.util.List;
+
+/**
+ * Published by the write services for every committed modification of one or more devices.
+ *
+ * <p>Listeners that must only observe committed state should use
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.</p>
+ */
+public record DeviceChangedEvent(List<DeviceChange> changes) {
+
+    public static DeviceChangedEvent created(DeviceSnapshot after) {
+        return new DeviceChangedEvent(List.of(new DeviceChange(null, after)));
+    }
+
+    public static DeviceChangedEvent created(List<DeviceSnapshot> after) {
+        return new DeviceChangedEvent(after.stream()
+                .map(snapshot -> new DeviceChange(null, snapshot))
+                .toList());
+    }
+
+    public static DeviceChangedEvent updated(DeviceSnapshot before, DeviceSnapshot after) {
+        return new DeviceChangedEvent(List.of(new DeviceChange(before, after)));
+    }
+
+    public static DeviceChangedEvent deleted(DeviceSnapshot before) {
+        return new DeviceChangedEvent(List.of(new DeviceChange(before, null)));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.device.api.event;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+
+/**
+ * Immutable copy of the identifying state of a device at one point in time.
+ */
+public record DeviceSnapshot(Long id, String name, String brand, DeviceState state) {
+
+    public static DeviceSnapshot of(Device device) {
+        return new DeviceSnapshot(device.getId(), device.getName(), device.getBrand(), device.getState());
+    }
+}
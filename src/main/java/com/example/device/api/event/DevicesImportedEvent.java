@@ -0,0 +1,9 @@
+package com.example.device.api.event;
+
+/**
+ * Published by the bulk import instead of per-device {@link DeviceChangedEvent}s.
+ *
+ * @param imported number of devices created
+ */
+public record DevicesImportedEvent(long imported) {
+}
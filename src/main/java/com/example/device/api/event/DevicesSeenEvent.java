@@ -0,0 +1,12 @@
+package com.example.device.api.event;
+
+import java.util.List;
+
+/**
+ * Published by the heartbeat flush for the devices whose {@code last_seen_at} it moved forward.
+ *
+ * <p>Not a {@link DeviceChangedEvent}: a heartbeat changes neither the identity, the state
+ * nor the version of a device, only what cached lookups return for it.</p>
+ */
+public record DevicesSeenEvent(List<DeviceSnapshot> seen) {
+}
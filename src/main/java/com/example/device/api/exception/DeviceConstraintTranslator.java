@@ -0,0 +1,54 @@
+package com.example.device.api.exception;
+
+import lombok.experimental.UtilityClass;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Maps database constraint violations to domain exceptions.
+ *
+ * <p>Uniqueness of brand + name among live devices is enforced by the partial unique index
+ * {@code uk_devices_brand_name} alone; write paths insert directly and translate a violation instead of checking first.
+ * A violation is recognized by SQLState {@value #UNIQUE_VIOLATION} and the constraint name
+ * reported by the server, so other integrity errors are not mistaken for duplicates.</p>
+ */
+@UtilityClass
+public class DeviceConstraintTranslator {
+
+    public static final String BRAND_NAME_CONSTRAINT = "uk_devices_brand_name";
+
+    static final String UNIQUE_VIOLATION = "23505";
+
+    /**
+     * @param ex    violation raised by a write of the device
+     * @param name  name of the written device
+     * @param brand brand of the written device
+     * @return {@link DeviceAlreadyExistsException} for a brand + name conflict, otherwise {@code ex}
+     */
+    public static RuntimeException translate(DataIntegrityViolationException ex, String name, String brand) {
+        return isBrandNameConflict(ex) ? new DeviceAlreadyExistsException(name, brand) : ex;
+    }
+
+    public static boolean isBrandNameConflict(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return BRAND_NAME_CONSTRAINT.equals(constraintName(sql));
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static String constraintName(SQLException ex) {
+        if (ex instanceof PSQLException psql) {
+            ServerErrorMessage message = psql.getServerErrorMessage();
+            return message == null ? null : message.getConstraint();
+        }
+        return null;
+    }
+}
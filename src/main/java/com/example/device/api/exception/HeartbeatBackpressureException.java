@@ -0,0 +1,19 @@
+package com.example.device.api.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when heartbeats arrive faster than they are flushed and the pending buffer is full.
+ */
+@Getter
+public class HeartbeatBackpressureException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public HeartbeatBackpressureException(int pending, Duration retryAfter) {
+        super("Heartbeat buffer is full (" + pending + " devices pending), retry later");
+        this.retryAfter = retryAfter;
+    }
+}
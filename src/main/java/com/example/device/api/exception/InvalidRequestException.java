@@ -0,0 +1,12 @@
+package com.example.device.api.exception;
+
+/**
+ * Thrown when request data is syntactically valid but cannot be interpreted
+ * (e.g. a malformed pagination cursor).
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
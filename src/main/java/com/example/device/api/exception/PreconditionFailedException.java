@@ -0,0 +1,20 @@
+package com.example.device.api.exception;
+
+import com.example.device.api.utils.IfMatch;
+import lombok.Getter;
+
+/**
+ * Thrown when a conditional write ({@code If-Match}) finds the device missing or at none of the given versions.
+ */
+@Getter
+public class PreconditionFailedException extends RuntimeException {
+
+    private final Long id;
+    private final IfMatch ifMatch;
+
+    public PreconditionFailedException(Long id, IfMatch ifMatch) {
+        super("Device with id=" + id + " does not match If-Match: " + ifMatch);
+        this.id = id;
+        this.ifMatch = ifMatch;
+    }
+}
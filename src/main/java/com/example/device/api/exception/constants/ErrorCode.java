@@ -13,7 +13,9 @@ public enum ErrorCode {
     DEVICE_ALREADY_EXISTS("DEVICE_ALREADY_EXISTS", HttpStatus.CONFLICT, "Device already exists"),
     INVALID_REQUEST("INVALID_REQUEST", HttpStatus.BAD_REQUEST, "Invalid request data"),
     INTERNAL_ERROR("INTERNAL_ERROR", HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected server error"),
-    FORBIDDEN_OPERATION("FORBIDDEN_OPERATION", HttpStatus.FORBIDDEN, "Operation is not allowed");
+    FORBIDDEN_OPERATION("FORBIDDEN_OPERATION", HttpStatus.FORBIDDEN, "Operation is not allowed"),
+    PRECONDITION_FAILED("PRECONDITION_FAILED", HttpStatus.PRECONDITION_FAILED, "Device has been modified"),
+    SERVICE_UNAVAILABLE("SERVICE_UNAVAILABLE", HttpStatus.SERVICE_UNAVAILABLE, "Service is temporarily overloaded");
 
     private final String code;
     private final HttpStatus status;
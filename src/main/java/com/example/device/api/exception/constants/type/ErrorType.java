@@ -10,5 +10,7 @@ public enum ErrorType {
     BAD_REQUEST,
     UNAUTHORIZED,
     FORBIDDEN,
+    PRECONDITION_FAILED,
+    UNAVAILABLE,
     INTERNAL_ERROR
 }
@@ -38,6 +38,8 @@ public class ErrorDetailsDto {
             case DEVICE_NOT_FOUND -> ErrorType.NOT_FOUND;
             case DEVICE_ALREADY_EXISTS -> ErrorType.CONFLICT;
             case INVALID_REQUEST -> ErrorType.VALIDATION_ERROR;
+            case PRECONDITION_FAILED -> ErrorType.PRECONDITION_FAILED;
+            case SERVICE_UNAVAILABLE -> ErrorType.UNAVAILABLE;
             default -> ErrorType.INTERNAL_ERROR;
         };
     }
@@ -3,6 +3,9 @@ package com.example.device.api.exception.handler;
 import com.example.device.api.exception.DeviceAlreadyExistsException;
 import com.example.device.api.exception.DeviceNotFoundException;
 import com.example.device.api.exception.ForbiddenOperationException;
+import com.example.device.api.exception.HeartbeatBackpressureException;
+import com.example.device.api.exception.InvalidRequestException;
+import com.example.device.api.exception.PreconditionFailedException;
 import com.example.device.api.exception.constants.ErrorCode;
 import com.example.device.api.exception.dto.ErrorDetailsDto;
 import io.micrometer.common.lang.Nullable;
@@ -10,12 +13,15 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.ServletRequestBindingException;
@@ -101,6 +107,74 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return build(ErrorDetailsDto.of(ErrorCode.FORBIDDEN_OPERATION, ex.getMessage()));
     }
 
+    /**
+     * Wraps PreconditionFailedException (stale {@code If-Match}) into HTTP 412 response.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorDetailsDto> handlePreconditionFailed(
+            PreconditionFailedException ex,
+            HttpServletRequest request) {
+
+        logError("Precondition failed", ex, request);
+        return build(ErrorDetailsDto.of(ErrorCode.PRECONDITION_FAILED, ex.getMessage()));
+    }
+
+    /**
+     * Wraps HeartbeatBackpressureException into HTTP 503 response with a {@code Retry-After} header.
+     */
+    @ExceptionHandler(HeartbeatBackpressureException.class)
+    public ResponseEntity<ErrorDetailsDto> handleHeartbeatBackpressure(
+            HeartbeatBackpressureException ex,
+            HttpServletRequest request) {
+
+        log.warn("Heartbeat rejected | {} {} | {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+        long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        var details = ErrorDetailsDto.of(ErrorCode.SERVICE_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(details.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .body(details);
+    }
+
+    /**
+     * No database connection within the pool timeout: HTTP 503 with a {@code Retry-After} header
+     * rather than 500, so clients back off and the concurrency limiter counts the request as dropped.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorDetailsDto> handleDatabaseUnavailable(
+            RuntimeException ex,
+            HttpServletRequest request) {
+
+        logError("Database unavailable", ex, request);
+        var details = ErrorDetailsDto.of(ErrorCode.SERVICE_UNAVAILABLE, "Database is busy, retry later");
+        return ResponseEntity.status(details.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(details);
+    }
+
+    /**
+     * A versioned JPA write found the row changed after it was read: HTTP 412 as for a stale {@code If-Match}.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDetailsDto> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        logError("Concurrent modification", ex, request);
+        return build(ErrorDetailsDto.of(ErrorCode.PRECONDITION_FAILED, "Device was modified concurrently"));
+    }
+
+    /**
+     * Wraps InvalidRequestException into proper 400 response.
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorDetailsDto> handleInvalidRequest(
+            InvalidRequestException ex,
+            HttpServletRequest request) {
+
+        logError("Invalid request", ex, request);
+        return build(ErrorDetailsDto.of(ErrorCode.INVALID_REQUEST, ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorDetailsDto> handleEnumMismatch(
             MethodArgumentTypeMismatchException ex,
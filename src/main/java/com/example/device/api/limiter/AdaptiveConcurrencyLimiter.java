@@ -0,0 +1,84 @@
+package com.example.device.api.limiter;
+
+import lombok.Getter;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits requests while fewer than the current {@link VegasLimit} are in flight and feeds
+ * the latency of every admitted request back into the limit.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    @Getter
+    private final String name;
+    private final VegasLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(String name, VegasLimit limit) {
+        this.name = name;
+        this.limit = limit;
+    }
+
+    /**
+     * @return a permit to be released when the request completes, empty if the limit is reached
+     */
+    public Optional<Permit> tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                rejected.increment();
+                return Optional.empty();
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        return Optional.of(new Permit(System.nanoTime(), current + 1));
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * One admitted request. Released exactly once.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * The request completed; its latency is a sample for the limit.
+         *
+         * @param dropped whether the backend shed the request
+         */
+        public void release(boolean dropped) {
+            inFlight.decrementAndGet();
+            limit.onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+        }
+
+        /**
+         * The request failed in a way that says nothing about load; no sample is taken.
+         */
+        public void ignore() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
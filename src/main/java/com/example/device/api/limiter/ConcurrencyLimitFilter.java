@@ -0,0 +1,105 @@
+package com.example.device.api.limiter;
+
+import com.example.device.api.exception.constants.ErrorCode;
+import com.example.device.api.exception.dto.ErrorDetailsDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sheds load before it reaches the controllers.
+ *
+ * <p>Reads ({@code GET}, {@code HEAD}) and writes are limited separately: writes hold row
+ * locks and wait on each other, so their latency says little about how many reads the
+ * database can serve, and a burst of one kind must not starve the other. A request over
+ * the limit gets HTTP 503 with {@code Retry-After} at once instead of queueing for a
+ * database connection.</p>
+ *
+ * <p>Streamed exports and imports run for minutes and would read as overload, heartbeats
+ * have a backpressure of their own; those paths are not limited.</p>
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final List<String> EXCLUDED_PATHS = List.of(
+            "/device-api/devices/export",
+            "/device-api/devices/import",
+            "/device-api/*/heartbeat");
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final Duration retryAfter;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter readLimiter,
+                                  AdaptiveConcurrencyLimiter writeLimiter,
+                                  Duration retryAfter,
+                                  ObjectMapper objectMapper) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.retryAfter = retryAfter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return EXCLUDED_PATHS.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        AdaptiveConcurrencyLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = limiter.tryAcquire();
+        if (permit.isEmpty()) {
+            reject(request, response, limiter);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.get().ignore();
+            throw e;
+        }
+        // a 503 from further down (connection acquisition timed out) means the limit is too high
+        permit.get().release(response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, AdaptiveConcurrencyLimiter limiter)
+            throws IOException {
+
+        log.debug("Request shed | {} {} | {} limit {}",
+                request.getMethod(), request.getRequestURI(), limiter.getName(), limiter.getLimit());
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        var details = ErrorDetailsDto.of(ErrorCode.SERVICE_UNAVAILABLE,
+                "Too many concurrent requests, retry later");
+
+        response.setStatus(details.getHttpStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), details);
+    }
+}
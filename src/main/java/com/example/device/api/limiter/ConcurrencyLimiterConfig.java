@@ -0,0 +1,85 @@
+package com.example.device.api.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limits in front of the Device API controllers, see {@link ConcurrencyLimitFilter}.
+ *
+ * <p>Each limiter publishes {@code device.limiter.limit}, {@code device.limiter.inflight}
+ * and {@code device.limiter.rejected}, tagged {@code type=read|write}.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "device.limiter.enabled", matchIfMissing = true)
+public class ConcurrencyLimiterConfig {
+
+    /**
+     * Samples between two resets of the no-load latency, per unit of limit.
+     */
+    private static final int PROBE_INTERVAL = 30;
+
+    /**
+     * Early in the filter chain, so shed requests cost as little as possible.
+     */
+    public static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter(
+            @Value("${device.limiter.read.initial-limit:100}") int initialLimit,
+            @Value("${device.limiter.read.min-limit:20}") int minLimit,
+            @Value("${device.limiter.read.max-limit:1000}") int maxLimit,
+            MeterRegistry meterRegistry) {
+        return register(new AdaptiveConcurrencyLimiter("read",
+                new VegasLimit(initialLimit, minLimit, maxLimit, PROBE_INTERVAL)), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter(
+            @Value("${device.limiter.write.initial-limit:50}") int initialLimit,
+            @Value("${device.limiter.write.min-limit:10}") int minLimit,
+            @Value("${device.limiter.write.max-limit:500}") int maxLimit,
+            MeterRegistry meterRegistry) {
+        return register(new AdaptiveConcurrencyLimiter("write",
+                new VegasLimit(initialLimit, minLimit, maxLimit, PROBE_INTERVAL)), meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter readConcurrencyLimiter,
+            AdaptiveConcurrencyLimiter writeConcurrencyLimiter,
+            @Value("${device.limiter.retry-after:PT1S}") Duration retryAfter,
+            ObjectMapper objectMapper) {
+
+        var registration = new FilterRegistrationBean<>(new ConcurrencyLimitFilter(
+                readConcurrencyLimiter, writeConcurrencyLimiter, retryAfter, objectMapper));
+        registration.addUrlPatterns("/device-api/*");
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimiter register(AdaptiveConcurrencyLimiter limiter, MeterRegistry registry) {
+        Gauge.builder("device.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Requests that may be in flight")
+                .tag("type", limiter.getName())
+                .register(registry);
+        Gauge.builder("device.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests in flight")
+                .tag("type", limiter.getName())
+                .register(registry);
+        FunctionCounter.builder("device.limiter.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .description("Requests rejected with 503 because the limit was reached")
+                .tag("type", limiter.getName())
+                .register(registry);
+        return limiter;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.device.api.limiter;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit estimated from request latency, after TCP Vegas.
+ *
+ * <p>The lowest latency seen ({@code rttNoLoad}) approximates the time a request takes
+ * without queueing. With {@code limit} requests in flight and a sample latency {@code rtt},
+ * about {@code limit * (1 - rttNoLoad / rtt)} of them are queued, e.g. for database
+ * connections. The limit grows while that queue is small and shrinks once it grows, so
+ * requests are admitted at the rate the backend actually serves them. Step sizes scale
+ * with {@code log10(limit)}, so large limits do not move in single steps.</p>
+ *
+ * <p>A dropped request (the backend shed it) shrinks the limit regardless of latency.
+ * Every {@code probeInterval * limit} samples the baseline is reset to the current latency,
+ * so a permanent change of the no-load latency (a slower query plan, a busier database)
+ * is picked up instead of being read as queueing forever.</p>
+ */
+public class VegasLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeInterval;
+
+    /**
+     * Samples arrive from every request thread; updates are a few arithmetic operations,
+     * a {@link ReentrantLock} keeps waiting virtual threads off their carriers.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile double limit;
+    private long rttNoLoad;
+    private long samplesSinceProbe;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, int probeInterval) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= maxLimit, got " + minLimit + ", " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeInterval = probeInterval;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * @return current number of requests that may be in flight
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Adjusts the limit to a completed request.
+     *
+     * @param rttNanos latency of the request
+     * @param inFlight requests in flight when it started, itself included
+     * @param dropped  whether the request was shed by the backend
+     */
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        lock.lock();
+        try {
+            double current = limit;
+            double step = Math.max(1, Math.log10(current));
+
+            if (dropped) {
+                limit = bounded(current - step);
+                return;
+            }
+            if (rttNanos <= 0) {
+                return;
+            }
+            if (rttNoLoad == 0 || rttNanos < rttNoLoad || ++samplesSinceProbe >= probeInterval * current) {
+                rttNoLoad = rttNanos;
+                samplesSinceProbe = 0;
+                return;
+            }
+            // too few requests to tell anything about the limit
+            if (inFlight * 2 < current) {
+                return;
+            }
+
+            double queued = Math.ceil(current * (1 - (double) rttNoLoad / rttNanos));
+            if (queued <= step) {
+                limit = bounded(current + 6 * step);
+            } else if (queued < 3 * step) {
+                limit = bounded(current + step);
+            } else if (queued > 6 * step) {
+                limit = bounded(current - step);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double bounded(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
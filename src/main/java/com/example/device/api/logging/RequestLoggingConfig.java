@@ -0,0 +1,54 @@
+package com.example.device.api.logging;
+
+import com.example.device.api.limiter.ConcurrencyLimiterConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request logging for the Device API, see {@link RequestLoggingFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "device.request-log.enabled", matchIfMissing = true)
+public class RequestLoggingConfig {
+
+    /**
+     * @param sampleRates entries of the form {@code GET /device-api/{id}=0.05}
+     */
+    @Bean
+    public FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter(
+            @Value("${device.request-log.sample-rate:1.0}") double defaultSampleRate,
+            @Value("${device.request-log.sample-rates:}") List<String> sampleRates,
+            @Value("${device.request-log.slow-threshold:PT1S}") Duration slowThreshold) {
+
+        var registration = new FilterRegistrationBean<>(
+                new RequestLoggingFilter(defaultSampleRate, parseSampleRates(sampleRates), slowThreshold));
+        registration.addUrlPatterns("/device-api/*");
+        // behind the concurrency limiter: shed requests are counted there, not logged one by one
+        registration.setOrder(ConcurrencyLimiterConfig.FILTER_ORDER + 1);
+        return registration;
+    }
+
+    static Map<String, Double> parseSampleRates(List<String> entries) {
+        Map<String, Double> rates = new HashMap<>();
+        for (String entry : entries) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException(
+                        "Expected 'METHOD route=rate' in device.request-log.sample-rates, got '" + entry + "'");
+            }
+            rates.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+        return rates;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.device.api.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One structured line per request on the {@code device.requests} logger.
+ *
+ * <p>Requests are sampled per endpoint ({@code METHOD route}, e.g. {@code GET /device-api/{id}}),
+ * so hot endpoints can log a small fraction of their traffic. Server errors and requests
+ * slower than {@code slowThreshold} are always logged, at WARN. The logger writes through
+ * an asynchronous, non-blocking appender (see {@code logback-spring.xml}), so a request
+ * never waits for the console.</p>
+ *
+ * <p>Line format (logfmt):
+ * {@code method=GET route=/device-api/{id} path=/device-api/42 status=200 durationMs=3.1 reason=sampled rate=0.05}</p>
+ */
+@Slf4j(topic = "device.requests")
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final int MAX_QUERY_LENGTH = 256;
+
+    private final double defaultSampleRate;
+    private final Map<String, Double> sampleRates;
+    private final long slowThresholdNanos;
+
+    /**
+     * @param sampleRates fraction of requests logged by {@code METHOD route}, others use {@code defaultSampleRate}
+     */
+    public RequestLoggingFilter(double defaultSampleRate, Map<String, Double> sampleRates, Duration slowThreshold) {
+        this.defaultSampleRate = defaultSampleRate;
+        this.sampleRates = Map.copyOf(sampleRates);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            log(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, System.nanoTime() - start, e);
+            throw e;
+        }
+
+        if (request.isAsyncStarted()) {
+            // streamed responses: the status and duration are known once the async processing completes
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    log(request, response.getStatus(), System.nanoTime() - start, event.getThrowable());
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            log(request, response.getStatus(), System.nanoTime() - start, null);
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long nanos, Throwable failure) {
+        boolean error = status >= 500 || failure != null;
+        boolean slow = nanos >= slowThresholdNanos;
+        String route = route(request);
+        double rate = sampleRates.getOrDefault(request.getMethod() + " " + route, defaultSampleRate);
+
+        if (error || slow) {
+            if (log.isWarnEnabled()) {
+                log.warn(line(request, route, status, nanos, error ? "error" : "slow", rate, failure));
+            }
+        } else if (log.isInfoEnabled() && sampled(rate)) {
+            log.info(line(request, route, status, nanos, "sampled", rate, null));
+        }
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * @return the mapped handler pattern, so that all requests to one endpoint share a route
+     */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "-";
+    }
+
+    private static String line(HttpServletRequest request, String route, int status, long nanos,
+                               String reason, double rate, Throwable failure) {
+        StringBuilder line = new StringBuilder(160)
+                .append("method=").append(request.getMethod())
+                .append(" route=").append(route)
+                .append(" path=").append(request.getRequestURI());
+
+        String query = request.getQueryString();
+        if (query != null) {
+            line.append(" query=\"");
+            appendEscaped(line, query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) + "..." : query);
+            line.append('"');
+        }
+
+        line.append(" status=").append(status)
+                .append(" durationMs=").append(TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0)
+                .append(" reason=").append(reason)
+                .append(" rate=").append(rate);
+
+        if (failure != null) {
+            line.append(" error=").append(failure.getClass().getSimpleName());
+        }
+        return line.toString();
+    }
+
+    private static void appendEscaped(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\');
+            }
+            line.append(c);
+        }
+    }
+}
@@ -21,6 +21,8 @@ public interface DeviceMapper {
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "lastSeenAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Device toEntity(CreateDeviceRequest request);
 
     /**
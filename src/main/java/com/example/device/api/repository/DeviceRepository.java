@@ -1,46 +1,64 @@
 package com.example.device.api.repository;
 
+import com.example.device.api.dto.responses.DeviceResponse;
 import com.example.device.api.entity.Device;
-import com.example.device.api.entity.DeviceState;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
 import java.util.Optional;
 
 /**
  * JPA repository for managing Device entities.
+ *
+ * <p>Filtered listings are built from
+ * {@link com.example.device.api.repository.specification.DeviceSpecifications}
+ * and executed through {@link DeviceRepositoryCustom#findResponses}.</p>
+ *
+ * <p>Read paths use the {@code *Response*} methods, which project rows straight into
+ * {@link DeviceResponse} and skip entity hydration; write paths load {@link Device}
+ * or write through {@link com.example.device.api.repository.jdbc.DeviceJdbcRepository}.</p>
  */
 @Repository
-public interface DeviceRepository extends JpaRepository<Device, Long> {
+public interface DeviceRepository extends JpaRepository<Device, Long>, DeviceRepositoryCustom {
 
     /**
-     * Checks if a device already exists based on name and brand.
-     *
-     * @param name  device name
-     * @param brand device brand
-     * @return true if a matching device exists
+     * Fetch device by unique brand + name.
      */
-    boolean existsByNameAndBrand(String name, String brand);
+    Optional<Device> findByBrandAndName(String brand, String name);
 
     /**
-     * Fetch device by unique brand + name.
+     * Fetch device by ID and lock its row ({@code SELECT ... FOR UPDATE}) until the transaction ends.
      */
-    Optional<Device> findByBrandAndName(String brand, String name);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Device d WHERE d.id = :id")
+    Optional<Device> findLockedById(@Param("id") Long id);
 
+    /**
+     * Read-only lookup by ID projected straight into a response DTO.
+     */
+    @Query("""
+            SELECT new com.example.device.api.dto.responses.DeviceResponse(
+                d.id, d.name, d.brand, d.state, d.createdAt, d.lastSeenAt, d.version)
+            FROM Device d
+            WHERE d.id = :id
+            """)
+    Optional<DeviceResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Read-only lookup by unique brand + name projected straight into a response DTO.
+     * Served by an index scan on {@code uk_devices_brand_name} plus one heap page:
+     * {@code last_seen_at} is kept out of the index so heartbeats stay HOT updates.
+     */
     @Query("""
-            SELECT d FROM Device d
-            WHERE (:brand IS NULL OR d.brand = :brand)
-              AND (:name IS NULL OR d.name = :name)
-              AND (:state IS NULL OR d.state = :state)
+            SELECT new com.example.device.api.dto.responses.DeviceResponse(
+                d.id, d.name, d.brand, d.state, d.createdAt, d.lastSeenAt, d.version)
+            FROM Device d
+            WHERE d.brand = :brand AND d.name = :name
             """)
-    List<Device> findFiltered(
-            @Param("brand") String brand,
-            @Param("name") String name,
-            @Param("state") DeviceState state,
-            Pageable pageable
-    );
+    Optional<DeviceResponse> findResponseByBrandAndName(@Param("brand") String brand,
+                                                        @Param("name") String name);
 }
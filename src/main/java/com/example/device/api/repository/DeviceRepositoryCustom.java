@@ -0,0 +1,52 @@
+package com.example.device.api.repository;
+
+import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.entity.Device;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom query fragment of {@link DeviceRepository}.
+ */
+public interface DeviceRepositoryCustom {
+
+    /**
+     * Fetches a single page of devices matching the specification, projected
+     * straight into {@link DeviceResponse} (no managed entities are created).
+     *
+     * <p>Unlike {@code JpaSpecificationExecutor#findAll(Specification, Pageable)}
+     * no additional {@code count(*)} query is issued.</p>
+     *
+     * @param spec     filter specification
+     * @param pageable offset, limit and sort
+     * @return devices on the requested page
+     */
+    List<DeviceResponse> findResponses(Specification<Device> spec, Pageable pageable);
+
+    /**
+     * Streams all devices matching the specification, projected into {@link DeviceResponse}.
+     *
+     * <p>Rows are read through a forward-only, read-only cursor that fetches
+     * {@code fetchSize} rows per round trip, so memory use stays flat regardless of the
+     * result size. Must be called inside a transaction (the PostgreSQL driver only honours
+     * the fetch size with auto-commit disabled) and the returned stream must be closed.</p>
+     *
+     * @param spec      filter specification
+     * @param sort      result order
+     * @param fetchSize rows fetched per round trip
+     * @return lazily populated stream of devices
+     */
+    Stream<DeviceResponse> streamResponses(Specification<Device> spec, Sort sort, int fetchSize);
+
+    /**
+     * Counts devices matching the specification.
+     *
+     * @param spec filter specification
+     * @return number of matching devices
+     */
+    long countMatching(Specification<Device> spec);
+}
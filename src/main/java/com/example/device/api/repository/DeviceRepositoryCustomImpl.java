@@ -0,0 +1,87 @@
+package com.example.device.api.repository;
+
+import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.entity.Device;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Criteria API implementation of {@link DeviceRepositoryCustom}.
+ */
+public class DeviceRepositoryCustomImpl implements DeviceRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DeviceResponse> findResponses(Specification<Device> spec, Pageable pageable) {
+        return createQuery(spec, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public Stream<DeviceResponse> streamResponses(Specification<Device> spec, Sort sort, int fetchSize) {
+        return createQuery(spec, sort)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public long countMatching(Specification<Device> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Device> root = query.from(Device.class);
+
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private TypedQuery<DeviceResponse> createQuery(Specification<Device> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DeviceResponse> query = cb.createQuery(DeviceResponse.class);
+        Root<Device> root = query.from(Device.class);
+
+        query.select(cb.construct(DeviceResponse.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("brand"),
+                root.get("state"),
+                root.get("createdAt"),
+                root.get("lastSeenAt"),
+                root.get("version")
+        ));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+}
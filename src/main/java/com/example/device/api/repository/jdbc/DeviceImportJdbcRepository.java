@@ -0,0 +1,209 @@
+package com.example.device.api.repository.jdbc;
+
+import com.example.device.api.dto.responses.DeviceImportRejection;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based bulk import through a staging table loaded with {@code COPY}.
+ *
+ * <p>The staging table is a temporary table dropped on commit: it is never WAL-logged and
+ * is private to the importing session, so concurrent imports do not see each other's rows.
+ * All methods must therefore be called in one transaction, starting with {@link #createStaging()}.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceImportJdbcRepository {
+
+    /**
+     * Staging columns a {@code COPY} may load. Everything is text so that
+     * malformed values reach validation instead of failing the whole load.
+     */
+    public static final Set<String> STAGING_COLUMNS =
+            Set.of("row_no", "id", "name", "brand", "state", "created_at", "error");
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMPORARY TABLE device_import (
+                row_no     bigint GENERATED BY DEFAULT AS IDENTITY,
+                id         text,
+                name       text,
+                brand      text,
+                state      text,
+                created_at text,
+                error      text
+            ) ON COMMIT DROP
+            """;
+
+    /**
+     * Mirrors the bean validation of {@code CreateDeviceRequest}; the first failing rule is reported.
+     */
+    private static final String VALIDATE = """
+            UPDATE device_import
+            SET error = CASE
+                    WHEN name IS NULL OR name !~ '\\S' THEN 'Device name cannot be blank'
+                    WHEN char_length(name) NOT BETWEEN ? AND ? THEN 'Device name must have a valid length, max = 255'
+                    WHEN name !~ ? THEN 'Device name contains invalid characters'
+                    WHEN brand IS NULL OR brand !~ '\\S' THEN 'Device brand cannot be blank'
+                    WHEN char_length(brand) NOT BETWEEN ? AND ? THEN 'Brand must have a valid length, max = 255'
+                    WHEN brand !~ ? THEN 'Brand contains invalid characters'
+                    WHEN state IS NULL THEN 'Device state cannot be null'
+                    WHEN state <> ALL(?) THEN 'Unknown device state'
+                END
+            WHERE error IS NULL
+            """;
+
+    /**
+     * Same trimming as {@code StringUtil.normalize} ({@link String#trim()} strips code points up to U+0020).
+     */
+    private static final String NORMALIZE = """
+            UPDATE device_import
+            SET name  = regexp_replace(name,  '^[\\x01-\\x20]+|[\\x01-\\x20]+$', '', 'g'),
+                brand = regexp_replace(brand, '^[\\x01-\\x20]+|[\\x01-\\x20]+$', '', 'g')
+            WHERE error IS NULL
+            """;
+
+    private static final String REJECT_DUPLICATES = """
+            UPDATE device_import s
+            SET error = 'Duplicate of row ' || d.first_row
+            FROM (
+                SELECT row_no, min(row_no) OVER (PARTITION BY brand, name) AS first_row
+                FROM device_import
+                WHERE error IS NULL
+            ) d
+            WHERE s.row_no = d.row_no
+              AND d.row_no <> d.first_row
+            """;
+
+    /**
+     * Inserts all valid rows in one statement. Rows whose brand + name already exists,
+     * including ones committed concurrently, are skipped by {@code ON CONFLICT} and marked
+     * as rejected by the outer update. Rows are inserted in {@code (brand, name)} order so the
+     * unique and brand indexes are appended to page by page instead of at random positions.
+     */
+    private static final String MERGE = """
+            WITH inserted AS (
+                INSERT INTO devices (name, brand, state, created_at)
+                SELECT name, brand, state, LOCALTIMESTAMP
+                FROM device_import
+                WHERE error IS NULL
+                ORDER BY brand, name
+                ON CONFLICT (brand, name) WHERE deleted_at IS NULL DO NOTHING
+                RETURNING brand, name
+            )
+            UPDATE device_import s
+            SET error = 'Device with this brand and name already exists'
+            WHERE s.error IS NULL
+              AND NOT EXISTS (SELECT 1 FROM inserted i WHERE i.brand = s.brand AND i.name = s.name)
+            """;
+
+    private static final String COUNT_IMPORTED = "SELECT count(*) FROM device_import WHERE error IS NULL";
+
+    private static final String FIND_REJECTIONS = """
+            SELECT row_no, name, brand, error
+            FROM device_import
+            WHERE error IS NOT NULL
+            ORDER BY row_no
+            LIMIT ?
+            """;
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes CSV rows into a {@code COPY ... FROM STDIN}.
+     */
+    @FunctionalInterface
+    public interface CopyWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    public void createStaging() {
+        jdbcTemplate.execute(CREATE_STAGING);
+    }
+
+    /**
+     * Streams CSV rows (no header) into the staging table.
+     *
+     * @param columns staging columns in CSV field order, a subset of {@link #STAGING_COLUMNS}
+     * @param writer  producer of the CSV data
+     * @return number of loaded rows
+     */
+    public long copyCsv(List<String> columns, CopyWriter writer) {
+        if (columns.isEmpty() || !STAGING_COLUMNS.containsAll(columns)) {
+            throw new IllegalArgumentException("Unknown staging columns: " + columns);
+        }
+
+        String sql = "COPY device_import (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+
+        long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            PGCopyOutputStream out = new PGCopyOutputStream(
+                    connection.unwrap(PGConnection.class), sql, COPY_BUFFER_SIZE);
+            try {
+                writer.write(out);
+                return out.endCopy();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (out.isActive()) {
+                    out.cancelCopy();
+                }
+            }
+        });
+
+        // temporary tables are not analyzed by autovacuum
+        jdbcTemplate.execute("ANALYZE device_import");
+        return rows;
+    }
+
+    /**
+     * Validates, normalizes and de-duplicates the staged rows, then merges the valid ones into {@code devices}.
+     *
+     * @param pattern  allowed characters of name and brand
+     * @param minSize  minimum length of name and brand
+     * @param maxSize  maximum length of name and brand
+     * @param states   allowed states
+     * @return number of inserted devices
+     */
+    public long merge(String pattern, int minSize, int maxSize, String[] states) {
+        jdbcTemplate.update(VALIDATE, ps -> {
+            ps.setInt(1, minSize);
+            ps.setInt(2, maxSize);
+            ps.setString(3, pattern);
+            ps.setInt(4, minSize);
+            ps.setInt(5, maxSize);
+            ps.setString(6, pattern);
+            ps.setArray(7, ps.getConnection().createArrayOf("text", states));
+        });
+        jdbcTemplate.update(NORMALIZE);
+        jdbcTemplate.update(REJECT_DUPLICATES);
+        jdbcTemplate.update(MERGE);
+
+        Long imported = jdbcTemplate.queryForObject(COUNT_IMPORTED, Long.class);
+        return imported == null ? 0 : imported;
+    }
+
+    /**
+     * @param limit maximum number of rejections to return
+     * @return rejected rows in input order
+     */
+    public List<DeviceImportRejection> findRejections(int limit) {
+        return jdbcTemplate.query(FIND_REJECTIONS,
+                (rs, rowNum) -> new DeviceImportRejection(
+                        rs.getLong("row_no"),
+                        rs.getString("name"),
+                        rs.getString("brand"),
+                        rs.getString("error")),
+                limit);
+    }
+}
@@ -0,0 +1,691 @@
+package com.example.device.api.repository.jdbc;
+
+import com.example.device.api.dto.responses.DeviceResolution;
+import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.dto.responses.DeviceStatisticsResponse;
+import com.example.device.api.entity.DeleteMode;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.repository.specification.DeviceFilter;
+import com.example.device.api.repository.specification.DeviceSpecifications;
+import com.example.device.api.utils.IfMatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plain JDBC device queries for set-based operations that JPQL cannot express
+ * efficiently (PostgreSQL array parameters).
+ *
+ * <p>Like the JPA queries, every statement only sees live devices ({@code deleted_at IS NULL}),
+ * which is also what lets the planner use the partial indexes.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceJdbcRepository {
+
+    private static final String FIND_BY_IDS = """
+            SELECT id, name, brand, state, created_at, last_seen_at, version
+            FROM devices
+            WHERE id = ANY(?) AND deleted_at IS NULL
+            ORDER BY id
+            """;
+
+    /**
+     * Pairs are unnested side by side, so each (brand, name) row probes
+     * the {@code uk_devices_brand_name} index once; the ordinality keeps the request order.
+     */
+    private static final String RESOLVE_BY_BRAND_AND_NAME = """
+            SELECT k.brand AS key_brand, k.name AS key_name,
+                   d.id, d.name, d.brand, d.state, d.created_at, d.last_seen_at, d.version
+            FROM unnest(?::text[], ?::text[]) WITH ORDINALITY AS k(brand, name, ord)
+            LEFT JOIN devices d ON d.brand = k.brand AND d.name = k.name AND d.deleted_at IS NULL
+            ORDER BY k.ord
+            """;
+
+    /**
+     * Inserts devices whose brand + name is free in one statement, in input order. A pair taken by
+     * a live device, including one committed concurrently, is skipped by {@code ON CONFLICT} and
+     * returns no row.
+     */
+    private static final String INSERT_ABSENT = """
+            INSERT INTO devices (name, brand, state, created_at)
+            SELECT k.name, k.brand, k.state, LOCALTIMESTAMP
+            FROM unnest(?::text[], ?::text[], ?::text[]) WITH ORDINALITY AS k(name, brand, state, ord)
+            ORDER BY k.ord
+            ON CONFLICT (brand, name) WHERE deleted_at IS NULL DO NOTHING
+            RETURNING id, name, brand, state, created_at, last_seen_at, version
+            """;
+
+    /**
+     * Insert-or-update by the natural key in one statement. {@code old} locks the existing device
+     * and reads its latest state, like the {@code old} subquery of {@link #UPDATE_BY_ID}; the insert
+     * reads {@code old} so the lock is taken before it runs, and the conflict then hits that locked
+     * row. The conflicting row stays locked even when the {@code WHERE} skips a no-op update.
+     * A device committed by another transaction after this statement started is not in {@code old};
+     * its update is skipped as well, since its previous state is unknown, and the caller repeats the
+     * statement, which then sees it. {@code previous_state} is NULL for inserts only.
+     */
+    private static final String UPSERT_BY_BRAND_AND_NAME = """
+            WITH old AS MATERIALIZED (
+                SELECT id, state FROM devices
+                WHERE brand = ? AND name = ? AND deleted_at IS NULL
+                FOR UPDATE
+            ), upserted AS (
+                INSERT INTO devices (name, brand, state, created_at)
+                SELECT ?, ?, ?, LOCALTIMESTAMP
+                WHERE (SELECT count(*) FROM old) >= 0
+                ON CONFLICT (brand, name) WHERE deleted_at IS NULL
+                DO UPDATE SET state = EXCLUDED.state, version = devices.version + 1
+                WHERE devices.state <> EXCLUDED.state AND EXISTS (SELECT 1 FROM old)
+                RETURNING id, name, brand, state, created_at, last_seen_at, version, (xmax = 0) AS inserted
+            )
+            SELECT u.id, u.name, u.brand, u.state, u.created_at, u.last_seen_at, u.version, u.inserted,
+                   o.state AS previous_state
+            FROM upserted u
+            LEFT JOIN old o ON o.id = u.id
+            """;
+
+    /**
+     * Conditional update by id in one statement; {@code %1$s} is the {@code SET} list and
+     * {@code %2$s} the guards. The {@code old} subquery locks the row and reads its latest
+     * version, so the returned previous values are exact even under concurrent writes.
+     */
+    private static final String UPDATE_BY_ID = """
+            UPDATE devices d
+            SET %1$s, version = d.version + 1
+            FROM (SELECT id, name, brand, state FROM devices WHERE id = ? AND deleted_at IS NULL FOR UPDATE) old
+            WHERE d.id = ? AND old.id = d.id
+              AND %2$s
+            RETURNING d.id, d.name, d.brand, d.state, d.created_at, d.last_seen_at, d.version,
+                      old.name AS previous_name, old.brand AS previous_brand, old.state AS previous_state
+            """;
+
+    /**
+     * Set-based state transition; {@code %s} selects the devices. {@code matched} locks the
+     * selected rows in id order, so concurrent transitions over overlapping sets cannot deadlock,
+     * and re-reads their latest state. The outer join keeps one row carrying the match count
+     * when no device needs to change.
+     */
+    private static final String TRANSITION_STATE = """
+            WITH matched AS (
+                SELECT id, state FROM devices WHERE deleted_at IS NULL AND %s ORDER BY id FOR UPDATE
+            ), updated AS (
+                UPDATE devices d
+                SET state = ?, version = d.version + 1
+                FROM matched m
+                WHERE d.id = m.id AND m.state <> ?
+                RETURNING d.id, d.name, d.brand, m.state AS previous_state
+            )
+            SELECT (SELECT count(*) FROM matched) AS matched,
+                   u.id, u.name, u.brand, u.previous_state
+            FROM (SELECT 1) one
+            LEFT JOIN updated u ON true
+            ORDER BY u.id
+            """;
+
+    /**
+     * Deletes the selected devices unless they are {@code IN_USE}; {@code %1$s} selects the devices,
+     * {@code %2$s} optionally limits them and {@code %3$s} is {@link #HARD_DELETE_LOCKED} or
+     * {@link #SOFT_DELETE_LOCKED}.
+     * {@code locked} locks them in id order and re-reads their latest state, so a device moved to
+     * {@code IN_USE} concurrently is reported as such and not deleted. Devices deleted concurrently
+     * drop out of {@code locked}.
+     */
+    private static final String DELETE_UNLESS_IN_USE = """
+            WITH locked AS (
+                SELECT id, name, brand, state FROM devices WHERE deleted_at IS NULL AND %1$s ORDER BY id %2$s FOR UPDATE
+            ), deleted AS (
+                %3$s
+            )
+            SELECT l.id, l.name, l.brand, l.state, (x.id IS NOT NULL) AS deleted
+            FROM locked l
+            LEFT JOIN deleted x ON x.id = l.id
+            ORDER BY l.id
+            """;
+
+    private static final String HARD_DELETE_LOCKED = """
+            DELETE FROM devices d
+                USING locked l
+                WHERE d.id = l.id AND l.state <> 'IN_USE'
+                RETURNING d.id""";
+
+    private static final String SOFT_DELETE_LOCKED = """
+            UPDATE devices d
+                SET deleted_at = LOCALTIMESTAMP, version = d.version + 1
+                FROM locked l
+                WHERE d.id = l.id AND l.state <> 'IN_USE'
+                RETURNING d.id""";
+
+    /**
+     * Tombstones one device; the only index entries written are the primary key and
+     * {@code idx_devices_deleted_at}, the partial indexes drop the row. {@code %s} holds
+     * the optional version guard.
+     */
+    private static final String SOFT_DELETE_BY_ID = """
+            UPDATE devices
+            SET deleted_at = LOCALTIMESTAMP, version = version + 1
+            WHERE id = ? AND deleted_at IS NULL AND state <> 'IN_USE'%s
+            RETURNING id, name, brand, state
+            """;
+
+    /**
+     * Removes the oldest tombstones. {@code SKIP LOCKED} leaves rows locked by
+     * other transactions to the next run instead of waiting for them.
+     */
+    private static final String PURGE_DELETED = """
+            DELETE FROM devices
+            WHERE id IN (
+                SELECT id FROM devices
+                WHERE deleted_at < LOCALTIMESTAMP - make_interval(secs => ?)
+                ORDER BY deleted_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            """;
+
+    /**
+     * Applies a batch of heartbeats: ids and times are unnested side by side and joined
+     * to the devices by primary key. Unknown and deleted ids match nothing; a time that is
+     * not newer than the stored one (e.g. written by another node) leaves the row untouched.
+     */
+    private static final String TOUCH_LAST_SEEN = """
+            UPDATE devices d
+            SET last_seen_at = h.seen_at
+            FROM unnest(?::bigint[], ?::timestamp[]) AS h(id, seen_at)
+            WHERE d.id = h.id AND d.deleted_at IS NULL
+              AND (d.last_seen_at IS NULL OR d.last_seen_at < h.seen_at)
+            RETURNING d.id, d.name, d.brand, d.state
+            """;
+
+    /**
+     * Both histograms in one pass over the table.
+     */
+    private static final String COUNT_BY_STATE_AND_BRAND = """
+            SELECT state, brand, count(*) AS cnt
+            FROM devices
+            WHERE deleted_at IS NULL
+            GROUP BY GROUPING SETS ((state), (brand))
+            """;
+
+    /**
+     * Row estimate of the top plan node, e.g. {@code Seq Scan on devices (cost=0.00..1.05 rows=5 width=4)}.
+     */
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fetches all devices whose id is in {@code ids} with a single statement.
+     * The ids are bound as one {@code bigint[]} parameter, so the statement text
+     * (and its cached plan) does not depend on the number of ids.
+     *
+     * @param ids device ids
+     * @return found devices ordered by id
+     */
+    public List<DeviceResponse> findResponsesByIds(long[] ids) {
+        return jdbcTemplate.query(FIND_BY_IDS,
+                ps -> ps.setObject(1, ids),
+                DeviceResponseRowMapper.INSTANCE);
+    }
+
+    /**
+     * Resolves brand + name pairs with a single statement.
+     * {@code brands[i]} and {@code names[i]} form the i-th pair.
+     *
+     * @param brands brands, same length as {@code names}
+     * @param names  names
+     * @return one resolution per pair, in input order
+     */
+    public List<DeviceResolution> resolveByBrandAndName(String[] brands, String[] names) {
+        return jdbcTemplate.query(RESOLVE_BY_BRAND_AND_NAME,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("text", brands));
+                    ps.setArray(2, ps.getConnection().createArrayOf("text", names));
+                },
+                (rs, rowNum) -> {
+                    rs.getLong("id");
+                    boolean found = !rs.wasNull();
+                    return new DeviceResolution(
+                            rs.getString("key_brand"),
+                            rs.getString("key_name"),
+                            found,
+                            found ? DeviceResponseRowMapper.INSTANCE.mapRow(rs, rowNum) : null
+                    );
+                });
+    }
+
+    /**
+     * Creates the devices whose brand + name is not taken yet, with a single statement.
+     * {@code names[i]}, {@code brands[i]} and {@code states[i]} describe the i-th device;
+     * the pairs must be distinct.
+     *
+     * @param names  normalized names
+     * @param brands normalized brands, same length as {@code names}
+     * @param states states, same length as {@code names}
+     * @return the created devices; pairs that already exist are absent
+     */
+    public List<DeviceResponse> insertAbsent(String[] names, String[] brands, String[] states) {
+        return jdbcTemplate.query(INSERT_ABSENT,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("text", names));
+                    ps.setArray(2, ps.getConnection().createArrayOf("text", brands));
+                    ps.setArray(3, ps.getConnection().createArrayOf("text", states));
+                },
+                DeviceResponseRowMapper.INSTANCE);
+    }
+
+    /**
+     * Result of {@link #upsert}.
+     *
+     * @param device        the device as stored
+     * @param inserted      whether the device was created
+     * @param previousState state before the update; null for inserts
+     */
+    public record Upserted(DeviceResponse device, boolean inserted, DeviceState previousState) {
+    }
+
+    /**
+     * Creates the device or updates the state of the existing device with the same brand and name.
+     *
+     * @param name  normalized name
+     * @param brand normalized brand
+     * @param state desired state
+     * @return the written device, empty if the existing device already has {@code state}
+     *         or was committed concurrently after the statement started
+     */
+    public Optional<Upserted> upsert(String name, String brand, DeviceState state) {
+        List<Upserted> rows = jdbcTemplate.query(UPSERT_BY_BRAND_AND_NAME,
+                (rs, rowNum) -> {
+                    String previous = rs.getString("previous_state");
+                    return new Upserted(
+                            DeviceResponseRowMapper.INSTANCE.mapRow(rs, rowNum),
+                            rs.getBoolean("inserted"),
+                            previous == null ? null : DeviceState.valueOf(previous)
+                    );
+                },
+                brand, name, name, brand, state.name());
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Result of {@link #update}.
+     *
+     * @param device        the device as stored
+     * @param previousName  name before the update
+     * @param previousBrand brand before the update
+     * @param previousState state before the update
+     */
+    public record Updated(DeviceResponse device, String previousName, String previousBrand,
+                          DeviceState previousState) {
+    }
+
+    /**
+     * Updates the given columns of a device in one statement; {@code null} arguments are left
+     * unchanged and not written. The row is only written if it is not {@code IN_USE} or keeps its
+     * name and brand, if no other device has the resulting brand + name, and if at least one
+     * column actually changes. The brand + name probe uses the unique index; a conflicting
+     * device committed concurrently still surfaces as a
+     * {@link org.springframework.dao.DuplicateKeyException}. Every write increments the version.
+     *
+     * @param id              device id
+     * @param name            new normalized name, or {@code null}
+     * @param brand           new normalized brand, or {@code null}
+     * @param state           new state, or {@code null}
+     * @param ifMatch         versions the device may still have, or {@code null} for any
+     * @return the written device, empty if the device is missing, a guard failed or nothing changed
+     */
+    public Optional<Updated> update(long id, String name, String brand, DeviceState state, IfMatch ifMatch) {
+        List<String> assignments = new ArrayList<>();
+        List<String> changes = new ArrayList<>();
+        List<Object> setArgs = new ArrayList<>();
+        List<Object> changeArgs = new ArrayList<>();
+
+        if (name != null) {
+            assignments.add("name = ?");
+            changes.add("d.name IS DISTINCT FROM ?");
+            setArgs.add(name);
+            changeArgs.add(name);
+        }
+        if (brand != null) {
+            assignments.add("brand = ?");
+            changes.add("d.brand IS DISTINCT FROM ?");
+            setArgs.add(brand);
+            changeArgs.add(brand);
+        }
+        if (state != null) {
+            assignments.add("state = ?");
+            changes.add("d.state IS DISTINCT FROM ?");
+            setArgs.add(state.name());
+            changeArgs.add(state.name());
+        }
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update for device id=" + id);
+        }
+
+        List<String> guards = new ArrayList<>();
+        List<Object> guardArgs = new ArrayList<>();
+
+        if (ifMatch != null && !ifMatch.any()) {
+            guards.add("d.version = ANY(?)");
+            guardArgs.add(ifMatch.versionArray());
+        }
+
+        if (name != null || brand != null) {
+            List<String> keep = new ArrayList<>();
+            if (name != null) {
+                keep.add("d.name = ?");
+                guardArgs.add(name);
+            }
+            if (brand != null) {
+                keep.add("d.brand = ?");
+                guardArgs.add(brand);
+            }
+            guards.add("(d.state <> 'IN_USE' OR (" + String.join(" AND ", keep) + "))");
+            guards.add("NOT EXISTS (SELECT 1 FROM devices x WHERE x.brand = "
+                    + (brand != null ? "?" : "d.brand") + " AND x.name = "
+                    + (name != null ? "?" : "d.name") + " AND x.id <> d.id AND x.deleted_at IS NULL)");
+            if (brand != null) {
+                guardArgs.add(brand);
+            }
+            if (name != null) {
+                guardArgs.add(name);
+            }
+        }
+        guards.add("(" + String.join(" OR ", changes) + ")");
+
+        List<Object> args = new ArrayList<>(setArgs);
+        args.add(id);
+        args.add(id);
+        args.addAll(guardArgs);
+        args.addAll(changeArgs);
+
+        String sql = UPDATE_BY_ID.formatted(String.join(", ", assignments), String.join(" AND ", guards));
+
+        List<Updated> rows = jdbcTemplate.query(sql,
+                (rs, rowNum) -> new Updated(
+                        DeviceResponseRowMapper.INSTANCE.mapRow(rs, rowNum),
+                        rs.getString("previous_name"),
+                        rs.getString("previous_brand"),
+                        DeviceState.valueOf(rs.getString("previous_state"))
+                ),
+                args.toArray());
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * A device moved by {@link #transitionState}.
+     *
+     * @param id            device id
+     * @param name          device name
+     * @param brand         device brand
+     * @param previousState state before the transition
+     */
+    public record Transitioned(long id, String name, String brand, DeviceState previousState) {
+    }
+
+    /**
+     * Result of {@link #transitionState}.
+     *
+     * @param matched      number of devices selected, including those already in the target state
+     * @param transitioned devices actually moved, ordered by id
+     */
+    public record StateTransition(long matched, List<Transitioned> transitioned) {
+    }
+
+    /**
+     * Moves all devices with the given ids to {@code target} in one statement.
+     * Devices already in {@code target} are not written; unknown ids are ignored.
+     *
+     * @param ids    device ids
+     * @param target target state
+     * @return match count and moved devices
+     */
+    public StateTransition transitionState(long[] ids, DeviceState target) {
+        return transitionState("id = ANY(?)", List.<Object>of(ids), target);
+    }
+
+    /**
+     * Moves all devices matching {@code filter} to {@code target} in one statement.
+     * Devices already in {@code target} are not written.
+     *
+     * @param filter selection criteria; at least one must be present
+     * @param target target state
+     * @return match count and moved devices
+     */
+    public StateTransition transitionState(DeviceFilter filter, DeviceState target) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addConditions(filter, conditions, args);
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("Refusing to transition all devices without criteria");
+        }
+        return transitionState(String.join(" AND ", conditions), args, target);
+    }
+
+    private StateTransition transitionState(String selection, List<Object> selectionArgs, DeviceState target) {
+        List<Object> args = new ArrayList<>(selectionArgs);
+        args.add(target.name());
+        args.add(target.name());
+
+        long[] matched = {0};
+        List<Transitioned> transitioned = new ArrayList<>();
+        jdbcTemplate.query(TRANSITION_STATE.formatted(selection), rs -> {
+            matched[0] = rs.getLong("matched");
+            long id = rs.getLong("id");
+            if (!rs.wasNull()) {
+                transitioned.add(new Transitioned(id, rs.getString("name"), rs.getString("brand"),
+                        DeviceState.valueOf(rs.getString("previous_state"))));
+            }
+        }, args.toArray());
+        return new StateTransition(matched[0], transitioned);
+    }
+
+    /**
+     * A device selected by {@link #deleteByIds} or {@link #deleteByFilter}.
+     *
+     * @param id      device id
+     * @param name    device name
+     * @param brand   device brand
+     * @param state   state when it was deleted, or current state if it was kept
+     * @param deleted whether it was deleted (or tombstoned); {@code false} means it is {@code IN_USE}
+     */
+    public record DeleteCandidate(long id, String name, String brand, DeviceState state, boolean deleted) {
+    }
+
+    /**
+     * Deletes the devices with the given ids that are not {@code IN_USE}, in one statement.
+     *
+     * @param ids  device ids
+     * @param mode whether to remove or tombstone the devices
+     * @return the existing devices among {@code ids}, ordered by id; unknown ids are absent
+     */
+    public List<DeleteCandidate> deleteByIds(long[] ids, DeleteMode mode) {
+        return deleteUnlessInUse("id = ANY(?)", "", mode, List.<Object>of(ids));
+    }
+
+    /**
+     * Deletes up to {@code limit} devices matching {@code filter} that are not {@code IN_USE},
+     * in one statement. Pages by id: pass the last returned id as {@code afterId} to continue.
+     *
+     * @param filter  selection criteria; at least one must be present
+     * @param afterId only devices with a greater id are selected
+     * @param limit   maximum number of devices selected
+     * @param mode    whether to remove or tombstone the devices
+     * @return the selected devices, ordered by id; empty once all matching devices were visited
+     */
+    public List<DeleteCandidate> deleteByFilter(DeviceFilter filter, long afterId, int limit, DeleteMode mode) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addConditions(filter, conditions, args);
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("Refusing to delete all devices without criteria");
+        }
+        args.add(afterId);
+        args.add(limit);
+        conditions.add("id > ?");
+        return deleteUnlessInUse(String.join(" AND ", conditions), "LIMIT ?", mode, args);
+    }
+
+    /**
+     * Tombstones a device unless it is {@code IN_USE}, in one statement.
+     *
+     * @param id      device id
+     * @param ifMatch versions the device may still have, or {@code null} for any
+     * @return the deleted device as it was, empty if it is missing, {@code IN_USE} or at another version
+     */
+    public Optional<DeleteCandidate> softDeleteById(long id, IfMatch ifMatch) {
+        boolean versioned = ifMatch != null && !ifMatch.any();
+        List<Object> args = new ArrayList<>();
+        args.add(id);
+        if (versioned) {
+            args.add(ifMatch.versionArray());
+        }
+        List<DeleteCandidate> rows = jdbcTemplate.query(
+                SOFT_DELETE_BY_ID.formatted(versioned ? " AND version = ANY(?)" : ""),
+                (rs, rowNum) -> new DeleteCandidate(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("brand"),
+                        DeviceState.valueOf(rs.getString("state")),
+                        true
+                ),
+                args.toArray());
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Physically removes up to {@code limit} soft-deleted devices, oldest first.
+     *
+     * @param retention minimum age of the tombstones to remove
+     * @param limit     maximum number of rows removed
+     * @return number of rows removed
+     */
+    public int purgeDeleted(Duration retention, int limit) {
+        return jdbcTemplate.update(PURGE_DELETED, retention.toMillis() / 1000.0, limit);
+    }
+
+    /**
+     * Records the latest heartbeat of many devices with a single statement.
+     * {@code ids[i]} was last seen at {@code seenAt[i]}; ids must be distinct.
+     * Ids should be sorted, so concurrent batches lock rows in the same order.
+     *
+     * @param ids    device ids
+     * @param seenAt heartbeat times, same length as {@code ids}
+     * @return the devices updated
+     */
+    public List<DeviceSnapshot> touchLastSeen(long[] ids, Timestamp[] seenAt) {
+        return jdbcTemplate.query(TOUCH_LAST_SEEN, ps -> {
+            ps.setObject(1, ids);
+            ps.setArray(2, ps.getConnection().createArrayOf("timestamp", seenAt));
+        }, (rs, rowNum) -> new DeviceSnapshot(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("brand"),
+                DeviceState.valueOf(rs.getString("state"))));
+    }
+
+    private List<DeleteCandidate> deleteUnlessInUse(String selection, String limit, DeleteMode mode,
+                                                    List<Object> args) {
+        String delete = mode == DeleteMode.SOFT ? SOFT_DELETE_LOCKED : HARD_DELETE_LOCKED;
+        return jdbcTemplate.query(DELETE_UNLESS_IN_USE.formatted(selection, limit, delete),
+                (rs, rowNum) -> new DeleteCandidate(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("brand"),
+                        DeviceState.valueOf(rs.getString("state")),
+                        rs.getBoolean("deleted")
+                ),
+                args.toArray());
+    }
+
+    /**
+     * Counts devices per state and per brand.
+     *
+     * @return exact histograms; {@code total} is the sum of the per-state counts
+     */
+    public DeviceStatisticsResponse countByStateAndBrand() {
+        Map<DeviceState, Long> byState = new EnumMap<>(DeviceState.class);
+        Map<String, Long> byBrand = new TreeMap<>();
+
+        jdbcTemplate.query(COUNT_BY_STATE_AND_BRAND, rs -> {
+            String state = rs.getString("state");
+            if (state != null) {
+                byState.put(DeviceState.valueOf(state), rs.getLong("cnt"));
+            } else {
+                byBrand.put(rs.getString("brand"), rs.getLong("cnt"));
+            }
+        });
+
+        long total = byState.values().stream().mapToLong(Long::longValue).sum();
+        return new DeviceStatisticsResponse(total, byState, byBrand);
+    }
+
+    /**
+     * Estimates the number of devices matching the given filters from the query planner's
+     * statistics ({@code pg_class.reltuples} scaled to the current table size, combined with
+     * column statistics for the filters). Costs a plan, not a scan.
+     *
+     * @param filter listing filters
+     * @return estimated row count
+     */
+    public long estimateCount(DeviceFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addConditions(filter, conditions, args);
+
+        conditions.add("deleted_at IS NULL");
+
+        String sql = "EXPLAIN SELECT 1 FROM devices WHERE " + String.join(" AND ", conditions);
+
+        ResultSetExtractor<Long> topNodeRows = rs -> {
+            if (!rs.next()) {
+                return 0L;
+            }
+            Matcher matcher = PLAN_ROWS.matcher(rs.getString(1));
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+        };
+
+        return jdbcTemplate.query(sql, topNodeRows, args.toArray());
+    }
+
+    /**
+     * SQL counterpart of {@link DeviceSpecifications#filter}: one condition per present filter,
+     * with the same LIKE escaping.
+     */
+    private static void addConditions(DeviceFilter filter, List<String> conditions, List<Object> args) {
+        if (filter.brand() != null) {
+            conditions.add("brand = ?");
+            args.add(filter.brand());
+        }
+        if (filter.name() != null) {
+            conditions.add("name = ?");
+            args.add(filter.name());
+        }
+        if (filter.state() != null) {
+            conditions.add("state = ?");
+            args.add(filter.state().name());
+        }
+        if (filter.nameContains() != null) {
+            conditions.add("lower(name) LIKE ? ESCAPE '\\'");
+            args.add("%" + DeviceSpecifications.escapeLike(filter.nameContains().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (filter.brandPrefix() != null) {
+            conditions.add("lower(brand) LIKE ? ESCAPE '\\'");
+            args.add(DeviceSpecifications.escapeLike(filter.brandPrefix().toLowerCase(Locale.ROOT)) + "%");
+        }
+    }
+}
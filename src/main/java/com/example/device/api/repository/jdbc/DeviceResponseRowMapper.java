@@ -0,0 +1,30 @@
+package com.example.device.api.repository.jdbc;
+
+import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.entity.DeviceState;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Maps a {@code devices} row ({@code id, name, brand, state, created_at, last_seen_at, version}) to {@link DeviceResponse}.
+ */
+public class DeviceResponseRowMapper implements RowMapper<DeviceResponse> {
+
+    public static final DeviceResponseRowMapper INSTANCE = new DeviceResponseRowMapper();
+
+    @Override
+    public DeviceResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new DeviceResponse(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("brand"),
+                DeviceState.valueOf(rs.getString("state")),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("last_seen_at", LocalDateTime.class),
+                rs.getLong("version")
+        );
+    }
+}
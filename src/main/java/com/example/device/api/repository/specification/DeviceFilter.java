@@ -0,0 +1,26 @@
+package com.example.device.api.repository.specification;
+
+import com.example.device.api.entity.DeviceState;
+
+/**
+ * Normalized device listing filters; {@code null} means "not filtered".
+ *
+ * @param brand        exact brand
+ * @param name         exact name
+ * @param state        exact state
+ * @param nameContains case-insensitive substring of the name
+ * @param brandPrefix  case-insensitive prefix of the brand
+ */
+public record DeviceFilter(String brand,
+                           String name,
+                           DeviceState state,
+                           String nameContains,
+                           String brandPrefix) {
+
+    /**
+     * @return whether no filter is present, i.e. every device matches
+     */
+    public boolean isEmpty() {
+        return brand == null && name == null && state == null && nameContains == null && brandPrefix == null;
+    }
+}
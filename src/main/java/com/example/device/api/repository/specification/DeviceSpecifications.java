@@ -0,0 +1,107 @@
+package com.example.device.api.repository.specification;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.utils.CursorUtils;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Building blocks for dynamic device queries.
+ *
+ * <p>Only the predicates for filters that are actually present are added, so every
+ * filter combination gets its own SQL shape and the planner can pick the matching
+ * index instead of one generic {@code (:x IS NULL OR col = :x)} plan.</p>
+ */
+@UtilityClass
+public class DeviceSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    public static Specification<Device> hasBrand(String brand) {
+        return (root, query, cb) -> cb.equal(root.get("brand"), brand);
+    }
+
+    public static Specification<Device> hasName(String name) {
+        return (root, query, cb) -> cb.equal(root.get("name"), name);
+    }
+
+    public static Specification<Device> hasState(DeviceState state) {
+        return (root, query, cb) -> cb.equal(root.get("state"), state);
+    }
+
+    /**
+     * Case-insensitive substring match, served by the {@code lower(name)} trigram index.
+     */
+    public static Specification<Device> nameContains(String value) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")),
+                "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%", ESCAPE);
+    }
+
+    /**
+     * Case-insensitive prefix match, served by the {@code lower(brand)} trigram index.
+     */
+    public static Specification<Device> brandPrefix(String value) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("brand")),
+                escapeLike(value.toLowerCase(Locale.ROOT)) + "%", ESCAPE);
+    }
+
+    /**
+     * Keyset seek predicate: rows strictly after the cursor in {@code createdAt DESC, id DESC} order.
+     *
+     * <p>The redundant {@code createdAt <= cursor.createdAt} bound lets the planner start the
+     * index scan at the cursor instead of filtering every newer row.</p>
+     */
+    public static Specification<Device> after(CursorUtils.Cursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdAt"), cursor.createdAt()),
+                cb.or(
+                        cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                        cb.lessThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+
+    /**
+     * Combines the given optional filters; {@code null} values are skipped.
+     *
+     * @param filter listing filters
+     * @param cursor keyset cursor or {@code null}
+     * @return specification matching all present filters
+     */
+    public static Specification<Device> filter(DeviceFilter filter, CursorUtils.Cursor cursor) {
+        List<Specification<Device>> specs = new ArrayList<>();
+
+        if (filter.brand() != null) specs.add(hasBrand(filter.brand()));
+        if (filter.name() != null) specs.add(hasName(filter.name()));
+        if (filter.state() != null) specs.add(hasState(filter.state()));
+        if (filter.nameContains() != null) specs.add(nameContains(filter.nameContains()));
+        if (filter.brandPrefix() != null) specs.add(brandPrefix(filter.brandPrefix()));
+        if (cursor != null) specs.add(after(cursor));
+
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Exact-match variant of {@link #filter(DeviceFilter, CursorUtils.Cursor)}.
+     */
+    public static Specification<Device> filter(String brand,
+                                               String name,
+                                               DeviceState state,
+                                               CursorUtils.Cursor cursor) {
+        return filter(new DeviceFilter(brand, name, state, null, null), cursor);
+    }
+
+    /**
+     * Escapes LIKE wildcards so user input is matched literally.
+     */
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.device.api.service;
 
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.requests.DeviceStateTransitionRequest;
 import com.example.device.api.dto.requests.PatchDeviceRequest;
 import com.example.device.api.dto.requests.UpdateDeviceRequest;
 import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.dto.responses.DeviceStateTransitionResponse;
+import com.example.device.api.dto.responses.DeviceUpsertResult;
+import com.example.device.api.utils.IfMatch;
 
 /**
  * Service interface responsible for handling update operations (PUT and PATCH)
@@ -22,16 +27,21 @@ public interface CommandDeviceService {
      *     <li>If the updated (brand + name) pair already exists, a
      *         {@link com.example.device.api.exception.DeviceAlreadyExistsException} is thrown</li>
      *     <li>{@code createdAt} is immutable and will not be changed even if provided</li>
+     *     <li>If {@code ifMatch} is given, the device must exist and be at one of its versions</li>
      * </ul>
      *
-     * @param id      ID of the device to update
-     * @param request payload containing the full set of updated values
+     * @param id              ID of the device to update
+     * @param request         payload containing the full set of updated values
+     * @param ifMatch         versions the device may still have ({@code If-Match}), or {@code null} for any
      * @return the updated {@link DeviceResponse}
      * @throws com.example.device.api.exception.DeviceNotFoundException      if the device with the given ID does not exist
+     *                                                                       and no {@code ifMatch} is given
+     * @throws com.example.device.api.exception.PreconditionFailedException  if {@code ifMatch} is given and the device
+     *                                                                       is missing or at none of its versions
      * @throws com.example.device.api.exception.ForbiddenOperationException  if name/brand change is attempted while device is IN_USE
      * @throws com.example.device.api.exception.DeviceAlreadyExistsException if another device already exists with the same brand + name
      */
-    DeviceResponse updateDevice(Long id, UpdateDeviceRequest request);
+    DeviceResponse updateDevice(Long id, UpdateDeviceRequest request, IfMatch ifMatch);
 
     /**
      * Performs a <b>partial update</b> of an existing device.
@@ -42,16 +52,48 @@ public interface CommandDeviceService {
      *     <li>If the device does not exist, a {@link com.example.device.api.exception.DeviceNotFoundException }
      *     is thrown</li>
      *     <li>If the device is {@code IN_USE}, name and brand cannot be changed</li>
-     *     <li>If both name and brand are provided and the pair already exists elsewhere,
+     *     <li>If name or brand is provided and the resulting pair already exists elsewhere,
      *         a {@link com.example.device.api.exception.DeviceAlreadyExistsException  } is thrown</li>
+     *     <li>If {@code ifMatch} is given, the device must exist and be at one of its versions</li>
      * </ul>
      *
-     * @param id      ID of the device to patch
-     * @param request payload with optional updated fields
+     * @param id              ID of the device to patch
+     * @param request         payload with optional updated fields
+     * @param ifMatch         versions the device may still have ({@code If-Match}), or {@code null} for any
      * @return the updated {@link DeviceResponse}
-     * @throws com.example.device.api.exception.DeviceAlreadyExistsException if the device with the given ID does not exist
+     * @throws com.example.device.api.exception.DeviceNotFoundException      if the device with the given ID does not exist
+     *                                                                       and no {@code ifMatch} is given
+     * @throws com.example.device.api.exception.PreconditionFailedException  if {@code ifMatch} is given and the device
+     *                                                                       is missing or at none of its versions
      * @throws com.example.device.api.exception.ForbiddenOperationException  if name/brand change is attempted while device is IN_USE
      * @throws com.example.device.api.exception.DeviceAlreadyExistsException if the updated brand + name combination already exists
      */
-    DeviceResponse patchDevice(Long id, PatchDeviceRequest request);
+    DeviceResponse patchDevice(Long id, PatchDeviceRequest request, IfMatch ifMatch);
+
+    /**
+     * Creates the device identified by brand + name, or sets the state of the existing one.
+     *
+     * <p>Runs as a single {@code INSERT ... ON CONFLICT DO UPDATE}, so concurrent upserts of the
+     * same device cannot race between a lookup and a write. The natural key is the conflict
+     * target, so an upsert never renames a device and the {@code IN_USE} name/brand rule
+     * cannot be violated. An existing device that already has the requested state is not written.</p>
+     *
+     * @param request full representation of the device; brand + name identify it
+     * @return the stored device and whether it was created
+     */
+    DeviceUpsertResult upsertDevice(CreateDeviceRequest request);
+
+    /**
+     * Moves many devices to one state at once.
+     *
+     * <p>The devices are selected either by id or by criteria and written with a single
+     * {@code UPDATE}; a state change is allowed in any state, so no per-device rule applies.
+     * Devices already in the target state are not written. All changes are published as one event.</p>
+     *
+     * @param request ids or criteria, and the target state
+     * @return number of devices moved and number of selected devices left unchanged
+     * @throws com.example.device.api.exception.InvalidRequestException if not exactly one of ids and
+     *                                                                  criteria is given, or the criteria are empty
+     */
+    DeviceStateTransitionResponse transitionStates(DeviceStateTransitionRequest request);
 }
@@ -1,6 +1,8 @@
 package com.example.device.api.service;
 
+import com.example.device.api.dto.requests.BatchCreateDeviceRequest;
 import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.responses.BatchCreateDeviceResponse;
 import com.example.device.api.dto.responses.DeviceResponse;
 
 public interface CreateDeviceService {
@@ -19,4 +21,20 @@ public interface CreateDeviceService {
      * @return {@link DeviceResponse} representing the newly created device
      */
     DeviceResponse createDevice(CreateDeviceRequest request);
+
+    /**
+     * Creates many devices in one transaction.
+     *
+     * <p>
+     * Uniqueness of all brand + name pairs is checked with a single query.
+     * Items that already exist or repeat an earlier item of the batch are
+     * reported and skipped; the remaining devices are inserted with a single statement.
+     * An item whose brand + name is committed by a concurrent request in between
+     * is reported as already existing instead of failing the batch.
+     * </p>
+     *
+     * @param request the devices to create
+     * @return per-item outcomes in request order
+     */
+    BatchCreateDeviceResponse createDevices(BatchCreateDeviceRequest request);
 }
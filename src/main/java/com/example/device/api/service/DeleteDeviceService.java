@@ -1,13 +1,41 @@
 package com.example.device.api.service;
 
+import com.example.device.api.dto.requests.BulkDeleteDeviceRequest;
+import com.example.device.api.dto.responses.BulkDeleteDeviceResponse;
+import com.example.device.api.utils.IfMatch;
+
 public interface DeleteDeviceService {
 
     /**
-     * Deletes a device by ID.
+     * Deletes a device by ID. The delete is versioned, so a device changed concurrently
+     * after it was read is not deleted.
+     *
+     * <p>With {@code device.delete.mode=SOFT} the device is only marked as deleted, with one
+     * conditional {@code UPDATE}; it disappears from all queries at once and is physically
+     * removed later by {@link DevicePurgeService}.</p>
      *
-     * @param id device ID
-     * @throws com.example.device.api.exception.DeviceNotFoundException     if no such device exists
+     * @param id      device ID
+     * @param ifMatch versions the device may still have ({@code If-Match}), or {@code null} for any
+     * @throws com.example.device.api.exception.DeviceNotFoundException     if no such device exists and no {@code ifMatch} is given
+     * @throws com.example.device.api.exception.PreconditionFailedException if {@code ifMatch} is given and the device
+     *                                                                      is missing or at none of its versions
      * @throws com.example.device.api.exception.ForbiddenOperationException if device is IN_USE
      */
-    void deleteDevice(Long id);
+    void deleteDevice(Long id, IfMatch ifMatch);
+
+    /**
+     * Deletes many devices, selected by id or by criteria. Devices in state {@code IN_USE} are kept.
+     *
+     * <p>The devices are deleted in chunks of one statement each; the {@code IN_USE} rule is part of
+     * the statement, so no device is loaded first. All chunks of a selection by ids run in one
+     * transaction. A selection by criteria is unbounded, so every chunk commits on its own: a failure
+     * keeps the chunks already committed, and only the totals are returned.
+     * The delete mode applies as for {@link #deleteDevice}.</p>
+     *
+     * @param request ids or criteria
+     * @return totals, and per-id outcomes for a selection by ids
+     * @throws com.example.device.api.exception.InvalidRequestException if not exactly one of ids and
+     *                                                                  criteria is given, or the criteria are empty
+     */
+    BulkDeleteDeviceResponse deleteDevices(BulkDeleteDeviceRequest request);
 }
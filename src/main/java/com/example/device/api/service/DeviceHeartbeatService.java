@@ -0,0 +1,28 @@
+package com.example.device.api.service;
+
+/**
+ * Records when devices were last seen without a database write per heartbeat.
+ */
+public interface DeviceHeartbeatService {
+
+    /**
+     * Buffers a heartbeat of the device. Repeated heartbeats of a device before the next
+     * flush coalesce into one pending entry holding the latest time.
+     *
+     * <p>The device is not looked up; heartbeats of unknown or deleted devices are dropped
+     * when flushed.</p>
+     *
+     * @param id device id
+     * @throws com.example.device.api.exception.HeartbeatBackpressureException if the buffer
+     *         is full and the device has no pending heartbeat
+     */
+    void recordHeartbeat(long id);
+
+    /**
+     * Writes all pending heartbeats with a single statement.
+     * If the write fails, the heartbeats are put back and retried by the next flush.
+     *
+     * @return number of heartbeats flushed
+     */
+    int flush();
+}
@@ -0,0 +1,15 @@
+package com.example.device.api.service;
+
+/**
+ * Physically removes soft-deleted devices.
+ */
+public interface DevicePurgeService {
+
+    /**
+     * Removes tombstones older than the retention in small batches, pausing between
+     * batches, until none are left or the per-run batch limit is reached.
+     *
+     * @return number of devices removed
+     */
+    long purge();
+}
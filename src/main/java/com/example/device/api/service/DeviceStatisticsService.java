@@ -0,0 +1,22 @@
+package com.example.device.api.service;
+
+import com.example.device.api.dto.responses.DeviceStatisticsResponse;
+
+public interface DeviceStatisticsService {
+
+    /**
+     * Current device counts per state and per brand.
+     *
+     * <p>Served from in-memory counters, not from the database. The counters follow
+     * committed writes of this node and are periodically reconciled with the database,
+     * so writes from other nodes show up after the next reconciliation.</p>
+     *
+     * @return device histograms
+     */
+    DeviceStatisticsResponse getStatistics();
+
+    /**
+     * Re-counts devices in the database and corrects any drift of the in-memory counters.
+     */
+    void reconcile();
+}
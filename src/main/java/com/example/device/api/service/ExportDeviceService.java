@@ -0,0 +1,22 @@
+package com.example.device.api.service;
+
+import com.example.device.api.dto.requests.DeviceExportRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportDeviceService {
+
+    /**
+     * Streams all devices matching the request filters to {@code out} in the requested format.
+     *
+     * <p>Rows are read through a forward-only database cursor with a fixed fetch size and
+     * written as they arrive, so memory use does not depend on the number of exported rows.</p>
+     *
+     * @param request filters and output format
+     * @param out     destination stream; flushed but not closed
+     * @return number of exported devices
+     * @throws IOException if writing to {@code out} fails
+     */
+    long exportDevices(DeviceExportRequest request, OutputStream out) throws IOException;
+}
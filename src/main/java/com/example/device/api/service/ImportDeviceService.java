@@ -0,0 +1,25 @@
+package com.example.device.api.service;
+
+import com.example.device.api.dto.requests.ExportFormat;
+import com.example.device.api.dto.responses.DeviceImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportDeviceService {
+
+    /**
+     * Imports devices from a CSV or NDJSON stream.
+     *
+     * <p>
+     * The stream is loaded into a staging table with {@code COPY}, validated and normalized
+     * with the same rules as a single create, and merged into {@code devices} in one statement.
+     * Invalid, repeated and already existing rows are skipped and reported.
+     * </p>
+     *
+     * @param format format of {@code in}; CSV needs a header row naming its columns
+     * @param in     import data, read to the end
+     * @return counts and the first rejected rows
+     */
+    DeviceImportReport importDevices(ExportFormat format, InputStream in) throws IOException;
+}
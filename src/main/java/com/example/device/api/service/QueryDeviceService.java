@@ -1,6 +1,9 @@
 package com.example.device.api.service;
 
 import com.example.device.api.dto.requests.DeviceFilterRequest;
+import com.example.device.api.dto.requests.DeviceKey;
+import com.example.device.api.dto.responses.DeviceLookupResponse;
+import com.example.device.api.dto.responses.DeviceResolution;
 import com.example.device.api.dto.responses.DeviceResponse;
 
 import java.util.List;
@@ -17,13 +20,24 @@ public interface QueryDeviceService {
     DeviceResponse getDeviceById(Long id);
 
     /**
-     * Fetch devices using optional filters and offset pagination.
+     * Fetch devices using optional filters and either offset or keyset (cursor) pagination.
+     * Results are ordered by createdAt DESC, id DESC.
      *
      * @param request filtering and pagination parameters
      * @return list of devices
+     * @throws com.example.device.api.exception.InvalidRequestException if the cursor is malformed
      */
     List<DeviceResponse> getDevices(DeviceFilterRequest request);
 
+    /**
+     * Count devices matching the filters of {@code request} (pagination is ignored),
+     * using the request's {@link com.example.device.api.dto.requests.CountMode}.
+     *
+     * @param request filtering parameters and count mode
+     * @return exact, estimated or cached total
+     */
+    long countDevices(DeviceFilterRequest request);
+
     /**
      * Fetch device by unique brand + name pair.
      *
@@ -32,5 +46,21 @@ public interface QueryDeviceService {
      * @return DeviceResponse
      */
     DeviceResponse getDeviceByBrandAndName(String brand, String name);
-}
 
+    /**
+     * Fetch many devices by ID with a single query.
+     * Duplicate IDs are ignored.
+     *
+     * @param ids device IDs
+     * @return found devices ordered by ID, plus the IDs that do not exist
+     */
+    DeviceLookupResponse getDevicesByIds(long[] ids);
+
+    /**
+     * Resolve many brand + name pairs with a single query.
+     *
+     * @param keys brand + name pairs
+     * @return one resolution per pair, in request order
+     */
+    List<DeviceResolution> resolveByBrandAndName(List<DeviceKey> keys);
+}
@@ -0,0 +1,64 @@
+package com.example.device.api.service.export;
+
+import com.example.device.api.dto.responses.DeviceResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header row: {@code id,name,brand,state,createdAt}.
+ */
+public class CsvDeviceExportWriter implements DeviceExportWriter {
+
+    private static final String HEADER = "id,name,brand,state,createdAt";
+    private static final String LINE_END = "\r\n";
+
+    private final Writer writer;
+
+    public CsvDeviceExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void writeRow(DeviceResponse device) throws IOException {
+        writer.write(String.valueOf(device.getId()));
+        writer.write(',');
+        writeField(device.getName());
+        writer.write(',');
+        writeField(device.getBrand());
+        writer.write(',');
+        writeField(device.getState() == null ? null : device.getState().name());
+        writer.write(',');
+        writeField(device.getCreatedAt() == null ? null : device.getCreatedAt().toString());
+        writer.write(LINE_END);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.device.api.service.export;
+
+import com.example.device.api.dto.responses.DeviceResponse;
+
+import java.io.IOException;
+
+/**
+ * Writes exported devices row by row to an output stream.
+ * Implementations must not buffer more than a bounded amount of output.
+ */
+public interface DeviceExportWriter {
+
+    /**
+     * Writes the format preamble (e.g. CSV header), if any.
+     */
+    void writeHeader() throws IOException;
+
+    /**
+     * Writes a single device.
+     */
+    void writeRow(DeviceResponse device) throws IOException;
+
+    /**
+     * Flushes buffered output; the underlying stream is left open.
+     */
+    void finish() throws IOException;
+}
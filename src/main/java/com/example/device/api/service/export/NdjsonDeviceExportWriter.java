@@ -0,0 +1,48 @@
+package com.example.device.api.service.export;
+
+import com.example.device.api.dto.responses.DeviceResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Newline-delimited JSON: one {@link DeviceResponse} object per line.
+ */
+public class NdjsonDeviceExportWriter implements DeviceExportWriter {
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private boolean written;
+
+    public NdjsonDeviceExportWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.writer = objectMapper.writerFor(DeviceResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        this.generator = writer.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void writeHeader() {
+        // NDJSON has no header
+    }
+
+    @Override
+    public void writeRow(DeviceResponse device) throws IOException {
+        writer.writeValue(generator, device);
+        written = true;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        // an empty export is an empty body, not a blank line
+        if (written) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+}
@@ -1,20 +1,40 @@
 package com.example.device.api.service.impl;
 
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.requests.DeviceCriteriaRequest;
+import com.example.device.api.dto.requests.DeviceStateTransitionRequest;
 import com.example.device.api.dto.requests.PatchDeviceRequest;
 import com.example.device.api.dto.requests.UpdateDeviceRequest;
 import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.dto.responses.DeviceStateTransitionResponse;
+import com.example.device.api.dto.responses.DeviceUpsertResult;
 import com.example.device.api.entity.Device;
 import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceChange;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.exception.DeviceConstraintTranslator;
 import com.example.device.api.exception.DeviceNotFoundException;
+import com.example.device.api.exception.InvalidRequestException;
+import com.example.device.api.exception.PreconditionFailedException;
 import com.example.device.api.mapper.DeviceMapper;
 import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.repository.specification.DeviceFilter;
 import com.example.device.api.service.CommandDeviceService;
 import com.example.device.api.service.DeviceValidator;
+import com.example.device.api.utils.IfMatch;
+import com.example.device.api.utils.StringUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -22,74 +42,209 @@ import org.springframework.transaction.annotation.Transactional;
 public class CommandDeviceServiceImpl implements CommandDeviceService {
 
     private final DeviceRepository repository;
+    private final DeviceJdbcRepository jdbcRepository;
     private final DeviceMapper mapper;
     private final DeviceValidator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public DeviceResponse updateDevice(Long id, UpdateDeviceRequest request) {
+    public DeviceResponse updateDevice(Long id, UpdateDeviceRequest request, IfMatch ifMatch) {
+
+        DeviceResponse device = update(id,
+                normalize(request.getName()),
+                normalize(request.getBrand()),
+                request.getState(),
+                ifMatch);
+
+        log.info("Device id={} fully updated", id);
+        return device;
+    }
 
-        Device device = findOrThrow(id);
+    @Override
+    public DeviceResponse patchDevice(Long id, PatchDeviceRequest request, IfMatch ifMatch) {
 
         String newName = normalize(request.getName());
         String newBrand = normalize(request.getBrand());
+        DeviceState newState = request.getState();
 
-        validator.ensureNotInUseForNameBrandChange(device, newName, newBrand);
-        validator.ensureNameBrandUnique(id, newName, newBrand);
+        if (newName == null && newBrand == null && newState == null) {
+            Device current = findOrThrow(id, ifMatch);
+            ensureVersion(current, ifMatch);
+            return mapper.toResponse(current);
+        }
 
-        applyFullUpdate(device, request, newName, newBrand);
+        DeviceResponse device = update(id, newName, newBrand, newState, ifMatch);
 
-        repository.save(device);
+        log.info("Device id={} patched", id);
+        return device;
+    }
 
-        log.info("Device id={} fully updated", id);
-        return mapper.toResponse(device);
+    @Override
+    public DeviceUpsertResult upsertDevice(CreateDeviceRequest request) {
+
+        String name = normalize(request.getName());
+        String brand = normalize(request.getBrand());
+        DeviceState state = request.getState();
+
+        log.debug("Upserting device: name={}, brand={}, state={}", name, brand, state);
+
+        DeviceJdbcRepository.Upserted upserted;
+        while ((upserted = jdbcRepository.upsert(name, brand, state).orElse(null)) == null) {
+            // the upsert locked the existing device, so it is still there
+            DeviceResponse existing = repository.findResponseByBrandAndName(brand, name)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Device brand=%s, name=%s disappeared while locked".formatted(brand, name)));
+            if (existing.getState() == state) {
+                log.info("Device id={} unchanged by upsert", existing.getId());
+                return new DeviceUpsertResult(existing, false);
+            }
+            // committed concurrently after the upsert started; the next statement sees its state
+            log.debug("Device id={} created concurrently, repeating upsert", existing.getId());
+        }
+
+        DeviceResponse device = upserted.device();
+        DeviceSnapshot after = new DeviceSnapshot(device.getId(), device.getName(), device.getBrand(), device.getState());
+
+        if (upserted.inserted()) {
+            eventPublisher.publishEvent(DeviceChangedEvent.created(after));
+            log.info("Device created by upsert with id={}", device.getId());
+        } else {
+            DeviceSnapshot before = new DeviceSnapshot(
+                    device.getId(), device.getName(), device.getBrand(), upserted.previousState());
+            eventPublisher.publishEvent(DeviceChangedEvent.updated(before, after));
+            log.info("Device id={} updated by upsert", device.getId());
+        }
+
+        return new DeviceUpsertResult(device, upserted.inserted());
     }
 
     @Override
-    public DeviceResponse patchDevice(Long id, PatchDeviceRequest request) {
+    public DeviceStateTransitionResponse transitionStates(DeviceStateTransitionRequest request) {
 
-        Device device = findOrThrow(id);
+        long[] ids = request.getIds();
+        DeviceCriteriaRequest criteria = request.getFilter();
+        DeviceState target = request.getTargetState();
 
-        String newName = normalize(request.getName());
-        String newBrand = normalize(request.getBrand());
-        DeviceState newState = request.getState();
+        if ((ids == null) == (criteria == null)) {
+            throw new InvalidRequestException("Either ids or filter must be given, not both");
+        }
 
-        validator.ensureNotInUseForNameBrandChange(device, newName, newBrand);
+        DeviceJdbcRepository.StateTransition transition;
+        long selected;
+
+        if (ids != null) {
+            long[] distinct = Arrays.stream(ids).sorted().distinct().toArray();
+            log.debug("Transitioning {} devices by id to {}", distinct.length, target);
+            transition = jdbcRepository.transitionState(distinct, target);
+            selected = distinct.length;
+        } else {
+            DeviceFilter filter = toFilter(criteria);
+            if (filter.isEmpty()) {
+                throw new InvalidRequestException("Filter must contain at least one criterion");
+            }
+            log.debug("Transitioning devices {} to {}", filter, target);
+            transition = jdbcRepository.transitionState(filter, target);
+            selected = transition.matched();
+        }
 
-        if (newName != null && newBrand != null) {
-            validator.ensureNameBrandUnique(id, newName, newBrand);
+        List<DeviceChange> changes = transition.transitioned().stream()
+                .map(moved -> new DeviceChange(
+                        new DeviceSnapshot(moved.id(), moved.name(), moved.brand(), moved.previousState()),
+                        new DeviceSnapshot(moved.id(), moved.name(), moved.brand(), target)))
+                .toList();
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new DeviceChangedEvent(changes));
         }
 
-        applyPartialUpdate(device, newName, newBrand, newState);
+        long affected = changes.size();
+        log.info("{} devices transitioned to {}, {} skipped", affected, target, selected - affected);
+        return new DeviceStateTransitionResponse(affected, selected - affected);
+    }
 
-        repository.save(device);
+    /**
+     * Writes the non-null values with a single conditional statement. Only when it
+     * writes nothing is the device read again, under a row lock, to tell why.
+     */
+    private DeviceResponse update(Long id, String newName, String newBrand, DeviceState newState,
+                                  IfMatch ifMatch) {
 
-        log.info("Device id={} patched", id);
-        return mapper.toResponse(device);
+        DeviceResponse updated = tryUpdate(id, newName, newBrand, newState, ifMatch);
+        if (updated != null) {
+            return updated;
+        }
+
+        Device current = repository.findLockedById(id)
+                .orElseThrow(() -> missing(id, ifMatch));
+        ensureVersion(current, ifMatch);
+        validator.ensureNotInUseForNameBrandChange(current, newName, newBrand);
+
+        String name = newName == null ? current.getName() : newName;
+        String brand = newBrand == null ? current.getBrand() : newBrand;
+        validator.ensureNameBrandUnique(id, name, brand);
+
+        DeviceState state = newState == null ? current.getState() : newState;
+        if (name.equals(current.getName()) && brand.equals(current.getBrand()) && state == current.getState()) {
+            log.info("Device id={} unchanged by update", id);
+            return mapper.toResponse(current);
+        }
+
+        // changed concurrently after the first attempt; now that the row is locked the guards hold
+        updated = tryUpdate(id, newName, newBrand, newState, ifMatch);
+        if (updated == null) {
+            throw new IllegalStateException("Device id=%d not updated while locked".formatted(id));
+        }
+        return updated;
     }
 
-    private Device findOrThrow(Long id) {
+    private DeviceResponse tryUpdate(Long id, String newName, String newBrand, DeviceState newState,
+                                     IfMatch ifMatch) {
+        DeviceJdbcRepository.Updated updated;
+        try {
+            updated = jdbcRepository.update(id, newName, newBrand, newState, ifMatch).orElse(null);
+        } catch (DataIntegrityViolationException e) {
+            throw DeviceConstraintTranslator.translate(e, newName, newBrand);
+        }
+        if (updated == null) {
+            return null;
+        }
+
+        DeviceResponse device = updated.device();
+        eventPublisher.publishEvent(DeviceChangedEvent.updated(
+                new DeviceSnapshot(id, updated.previousName(), updated.previousBrand(), updated.previousState()),
+                new DeviceSnapshot(id, device.getName(), device.getBrand(), device.getState())));
+        return device;
+    }
+
+    private void ensureVersion(Device device, IfMatch ifMatch) {
+        if (ifMatch != null && !ifMatch.matches(device.getVersion())) {
+            log.warn("Device id={} is at version {}, expected {}", device.getId(), device.getVersion(), ifMatch);
+            throw new PreconditionFailedException(device.getId(), ifMatch);
+        }
+    }
+
+    private Device findOrThrow(Long id, IfMatch ifMatch) {
         return repository.findById(id)
-                .orElseThrow(() -> new DeviceNotFoundException(id));
+                .orElseThrow(() -> missing(id, ifMatch));
     }
 
-    private String normalize(String value) {
-        return value == null ? null : value.trim();
+    /**
+     * A conditional write on a missing device fails its precondition (RFC 9110), even for {@code *}.
+     */
+    private static RuntimeException missing(Long id, IfMatch ifMatch) {
+        return ifMatch == null ? new DeviceNotFoundException(id) : new PreconditionFailedException(id, ifMatch);
     }
 
-    private void applyFullUpdate(Device device, UpdateDeviceRequest req,
-                                 String newName, String newBrand) {
-        device.setName(newName);
-        device.setBrand(newBrand);
-        device.setState(req.getState());
+    private String normalize(String value) {
+        return value == null ? null : value.trim();
     }
 
-    private void applyPartialUpdate(Device device,
-                                    String newName,
-                                    String newBrand,
-                                    DeviceState newState) {
-        if (newName != null) device.setName(newName);
-        if (newBrand != null) device.setBrand(newBrand);
-        if (newState != null) device.setState(newState);
+    private static DeviceFilter toFilter(DeviceCriteriaRequest criteria) {
+        return new DeviceFilter(
+                StringUtil.normalize(criteria.getBrand()),
+                StringUtil.normalize(criteria.getName()),
+                criteria.getState(),
+                StringUtil.normalize(criteria.getNameContains()),
+                StringUtil.normalize(criteria.getBrandPrefix())
+        );
     }
 }
-
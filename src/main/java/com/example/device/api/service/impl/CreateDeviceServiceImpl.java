@@ -1,17 +1,34 @@
 package com.example.device.api.service.impl;
 
+import com.example.device.api.dto.requests.BatchCreateDeviceRequest;
 import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.responses.BatchCreateDeviceResponse;
+import com.example.device.api.dto.responses.BatchCreateItemResult;
+import com.example.device.api.dto.responses.BatchCreateStatus;
+import com.example.device.api.dto.responses.DeviceResolution;
 import com.example.device.api.dto.responses.DeviceResponse;
 import com.example.device.api.entity.Device;
-import com.example.device.api.exception.DeviceAlreadyExistsException;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.exception.DeviceConstraintTranslator;
 import com.example.device.api.mapper.DeviceMapper;
 import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
 import com.example.device.api.service.CreateDeviceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -19,7 +36,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class CreateDeviceServiceImpl implements CreateDeviceService {
 
     private final DeviceRepository repository;
+    private final DeviceJdbcRepository jdbcRepository;
     private final DeviceMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public DeviceResponse createDevice(CreateDeviceRequest request) {
@@ -27,26 +46,124 @@ public class CreateDeviceServiceImpl implements CreateDeviceService {
         String name = normalize(request.getName());
         String brand = normalize(request.getBrand());
 
-        log.info("Creating device: name={}, brand={}", name, brand);
-
-        ensureNotExists(name, brand);
+        log.debug("Creating device: name={}, brand={}", name, brand);
 
         Device device = buildDevice(request, name, brand);
-        repository.save(device);
+        try {
+            // flushed here so a duplicate fails inside this method, not at commit
+            repository.saveAndFlush(device);
+        } catch (DataIntegrityViolationException e) {
+            throw DeviceConstraintTranslator.translate(e, name, brand);
+        }
+
+        eventPublisher.publishEvent(DeviceChangedEvent.created(DeviceSnapshot.of(device)));
 
         log.info("Device created successfully with id={}", device.getId());
         return mapper.toResponse(device);
     }
 
-    private String normalize(String value) {
-        return value == null ? null : value.trim();
+    @Override
+    public BatchCreateDeviceResponse createDevices(BatchCreateDeviceRequest request) {
+
+        List<CreateDeviceRequest> items = request.getDevices();
+        int size = items.size();
+
+        String[] names = new String[size];
+        String[] brands = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = normalize(items.get(i).getName());
+            brands[i] = normalize(items.get(i).getBrand());
+        }
+
+        log.debug("Creating batch of {} devices", size);
+
+        List<DeviceResolution> existing = jdbcRepository.resolveByBrandAndName(brands, names);
+
+        BatchCreateItemResult[] results = new BatchCreateItemResult[size];
+        Set<BrandName> seen = new HashSet<>();
+        List<Integer> pending = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            DeviceResolution resolution = existing.get(i);
+            if (resolution.isFound()) {
+                results[i] = new BatchCreateItemResult(i, BatchCreateStatus.ALREADY_EXISTS, resolution.getDevice());
+            } else if (!seen.add(new BrandName(brands[i], names[i]))) {
+                results[i] = new BatchCreateItemResult(i, BatchCreateStatus.DUPLICATE_IN_BATCH, null);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        List<DeviceResponse> created = pending.isEmpty() ? List.of() : insert(items, names, brands, pending);
+
+        Map<BrandName, DeviceResponse> createdByKey = new HashMap<>();
+        for (DeviceResponse device : created) {
+            createdByKey.put(new BrandName(device.getBrand(), device.getName()), device);
+        }
+
+        // pairs committed by someone else after the resolve were skipped by the insert
+        List<Integer> taken = new ArrayList<>();
+        for (int position : pending) {
+            DeviceResponse device = createdByKey.get(new BrandName(brands[position], names[position]));
+            if (device != null) {
+                results[position] = new BatchCreateItemResult(position, BatchCreateStatus.CREATED, device);
+            } else {
+                taken.add(position);
+            }
+        }
+        if (!taken.isEmpty()) {
+            resolveTaken(taken, names, brands, results);
+        }
+
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(DeviceChangedEvent.created(created.stream()
+                    .map(device -> new DeviceSnapshot(device.getId(), device.getName(), device.getBrand(), device.getState()))
+                    .toList()));
+        }
+
+        log.info("Batch created {} of {} devices", created.size(), size);
+        return new BatchCreateDeviceResponse(created.size(), size - created.size(), List.of(results));
+    }
+
+    /**
+     * Inserts the pending items with one statement; brand + name pairs taken in the meantime are skipped.
+     */
+    private List<DeviceResponse> insert(List<CreateDeviceRequest> items, String[] names, String[] brands,
+                                        List<Integer> pending) {
+        String[] pendingNames = new String[pending.size()];
+        String[] pendingBrands = new String[pending.size()];
+        String[] pendingStates = new String[pending.size()];
+        for (int i = 0; i < pending.size(); i++) {
+            int position = pending.get(i);
+            pendingNames[i] = names[position];
+            pendingBrands[i] = brands[position];
+            pendingStates[i] = items.get(position).getState().name();
+        }
+        return jdbcRepository.insertAbsent(pendingNames, pendingBrands, pendingStates);
     }
 
-    private void ensureNotExists(String name, String brand) {
-        if (repository.existsByNameAndBrand(name, brand)) {
-            log.warn("Device already exists: name={}, brand={}", name, brand);
-            throw new DeviceAlreadyExistsException(name, brand);
+    private void resolveTaken(List<Integer> taken, String[] names, String[] brands, BatchCreateItemResult[] results) {
+        String[] takenNames = new String[taken.size()];
+        String[] takenBrands = new String[taken.size()];
+        for (int i = 0; i < taken.size(); i++) {
+            takenNames[i] = names[taken.get(i)];
+            takenBrands[i] = brands[taken.get(i)];
         }
+
+        List<DeviceResolution> resolutions = jdbcRepository.resolveByBrandAndName(takenBrands, takenNames);
+        for (int i = 0; i < taken.size(); i++) {
+            int position = taken.get(i);
+            log.debug("Device brand={}, name={} created concurrently", brands[position], names[position]);
+            results[position] = new BatchCreateItemResult(
+                    position, BatchCreateStatus.ALREADY_EXISTS, resolutions.get(i).getDevice());
+        }
+    }
+
+    private record BrandName(String brand, String name) {
+    }
+
+    private String normalize(String value) {
+        return value == null ? null : value.trim();
     }
 
     private Device buildDevice(CreateDeviceRequest request, String name, String brand) {
@@ -1,14 +1,38 @@
 package com.example.device.api.service.impl;
 
+import com.example.device.api.dto.requests.BulkDeleteDeviceRequest;
+import com.example.device.api.dto.requests.DeviceCriteriaRequest;
+import com.example.device.api.dto.responses.BulkDeleteDeviceResponse;
+import com.example.device.api.dto.responses.BulkDeleteItemResult;
+import com.example.device.api.dto.responses.BulkDeleteStatus;
+import com.example.device.api.entity.DeleteMode;
 import com.example.device.api.entity.Device;
+import com.example.device.api.event.DeviceChange;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
 import com.example.device.api.exception.DeviceNotFoundException;
+import com.example.device.api.exception.InvalidRequestException;
+import com.example.device.api.exception.PreconditionFailedException;
 import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.repository.specification.DeviceFilter;
 import com.example.device.api.service.DeleteDeviceService;
 import com.example.device.api.service.DeviceValidator;
+import com.example.device.api.utils.IfMatch;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.device.api.utils.StringUtil.normalize;
 
 @Service
 @Slf4j
@@ -17,26 +41,218 @@ import org.springframework.transaction.annotation.Transactional;
 public class DeleteDeviceServiceImpl implements DeleteDeviceService {
 
     private final DeviceRepository repository;
+    private final DeviceJdbcRepository jdbcRepository;
     private final DeviceValidator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${device.bulk-delete.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${device.delete.mode:HARD}")
+    private DeleteMode deleteMode = DeleteMode.HARD;
 
     @Override
-    public void deleteDevice(Long id) {
-        log.info("Deleting device id={}", id);
+    public void deleteDevice(Long id, IfMatch ifMatch) {
+        log.debug("Deleting device id={}, mode={}", id, deleteMode);
 
-        Device device = findDeviceOrThrow(id);
+        if (deleteMode == DeleteMode.SOFT) {
+            softDelete(id, ifMatch);
+            return;
+        }
+
+        Device device = findDeviceOrThrow(id, ifMatch);
+
+        ensureVersion(device, ifMatch);
 
         validator.validateDeletable(device);
 
         repository.delete(device);
+        eventPublisher.publishEvent(DeviceChangedEvent.deleted(DeviceSnapshot.of(device)));
 
         log.info("Device id={} successfully deleted", id);
     }
 
+    /**
+     * Tombstones the device with a single conditional {@code UPDATE}. Only when it writes
+     * nothing is the device read again, under a row lock, to tell why.
+     */
+    private void softDelete(Long id, IfMatch ifMatch) {
+        if (trySoftDelete(id, ifMatch)) {
+            return;
+        }
+
+        Device device = repository.findLockedById(id)
+                .orElseThrow(() -> missing(id, ifMatch));
+        ensureVersion(device, ifMatch);
+        validator.validateDeletable(device);
+
+        // changed concurrently after the first attempt; now that the row is locked the guards hold
+        if (!trySoftDelete(id, ifMatch)) {
+            throw new IllegalStateException("Device id=%d not deleted while locked".formatted(id));
+        }
+    }
+
+    private boolean trySoftDelete(Long id, IfMatch ifMatch) {
+        DeviceJdbcRepository.DeleteCandidate deleted = jdbcRepository.softDeleteById(id, ifMatch).orElse(null);
+        if (deleted == null) {
+            return false;
+        }
+        eventPublisher.publishEvent(DeviceChangedEvent.deleted(
+                new DeviceSnapshot(deleted.id(), deleted.name(), deleted.brand(), deleted.state())));
+        log.info("Device id={} successfully soft-deleted", id);
+        return true;
+    }
+
+    private void ensureVersion(Device device, IfMatch ifMatch) {
+        if (ifMatch != null && !ifMatch.matches(device.getVersion())) {
+            log.warn("Device id={} is at version {}, expected {}", device.getId(), device.getVersion(), ifMatch);
+            throw new PreconditionFailedException(device.getId(), ifMatch);
+        }
+    }
+
+    /**
+     * Runs without a surrounding transaction: a selection by ids is deleted in one transaction,
+     * a selection by filter, which has no upper bound, commits every chunk on its own.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkDeleteDeviceResponse deleteDevices(BulkDeleteDeviceRequest request) {
+
+        long[] ids = request.getIds();
+        DeviceCriteriaRequest criteria = request.getFilter();
+
+        if ((ids == null) == (criteria == null)) {
+            throw new InvalidRequestException("Either ids or filter must be given, not both");
+        }
+
+        if (ids != null) {
+            return transactionTemplate.execute(status -> deleteByIds(ids));
+        }
+
+        DeviceFilter filter = new DeviceFilter(
+                normalize(criteria.getBrand()),
+                normalize(criteria.getName()),
+                criteria.getState(),
+                normalize(criteria.getNameContains()),
+                normalize(criteria.getBrandPrefix())
+        );
+        if (filter.isEmpty()) {
+            throw new InvalidRequestException("Filter must contain at least one criterion");
+        }
+        return deleteByFilter(filter);
+    }
+
+    private BulkDeleteDeviceResponse deleteByIds(long[] ids) {
+        long[] distinct = Arrays.stream(ids).sorted().distinct().toArray();
+        log.debug("Bulk deleting {} devices by id", distinct.length);
+
+        List<BulkDeleteItemResult> items = new ArrayList<>();
+        List<DeviceChange> changes = new ArrayList<>();
+
+        // chunks in ascending id order, so rows are always locked in the same order
+        for (int from = 0; from < distinct.length; from += chunkSize) {
+            long[] chunk = Arrays.copyOfRange(distinct, from, Math.min(from + chunkSize, distinct.length));
+            List<DeviceJdbcRepository.DeleteCandidate> found = jdbcRepository.deleteByIds(chunk, deleteMode);
+            collect(chunk, found, items, changes);
+        }
+
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new DeviceChangedEvent(changes));
+        }
+
+        long deleted = changes.size();
+        long inUse = items.stream().filter(item -> item.getStatus() == BulkDeleteStatus.IN_USE).count();
+        long notFound = items.size() - deleted - inUse;
+
+        log.info("Bulk delete: {} deleted, {} in use, {} not found", deleted, inUse, notFound);
+        return new BulkDeleteDeviceResponse(deleted, inUse, notFound, items);
+    }
+
+    /**
+     * Every chunk is its own transaction, so its rows are only locked until it commits and
+     * nothing is kept per device; the response carries the totals only.
+     */
+    private BulkDeleteDeviceResponse deleteByFilter(DeviceFilter filter) {
+        log.debug("Bulk deleting devices {}", filter);
+
+        long deleted = 0;
+        long inUse = 0;
+        long afterId = 0;
+        List<DeviceJdbcRepository.DeleteCandidate> page;
+        while (!(page = deleteChunk(filter, afterId)).isEmpty()) {
+            for (DeviceJdbcRepository.DeleteCandidate candidate : page) {
+                if (candidate.deleted()) {
+                    deleted++;
+                } else {
+                    inUse++;
+                }
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+
+        log.info("Bulk delete: {} deleted, {} in use", deleted, inUse);
+        return new BulkDeleteDeviceResponse(deleted, inUse, 0, null);
+    }
+
+    private List<DeviceJdbcRepository.DeleteCandidate> deleteChunk(DeviceFilter filter, long afterId) {
+        return transactionTemplate.execute(status -> {
+            List<DeviceJdbcRepository.DeleteCandidate> page =
+                    jdbcRepository.deleteByFilter(filter, afterId, chunkSize, deleteMode);
+
+            List<DeviceChange> changes = page.stream()
+                    .filter(DeviceJdbcRepository.DeleteCandidate::deleted)
+                    .map(candidate -> new DeviceChange(
+                            new DeviceSnapshot(candidate.id(), candidate.name(), candidate.brand(), candidate.state()),
+                            null))
+                    .toList();
+            if (!changes.isEmpty()) {
+                eventPublisher.publishEvent(new DeviceChangedEvent(changes));
+            }
+            return page;
+        });
+    }
+
+    /**
+     * Adds one result per candidate and a {@code NOT_FOUND} result for every requested id
+     * without a candidate. Both are sorted by id.
+     */
+    private static void collect(long[] requested,
+                                List<DeviceJdbcRepository.DeleteCandidate> candidates,
+                                List<BulkDeleteItemResult> items,
+                                List<DeviceChange> changes) {
+        int next = 0;
+        for (DeviceJdbcRepository.DeleteCandidate candidate : candidates) {
+            while (requested[next] < candidate.id()) {
+                items.add(new BulkDeleteItemResult(requested[next++], BulkDeleteStatus.NOT_FOUND));
+            }
+            next++;
+            if (candidate.deleted()) {
+                items.add(new BulkDeleteItemResult(candidate.id(), BulkDeleteStatus.DELETED));
+                changes.add(new DeviceChange(
+                        new DeviceSnapshot(candidate.id(), candidate.name(), candidate.brand(), candidate.state()),
+                        null));
+            } else {
+                items.add(new BulkDeleteItemResult(candidate.id(), BulkDeleteStatus.IN_USE));
+            }
+        }
+        while (next < requested.length) {
+            items.add(new BulkDeleteItemResult(requested[next++], BulkDeleteStatus.NOT_FOUND));
+        }
+    }
+
     /**
      * Fetch device or throw 404.
      */
-    private Device findDeviceOrThrow(Long id) {
+    private Device findDeviceOrThrow(Long id, IfMatch ifMatch) {
         return repository.findById(id)
-                .orElseThrow(() -> new DeviceNotFoundException(id));
+                .orElseThrow(() -> missing(id, ifMatch));
+    }
+
+    /**
+     * A conditional delete of a missing device fails its precondition (RFC 9110), even for {@code *}.
+     */
+    private static RuntimeException missing(Long id, IfMatch ifMatch) {
+        return ifMatch == null ? new DeviceNotFoundException(id) : new PreconditionFailedException(id, ifMatch);
     }
 }
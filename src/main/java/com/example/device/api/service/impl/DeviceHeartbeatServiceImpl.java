@@ -0,0 +1,175 @@
+package com.example.device.api.service.impl;
+
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.event.DevicesSeenEvent;
+import com.example.device.api.exception.HeartbeatBackpressureException;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.service.DeviceHeartbeatService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Device heartbeats coalesced in memory and written in batches.
+ *
+ * <p>A heartbeat only merges the current time into a concurrent map keyed by device id,
+ * so a device reporting many times between two flushes costs one map entry and one row
+ * in the next batch. Every {@code flush-interval} the map is drained and written with
+ * a single {@code UPDATE ... FROM unnest(...)}. The updated devices are published as a
+ * {@link DevicesSeenEvent}, so cached lookups do not report an old {@code lastSeenAt}.</p>
+ *
+ * <p>The map holds at most about {@code max-pending} devices. When the flusher falls behind
+ * (slow or unavailable database) and the map is full, heartbeats of devices without
+ * a pending entry are rejected, which the API reports as 503 with {@code Retry-After}.
+ * Devices already pending are always accepted, since they only move their entry forward.</p>
+ *
+ * <p>The flusher runs on its own thread rather than on the shared scheduler, so long jobs
+ * like the purger or the statistics reconciliation never hold back a flush and fill the map.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeviceHeartbeatServiceImpl implements DeviceHeartbeatService {
+
+    private final DeviceJdbcRepository jdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * The scheduled flush and the flush on shutdown must not write the same batch twice.
+     */
+    private final Lock flushLock = new ReentrantLock();
+
+    @Value("${device.heartbeat.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${device.heartbeat.flush-interval:PT0.5S}")
+    private Duration flushInterval;
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void startFlusher() {
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("heartbeat-flush").daemon().factory());
+        flusher.scheduleWithFixedDelay(this::scheduledFlush,
+                flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The size check and the insert are not atomic, so concurrent requests may overshoot
+     * {@code max-pending} by at most their number; exactness is not worth a global lock.
+     */
+    @Override
+    public void recordHeartbeat(long id) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (pending.size() >= maxPending && !pending.containsKey(id)) {
+            throw new HeartbeatBackpressureException(pending.size(), flushInterval);
+        }
+        pending.merge(id, now, DeviceHeartbeatServiceImpl::latest);
+    }
+
+    @Override
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        flushLock.lock();
+        try {
+            NavigableMap<Long, LocalDateTime> batch = drain();
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            List<DeviceSnapshot> updated;
+            try {
+                updated = jdbcRepository.touchLastSeen(ids(batch), times(batch));
+            } catch (RuntimeException e) {
+                batch.forEach((id, seenAt) -> pending.merge(id, seenAt, DeviceHeartbeatServiceImpl::latest));
+                log.warn("Failed to flush {} heartbeats, retrying with the next flush", batch.size(), e);
+                return 0;
+            }
+
+            log.debug("Flushed {} heartbeats, {} devices updated", batch.size(), updated.size());
+            if (!updated.isEmpty()) {
+                eventPublisher.publishEvent(new DevicesSeenEvent(updated));
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the flusher and writes what is still buffered, so a regular shutdown loses no heartbeats.
+     */
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher.awaitTermination(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        flush();
+    }
+
+    /**
+     * A failed run would cancel all further runs of the executor, so nothing may escape.
+     */
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Heartbeat flush failed", e);
+        }
+    }
+
+    /**
+     * Removes entries one by one rather than swapping the map, so a heartbeat racing
+     * with the drain is either part of this batch or stays pending for the next one.
+     * Sorted by id, so concurrent flushes of several nodes lock rows in the same order.
+     */
+    private NavigableMap<Long, LocalDateTime> drain() {
+        NavigableMap<Long, LocalDateTime> batch = new TreeMap<>();
+        for (Long id : pending.keySet()) {
+            LocalDateTime seenAt = pending.remove(id);
+            if (seenAt != null) {
+                batch.put(id, seenAt);
+            }
+        }
+        return batch;
+    }
+
+    private static long[] ids(Map<Long, LocalDateTime> batch) {
+        return batch.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Timestamp[] times(Map<Long, LocalDateTime> batch) {
+        return batch.values().stream().map(Timestamp::valueOf).toArray(Timestamp[]::new);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.device.api.service.impl;
+
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.service.DevicePurgeService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Purges soft-deleted devices off-peak.
+ *
+ * <p>Runs on the {@code device.purge.cron} schedule, by default every 10 minutes at night.
+ * Every batch is its own short transaction that deletes at most {@code batch-size} rows,
+ * followed by a pause, so the purge never holds many locks or floods the WAL and vacuum.
+ * Whatever is left after {@code max-batches} waits for the next run.</p>
+ *
+ * <p>The schedule only starts a run on the purger's own thread: the pauses add up to minutes
+ * and must not occupy the shared scheduler. A run still in progress is not started twice.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DevicePurgeServiceImpl implements DevicePurgeService {
+
+    private final DeviceJdbcRepository jdbcRepository;
+
+    @Value("${device.purge.retention:PT1H}")
+    private Duration retention;
+
+    @Value("${device.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${device.purge.pause:PT0.2S}")
+    private Duration pause;
+
+    @Value("${device.purge.max-batches:200}")
+    private int maxBatches;
+
+    private final ExecutorService purger = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("device-purge").daemon().factory());
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${device.purge.cron:0 */10 1-5 * * *}")
+    public void startPurge() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Previous purge still running, skipping this run");
+            return;
+        }
+        purger.execute(() -> {
+            try {
+                purge();
+            } catch (RuntimeException e) {
+                log.error("Purge of soft-deleted devices failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Interrupts a running purge; it stops after the current batch.
+     */
+    @PreDestroy
+    public void stopPurge() {
+        purger.shutdownNow();
+    }
+
+    @Override
+    public long purge() {
+        long purged = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int removed = jdbcRepository.purgeDeleted(retention, batchSize);
+            purged += removed;
+
+            if (removed < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted devices", purged);
+        }
+        return purged;
+    }
+}
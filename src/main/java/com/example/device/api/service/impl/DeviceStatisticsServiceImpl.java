@@ -0,0 +1,148 @@
+package com.example.device.api.service.impl;
+
+import com.example.device.api.dto.responses.DeviceStatisticsResponse;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceChange;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.event.DevicesImportedEvent;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.service.DeviceStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Device histograms kept in striped in-memory counters.
+ *
+ * <p>Counters are seeded from a single {@code GROUP BY} at startup and then adjusted by every
+ * committed create, update and delete of this node, so reading them never touches the database.
+ * A scheduled reconciliation re-counts the table and corrects drift caused by other nodes
+ * or by writes that bypass the services.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeviceStatisticsServiceImpl implements DeviceStatisticsService {
+
+    private final DeviceJdbcRepository jdbcRepository;
+
+    private final ConcurrentMap<DeviceState, LongAdder> byState = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> byBrand = new ConcurrentHashMap<>();
+
+    /**
+     * The scheduled, startup and post-import reconciliations must not overlap: two runs
+     * correcting from the same counter values would apply the same difference twice.
+     */
+    private final Lock reconcileLock = new ReentrantLock();
+
+    @Override
+    public DeviceStatisticsResponse getStatistics() {
+        Map<DeviceState, Long> states = new EnumMap<>(DeviceState.class);
+        byState.forEach((state, count) -> putIfPositive(states, state, count.sum()));
+
+        Map<String, Long> brands = new TreeMap<>();
+        byBrand.forEach((brand, count) -> putIfPositive(brands, brand, count.sum()));
+
+        long total = states.values().stream().mapToLong(Long::longValue).sum();
+        return new DeviceStatisticsResponse(total, states, brands);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${device.statistics.reconcile-interval:PT5M}",
+            fixedDelayString = "${device.statistics.reconcile-interval:PT5M}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            DeviceStatisticsResponse actual = jdbcRepository.countByStateAndBrand();
+
+            long drift = correct(byState, actual.getByState()) + correct(byBrand, actual.getByBrand());
+
+            if (drift != 0) {
+                log.info("Statistics reconciled, corrected drift of {} across counters", drift);
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeviceChanged(DeviceChangedEvent event) {
+        if (event.changes().stream().anyMatch(DeviceChange::previousStateUnknown)) {
+            // the previous state cannot be subtracted; the re-count already includes this committed change
+            reconcile();
+            return;
+        }
+        for (DeviceChange change : event.changes()) {
+            apply(change.before(), -1);
+            apply(change.after(), 1);
+        }
+    }
+
+    /**
+     * A bulk import does not report individual devices; the counters are re-counted instead.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDevicesImported(DevicesImportedEvent event) {
+        if (event.imported() > 0) {
+            reconcile();
+        }
+    }
+
+    private void apply(DeviceSnapshot snapshot, int delta) {
+        if (snapshot == null) {
+            return;
+        }
+        byState.computeIfAbsent(snapshot.state(), k -> new LongAdder()).add(delta);
+        byBrand.computeIfAbsent(snapshot.brand(), k -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Moves every counter to the database value by adding the difference, so changes applied
+     * after the difference is taken are kept. A change committed after the count but applied
+     * before the difference is taken is cancelled, and one counted but applied after it is
+     * applied twice: within that window the count wins, and the next reconciliation corrects it.
+     *
+     * @return sum of absolute corrections
+     */
+    private static <K> long correct(ConcurrentMap<K, LongAdder> counters, Map<K, Long> actual) {
+        long drift = 0;
+
+        for (Map.Entry<K, Long> entry : actual.entrySet()) {
+            LongAdder counter = counters.computeIfAbsent(entry.getKey(), k -> new LongAdder());
+            long diff = entry.getValue() - counter.sum();
+            counter.add(diff);
+            drift += Math.abs(diff);
+        }
+
+        for (Map.Entry<K, LongAdder> entry : counters.entrySet()) {
+            if (!actual.containsKey(entry.getKey())) {
+                long stale = entry.getValue().sum();
+                entry.getValue().add(-stale);
+                drift += Math.abs(stale);
+            }
+        }
+        return drift;
+    }
+
+    private static <K> void putIfPositive(Map<K, Long> target, K key, long count) {
+        if (count > 0) {
+            target.put(key, count);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.device.api.service.impl;
+
+import com.example.device.api.dto.requests.DeviceExportRequest;
+import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.specification.DeviceFilter;
+import com.example.device.api.repository.specification.DeviceSpecifications;
+import com.example.device.api.service.ExportDeviceService;
+import com.example.device.api.service.export.CsvDeviceExportWriter;
+import com.example.device.api.service.export.DeviceExportWriter;
+import com.example.device.api.service.export.NdjsonDeviceExportWriter;
+import com.example.device.api.utils.PaginationUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static com.example.device.api.utils.StringUtil.normalize;
+
+/**
+ * Streams the device inventory without materializing it.
+ *
+ * <p>Rows come from a forward-only database cursor as DTO projections and are written
+ * one by one, so neither the persistence context nor the response grows with the export.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportDeviceServiceImpl implements ExportDeviceService {
+
+    private final DeviceRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${device.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportDevices(DeviceExportRequest request, OutputStream out) throws IOException {
+
+        DeviceFilter filter = new DeviceFilter(
+                normalize(request.getBrand()),
+                normalize(request.getName()),
+                request.getState(),
+                normalize(request.getNameContains()),
+                normalize(request.getBrandPrefix())
+        );
+
+        log.debug("Export: devices {}, format={}", filter, request.getFormat());
+
+        DeviceExportWriter writer = createWriter(request, out);
+        writer.writeHeader();
+
+        long exported = 0;
+        try (Stream<DeviceResponse> devices = repository.streamResponses(
+                DeviceSpecifications.filter(filter, null),
+                PaginationUtils.NEWEST_FIRST,
+                fetchSize)) {
+
+            Iterator<DeviceResponse> iterator = devices.iterator();
+            while (iterator.hasNext()) {
+                writer.writeRow(iterator.next());
+                exported++;
+            }
+        }
+
+        writer.finish();
+        log.info("Export: {} devices written", exported);
+        return exported;
+    }
+
+    private DeviceExportWriter createWriter(DeviceExportRequest request, OutputStream out) throws IOException {
+        return switch (request.getFormat()) {
+            case NDJSON -> new NdjsonDeviceExportWriter(objectMapper, out);
+            case CSV -> new CsvDeviceExportWriter(out);
+        };
+    }
+}
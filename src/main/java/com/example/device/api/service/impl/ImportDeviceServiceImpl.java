@@ -0,0 +1,224 @@
+package com.example.device.api.service.impl;
+
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.requests.ExportFormat;
+import com.example.device.api.dto.responses.DeviceImportRejection;
+import com.example.device.api.dto.responses.DeviceImportReport;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DevicesImportedEvent;
+import com.example.device.api.exception.InvalidRequestException;
+import com.example.device.api.repository.jdbc.DeviceImportJdbcRepository;
+import com.example.device.api.service.ImportDeviceService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Bulk import without per-row round trips.
+ *
+ * <p>CSV is passed to {@code COPY} as is, after its header row has been mapped to staging columns.
+ * NDJSON is transcoded line by line into CSV while streaming, so malformed lines become rejected
+ * rows instead of failing the load. Neither format is buffered in memory.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportDeviceServiceImpl implements ImportDeviceService {
+
+    static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    /**
+     * CSV header names, as written by the export, and the staging columns they load.
+     * {@code id} and {@code createdAt} are accepted so an export can be imported as is, but are ignored.
+     */
+    private static final Map<String, String> CSV_HEADER_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "brand", "brand",
+            "state", "state",
+            "createdAt", "created_at"
+    );
+    private static final String CSV_HEADER_HINT = "id, name, brand, state, createdAt";
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "brand", "state");
+
+    private static final List<String> NDJSON_COLUMNS = List.of("row_no", "name", "brand", "state", "error");
+
+    private static final String[] STATES = Arrays.stream(DeviceState.values())
+            .map(Enum::name)
+            .toArray(String[]::new);
+
+    private final DeviceImportJdbcRepository importRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public DeviceImportReport importDevices(ExportFormat format, InputStream in) throws IOException {
+
+        log.debug("Import: format={}", format);
+
+        importRepository.createStaging();
+
+        long received = switch (format) {
+            case CSV -> copyCsv(in);
+            case NDJSON -> copyNdjson(in);
+        };
+
+        long imported = importRepository.merge(
+                CreateDeviceRequest.ALLOWED_CHARACTERS,
+                CreateDeviceRequest.MIN_LENGTH,
+                CreateDeviceRequest.MAX_LENGTH,
+                STATES
+        );
+        List<DeviceImportRejection> rejections = importRepository.findRejections(MAX_REPORTED_REJECTIONS);
+
+        eventPublisher.publishEvent(new DevicesImportedEvent(imported));
+
+        log.info("Import: {} rows received, {} devices imported", received, imported);
+        return new DeviceImportReport(received, imported, received - imported, rejections);
+    }
+
+    private long copyCsv(InputStream in) throws IOException {
+        BufferedInputStream body = new BufferedInputStream(in);
+        List<String> columns = csvColumns(readHeader(body));
+        return copy(columns, body::transferTo);
+    }
+
+    private long copyNdjson(InputStream in) {
+        return copy(NDJSON_COLUMNS, out -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+            Writer csv = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+
+            long lineNo = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (!line.isBlank()) {
+                    writeNdjsonRow(csv, lineNo, line);
+                }
+            }
+            // flush only, the copy is ended by the repository
+            csv.flush();
+        });
+    }
+
+    private long copy(List<String> columns, DeviceImportJdbcRepository.CopyWriter writer) {
+        try {
+            return importRepository.copyCsv(columns, writer);
+        } catch (DataAccessException e) {
+            // SQLSTATE class 22 (data exception): malformed CSV, bad encoding, NUL bytes
+            if (e.getMostSpecificCause() instanceof SQLException sql
+                    && sql.getSQLState() != null && sql.getSQLState().startsWith("22")) {
+                throw new InvalidRequestException("Malformed import data: " + sql.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private String readHeader(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            line.write(b);
+        }
+        if (b == -1 && line.size() == 0) {
+            throw new InvalidRequestException("Import data is empty");
+        }
+
+        String header = line.toString(UTF_8);
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        return header.endsWith("\r") ? header.substring(0, header.length() - 1) : header;
+    }
+
+    private List<String> csvColumns(String header) {
+        List<String> columns = new ArrayList<>();
+
+        for (String field : header.split(",", -1)) {
+            String name = field.strip();
+            if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+                name = name.substring(1, name.length() - 1);
+            }
+
+            String column = CSV_HEADER_COLUMNS.get(name);
+            if (column == null) {
+                throw new InvalidRequestException(
+                        "Unknown CSV column '%s', allowed columns: %s".formatted(name, CSV_HEADER_HINT));
+            }
+            if (columns.contains(column)) {
+                throw new InvalidRequestException("Duplicate CSV column '%s'".formatted(name));
+            }
+            columns.add(column);
+        }
+
+        if (!columns.containsAll(REQUIRED_COLUMNS)) {
+            throw new InvalidRequestException("CSV header must contain name, brand and state");
+        }
+        return columns;
+    }
+
+    private void writeNdjsonRow(Writer csv, long lineNo, String line) throws IOException {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            node = null;
+        }
+
+        csv.write(Long.toString(lineNo));
+        if (node == null || !node.isObject()) {
+            csv.write(",,,,");
+            writeField(csv, "Malformed JSON");
+        } else {
+            csv.write(',');
+            writeField(csv, text(node, "name"));
+            csv.write(',');
+            writeField(csv, text(node, "brand"));
+            csv.write(',');
+            writeField(csv, text(node, "state"));
+            csv.write(',');
+        }
+        csv.write('\n');
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * An unquoted empty field is loaded as NULL, a quoted one as an empty string.
+     */
+    private void writeField(Writer csv, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+}
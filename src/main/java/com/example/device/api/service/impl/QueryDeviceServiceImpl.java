@@ -1,24 +1,46 @@
 package com.example.device.api.service.impl;
 
+import com.example.device.api.cache.DeviceCacheConfig;
 import com.example.device.api.dto.requests.DeviceFilterRequest;
+import com.example.device.api.dto.requests.DeviceKey;
+import com.example.device.api.dto.responses.DeviceLookupResponse;
+import com.example.device.api.dto.responses.DeviceResolution;
 import com.example.device.api.dto.responses.DeviceResponse;
 import com.example.device.api.entity.Device;
-import com.example.device.api.entity.DeviceState;
 import com.example.device.api.exception.DeviceNotFoundException;
-import com.example.device.api.mapper.DeviceMapper;
 import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.repository.specification.DeviceFilter;
+import com.example.device.api.repository.specification.DeviceSpecifications;
 import com.example.device.api.service.QueryDeviceService;
+import com.example.device.api.utils.CursorUtils;
 import com.example.device.api.utils.PaginationUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static com.example.device.api.utils.StringUtil.normalize;
 
+/**
+ * Read-only device queries.
+ *
+ * <p>All reads use DTO projections: rows are mapped straight into {@link DeviceResponse}
+ * without creating managed entities, snapshots or dirty-checking state.</p>
+ *
+ * <p>Single-device lookups are served from bounded caches, evicted after every committed
+ * write by {@link com.example.device.api.cache.DeviceCacheInvalidator}. They load in read-write
+ * transactions, which are never routed to a read replica: a cached result lives until the next
+ * write, so it must not come from a replica that has not replayed the previous one yet.</p>
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -26,57 +48,154 @@ import static com.example.device.api.utils.StringUtil.normalize;
 public class QueryDeviceServiceImpl implements QueryDeviceService {
 
     private final DeviceRepository repository;
-    private final DeviceMapper mapper;
+    private final DeviceJdbcRepository jdbcRepository;
+    private final CacheManager cacheManager;
 
     @Override
+    @Transactional
+    @Cacheable(cacheNames = DeviceCacheConfig.DEVICES_BY_ID, sync = true)
     public DeviceResponse getDeviceById(Long id) {
-        log.info("Query: get device by id={}", id);
+        log.debug("Query: get device by id={}", id);
 
-        Device device = repository.findById(id)
+        return repository.findResponseById(id)
                 .orElseThrow(() -> new DeviceNotFoundException(id));
-
-        return mapper.toResponse(device);
     }
 
     @Override
+    @Transactional
+    @Cacheable(cacheNames = DeviceCacheConfig.DEVICES_BY_BRAND_AND_NAME,
+            key = "T(com.example.device.api.cache.DeviceCacheKeys).brandAndName(#brand, #name)",
+            sync = true)
     public DeviceResponse getDeviceByBrandAndName(String brand, String name) {
 
         String normalizedBrand = normalize(brand);
         String normalizedName = normalize(name);
 
-        log.info("Query: get device by brand='{}' and name='{}'",
+        log.debug("Query: get device by brand='{}' and name='{}'",
                 normalizedBrand, normalizedName);
 
-        Device device = repository.findByBrandAndName(normalizedBrand, normalizedName)
+        return repository.findResponseByBrandAndName(normalizedBrand, normalizedName)
                 .orElseThrow(() ->
                         new DeviceNotFoundException(
                                 "Device with brand='%s' and name='%s' not found"
                                         .formatted(normalizedBrand, normalizedName)
                         )
                 );
-
-        return mapper.toResponse(device);
     }
 
     @Override
     public List<DeviceResponse> getDevices(DeviceFilterRequest request) {
 
-        String brand = normalize(request.getBrand());
-        String name = normalize(request.getName());
-        DeviceState state = request.getState();
+        DeviceFilter filter = toFilter(request);
+        String cursor = normalize(request.getCursor());
 
         int limit = request.getLimit();
         int offset = request.getOffset();
 
-        log.info("Query: filter devices brand='{}', name='{}', state={}, limit={}, offset={}",
-                brand, name, state, limit, offset);
+        log.debug("Query: filter devices {}, limit={}, offset={}, cursor={}",
+                filter, limit, offset, cursor);
+
+        CursorUtils.Cursor after = cursor == null ? null : CursorUtils.decode(cursor);
+
+        Pageable pageable = after == null
+                ? PaginationUtils.offsetPagination(offset, limit)
+                : PaginationUtils.keysetPagination(limit);
+
+        return repository.findResponses(DeviceSpecifications.filter(filter, after), pageable);
+    }
+
+    @Override
+    public long countDevices(DeviceFilterRequest request) {
+
+        DeviceFilter filter = toFilter(request);
+
+        log.debug("Query: count devices {}, mode={}", filter, request.getCount());
+
+        Specification<Device> spec = DeviceSpecifications.filter(filter, null);
+
+        return switch (request.getCount()) {
+            case EXACT -> repository.countMatching(spec);
+            case ESTIMATE -> jdbcRepository.estimateCount(filter);
+            case CACHED -> {
+                // get + put rather than a loading get: the count must not run inside the cache's
+                // map lock, where it would pin the carrier of a virtual thread; a concurrent miss
+                // may count twice
+                Cache counts = cacheManager.getCache(DeviceCacheConfig.DEVICE_COUNTS);
+                Long cached = counts.get(filter, Long.class);
+                if (cached == null) {
+                    cached = repository.countMatching(spec);
+                    counts.put(filter, cached);
+                }
+                yield cached;
+            }
+        };
+    }
+
+    @Override
+    public DeviceLookupResponse getDevicesByIds(long[] ids) {
+
+        long[] requested = sortedDistinct(ids);
 
-        Pageable pageable = PaginationUtils.offsetPagination(offset, limit);
+        log.debug("Query: get {} devices by id", requested.length);
 
-        List<Device> devices = repository.findFiltered(brand, name, state, pageable);
+        List<DeviceResponse> devices = jdbcRepository.findResponsesByIds(requested);
+
+        return new DeviceLookupResponse(devices, missingIds(requested, devices));
+    }
+
+    @Override
+    public List<DeviceResolution> resolveByBrandAndName(List<DeviceKey> keys) {
+
+        String[] brands = new String[keys.size()];
+        String[] names = new String[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            brands[i] = normalize(keys.get(i).getBrand());
+            names[i] = normalize(keys.get(i).getName());
+        }
+
+        log.debug("Query: resolve {} devices by brand and name", keys.size());
+
+        return jdbcRepository.resolveByBrandAndName(brands, names);
+    }
+
+    private static DeviceFilter toFilter(DeviceFilterRequest request) {
+        return new DeviceFilter(
+                normalize(request.getBrand()),
+                normalize(request.getName()),
+                request.getState(),
+                normalize(request.getNameContains()),
+                normalize(request.getBrandPrefix())
+        );
+    }
+
+    private static long[] sortedDistinct(long[] ids) {
+        long[] sorted = Arrays.copyOf(ids, ids.length);
+        Arrays.sort(sorted);
+
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
 
-        return devices.stream()
-                .map(mapper::toResponse)
-                .toList();
+    /**
+     * Both inputs are ordered by id, so a single merge pass finds the gaps.
+     */
+    private static long[] missingIds(long[] requested, List<DeviceResponse> found) {
+        long[] missing = new long[requested.length - found.size()];
+
+        int m = 0;
+        int f = 0;
+        for (long id : requested) {
+            if (f < found.size() && found.get(f).getId() == id) {
+                f++;
+            } else {
+                missing[m++] = id;
+            }
+        }
+        return missing;
     }
 }
@@ -0,0 +1,64 @@
+package com.example.device.api.utils;
+
+import com.example.device.api.exception.InvalidRequestException;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes opaque keyset pagination cursors.
+ *
+ * <p>A cursor points at the last row of a page by its {@code (createdAt, id)} sort key,
+ * so the next page can be fetched with a seek predicate instead of an offset.</p>
+ */
+@UtilityClass
+public class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Position of the last row returned on a page.
+     */
+    public record Cursor(LocalDateTime createdAt, long id) {
+    }
+
+    /**
+     * Builds an opaque, URL-safe cursor token.
+     *
+     * @param createdAt creation timestamp of the last row
+     * @param id        id of the last row
+     * @return cursor token
+     */
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor token produced by {@link #encode(LocalDateTime, Long)}.
+     *
+     * @param token cursor token
+     * @return decoded cursor
+     * @throws InvalidRequestException if the token is malformed
+     */
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new InvalidRequestException("Invalid pagination cursor");
+            }
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid pagination cursor");
+        }
+    }
+}
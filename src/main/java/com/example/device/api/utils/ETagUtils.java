@@ -0,0 +1,67 @@
+package com.example.device.api.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts device versions to and from entity tags.
+ *
+ * <p>The entity tag of a device is its version as a strong tag, e.g. {@code "3"}. Clients send it
+ * back in {@code If-Match} to make a write conditional on the device not having changed since.</p>
+ */
+@UtilityClass
+public class ETagUtils {
+
+    private static final String ANY = "*";
+
+    /**
+     * @param version device version
+     * @return strong entity tag for the version
+     */
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Parses an {@code If-Match} header into the device versions it accepts.
+     * {@code If-Match} uses strong comparison, so weak tags never match.
+     *
+     * @param ifMatch header value, a comma-separated list of entity tags or {@code *}; may be {@code null}
+     * @return accepted versions, {@code null} if the header is absent
+     */
+    public static IfMatch parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        if (ANY.equals(ifMatch.trim())) {
+            return IfMatch.ANY;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            Long version = parseTag(tag.trim());
+            if (version != null && !versions.contains(version)) {
+                versions.add(version);
+            }
+        }
+        return new IfMatch(false, versions);
+    }
+
+    /**
+     * Device tags never contain commas, so a foreign tag split at one cannot name a version either.
+     *
+     * @return version named by a strong tag, {@code null} for a tag that cannot match
+     */
+    private static Long parseTag(String tag) {
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            long version = Long.parseLong(tag.substring(1, tag.length() - 1));
+            return version < 0 ? null : version;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.device.api.utils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Device versions a conditional write accepts, parsed from {@code If-Match} by {@link ETagUtils#parseIfMatch}.
+ *
+ * <p>The condition holds if the device exists and, unless {@code any}, is at one of {@code versions}.
+ * Tags that cannot name a version (weak or foreign tags) are left out, so the list may be empty
+ * and then never matches.</p>
+ *
+ * @param any      {@code If-Match: *}, only the device's existence is required
+ * @param versions accepted versions, empty for {@code *}
+ */
+public record IfMatch(boolean any, List<Long> versions) {
+
+    public static final IfMatch ANY = new IfMatch(true, List.of());
+
+    public IfMatch {
+        versions = List.copyOf(versions);
+    }
+
+    public static IfMatch of(Long... versions) {
+        return new IfMatch(false, List.of(versions));
+    }
+
+    public boolean matches(long version) {
+        return any || versions.contains(version);
+    }
+
+    /**
+     * @return the versions for a {@code version = ANY(?)} parameter
+     */
+    public Long[] versionArray() {
+        return versions.toArray(Long[]::new);
+    }
+
+    @Override
+    public String toString() {
+        return any ? "*" : versions.stream().map(ETagUtils::of).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.device.api.utils;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * {@link PageRequest} that keeps the exact offset requested by the client.
+ *
+ * <p>{@code PageRequest.of(offset / limit, limit)} silently rounds the offset down to
+ * a page boundary; this implementation reports the original offset to the query.</p>
+ */
+public class OffsetPageRequest extends PageRequest {
+
+    private final long offset;
+
+    public OffsetPageRequest(long offset, int limit, Sort sort) {
+        super((int) (offset / limit), limit, sort);
+        this.offset = offset;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof OffsetPageRequest other)) return false;
+        return offset == other.offset && super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Long.hashCode(offset);
+    }
+
+    @Override
+    public String toString() {
+        return "OffsetPageRequest [offset: %d, size %d, sort: %s]"
+                .formatted(offset, getPageSize(), getSort());
+    }
+}
@@ -9,11 +9,17 @@ import org.springframework.data.domain.Sort;
 public final class PaginationUtils {
 
     /**
-     * Creates an offset-based pageable sorted by createdAt DESC.
+     * Listing order: newest first, id as a tie-breaker so that the order is total
+     * and matches the keyset cursor {@code (createdAt, id)}.
+     */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    /**
+     * Creates an offset-based pageable sorted by createdAt DESC, id DESC.
      *
      * @param offset number of items to skip
      * @param limit  max number of items to return
-     * @return Pageable with proper calculated page index
+     * @return Pageable with proper calculated page index and the exact offset
      */
     public static Pageable offsetPagination(int offset, int limit) {
         if (limit <= 0) {
@@ -23,12 +29,17 @@ public final class PaginationUtils {
             offset = 0;
         }
 
-        int page = offset / limit;
+        return new OffsetPageRequest(offset, limit, NEWEST_FIRST);
+    }
 
-        return PageRequest.of(
-                page,
-                limit,
-                Sort.by(Sort.Direction.DESC, "createdAt")
-        );
+    /**
+     * Creates the pageable for a keyset (cursor) page: no offset, the seek predicate
+     * positions the page.
+     *
+     * @param limit max number of items to return
+     * @return first-page Pageable sorted by createdAt DESC, id DESC
+     */
+    public static Pageable keysetPagination(int limit) {
+        return PageRequest.of(0, limit <= 0 ? 100 : limit, NEWEST_FIRST);
     }
 }
@@ -0,0 +1,77 @@
+package com.example.device.api.benchmark;
+
+import com.example.device.api.ct.BaseComponentTest;
+import com.example.device.api.dto.requests.BatchCreateDeviceRequest;
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.service.CreateDeviceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Onboards 100k devices through {@link CreateDeviceService#createDevices} and compares
+ * the per-device cost with single creates.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+class BatchCreateBenchmarkTest extends BaseComponentTest {
+
+    private static final int DEVICES = 100_000;
+    private static final int SINGLE_SAMPLE = 2_000;
+    private static final long TARGET_MILLIS = 20_000;
+
+    @Autowired
+    CreateDeviceService createDeviceService;
+    @Autowired
+    DeviceRepository repository;
+
+    @AfterEach
+    void cleanDb() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void batchVsSingleCreate() {
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < SINGLE_SAMPLE; i++) {
+            createDeviceService.createDevice(device("Single " + i, i));
+        }
+        double singleMicrosPerDevice = (System.nanoTime() - singleStart) / 1_000.0 / SINGLE_SAMPLE;
+
+        long batchStart = System.nanoTime();
+        int created = 0;
+        for (int from = 0; from < DEVICES; from += BatchCreateDeviceRequest.MAX_DEVICES) {
+            List<CreateDeviceRequest> chunk = IntStream.range(from, from + BatchCreateDeviceRequest.MAX_DEVICES)
+                    .mapToObj(i -> device("Batch " + i, i))
+                    .toList();
+            created += createDeviceService.createDevices(new BatchCreateDeviceRequest().setDevices(chunk)).getCreated();
+        }
+        long batchMillis = (System.nanoTime() - batchStart) / 1_000_000;
+        double batchMicrosPerDevice = batchMillis * 1_000.0 / DEVICES;
+
+        System.out.printf("single create: %9.1fus/device%n", singleMicrosPerDevice);
+        System.out.printf("batch create:  %9.1fus/device, %,d devices in %,d ms%n",
+                batchMicrosPerDevice, DEVICES, batchMillis);
+
+        assertEquals(DEVICES, created);
+        assertTrue(batchMillis < TARGET_MILLIS, "onboarding took " + batchMillis + " ms");
+        assertTrue(batchMicrosPerDevice < singleMicrosPerDevice, "batch should be cheaper per device");
+    }
+
+    private CreateDeviceRequest device(String name, int i) {
+        return new CreateDeviceRequest()
+                .setName(name)
+                .setBrand("Brand " + (i % 100))
+                .setState(DeviceState.AVAILABLE);
+    }
+}
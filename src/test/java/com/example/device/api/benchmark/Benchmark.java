@@ -0,0 +1,107 @@
+package com.example.device.api.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Minimal micro-benchmark harness used by the {@code benchmark} tagged tests.
+ * Reports latency percentiles and bytes allocated per operation on the calling thread,
+ * or throughput and latency percentiles of a concurrent burst.
+ */
+final class Benchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Benchmark() {
+    }
+
+    record Result(String name, int iterations, double avgMicros, double p50Micros,
+                  double p99Micros, long bytesPerOp) {
+
+        String format() {
+            return "%-28s iterations=%-6d avg=%9.1fus p50=%9.1fus p99=%9.1fus alloc=%,12d B/op"
+                    .formatted(name, iterations, avgMicros, p50Micros, p99Micros, bytesPerOp);
+        }
+    }
+
+    static Result run(String name, int warmup, int iterations, Runnable op) {
+        for (int i = 0; i < warmup; i++) {
+            op.run();
+        }
+
+        long[] nanos = new long[iterations];
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            op.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        return new Result(
+                name,
+                iterations,
+                Arrays.stream(nanos).average().orElse(0) / 1_000.0,
+                percentile(nanos, 50) / 1_000.0,
+                percentile(nanos, 99) / 1_000.0,
+                allocated / iterations
+        );
+    }
+
+    record ConcurrentResult(String name, int requests, double opsPerSecond, double p50Millis,
+                            double p99Millis) {
+
+        String format() {
+            return "%-28s requests=%-6d throughput=%9.1f ops/s p50=%8.2fms p99=%8.2fms"
+                    .formatted(name, requests, opsPerSecond, p50Millis, p99Millis);
+        }
+    }
+
+    /**
+     * Submits {@code requests} operations to the executor at once, like a burst of requests
+     * reaching the server. A request's latency runs from submission to completion, so it
+     * includes the time spent waiting for a thread of the executor.
+     */
+    static ConcurrentResult runConcurrent(String name, ExecutorService executor, int requests, Runnable op)
+            throws InterruptedException, ExecutionException {
+        long[] nanos = new long[requests];
+        List<Future<?>> futures = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int n = i;
+            long submitted = System.nanoTime();
+            futures.add(executor.submit(() -> {
+                op.run();
+                nanos[n] = System.nanoTime() - submitted;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new ConcurrentResult(
+                name,
+                requests,
+                requests / (elapsed / 1_000_000_000.0),
+                percentile(nanos, 50) / 1_000_000.0,
+                percentile(nanos, 99) / 1_000_000.0
+        );
+    }
+
+    static double percentile(long[] values, double percentile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.device.api.benchmark;
+
+import com.example.device.api.ct.BaseComponentTest;
+import com.example.device.api.dto.requests.ExportFormat;
+import com.example.device.api.dto.responses.DeviceImportReport;
+import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.service.ImportDeviceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports one million CSV rows through {@link ImportDeviceService}. The CSV is generated
+ * while it is read, so the test measures the import and not the fixture.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+class ImportBenchmarkTest extends BaseComponentTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int DUPLICATES = 1_000;
+    private static final long TARGET_MILLIS = 60_000;
+
+    @Autowired
+    ImportDeviceService importDeviceService;
+    @Autowired
+    DeviceRepository repository;
+
+    @AfterEach
+    void cleanDb() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void importMillionRows() throws Exception {
+        long start = System.nanoTime();
+        DeviceImportReport report = importDeviceService.importDevices(ExportFormat.CSV, csv());
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("import: %,d rows in %,d ms (%,.0f rows/s)%n",
+                report.getReceived(), millis, report.getReceived() * 1000.0 / millis);
+
+        assertEquals(ROWS + DUPLICATES, report.getReceived());
+        assertEquals(ROWS, report.getImported());
+        assertEquals(DUPLICATES, report.getRejected());
+        assertTrue(millis < TARGET_MILLIS, "import took " + millis + " ms");
+    }
+
+    private InputStream csv() {
+        Enumeration<InputStream> rows = new Enumeration<>() {
+            private int row = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return row < ROWS + DUPLICATES;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String line = row < 0
+                        ? "name,brand,state\n"
+                        : "Device %d,Brand %d,AVAILABLE\n".formatted(row % ROWS, row % 500);
+                row++;
+                return new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        return new SequenceInputStream(rows);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.device.api.benchmark;
+
+import com.example.device.api.ct.BaseComponentTest;
+import com.example.device.api.entity.Device;
+import com.example.device.api.mapper.DeviceMapper;
+import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.specification.DeviceSpecifications;
+import com.example.device.api.utils.PaginationUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the old entity + mapper read path with the DTO projection path used by
+ * {@link com.example.device.api.service.impl.QueryDeviceServiceImpl}.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadPathBenchmarkTest extends BaseComponentTest {
+
+    private static final int ROWS = 20_000;
+    private static final int WARMUP = 100;
+    private static final int ITERATIONS = 300;
+
+    @Autowired
+    DeviceRepository repository;
+    @Autowired
+    DeviceMapper mapper;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        jdbcTemplate.update("""
+                INSERT INTO devices (name, brand, state, created_at)
+                SELECT 'Bench ' || g, 'Brand ' || (g % 100), 'AVAILABLE',
+                       now() - make_interval(secs => g)
+                FROM generate_series(1, ?) g
+                """, ROWS);
+        jdbcTemplate.execute("ANALYZE devices");
+    }
+
+    @AfterAll
+    void cleanDb() {
+        repository.deleteAllInBatch();
+    }
+
+    @ParameterizedTest(name = "limit={0}")
+    @ValueSource(ints = {100, 1000})
+    void entityVsProjection(int limit) {
+        Pageable page = PaginationUtils.offsetPagination(0, limit);
+
+        Benchmark.Result entity = Benchmark.run("entity+mapper limit=" + limit, WARMUP, ITERATIONS,
+                () -> readOnly.execute(status -> loadEntities(page).stream()
+                        .map(mapper::toResponse)
+                        .toList()));
+
+        Benchmark.Result projection = Benchmark.run("projection limit=" + limit, WARMUP, ITERATIONS,
+                () -> readOnly.execute(status -> repository.findResponses(
+                        DeviceSpecifications.filter(null, null, null, null), page)));
+
+        System.out.println(entity.format());
+        System.out.println(projection.format());
+
+        assertEquals(limit, readOnly.execute(status -> repository.findResponses(
+                DeviceSpecifications.filter(null, null, null, null), page)).size());
+        assertTrue(projection.bytesPerOp() < entity.bytesPerOp(),
+                "projection should allocate less than entity hydration");
+    }
+
+    private List<Device> loadEntities(Pageable page) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Device> query = cb.createQuery(Device.class);
+        Root<Device> root = query.from(Device.class);
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+}
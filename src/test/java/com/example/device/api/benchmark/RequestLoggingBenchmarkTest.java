@@ -0,0 +1,111 @@
+package com.example.device.api.benchmark;
+
+import com.example.device.api.ct.BaseComponentTest;
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares the former per-request logging, a synchronous INFO line in the controller and
+ * one in the service for every request, with the sampled request log written by the async
+ * appender. Cached lookups keep the request itself cheap, so the logging cost shows.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "device.limiter.enabled=false",
+        "device.request-log.sample-rates=GET /device-api/{id}=0.05"
+})
+class RequestLoggingBenchmarkTest extends BaseComponentTest {
+
+    private static final String CONTROLLERS = "com.example.device.api.controller";
+    private static final String SERVICES = "com.example.device.api.service.impl";
+    private static final String REQUESTS_LOG = "device.requests";
+
+    private static final int THREADS = 16;
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 20_000;
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repository;
+    @Autowired
+    LoggingSystem loggingSystem;
+
+    private long id;
+
+    @BeforeAll
+    void seed() {
+        id = repository.saveAndFlush(new Device().setName("Bench").setBrand("Bench").setState(DeviceState.AVAILABLE))
+                .getId();
+    }
+
+    @AfterAll
+    void cleanDb() {
+        loggingSystem.setLogLevel(CONTROLLERS, null);
+        loggingSystem.setLogLevel(SERVICES, null);
+        loggingSystem.setLogLevel(REQUESTS_LOG, null);
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void everyRequestSyncVsSampledAsync() throws Exception {
+        Benchmark.ConcurrentResult everyRequest;
+        Benchmark.ConcurrentResult sampled;
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            // before: the entry lines were INFO, written on the request thread
+            loggingSystem.setLogLevel(CONTROLLERS, LogLevel.DEBUG);
+            loggingSystem.setLogLevel(SERVICES, LogLevel.DEBUG);
+            loggingSystem.setLogLevel(REQUESTS_LOG, LogLevel.OFF);
+            Benchmark.runConcurrent("warmup", pool, WARMUP, this::fetchDevice);
+            everyRequest = Benchmark.runConcurrent("sync, every request", pool, REQUESTS, this::fetchDevice);
+
+            loggingSystem.setLogLevel(CONTROLLERS, null);
+            loggingSystem.setLogLevel(SERVICES, null);
+            loggingSystem.setLogLevel(REQUESTS_LOG, null);
+            Benchmark.runConcurrent("warmup", pool, WARMUP, this::fetchDevice);
+            sampled = Benchmark.runConcurrent("async, sampled 5%", pool, REQUESTS, this::fetchDevice);
+        }
+
+        System.out.println(everyRequest.format());
+        System.out.println(sampled.format());
+
+        assertTrue(sampled.opsPerSecond() > everyRequest.opsPerSecond(),
+                "sampled async logging should sustain more requests per second");
+    }
+
+    private void fetchDevice() {
+        try {
+            mockMvc.perform(get("/device-api/" + id)).andExpect(status().isOk());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.device.api.benchmark;
+
+import com.example.device.api.ct.BaseComponentTest;
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares request execution on a Tomcat-sized pool of platform threads with a virtual
+ * thread per request, for a burst of listing requests far larger than the connection pool.
+ * Both run against the same context, so both go through the database permits.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "logging.level.com.example.device.api=WARN",
+        "spring.jpa.show-sql=false",
+        // compares thread models, so all 200 clients must get through
+        "device.limiter.enabled=false"
+})
+class VirtualThreadBenchmarkTest extends BaseComponentTest {
+
+    private static final int ROWS = 20_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int WARMUP = 500;
+    private static final int REQUESTS = 5_000;
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO devices (name, brand, state, created_at)
+                SELECT 'Bench ' || g, 'Brand ' || (g % 100), 'AVAILABLE',
+                       now() - make_interval(secs => g)
+                FROM generate_series(1, ?) g
+                """, ROWS);
+        jdbcTemplate.execute("ANALYZE devices");
+    }
+
+    @AfterAll
+    void cleanDb() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void platformVsVirtualThreads() throws Exception {
+        Benchmark.ConcurrentResult platform;
+        Benchmark.ConcurrentResult virtual;
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+            Benchmark.runConcurrent("warmup", pool, WARMUP, this::listDevices);
+            platform = Benchmark.runConcurrent("platform x" + PLATFORM_THREADS, pool, REQUESTS, this::listDevices);
+        }
+        try (ExecutorService perRequest = Executors.newVirtualThreadPerTaskExecutor()) {
+            Benchmark.runConcurrent("warmup", perRequest, WARMUP, this::listDevices);
+            virtual = Benchmark.runConcurrent("virtual", perRequest, REQUESTS, this::listDevices);
+        }
+
+        System.out.println(platform.format());
+        System.out.println(virtual.format());
+    }
+
+    private void listDevices() {
+        try {
+            mockMvc.perform(get("/device-api/devices")
+                            .param("brand", "Brand 7")
+                            .param("limit", "20"))
+                    .andExpect(status().isOk());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.device.api.cache;
+
+import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceChange;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.event.DevicesSeenEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static com.example.device.api.cache.DeviceCacheConfig.DEVICES_BY_BRAND_AND_NAME;
+import static com.example.device.api.cache.DeviceCacheConfig.DEVICES_BY_ID;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DeviceCacheInvalidatorTest {
+
+    private Cache byId;
+    private Cache byBrandAndName;
+    private DeviceCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager =
+                new ConcurrentMapCacheManager(DEVICES_BY_ID, DEVICES_BY_BRAND_AND_NAME);
+        byId = cacheManager.getCache(DEVICES_BY_ID);
+        byBrandAndName = cacheManager.getCache(DEVICES_BY_BRAND_AND_NAME);
+        invalidator = new DeviceCacheInvalidator(cacheManager, 2);
+    }
+
+    @Test
+    void onDeviceChanged_Update_EvictsIdAndOldAndNewNaturalKeys() {
+        cache(1L, "Apple", "iPhone");
+        cache(2L, "Apple", "iPad");
+        byBrandAndName.put(DeviceCacheKeys.brandAndName("Apple", "iPhone 2"), new DeviceResponse());
+
+        invalidator.onDeviceChanged(DeviceChangedEvent.updated(
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.AVAILABLE),
+                new DeviceSnapshot(1L, "iPhone 2", "Apple", DeviceState.AVAILABLE)));
+
+        assertNull(byId.get(1L));
+        assertNull(byBrandAndName.get(DeviceCacheKeys.brandAndName("Apple", "iPhone")));
+        assertNull(byBrandAndName.get(DeviceCacheKeys.brandAndName("Apple", "iPhone 2")));
+        assertNotNull(byId.get(2L));
+        assertNotNull(byBrandAndName.get(DeviceCacheKeys.brandAndName("Apple", "iPad")));
+    }
+
+    @Test
+    void onDeviceChanged_Delete_EvictsEntries() {
+        cache(1L, "Apple", "iPhone");
+
+        invalidator.onDeviceChanged(DeviceChangedEvent.deleted(
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.AVAILABLE)));
+
+        assertNull(byId.get(1L));
+        assertNull(byBrandAndName.get(DeviceCacheKeys.brandAndName("Apple", "iPhone")));
+    }
+
+    @Test
+    void onDeviceChanged_ManyChanges_ClearsCaches() {
+        cache(1L, "Apple", "iPhone");
+        cache(9L, "Dell", "XPS");
+
+        invalidator.onDeviceChanged(new DeviceChangedEvent(List.of(
+                transition(1L, "iPhone", "Apple"),
+                transition(2L, "iPad", "Apple"),
+                transition(3L, "Mac", "Apple"))));
+
+        assertNull(byId.get(1L));
+        assertNull(byId.get(9L));
+        assertNull(byBrandAndName.get(DeviceCacheKeys.brandAndName("Dell", "XPS")));
+    }
+
+    @Test
+    void onDeviceChanged_ChangesAtThreshold_EvictsOnlyChangedDevices() {
+        cache(1L, "Apple", "iPhone");
+        cache(9L, "Dell", "XPS");
+
+        invalidator.onDeviceChanged(new DeviceChangedEvent(List.of(
+                transition(1L, "iPhone", "Apple"),
+                transition(2L, "iPad", "Apple"))));
+
+        assertNull(byId.get(1L));
+        assertNotNull(byId.get(9L));
+        assertNotNull(byBrandAndName.get(DeviceCacheKeys.brandAndName("Dell", "XPS")));
+    }
+
+    @Test
+    void onDevicesSeen_EvictsSeenDevices() {
+        cache(1L, "Apple", "iPhone");
+        cache(9L, "Dell", "XPS");
+
+        invalidator.onDevicesSeen(new DevicesSeenEvent(List.of(
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.AVAILABLE))));
+
+        assertNull(byId.get(1L));
+        assertNull(byBrandAndName.get(DeviceCacheKeys.brandAndName("Apple", "iPhone")));
+        assertNotNull(byId.get(9L));
+    }
+
+    @Test
+    void brandAndName_NormalizesKey() {
+        cache(1L, "Apple", "iPhone");
+
+        assertNotNull(byBrandAndName.get(DeviceCacheKeys.brandAndName(" Apple ", "iPhone  ")));
+    }
+
+    private static DeviceChange transition(Long id, String name, String brand) {
+        return new DeviceChange(
+                new DeviceSnapshot(id, name, brand, DeviceState.AVAILABLE),
+                new DeviceSnapshot(id, name, brand, DeviceState.INACTIVE));
+    }
+
+    private void cache(Long id, String brand, String name) {
+        DeviceResponse response = new DeviceResponse().setId(id).setBrand(brand).setName(name);
+        byId.put(id, response);
+        byBrandAndName.put(DeviceCacheKeys.brandAndName(brand, name), response);
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.device.api.contoller;
 
 import com.example.device.api.controller.CommandDeviceController;
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.requests.DeviceStateTransitionRequest;
 import com.example.device.api.dto.requests.PatchDeviceRequest;
 import com.example.device.api.dto.requests.UpdateDeviceRequest;
 import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.dto.responses.DeviceStateTransitionResponse;
+import com.example.device.api.dto.responses.DeviceUpsertResult;
+import com.example.device.api.entity.DeviceState;
 import com.example.device.api.exception.DeviceAlreadyExistsException;
 import com.example.device.api.exception.DeviceNotFoundException;
 import com.example.device.api.exception.ForbiddenOperationException;
 import com.example.device.api.service.CommandDeviceService;
+import com.example.device.api.utils.IfMatch;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -40,15 +46,17 @@ class CommandDeviceControllerTest {
         DeviceResponse expected = new DeviceResponse()
                 .setId(id)
                 .setName("iPhone")
-                .setBrand("Apple");
+                .setBrand("Apple")
+                .setVersion(4L);
 
-        when(commandDeviceService.updateDevice(id, request)).thenReturn(expected);
+        when(commandDeviceService.updateDevice(id, request, null)).thenReturn(expected);
 
-        ResponseEntity<DeviceResponse> response = controller.updateDevice(id, request);
+        ResponseEntity<DeviceResponse> response = controller.updateDevice(id, null, request);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expected, response.getBody());
-        verify(commandDeviceService).updateDevice(id, request);
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        verify(commandDeviceService).updateDevice(id, request, null);
     }
 
     @Test
@@ -56,16 +64,16 @@ class CommandDeviceControllerTest {
         Long id = 5L;
         UpdateDeviceRequest request = new UpdateDeviceRequest();
 
-        when(commandDeviceService.updateDevice(id, request))
+        when(commandDeviceService.updateDevice(id, request, null))
                 .thenThrow(new ForbiddenOperationException("Cannot change brand/name"));
 
         ForbiddenOperationException ex = assertThrows(
                 ForbiddenOperationException.class,
-                () -> controller.updateDevice(id, request)
+                () -> controller.updateDevice(id, null, request)
         );
 
         assertEquals("Cannot change brand/name", ex.getMessage());
-        verify(commandDeviceService).updateDevice(id, request);
+        verify(commandDeviceService).updateDevice(id, request, null);
     }
 
     @Test
@@ -73,16 +81,16 @@ class CommandDeviceControllerTest {
         Long id = 99L;
         UpdateDeviceRequest request = new UpdateDeviceRequest();
 
-        when(commandDeviceService.updateDevice(id, request))
+        when(commandDeviceService.updateDevice(id, request, null))
                 .thenThrow(new DeviceNotFoundException(id));
 
         DeviceNotFoundException ex = assertThrows(
                 DeviceNotFoundException.class,
-                () -> controller.updateDevice(id, request)
+                () -> controller.updateDevice(id, null, request)
         );
 
         assertEquals("Device with id=99 was not found", ex.getMessage());
-        verify(commandDeviceService).updateDevice(id, request);
+        verify(commandDeviceService).updateDevice(id, request, null);
     }
 
     @Test
@@ -92,19 +100,19 @@ class CommandDeviceControllerTest {
                 .setName("iPhone")
                 .setBrand("Apple");
 
-        when(commandDeviceService.updateDevice(id, request))
+        when(commandDeviceService.updateDevice(id, request, null))
                 .thenThrow(new DeviceAlreadyExistsException("iPhone", "Apple"));
 
         DeviceAlreadyExistsException ex = assertThrows(
                 DeviceAlreadyExistsException.class,
-                () -> controller.updateDevice(id, request)
+                () -> controller.updateDevice(id, null, request)
         );
 
         assertEquals(
                 "Device with name 'iPhone' and brand 'Apple' already exists",
                 ex.getMessage()
         );
-        verify(commandDeviceService).updateDevice(id, request);
+        verify(commandDeviceService).updateDevice(id, request, null);
     }
 
     @Test
@@ -112,16 +120,16 @@ class CommandDeviceControllerTest {
         Long id = 1L;
         UpdateDeviceRequest request = new UpdateDeviceRequest();
 
-        when(commandDeviceService.updateDevice(id, request))
+        when(commandDeviceService.updateDevice(id, request, null))
                 .thenThrow(new RuntimeException("DB error"));
 
         RuntimeException ex = assertThrows(
                 RuntimeException.class,
-                () -> controller.updateDevice(id, request)
+                () -> controller.updateDevice(id, null, request)
         );
 
         assertEquals("DB error", ex.getMessage());
-        verify(commandDeviceService).updateDevice(id, request);
+        verify(commandDeviceService).updateDevice(id, request, null);
     }
 
     @Test
@@ -133,16 +141,18 @@ class CommandDeviceControllerTest {
         DeviceResponse expected = new DeviceResponse()
                 .setId(id)
                 .setName("iPhone 13")
-                .setBrand("Apple");
+                .setBrand("Apple")
+                .setVersion(2L);
 
-        when(commandDeviceService.patchDevice(id, request))
+        when(commandDeviceService.patchDevice(id, request, IfMatch.of(1L)))
                 .thenReturn(expected);
 
-        ResponseEntity<DeviceResponse> actual = controller.patchDevice(id, request);
+        ResponseEntity<DeviceResponse> actual = controller.patchDevice(id, "\"1\"", request);
 
         assertEquals(HttpStatus.OK, actual.getStatusCode());
         assertEquals(expected, actual.getBody());
-        verify(commandDeviceService).patchDevice(id, request);
+        assertEquals("\"2\"", actual.getHeaders().getETag());
+        verify(commandDeviceService).patchDevice(id, request, IfMatch.of(1L));
     }
 
     @Test
@@ -151,16 +161,16 @@ class CommandDeviceControllerTest {
         PatchDeviceRequest request = new PatchDeviceRequest()
                 .setBrand("Samsung");
 
-        when(commandDeviceService.patchDevice(id, request))
+        when(commandDeviceService.patchDevice(id, request, null))
                 .thenThrow(new ForbiddenOperationException("Device is IN_USE"));
 
         ForbiddenOperationException ex = assertThrows(
                 ForbiddenOperationException.class,
-                () -> controller.patchDevice(id, request)
+                () -> controller.patchDevice(id, null, request)
         );
 
         assertEquals("Device is IN_USE", ex.getMessage());
-        verify(commandDeviceService).patchDevice(id, request);
+        verify(commandDeviceService).patchDevice(id, request, null);
     }
 
     @Test
@@ -168,16 +178,16 @@ class CommandDeviceControllerTest {
         Long id = 200L;
         PatchDeviceRequest request = new PatchDeviceRequest();
 
-        when(commandDeviceService.patchDevice(id, request))
+        when(commandDeviceService.patchDevice(id, request, null))
                 .thenThrow(new DeviceNotFoundException(id));
 
         DeviceNotFoundException ex = assertThrows(
                 DeviceNotFoundException.class,
-                () -> controller.patchDevice(id, request)
+                () -> controller.patchDevice(id, null, request)
         );
 
         assertEquals("Device with id=200 was not found", ex.getMessage());
-        verify(commandDeviceService).patchDevice(id, request);
+        verify(commandDeviceService).patchDevice(id, request, null);
     }
 
     @Test
@@ -187,19 +197,19 @@ class CommandDeviceControllerTest {
                 .setName("iPhone")
                 .setBrand("Apple");
 
-        when(commandDeviceService.patchDevice(id, request))
+        when(commandDeviceService.patchDevice(id, request, null))
                 .thenThrow(new DeviceAlreadyExistsException("iPhone", "Apple"));
 
         DeviceAlreadyExistsException ex = assertThrows(
                 DeviceAlreadyExistsException.class,
-                () -> controller.patchDevice(id, request)
+                () -> controller.patchDevice(id, null, request)
         );
 
         assertEquals(
                 "Device with name 'iPhone' and brand 'Apple' already exists",
                 ex.getMessage()
         );
-        verify(commandDeviceService).patchDevice(id, request);
+        verify(commandDeviceService).patchDevice(id, request, null);
     }
 
     @Test
@@ -207,15 +217,57 @@ class CommandDeviceControllerTest {
         Long id = 1L;
         PatchDeviceRequest request = new PatchDeviceRequest();
 
-        when(commandDeviceService.patchDevice(id, request))
+        when(commandDeviceService.patchDevice(id, request, null))
                 .thenThrow(new RuntimeException("Internal error"));
 
         RuntimeException ex = assertThrows(
                 RuntimeException.class,
-                () -> controller.patchDevice(id, request)
+                () -> controller.patchDevice(id, null, request)
         );
 
         assertEquals("Internal error", ex.getMessage());
-        verify(commandDeviceService).patchDevice(id, request);
+        verify(commandDeviceService).patchDevice(id, request, null);
+    }
+
+    @Test
+    void upsertDevice_CreatedOrUpdated() {
+        CreateDeviceRequest request = new CreateDeviceRequest()
+                .setName("iPhone")
+                .setBrand("Apple")
+                .setState(DeviceState.AVAILABLE);
+        DeviceResponse device = new DeviceResponse()
+                .setId(1L)
+                .setName("iPhone")
+                .setBrand("Apple")
+                .setState(DeviceState.AVAILABLE)
+                .setVersion(0L);
+
+        when(commandDeviceService.upsertDevice(request))
+                .thenReturn(new DeviceUpsertResult(device, true))
+                .thenReturn(new DeviceUpsertResult(device, false));
+
+        ResponseEntity<DeviceResponse> created = controller.upsertDevice(request);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertEquals(device, created.getBody());
+        assertEquals("\"0\"", created.getHeaders().getETag());
+
+        ResponseEntity<DeviceResponse> updated = controller.upsertDevice(request);
+        assertEquals(HttpStatus.OK, updated.getStatusCode());
+        assertEquals(device, updated.getBody());
+    }
+
+    @Test
+    void transitionStates_Success() {
+        DeviceStateTransitionRequest request = new DeviceStateTransitionRequest()
+                .setIds(new long[]{1L, 2L})
+                .setTargetState(DeviceState.INACTIVE);
+        DeviceStateTransitionResponse expected = new DeviceStateTransitionResponse(1, 1);
+
+        when(commandDeviceService.transitionStates(request)).thenReturn(expected);
+
+        ResponseEntity<DeviceStateTransitionResponse> response = controller.transitionStates(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expected, response.getBody());
     }
 }
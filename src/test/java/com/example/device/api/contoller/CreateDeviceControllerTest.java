@@ -1,7 +1,11 @@
 package com.example.device.api.contoller;
 
 import com.example.device.api.controller.CreateDeviceController;
+import com.example.device.api.dto.requests.BatchCreateDeviceRequest;
 import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.responses.BatchCreateDeviceResponse;
+import com.example.device.api.dto.responses.BatchCreateItemResult;
+import com.example.device.api.dto.responses.BatchCreateStatus;
 import com.example.device.api.dto.responses.DeviceResponse;
 import com.example.device.api.entity.DeviceState;
 import com.example.device.api.exception.DeviceAlreadyExistsException;
@@ -14,6 +18,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +49,21 @@ class CreateDeviceControllerTest {
         verify(createDeviceService, times(1)).createDevice(request);
     }
 
+    @Test
+    void createDevices_ReturnsPerItemOutcomes() {
+        BatchCreateDeviceRequest request = new BatchCreateDeviceRequest().setDevices(List.of(sampleRequest()));
+        BatchCreateDeviceResponse expected = new BatchCreateDeviceResponse(1, 0,
+                List.of(new BatchCreateItemResult(0, BatchCreateStatus.CREATED, sampleResponse())));
+
+        when(createDeviceService.createDevices(request)).thenReturn(expected);
+
+        ResponseEntity<BatchCreateDeviceResponse> actual = createDeviceController.createDevices(request);
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+        verify(createDeviceService).createDevices(request);
+    }
+
     @Test
     void createDevice_AlreadyExists() {
         CreateDeviceRequest request = sampleRequest();
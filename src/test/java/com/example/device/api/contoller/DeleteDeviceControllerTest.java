@@ -1,9 +1,14 @@
 package com.example.device.api.contoller;
 
 import com.example.device.api.controller.DeleteDeviceController;
+import com.example.device.api.dto.requests.BulkDeleteDeviceRequest;
+import com.example.device.api.dto.responses.BulkDeleteDeviceResponse;
+import com.example.device.api.dto.responses.BulkDeleteItemResult;
+import com.example.device.api.dto.responses.BulkDeleteStatus;
 import com.example.device.api.exception.DeviceNotFoundException;
 import com.example.device.api.exception.ForbiddenOperationException;
 import com.example.device.api.service.DeleteDeviceService;
+import com.example.device.api.utils.IfMatch;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -12,6 +17,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -28,13 +35,23 @@ class DeleteDeviceControllerTest {
     void deleteDevice_Success() {
         Long id = 10L;
 
-        doNothing().when(deleteService).deleteDevice(id);
+        doNothing().when(deleteService).deleteDevice(id, null);
 
-        ResponseEntity<Void> response = deleteDeviceController.deleteDevice(id);
+        ResponseEntity<Void> response = deleteDeviceController.deleteDevice(id, null);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         assertNull(response.getBody());
-        verify(deleteService, times(1)).deleteDevice(id);
+        verify(deleteService, times(1)).deleteDevice(id, null);
+    }
+
+    @Test
+    void deleteDevice_IfMatch_PassesExpectedVersion() {
+        Long id = 10L;
+
+        ResponseEntity<Void> response = deleteDeviceController.deleteDevice(id, "\"7\"");
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(deleteService).deleteDevice(id, IfMatch.of(7L));
     }
 
     @Test
@@ -42,15 +59,15 @@ class DeleteDeviceControllerTest {
         Long id = 99L;
 
         doThrow(new DeviceNotFoundException(id))
-                .when(deleteService).deleteDevice(id);
+                .when(deleteService).deleteDevice(id, null);
 
         DeviceNotFoundException ex = assertThrows(
                 DeviceNotFoundException.class,
-                () -> deleteDeviceController.deleteDevice(id)
+                () -> deleteDeviceController.deleteDevice(id, null)
         );
 
         assertEquals("Device with id=99 was not found", ex.getMessage());
-        verify(deleteService, times(1)).deleteDevice(id);
+        verify(deleteService, times(1)).deleteDevice(id, null);
     }
 
     @Test
@@ -58,15 +75,15 @@ class DeleteDeviceControllerTest {
         Long id = 55L;
 
         doThrow(new ForbiddenOperationException("Cannot delete device in use"))
-                .when(deleteService).deleteDevice(id);
+                .when(deleteService).deleteDevice(id, null);
 
         ForbiddenOperationException ex = assertThrows(
                 ForbiddenOperationException.class,
-                () -> deleteDeviceController.deleteDevice(id)
+                () -> deleteDeviceController.deleteDevice(id, null)
         );
 
         assertEquals("Cannot delete device in use", ex.getMessage());
-        verify(deleteService, times(1)).deleteDevice(id);
+        verify(deleteService, times(1)).deleteDevice(id, null);
     }
 
     @Test
@@ -74,14 +91,29 @@ class DeleteDeviceControllerTest {
         Long id = 5L;
 
         doThrow(new RuntimeException("Internal failure"))
-                .when(deleteService).deleteDevice(id);
+                .when(deleteService).deleteDevice(id, null);
 
         RuntimeException ex = assertThrows(
                 RuntimeException.class,
-                () -> deleteDeviceController.deleteDevice(id)
+                () -> deleteDeviceController.deleteDevice(id, null)
         );
 
         assertEquals("Internal failure", ex.getMessage());
-        verify(deleteService, times(1)).deleteDevice(id);
+        verify(deleteService, times(1)).deleteDevice(id, null);
+    }
+
+    @Test
+    void deleteDevices_Success() {
+        BulkDeleteDeviceRequest request = new BulkDeleteDeviceRequest().setIds(new long[]{1L, 2L});
+        BulkDeleteDeviceResponse expected = new BulkDeleteDeviceResponse(1, 0, 1, List.of(
+                new BulkDeleteItemResult(1L, BulkDeleteStatus.DELETED),
+                new BulkDeleteItemResult(2L, BulkDeleteStatus.NOT_FOUND)));
+
+        when(deleteService.deleteDevices(request)).thenReturn(expected);
+
+        ResponseEntity<BulkDeleteDeviceResponse> response = deleteDeviceController.deleteDevices(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expected, response.getBody());
     }
 }
@@ -0,0 +1,45 @@
+package com.example.device.api.contoller;
+
+import com.example.device.api.controller.DeviceHeartbeatController;
+import com.example.device.api.exception.HeartbeatBackpressureException;
+import com.example.device.api.service.DeviceHeartbeatService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceHeartbeatControllerTest {
+
+    @Mock
+    private DeviceHeartbeatService heartbeatService;
+
+    @InjectMocks
+    private DeviceHeartbeatController heartbeatController;
+
+    @Test
+    void recordHeartbeat_Accepted() {
+        ResponseEntity<Void> actual = heartbeatController.recordHeartbeat(1L);
+
+        assertEquals(HttpStatus.ACCEPTED, actual.getStatusCode());
+        verify(heartbeatService).recordHeartbeat(1L);
+    }
+
+    @Test
+    void recordHeartbeat_BufferFull_Propagates() {
+        doThrow(new HeartbeatBackpressureException(10, Duration.ofSeconds(1)))
+                .when(heartbeatService).recordHeartbeat(1L);
+
+        assertThrows(HeartbeatBackpressureException.class, () -> heartbeatController.recordHeartbeat(1L));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.device.api.contoller;
+
+import com.example.device.api.controller.DeviceStatisticsController;
+import com.example.device.api.dto.responses.DeviceStatisticsResponse;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.service.DeviceStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceStatisticsControllerTest {
+
+    @Mock
+    private DeviceStatisticsService statisticsService;
+
+    @InjectMocks
+    private DeviceStatisticsController statisticsController;
+
+    @Test
+    void getStatistics_Success() {
+        DeviceStatisticsResponse expected = new DeviceStatisticsResponse(
+                1, Map.of(DeviceState.AVAILABLE, 1L), Map.of("Apple", 1L));
+
+        when(statisticsService.getStatistics()).thenReturn(expected);
+
+        ResponseEntity<DeviceStatisticsResponse> actual = statisticsController.getStatistics();
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+        verify(statisticsService).getStatistics();
+    }
+}
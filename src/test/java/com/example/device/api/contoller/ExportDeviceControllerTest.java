@@ -0,0 +1,78 @@
+package com.example.device.api.contoller;
+
+import com.example.device.api.controller.ExportDeviceController;
+import com.example.device.api.dto.requests.DeviceExportRequest;
+import com.example.device.api.dto.requests.ExportFormat;
+import com.example.device.api.service.ExportDeviceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportDeviceControllerTest {
+
+    @Mock
+    private ExportDeviceService exportDeviceService;
+
+    @InjectMocks
+    private ExportDeviceController exportDeviceController;
+
+    @Test
+    void exportDevices_Ndjson() throws Exception {
+        DeviceExportRequest request = new DeviceExportRequest();
+
+        ResponseEntity<StreamingResponseBody> actual = exportDeviceController.exportDevices(request);
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals("application/x-ndjson", actual.getHeaders().getContentType().toString());
+        assertEquals("devices.ndjson", actual.getHeaders().getContentDisposition().getFilename());
+        assertNull(actual.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        actual.getBody().writeTo(out);
+
+        verify(exportDeviceService).exportDevices(request, out);
+    }
+
+    @Test
+    void exportDevices_CsvGzip() throws Exception {
+        DeviceExportRequest request = new DeviceExportRequest().setFormat(ExportFormat.CSV).setGzip(true);
+
+        when(exportDeviceService.exportDevices(eq(request), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,name,brand,state,createdAt\r\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        });
+
+        ResponseEntity<StreamingResponseBody> actual = exportDeviceController.exportDevices(request);
+
+        assertEquals("text/csv", actual.getHeaders().getContentType().toString());
+        assertEquals("devices.csv.gz", actual.getHeaders().getContentDisposition().getFilename());
+        assertEquals("gzip", actual.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        actual.getBody().writeTo(out);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("id,name,brand,state,createdAt\r\n",
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.device.api.contoller;
+
+import com.example.device.api.controller.ImportDeviceController;
+import com.example.device.api.dto.requests.ExportFormat;
+import com.example.device.api.dto.responses.DeviceImportReport;
+import com.example.device.api.service.ImportDeviceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportDeviceControllerTest {
+
+    private static final String CSV = "name,brand,state\niPhone,Apple,AVAILABLE\n";
+
+    @Mock
+    private ImportDeviceService importDeviceService;
+
+    @InjectMocks
+    private ImportDeviceController importDeviceController;
+
+    @Test
+    void importDevices_Success() throws IOException {
+        InputStream body = new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8));
+        DeviceImportReport report = new DeviceImportReport(1, 1, 0, List.of());
+
+        when(importDeviceService.importDevices(ExportFormat.CSV, body)).thenReturn(report);
+
+        ResponseEntity<DeviceImportReport> actual =
+                importDeviceController.importDevices(ExportFormat.CSV, null, body);
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals(report, actual.getBody());
+        verify(importDeviceService).importDevices(ExportFormat.CSV, body);
+    }
+
+    @Test
+    void importDevices_GzipDecoded() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(CSV.getBytes(StandardCharsets.UTF_8));
+        }
+
+        AtomicReference<String> received = new AtomicReference<>();
+        when(importDeviceService.importDevices(eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+            received.set(new String(invocation.<InputStream>getArgument(1).readAllBytes(), StandardCharsets.UTF_8));
+            return new DeviceImportReport(1, 1, 0, List.of());
+        });
+
+        importDeviceController.importDevices(ExportFormat.CSV, "gzip",
+                new ByteArrayInputStream(compressed.toByteArray()));
+
+        assertEquals(CSV, received.get());
+    }
+}
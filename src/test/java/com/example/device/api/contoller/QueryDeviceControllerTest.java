@@ -1,11 +1,18 @@
 package com.example.device.api.contoller;
 
 import com.example.device.api.controller.QueryDeviceController;
+import com.example.device.api.dto.requests.CountMode;
 import com.example.device.api.dto.requests.DeviceFilterRequest;
+import com.example.device.api.dto.requests.DeviceKey;
+import com.example.device.api.dto.requests.DeviceLookupRequest;
+import com.example.device.api.dto.requests.DeviceResolveRequest;
+import com.example.device.api.dto.responses.DeviceLookupResponse;
+import com.example.device.api.dto.responses.DeviceResolution;
 import com.example.device.api.dto.responses.DeviceResponse;
 import com.example.device.api.entity.DeviceState;
 import com.example.device.api.exception.DeviceNotFoundException;
 import com.example.device.api.service.QueryDeviceService;
+import com.example.device.api.utils.CursorUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,7 +39,7 @@ class QueryDeviceControllerTest {
     @Test
     void getDeviceById_Success() {
         Long id = 1L;
-        DeviceResponse response = new DeviceResponse().setId(id).setName("iPhone").setBrand("Apple");
+        DeviceResponse response = new DeviceResponse().setId(id).setName("iPhone").setBrand("Apple").setVersion(3L);
 
         when(queryDeviceService.getDeviceById(id)).thenReturn(response);
 
@@ -39,6 +47,7 @@ class QueryDeviceControllerTest {
 
         assertEquals(HttpStatus.OK, actual.getStatusCode());
         assertEquals(response, actual.getBody());
+        assertEquals("\"3\"", actual.getHeaders().getETag());
         verify(queryDeviceService, times(1)).getDeviceById(id);
     }
 
@@ -81,6 +90,62 @@ class QueryDeviceControllerTest {
         verify(queryDeviceService, times(1)).getDevices(request);
     }
 
+    @Test
+    void getDevices_WithCount_ReturnsTotalCountHeader() {
+        DeviceFilterRequest request = new DeviceFilterRequest().setCount(CountMode.ESTIMATE);
+
+        when(queryDeviceService.getDevices(request)).thenReturn(List.of());
+        when(queryDeviceService.countDevices(request)).thenReturn(1234L);
+
+        ResponseEntity<List<DeviceResponse>> actual = queryDeviceController.getDevices(request);
+
+        assertEquals("1234", actual.getHeaders().getFirst(QueryDeviceController.TOTAL_COUNT_HEADER));
+    }
+
+    @Test
+    void getDevices_WithoutCount_NoTotalCountHeader() {
+        DeviceFilterRequest request = new DeviceFilterRequest();
+
+        when(queryDeviceService.getDevices(request)).thenReturn(List.of());
+
+        ResponseEntity<List<DeviceResponse>> actual = queryDeviceController.getDevices(request);
+
+        assertNull(actual.getHeaders().getFirst(QueryDeviceController.TOTAL_COUNT_HEADER));
+        verify(queryDeviceService, never()).countDevices(any());
+    }
+
+    @Test
+    void getDevices_FullPage_ReturnsNextCursor() {
+        DeviceFilterRequest request = new DeviceFilterRequest().setLimit(2);
+
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<DeviceResponse> expected = List.of(
+                new DeviceResponse().setId(2L).setCreatedAt(createdAt.plusMinutes(1)),
+                new DeviceResponse().setId(1L).setCreatedAt(createdAt)
+        );
+
+        when(queryDeviceService.getDevices(request)).thenReturn(expected);
+
+        ResponseEntity<List<DeviceResponse>> actual =
+                queryDeviceController.getDevices(request);
+
+        assertEquals(CursorUtils.encode(createdAt, 1L),
+                actual.getHeaders().getFirst(QueryDeviceController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getDevices_PartialPage_NoNextCursor() {
+        DeviceFilterRequest request = new DeviceFilterRequest().setLimit(5);
+
+        when(queryDeviceService.getDevices(request))
+                .thenReturn(List.of(new DeviceResponse().setId(1L).setCreatedAt(LocalDateTime.now())));
+
+        ResponseEntity<List<DeviceResponse>> actual =
+                queryDeviceController.getDevices(request);
+
+        assertFalse(actual.getHeaders().containsKey(QueryDeviceController.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void getDevices_EmptyResults() {
         DeviceFilterRequest request = new DeviceFilterRequest();
@@ -119,7 +184,7 @@ class QueryDeviceControllerTest {
         String name = "iPhone";
 
         DeviceResponse expected = new DeviceResponse()
-                .setId(1L).setBrand(brand).setName(name);
+                .setId(1L).setBrand(brand).setName(name).setVersion(0L);
 
         when(queryDeviceService.getDeviceByBrandAndName(brand, name))
                 .thenReturn(expected);
@@ -168,4 +233,35 @@ class QueryDeviceControllerTest {
         verify(queryDeviceService, times(1))
                 .getDeviceByBrandAndName(brand, name);
     }
+
+    @Test
+    void getDevicesByIds_Success() {
+        long[] ids = {1L, 2L};
+        DeviceLookupResponse expected = new DeviceLookupResponse(
+                List.of(new DeviceResponse().setId(1L)), new long[]{2L});
+
+        when(queryDeviceService.getDevicesByIds(ids)).thenReturn(expected);
+
+        ResponseEntity<DeviceLookupResponse> actual =
+                queryDeviceController.getDevicesByIds(new DeviceLookupRequest().setIds(ids));
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+        verify(queryDeviceService).getDevicesByIds(ids);
+    }
+
+    @Test
+    void resolveDevicesByBrandAndName_Success() {
+        List<DeviceKey> keys = List.of(new DeviceKey("Apple", "iPhone"));
+        List<DeviceResolution> expected = List.of(new DeviceResolution("Apple", "iPhone", false, null));
+
+        when(queryDeviceService.resolveByBrandAndName(keys)).thenReturn(expected);
+
+        ResponseEntity<List<DeviceResolution>> actual =
+                queryDeviceController.resolveDevicesByBrandAndName(new DeviceResolveRequest().setKeys(keys));
+
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals(expected, actual.getBody());
+        verify(queryDeviceService).resolveByBrandAndName(keys);
+    }
 }
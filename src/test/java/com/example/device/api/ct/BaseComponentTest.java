@@ -1,6 +1,9 @@
 package com.example.device.api.ct;
 
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -31,4 +34,16 @@ public abstract class BaseComponentTest {
 
         registry.add("spring.liquibase.enabled", () -> true);
     }
-}
\ No newline at end of file
+
+    @Autowired
+    CacheManager cacheManager;
+
+    /**
+     * Tests seed and clean the database through the repository, bypassing the
+     * write services that evict cached lookups.
+     */
+    @AfterEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.dto.requests.BatchCreateDeviceRequest;
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+class BatchCreateDeviceComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api/devices/batch";
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper mapper;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAllInBatch();
+    }
+
+    @Test
+    void createDevices_reportsPerItemOutcomes() throws Exception {
+        Device existing = repo.save(new Device()
+                .setName("Galaxy S22")
+                .setBrand("Samsung")
+                .setState(DeviceState.AVAILABLE));
+
+        BatchCreateDeviceRequest req = new BatchCreateDeviceRequest().setDevices(List.of(
+                device("Galaxy S22", "Samsung"),
+                device("Pixel 8", "Google"),
+                device(" Pixel 8 ", "Google"),
+                device("iPhone 15", "Apple")
+        ));
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.items[0].status").value("ALREADY_EXISTS"))
+                .andExpect(jsonPath("$.items[0].device.id").value(existing.getId()))
+                .andExpect(jsonPath("$.items[1].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[1].device.name").value("Pixel 8"))
+                .andExpect(jsonPath("$.items[1].device.createdAt").exists())
+                .andExpect(jsonPath("$.items[2].status").value("DUPLICATE_IN_BATCH"))
+                .andExpect(jsonPath("$.items[2].device").doesNotExist())
+                .andExpect(jsonPath("$.items[3].index").value(3))
+                .andExpect(jsonPath("$.items[3].status").value("CREATED"));
+
+        assertEquals(3, repo.count());
+    }
+
+    /**
+     * The conflicting device is inserted but not committed before the batch starts, so the batch's
+     * resolve misses it; it is committed once the batch's insert waits for it.
+     */
+    @Test
+    void createDevices_pairCommittedConcurrently_reportedAsExisting() throws Exception {
+        BatchCreateDeviceRequest req = new BatchCreateDeviceRequest().setDevices(List.of(
+                device("Pixel 8", "Google"),
+                device("iPhone 15", "Apple")
+        ));
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor();
+             Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            long racedId;
+            try (PreparedStatement ps = other.prepareStatement("""
+                    INSERT INTO devices (name, brand, state, created_at)
+                    VALUES ('Pixel 8', 'Google', 'IN_USE', LOCALTIMESTAMP)
+                    RETURNING id
+                    """);
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                racedId = rs.getLong(1);
+            }
+
+            Future<?> batch = executor.submit(() -> mockMvc.perform(post(URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(req)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1))
+                    .andExpect(jsonPath("$.rejected").value(1))
+                    .andExpect(jsonPath("$.items[0].status").value("ALREADY_EXISTS"))
+                    .andExpect(jsonPath("$.items[0].device.id").value(racedId))
+                    .andExpect(jsonPath("$.items[0].device.state").value("IN_USE"))
+                    .andExpect(jsonPath("$.items[1].status").value("CREATED")));
+
+            awaitInsertWaitingForLock();
+            other.commit();
+            batch.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(2, repo.count());
+    }
+
+    @Test
+    void createDevices_largeBatch() throws Exception {
+        BatchCreateDeviceRequest req = new BatchCreateDeviceRequest().setDevices(
+                IntStream.range(0, 2_000)
+                        .mapToObj(i -> device("Model " + i, "Brand " + (i % 10)))
+                        .toList());
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2_000))
+                .andExpect(jsonPath("$.items.length()").value(2_000));
+
+        assertEquals(2_000, repo.count());
+    }
+
+    @Test
+    void createDevices_invalidItem() throws Exception {
+        BatchCreateDeviceRequest req = new BatchCreateDeviceRequest().setDevices(List.of(
+                device("Pixel 8", "Google"),
+                device("ab", "Google")
+        ));
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    void createDevices_empty() throws Exception {
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"devices\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void awaitInsertWaitingForLock() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject("""
+                    SELECT count(*) FROM pg_stat_activity
+                    WHERE datname = current_database()
+                      AND wait_event_type = 'Lock'
+                      AND query ILIKE 'insert into devices%'
+                    """, Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("batch insert never waited for the uncommitted device");
+    }
+
+    private CreateDeviceRequest device(String name, String brand) {
+        return new CreateDeviceRequest()
+                .setName(name)
+                .setBrand(brand)
+                .setState(DeviceState.AVAILABLE);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+class BulkDeleteComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api/devices/delete";
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void deleteByIds_reportsEveryId() throws Exception {
+        Device iphone = save("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        Device ipad = save("iPad Air", "Apple", DeviceState.IN_USE);
+        long missing = ipad.getId() + 100;
+
+        // warm the cache so the delete has to evict it
+        mockMvc.perform(get("/device-api/" + iphone.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ids": [%d, %d, %d]}
+                                """.formatted(missing, ipad.getId(), iphone.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1))
+                .andExpect(jsonPath("$.inUse").value(1))
+                .andExpect(jsonPath("$.notFound").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(iphone.getId()))
+                .andExpect(jsonPath("$.items[0].status").value("DELETED"))
+                .andExpect(jsonPath("$.items[1].status").value("IN_USE"))
+                .andExpect(jsonPath("$.items[2].id").value(missing))
+                .andExpect(jsonPath("$.items[2].status").value("NOT_FOUND"));
+
+        mockMvc.perform(get("/device-api/" + iphone.getId())).andExpect(status().isNotFound());
+        assertTrue(repo.existsById(ipad.getId()));
+    }
+
+    @Test
+    void deleteByFilter_keepsInUseDevices() throws Exception {
+        save("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        save("iPad Air", "Apple", DeviceState.IN_USE);
+        save("Galaxy S23", "Samsung", DeviceState.AVAILABLE);
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"filter": {"brand": "Apple"}}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1))
+                .andExpect(jsonPath("$.inUse").value(1))
+                .andExpect(jsonPath("$.notFound").value(0))
+                .andExpect(jsonPath("$.items").doesNotExist());
+
+        assertEquals(2, repo.count());
+    }
+
+    @Test
+    void delete_invalidSelection_badRequest() throws Exception {
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"filter": {"brand": "  "}}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Device save(String name, String brand, DeviceState state) {
+        return repo.saveAndFlush(new Device().setName(name).setBrand(brand).setState(state));
+    }
+}
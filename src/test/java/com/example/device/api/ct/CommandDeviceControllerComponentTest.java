@@ -189,6 +189,69 @@ class CommandDeviceControllerComponentTest extends BaseComponentTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void patchDevice_nameOnlyConflictWithCurrentBrand() throws Exception {
+        repo.save(new Device()
+                .setName("TakenName")
+                .setBrand("SharedBrand")
+                .setState(DeviceState.AVAILABLE)
+        );
+
+        Device dev = repo.save(new Device()
+                .setName("FreeName")
+                .setBrand("SharedBrand")
+                .setState(DeviceState.AVAILABLE)
+        );
+
+        PatchDeviceRequest req = new PatchDeviceRequest();
+        req.setName("TakenName");
+
+        mockMvc.perform(patch(URL + "/" + dev.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("DEVICE_ALREADY_EXISTS"));
+    }
+
+    @Test
+    void patchDevice_inUseStateOnlyChangeAllowed() throws Exception {
+        Device dev = repo.save(new Device()
+                .setName("Busy")
+                .setBrand("BusyBrand")
+                .setState(DeviceState.IN_USE)
+        );
+
+        PatchDeviceRequest req = new PatchDeviceRequest();
+        req.setName("Busy");
+        req.setState(DeviceState.AVAILABLE);
+
+        mockMvc.perform(patch(URL + "/" + dev.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("AVAILABLE"));
+    }
+
+    @Test
+    void updateDevice_unchangedReturnsCurrent() throws Exception {
+        Device dev = repo.save(new Device()
+                .setName("Same")
+                .setBrand("SameBrand")
+                .setState(DeviceState.INACTIVE));
+
+        UpdateDeviceRequest req = new UpdateDeviceRequest()
+                .setName("Same")
+                .setBrand("SameBrand")
+                .setState(DeviceState.INACTIVE);
+
+        mockMvc.perform(put(URL + "/" + dev.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(dev.getId()))
+                .andExpect(jsonPath("$.state").value("INACTIVE"));
+    }
+
     @Test
     void updateDevice_createdAtIgnored() throws Exception {
         Device dev = repo.save(new Device()
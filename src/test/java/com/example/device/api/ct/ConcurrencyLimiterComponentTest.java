@@ -0,0 +1,80 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.limiter.AdaptiveConcurrencyLimiter;
+import com.example.device.api.repository.DeviceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "device.limiter.read.initial-limit=1",
+        "device.limiter.read.min-limit=1",
+        "device.limiter.read.max-limit=1",
+        "device.limiter.retry-after=PT2S"
+})
+class ConcurrencyLimiterComponentTest extends BaseComponentTest {
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    AdaptiveConcurrencyLimiter readConcurrencyLimiter;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void readLimitReached_readsShedWritesAndHeartbeatsPass() throws Exception {
+        Device device = repo.saveAndFlush(new Device().setName("iPhone 15").setBrand("Apple").setState(DeviceState.AVAILABLE));
+        AdaptiveConcurrencyLimiter.Permit held = readConcurrencyLimiter.tryAcquire().orElseThrow();
+
+        try {
+            mockMvc.perform(get("/device-api/" + device.getId()))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "2"))
+                    .andExpect(jsonPath("$.errorCode").value("SERVICE_UNAVAILABLE"));
+
+            mockMvc.perform(post("/device-api/devices")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"name": "Galaxy S23", "brand": "Samsung", "state": "AVAILABLE"}
+                                    """))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(post("/device-api/" + device.getId() + "/heartbeat"))
+                    .andExpect(status().isAccepted());
+        } finally {
+            held.ignore();
+        }
+
+        mockMvc.perform(get("/device-api/" + device.getId())).andExpect(status().isOk());
+
+        assertEquals(1.0, meterRegistry.get("device.limiter.rejected").tag("type", "read").functionCounter().count());
+        assertEquals(0.0, meterRegistry.get("device.limiter.rejected").tag("type", "write").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("device.limiter.limit").tag("type", "read").gauge().value());
+        assertEquals(0.0, meterRegistry.get("device.limiter.inflight").tag("type", "read").gauge().value());
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.dto.requests.PatchDeviceRequest;
+import com.example.device.api.dto.requests.UpdateDeviceRequest;
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+class ConditionalWriteComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api/";
+    private static final int CONCURRENT_CLIENTS = 8;
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper mapper;
+    @Autowired
+    DeviceRepository repo;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void get_returnsETagAndHonorsIfNoneMatch() throws Exception {
+        Device dev = save("Pixel 8", "Google");
+
+        mockMvc.perform(get(URL + dev.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        mockMvc.perform(get(URL + dev.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get(URL + "search").param("brand", "Google").param("name", "Pixel 8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+    }
+
+    @Test
+    void patch_ifMatchCurrent_updatesAndBumpsVersion() throws Exception {
+        Device dev = save("Pixel 8", "Google");
+
+        mockMvc.perform(patch(URL + dev.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new PatchDeviceRequest().setState(DeviceState.IN_USE))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.state").value("IN_USE"));
+
+        mockMvc.perform(patch(URL + dev.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new PatchDeviceRequest().setState(DeviceState.INACTIVE))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+
+        assertEquals(DeviceState.IN_USE, repo.findById(dev.getId()).orElseThrow().getState());
+    }
+
+    @Test
+    void put_staleIfMatch_preconditionFailed() throws Exception {
+        Device dev = save("Pixel 8", "Google");
+
+        UpdateDeviceRequest req = new UpdateDeviceRequest()
+                .setName("Pixel 9")
+                .setBrand("Google")
+                .setState(DeviceState.AVAILABLE);
+
+        mockMvc.perform(put(URL + dev.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put(URL + dev.getId())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void delete_honorsIfMatch() throws Exception {
+        Device dev = save("Pixel 8", "Google");
+
+        mockMvc.perform(delete(URL + dev.getId()).header(HttpHeaders.IF_MATCH, "\"3\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete(URL + dev.getId()).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isNoContent());
+
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    void ifMatchList_anyListedVersionMatches() throws Exception {
+        Device dev = save("Pixel 8", "Google");
+
+        mockMvc.perform(patch(URL + dev.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"4\", W/\"0\", \"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new PatchDeviceRequest().setState(DeviceState.IN_USE))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch(URL + dev.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"4\", \"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new PatchDeviceRequest().setState(DeviceState.IN_USE))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(delete(URL + dev.getId()).header(HttpHeaders.IF_MATCH, "\"0\", \"1\""))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void ifMatch_missingDevice_preconditionFailed() throws Exception {
+        long missing = save("Pixel 8", "Google").getId() + 100;
+
+        mockMvc.perform(put(URL + missing)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new UpdateDeviceRequest()
+                                .setName("Pixel 9").setBrand("Google").setState(DeviceState.AVAILABLE))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete(URL + missing).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete(URL + missing))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patch_concurrentWritersWithSameETag_onlyOneWins() throws Exception {
+        Device dev = save("Pixel 8", "Google");
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        try {
+            List<Callable<Integer>> clients = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+                String name = "Pixel 8 rev " + i;
+                clients.add(() -> mockMvc.perform(patch(URL + dev.getId())
+                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(new PatchDeviceRequest().setName(name))))
+                        .andReturn()
+                        .getResponse()
+                        .getStatus());
+            }
+
+            int updated = 0;
+            for (Future<Integer> status : executor.invokeAll(clients)) {
+                int code = status.get();
+                if (code == 200) {
+                    updated++;
+                } else {
+                    assertEquals(412, code);
+                }
+            }
+
+            assertEquals(1, updated);
+            assertEquals(1L, repo.findById(dev.getId()).orElseThrow().getVersion());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Device save(String name, String brand) {
+        return repo.save(new Device()
+                .setName(name)
+                .setBrand(brand)
+                .setState(DeviceState.AVAILABLE));
+    }
+}
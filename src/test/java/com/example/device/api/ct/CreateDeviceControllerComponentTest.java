@@ -12,8 +12,18 @@ import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -22,6 +32,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class CreateDeviceControllerComponentTest extends BaseComponentTest {
 
     private static final String URL = "/device-api/devices";
+    private static final int CONCURRENT_CLIENTS = 8;
 
     @Autowired(required = false)
     MockMvc mockMvc;
@@ -161,6 +172,42 @@ class CreateDeviceControllerComponentTest extends BaseComponentTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void createDevice_concurrentDuplicates_oneCreatedRestConflict() throws Exception {
+        String body = mapper.writeValueAsString(new CreateDeviceRequest()
+                .setName("Galaxy S24")
+                .setBrand("Samsung")
+                .setState(DeviceState.AVAILABLE));
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        try {
+            List<Callable<MockHttpServletResponse>> clients = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+                clients.add(() -> mockMvc.perform(post(URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                        .andReturn()
+                        .getResponse());
+            }
+
+            int created = 0;
+            for (Future<MockHttpServletResponse> result : executor.invokeAll(clients)) {
+                MockHttpServletResponse response = result.get();
+                if (response.getStatus() == 201) {
+                    created++;
+                } else {
+                    assertEquals(409, response.getStatus());
+                    assertTrue(response.getContentAsString().contains("DEVICE_ALREADY_EXISTS"));
+                }
+            }
+
+            assertEquals(1, created);
+            assertEquals(1, repo.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void createDevice_invalidFields_badRequest() throws Exception {
         CreateDeviceRequest req = new CreateDeviceRequest()
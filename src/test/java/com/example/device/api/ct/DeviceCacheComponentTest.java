@@ -0,0 +1,96 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.cache.DeviceCacheConfig;
+import com.example.device.api.dto.requests.PatchDeviceRequest;
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+class DeviceCacheComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api";
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    ObjectMapper mapper;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void getDeviceById_servedFromCache() throws Exception {
+        Device dev = repo.save(new Device().setName("Cached").setBrand("Brand").setState(DeviceState.AVAILABLE));
+
+        long hitsBefore = nativeCache(DeviceCacheConfig.DEVICES_BY_ID).stats().hitCount();
+
+        mockMvc.perform(get(URL + "/" + dev.getId())).andExpect(status().isOk());
+        mockMvc.perform(get(URL + "/" + dev.getId())).andExpect(status().isOk());
+
+        assertTrue(nativeCache(DeviceCacheConfig.DEVICES_BY_ID).stats().hitCount() > hitsBefore);
+    }
+
+    @Test
+    void patchDevice_evictsCachedLookups() throws Exception {
+        Device dev = repo.save(new Device().setName("Before").setBrand("Brand").setState(DeviceState.AVAILABLE));
+
+        mockMvc.perform(get(URL + "/" + dev.getId()))
+                .andExpect(jsonPath("$.name").value("Before"));
+        mockMvc.perform(get(URL + "/search").param("brand", "Brand").param("name", "Before"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch(URL + "/" + dev.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new PatchDeviceRequest().setName("After"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(URL + "/" + dev.getId()))
+                .andExpect(jsonPath("$.name").value("After"));
+        mockMvc.perform(get(URL + "/search").param("brand", "Brand").param("name", "Before"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(URL + "/search").param("brand", "Brand").param("name", "After"))
+                .andExpect(jsonPath("$.id").value(dev.getId()));
+    }
+
+    @Test
+    void deleteDevice_evictsCachedLookups() throws Exception {
+        Device dev = repo.save(new Device().setName("Gone").setBrand("Brand").setState(DeviceState.AVAILABLE));
+
+        mockMvc.perform(get(URL + "/" + dev.getId())).andExpect(status().isOk());
+        mockMvc.perform(get(URL + "/search").param("brand", "Brand").param("name", "Gone"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete(URL + "/" + dev.getId())).andExpect(status().isNoContent());
+
+        mockMvc.perform(get(URL + "/" + dev.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get(URL + "/search").param("brand", "Brand").param("name", "Gone"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
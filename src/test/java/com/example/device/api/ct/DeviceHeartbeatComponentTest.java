@@ -0,0 +1,122 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.service.DeviceHeartbeatService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestPropertySource(properties = {
+        // flushed by the tests themselves
+        "device.heartbeat.flush-interval=PT1H",
+        "device.heartbeat.max-pending=2"
+})
+class DeviceHeartbeatComponentTest extends BaseComponentTest {
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    DeviceHeartbeatService heartbeatService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanDb() {
+        heartbeatService.flush();
+        repo.deleteAll();
+    }
+
+    @Test
+    void heartbeat_writtenByNextFlushWithoutTouchingVersion() throws Exception {
+        Device device = save("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        long unknown = device.getId() + 100;
+
+        mockMvc.perform(post("/device-api/" + device.getId() + "/heartbeat")).andExpect(status().isAccepted());
+        mockMvc.perform(post("/device-api/" + device.getId() + "/heartbeat")).andExpect(status().isAccepted());
+        mockMvc.perform(post("/device-api/" + unknown + "/heartbeat")).andExpect(status().isAccepted());
+        assertNull(lastSeen(device.getId()));
+
+        assertEquals(2, heartbeatService.flush());
+
+        assertNotNull(lastSeen(device.getId()));
+        mockMvc.perform(get("/device-api/" + device.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+    }
+
+    @Test
+    void heartbeat_lastSeenAtReturnedByLookupsAfterFlush() throws Exception {
+        Device device = save("iPhone 15", "Apple", DeviceState.AVAILABLE);
+
+        // cache both lookups before the heartbeat
+        mockMvc.perform(get("/device-api/" + device.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastSeenAt").doesNotExist());
+        mockMvc.perform(get("/device-api/search").param("brand", "Apple").param("name", "iPhone 15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastSeenAt").doesNotExist());
+
+        mockMvc.perform(post("/device-api/" + device.getId() + "/heartbeat")).andExpect(status().isAccepted());
+        heartbeatService.flush();
+        String lastSeenAt = ISO_LOCAL_DATE_TIME.format(lastSeen(device.getId()).toLocalDateTime());
+
+        mockMvc.perform(get("/device-api/" + device.getId()))
+                .andExpect(jsonPath("$.lastSeenAt").value(lastSeenAt));
+        mockMvc.perform(get("/device-api/search").param("brand", "Apple").param("name", "iPhone 15"))
+                .andExpect(jsonPath("$.lastSeenAt").value(lastSeenAt));
+        mockMvc.perform(get("/device-api/devices").param("brand", "Apple"))
+                .andExpect(jsonPath("$[0].lastSeenAt").value(lastSeenAt));
+    }
+
+    @Test
+    void heartbeat_bufferFull_serviceUnavailable() throws Exception {
+        Device first = save("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        Device second = save("iPhone 16", "Apple", DeviceState.AVAILABLE);
+        Device third = save("iPad Air", "Apple", DeviceState.AVAILABLE);
+
+        mockMvc.perform(post("/device-api/" + first.getId() + "/heartbeat")).andExpect(status().isAccepted());
+        mockMvc.perform(post("/device-api/" + second.getId() + "/heartbeat")).andExpect(status().isAccepted());
+
+        mockMvc.perform(post("/device-api/" + third.getId() + "/heartbeat"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3600"))
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_UNAVAILABLE"));
+        mockMvc.perform(post("/device-api/" + first.getId() + "/heartbeat")).andExpect(status().isAccepted());
+
+        heartbeatService.flush();
+
+        mockMvc.perform(post("/device-api/" + third.getId() + "/heartbeat")).andExpect(status().isAccepted());
+    }
+
+    private Timestamp lastSeen(long id) {
+        return jdbcTemplate.queryForObject("SELECT last_seen_at FROM devices WHERE id = ?", Timestamp.class, id);
+    }
+
+    private Device save(String name, String brand, DeviceState state) {
+        return repo.saveAndFlush(new Device().setName(name).setBrand(brand).setState(state));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Substring / prefix search against a seeded table: results, index usage and latency.
+ */
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DeviceSearchComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api/devices";
+    private static final int ROWS = 100_000;
+    private static final int RUNS = 30;
+    private static final long P95_TARGET_MILLIS = 100;
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        repo.deleteAll();
+        jdbcTemplate.update("""
+                INSERT INTO devices (name, brand, state, created_at)
+                SELECT 'Model ' || md5(g::text),
+                       'Brand' || (g % 500),
+                       (ARRAY['AVAILABLE', 'IN_USE', 'INACTIVE'])[g % 3 + 1],
+                       now() - g * interval '1 second'
+                FROM generate_series(1, ?) g
+                """, ROWS);
+        jdbcTemplate.execute("ANALYZE devices");
+    }
+
+    @AfterAll
+    void cleanDb() {
+        jdbcTemplate.update("DELETE FROM devices");
+    }
+
+    @Test
+    void nameContains_findsCaseInsensitiveSubstring() throws Exception {
+        String needle = md5Fragment(4242).toUpperCase();
+
+        mockMvc.perform(get(URL).param("nameContains", needle))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Model " + md5(4242)));
+    }
+
+    @Test
+    void brandPrefix_findsMatchingBrands() throws Exception {
+        mockMvc.perform(get(URL).param("brandPrefix", "brand49").param("limit", "1000"))
+                .andExpect(status().isOk())
+                // Brand49 and Brand490..Brand499, 200 rows each
+                .andExpect(jsonPath("$.length()").value(1000));
+    }
+
+    @Test
+    void nameContains_usesTrigramIndex() {
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM devices WHERE lower(name) LIKE ? AND deleted_at IS NULL "
+                        + "ORDER BY created_at DESC, id DESC LIMIT 100",
+                String.class, "%" + md5Fragment(4242) + "%");
+
+        assertTrue(plan.stream().anyMatch(line -> line.contains("idx_devices_name_trgm")), String.join("\n", plan));
+    }
+
+    @Test
+    void nameContains_meetsLatencyTarget() throws Exception {
+        long[] millis = new long[RUNS];
+
+        for (int i = 0; i < RUNS; i++) {
+            String needle = md5Fragment(1000 + i * 997);
+            long start = System.nanoTime();
+            mockMvc.perform(get(URL).param("nameContains", needle)).andExpect(status().isOk());
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+
+        Arrays.sort(millis);
+        long p95 = millis[(int) Math.ceil(RUNS * 0.95) - 1];
+        assertTrue(p95 <= P95_TARGET_MILLIS,
+                "p95 latency %d ms exceeds target %d ms".formatted(p95, P95_TARGET_MILLIS));
+    }
+
+    private String md5(int g) {
+        return jdbcTemplate.queryForObject("SELECT md5(?::text)", String.class, String.valueOf(g));
+    }
+
+    private String md5Fragment(int g) {
+        return md5(g).substring(4, 14);
+    }
+}
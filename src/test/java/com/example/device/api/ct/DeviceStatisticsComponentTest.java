@@ -0,0 +1,87 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.service.DeviceStatisticsService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+class DeviceStatisticsComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api";
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    DeviceStatisticsService statisticsService;
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAll();
+        repo.save(new Device().setName("Seed1").setBrand("Stats").setState(DeviceState.AVAILABLE));
+        repo.save(new Device().setName("Seed2").setBrand("Stats").setState(DeviceState.IN_USE));
+        statisticsService.reconcile();
+    }
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+        statisticsService.reconcile();
+    }
+
+    @Test
+    void getStatistics_seededFromDatabase() throws Exception {
+        mockMvc.perform(get(URL + "/devices/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.byState.AVAILABLE").value(1))
+                .andExpect(jsonPath("$.byState.IN_USE").value(1))
+                .andExpect(jsonPath("$.byBrand.Stats").value(2));
+    }
+
+    @Test
+    void getStatistics_followsWrites() throws Exception {
+        String body = mockMvc.perform(post(URL + "/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"New1\",\"brand\":\"Other\",\"state\":\"INACTIVE\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = JsonPath.parse(body).read("$.id", Long.class);
+
+        mockMvc.perform(patch(URL + "/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"state\":\"AVAILABLE\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(URL + "/devices/statistics"))
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byState.AVAILABLE").value(2))
+                .andExpect(jsonPath("$.byState.INACTIVE").doesNotExist())
+                .andExpect(jsonPath("$.byBrand.Other").value(1));
+
+        mockMvc.perform(delete(URL + "/" + id)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get(URL + "/devices/statistics"))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.byBrand.Other").doesNotExist());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+class ExportDeviceControllerComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api/devices/export";
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void exportDevices_ndjsonFiltered() throws Exception {
+        repo.save(new Device().setName("N1").setBrand("Samsung").setState(DeviceState.AVAILABLE));
+        repo.save(new Device().setName("N2").setBrand("Samsung").setState(DeviceState.IN_USE));
+        repo.save(new Device().setName("N3").setBrand("Apple").setState(DeviceState.AVAILABLE));
+
+        String body = export(get(URL).param("brand", "Samsung"));
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"N2\""));
+        assertTrue(lines[1].contains("\"name\":\"N1\""));
+    }
+
+    @Test
+    void exportDevices_ndjsonEmpty() throws Exception {
+        String body = export(get(URL).param("brand", "Samsung"));
+
+        assertEquals("", body);
+    }
+
+    @Test
+    void exportDevices_csv() throws Exception {
+        repo.save(new Device().setName("N1").setBrand("Samsung").setState(DeviceState.AVAILABLE));
+
+        MvcResult started = mockMvc.perform(get(URL).param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\r\n");
+        assertEquals(2, lines.length);
+        assertEquals("id,name,brand,state,createdAt", lines[0]);
+        assertTrue(lines[1].contains(",N1,Samsung,AVAILABLE,"));
+    }
+
+    @Test
+    void exportDevices_gzip() throws Exception {
+        repo.save(new Device().setName("N1").setBrand("Samsung").setState(DeviceState.AVAILABLE));
+
+        MvcResult started = mockMvc.perform(get(URL).param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(text.contains("\"name\":\"N1\""));
+        }
+    }
+
+    @Test
+    void exportDevices_invalidFilter() throws Exception {
+        mockMvc.perform(get(URL).param("brand", "ab"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(RequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
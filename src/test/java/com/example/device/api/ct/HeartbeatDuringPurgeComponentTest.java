@@ -0,0 +1,91 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A purge pausing between its batches must not hold back the heartbeat flusher,
+ * even with a single scheduler thread. The context purges every second, so it is closed
+ * rather than cached for later tests.
+ */
+@DirtiesContext
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "spring.task.scheduling.pool.size=1",
+        "device.heartbeat.flush-interval=PT0.1S",
+        "device.purge.cron=* * * * * *",
+        "device.purge.retention=PT0S",
+        "device.purge.batch-size=1",
+        "device.purge.pause=PT0.5S"
+})
+class HeartbeatDuringPurgeComponentTest extends BaseComponentTest {
+
+    private static final int TOMBSTONES = 20;
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanDb() {
+        jdbcTemplate.update("DELETE FROM devices");
+    }
+
+    @Test
+    void heartbeat_flushedWhilePurgeRuns() throws Exception {
+        Device device = repo.saveAndFlush(new Device().setName("iPhone 15").setBrand("Apple").setState(DeviceState.AVAILABLE));
+        jdbcTemplate.update("""
+                INSERT INTO devices (name, brand, state, created_at, deleted_at)
+                SELECT 'Deleted ' || g, 'Apple', 'AVAILABLE', now(), now() - interval '1 hour'
+                FROM generate_series(1, ?) g
+                """, TOMBSTONES);
+
+        assertTrue(await(Duration.ofSeconds(5), () -> tombstones() < TOMBSTONES), "purge did not start");
+
+        mockMvc.perform(post("/device-api/" + device.getId() + "/heartbeat")).andExpect(status().isAccepted());
+
+        assertTrue(await(Duration.ofSeconds(2), () -> lastSeenWritten(device.getId())), "heartbeat not flushed");
+        assertTrue(tombstones() > 0, "purge should still be running");
+    }
+
+    private long tombstones() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM devices WHERE deleted_at IS NOT NULL", Long.class);
+    }
+
+    private boolean lastSeenWritten(long id) {
+        return jdbcTemplate.queryForObject("SELECT last_seen_at IS NOT NULL FROM devices WHERE id = ?", Boolean.class, id);
+    }
+
+    private static boolean await(Duration timeout, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+class ImportDeviceControllerComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api/devices/import";
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAllInBatch();
+    }
+
+    @Test
+    void importCsv_reportsRejectedRows() throws Exception {
+        repo.save(new Device().setName("Galaxy S22").setBrand("Samsung").setState(DeviceState.AVAILABLE));
+
+        String csv = """
+                name,brand,state
+                  iPhone 15 ,Apple,AVAILABLE
+                Galaxy S22,Samsung,IN_USE
+                ab,Apple,AVAILABLE
+                "Pixel, 8",Google,AVAILABLE
+                Pixel 8,Google,BROKEN
+                iPhone 15,Apple,IN_USE
+                Pixel 8,,AVAILABLE
+                Pixel 8,Google,INACTIVE
+                """;
+
+        mockMvc.perform(post(URL).param("format", "CSV").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(8))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(6))
+                .andExpect(jsonPath("$.rejections[0].row").value(2))
+                .andExpect(jsonPath("$.rejections[0].reason").value("Device with this brand and name already exists"))
+                .andExpect(jsonPath("$.rejections[1].row").value(3))
+                .andExpect(jsonPath("$.rejections[1].reason").value("Device name must have a valid length, max = 255"))
+                .andExpect(jsonPath("$.rejections[2].reason").value("Device name contains invalid characters"))
+                .andExpect(jsonPath("$.rejections[3].reason").value("Unknown device state"))
+                .andExpect(jsonPath("$.rejections[4].row").value(6))
+                .andExpect(jsonPath("$.rejections[4].reason").value("Duplicate of row 1"))
+                .andExpect(jsonPath("$.rejections[5].reason").value("Device brand cannot be blank"));
+
+        Device iphone = repo.findAll().stream()
+                .filter(d -> d.getBrand().equals("Apple"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("iPhone 15", iphone.getName());
+        assertEquals(DeviceState.AVAILABLE, iphone.getState());
+        assertTrue(iphone.getCreatedAt() != null);
+        assertEquals(3, repo.count());
+    }
+
+    @Test
+    void importNdjson_gzip() throws Exception {
+        String ndjson = """
+                {"name":"iPhone 15","brand":"Apple","state":"AVAILABLE"}
+                {"name":"Pixel 8","brand":"Google"}
+                {oops
+                """;
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(ndjson.getBytes(StandardCharsets.UTF_8));
+        }
+
+        mockMvc.perform(post(URL).param("format", "NDJSON")
+                        .contentType("application/x-ndjson")
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(compressed.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejections[0].row").value(2))
+                .andExpect(jsonPath("$.rejections[0].reason").value("Device state cannot be null"))
+                .andExpect(jsonPath("$.rejections[1].row").value(3))
+                .andExpect(jsonPath("$.rejections[1].reason").value("Malformed JSON"));
+    }
+
+    @Test
+    void importCsv_exportRoundTrip() throws Exception {
+        repo.save(new Device().setName("Galaxy S22").setBrand("Samsung").setState(DeviceState.AVAILABLE));
+        repo.save(new Device().setName("iPhone 15").setBrand("Apple").setState(DeviceState.IN_USE));
+
+        MvcResult async = mockMvc.perform(get("/device-api/devices/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String exported = mockMvc.perform(asyncDispatch(async))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        repo.deleteAllInBatch();
+
+        mockMvc.perform(post(URL).contentType("text/csv").content(exported))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(2));
+
+        assertEquals(2, repo.count());
+    }
+
+    @Test
+    void importCsv_malformed() throws Exception {
+        mockMvc.perform(post(URL).contentType("text/csv").content("name,brand,state\n\"Pixel,Google,AVAILABLE\n"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, repo.count());
+    }
+
+    @Test
+    void importCsv_unknownColumn() throws Exception {
+        mockMvc.perform(post(URL).contentType("text/csv").content("name,brand,color\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"));
+    }
+}
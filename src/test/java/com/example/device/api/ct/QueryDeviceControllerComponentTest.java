@@ -3,15 +3,27 @@ package com.example.device.api.ct;
 import com.example.device.api.entity.Device;
 import com.example.device.api.entity.DeviceState;
 import com.example.device.api.repository.DeviceRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -143,4 +155,131 @@ class QueryDeviceControllerComponentTest extends BaseComponentTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1));
     }
+
+    @Test
+    void getDevices_cursorPagination_walksAllPagesWithoutDuplicates() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            repo.save(new Device()
+                    .setName("Cursor" + i)
+                    .setBrand("Paging")
+                    .setState(DeviceState.AVAILABLE));
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            var req = get(URL + "/devices").param("limit", "2");
+            if (cursor != null) {
+                req.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(req)
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            List<Integer> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+            seen.addAll(ids);
+            cursor = result.getResponse().getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void getDevices_invalidCursor_badRequest() throws Exception {
+        mockMvc.perform(get(URL + "/devices")
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getDevicesByIds_foundAndMissing() throws Exception {
+        Device a = repo.save(new Device().setName("Lookup1").setBrand("Multi").setState(DeviceState.AVAILABLE));
+        Device b = repo.save(new Device().setName("Lookup2").setBrand("Multi").setState(DeviceState.IN_USE));
+        long missing = b.getId() + 1000;
+
+        mockMvc.perform(post(URL + "/devices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[%d,%d,%d,%d]}".formatted(b.getId(), missing, a.getId(), b.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.devices.length()").value(2))
+                .andExpect(jsonPath("$.devices[0].id").value(a.getId()))
+                .andExpect(jsonPath("$.devices[1].id").value(b.getId()))
+                .andExpect(jsonPath("$.missingIds.length()").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(missing));
+    }
+
+    @Test
+    void getDevicesByIds_tooManyIds_badRequest() throws Exception {
+        String ids = LongStream.rangeClosed(1, 1001)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(post(URL + "/devices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + ids + "]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getDevicesByIds_empty_badRequest() throws Exception {
+        mockMvc.perform(post(URL + "/devices/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void resolveDevicesByBrandAndName_foundAndNotFound() throws Exception {
+        Device d = repo.save(new Device().setName("Resolve1").setBrand("Bulk").setState(DeviceState.AVAILABLE));
+
+        mockMvc.perform(post(URL + "/search/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"keys":[
+                                  {"brand":"Unknown","name":"Nothing"},
+                                  {"brand":" Bulk ","name":"Resolve1"}
+                                ]}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].found").value(false))
+                .andExpect(jsonPath("$[0].device").doesNotExist())
+                .andExpect(jsonPath("$[1].found").value(true))
+                .andExpect(jsonPath("$[1].brand").value("Bulk"))
+                .andExpect(jsonPath("$[1].device.id").value(d.getId()));
+    }
+
+    @Test
+    void resolveDevicesByBrandAndName_blankName_badRequest() throws Exception {
+        mockMvc.perform(post(URL + "/search/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"keys\":[{\"brand\":\"Bulk\",\"name\":\" \"}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getDevices_exactCount_returnsTotalCountHeader() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            repo.save(new Device().setName("Count" + i).setBrand("Counted").setState(DeviceState.AVAILABLE));
+        }
+        repo.save(new Device().setName("Count4").setBrand("Other").setState(DeviceState.AVAILABLE));
+
+        mockMvc.perform(get(URL + "/devices")
+                        .param("brand", "Counted")
+                        .param("limit", "2")
+                        .param("count", "EXACT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string("X-Total-Count", "3"));
+    }
+
+    @Test
+    void getDevices_withoutCount_noTotalCountHeader() throws Exception {
+        mockMvc.perform(get(URL + "/devices"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"));
+    }
 }
@@ -0,0 +1,81 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.datasource.ReplicaRoutingDataSource;
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The test database stands in for a replica next to one that is unreachable; routing is
+ * observed through the per-replica connection counts.
+ */
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "device.datasource.replicas.enabled=true",
+        "device.datasource.replicas.urls=jdbc:postgresql://localhost:1/device_db,${spring.datasource.url}",
+        "device.datasource.replicas.connection-timeout=PT1S",
+        "device.datasource.replicas.health-check-interval=PT1H"
+})
+class ReadReplicaRoutingComponentTest extends BaseComponentTest {
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void readOnlyQueries_goToHealthyReplica_writesAndCachedLookupsToPrimary() throws Exception {
+        ReplicaRoutingDataSource.Replica unreachable = replicaRoutingDataSource.getReplicas().get(0);
+        ReplicaRoutingDataSource.Replica replica = replicaRoutingDataSource.getReplicas().get(1);
+
+        mockMvc.perform(post("/device-api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "iPhone 15", "brand": "Apple", "state": "AVAILABLE"}
+                                """))
+                .andExpect(status().isCreated());
+        Device device = repo.findByBrandAndName("Apple", "iPhone 15").orElseThrow();
+        long routed = replica.getConnections();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/device-api/devices").param("brand", "Apple"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].name").value("iPhone 15"));
+        }
+        assertEquals(routed + 3, replica.getConnections());
+        assertFalse(unreachable.isHealthy());
+
+        mockMvc.perform(get("/device-api/" + device.getId())).andExpect(status().isOk());
+        assertEquals(routed + 3, replica.getConnections());
+
+        replicaRoutingDataSource.checkReplicas();
+        assertTrue(replica.isHealthy());
+        assertFalse(unreachable.isHealthy());
+        assertEquals(0, replicaRoutingDataSource.getPrimaryConnections());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.device.api.ct;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "device.request-log.sample-rate=1.0",
+        "device.request-log.sample-rates=GET /device-api/devices=0"
+})
+class RequestLoggingComponentTest extends BaseComponentTest {
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+
+    // attached next to the async appender, so the lines are seen without waiting for its thread
+    private final Logger logger = (Logger) LoggerFactory.getLogger("device.requests");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void request_loggedOnceWithMappedRoute() throws Exception {
+        mockMvc.perform(get("/device-api/999999")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/device-api/devices")).andExpect(status().isOk());
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.startsWith("method=GET route=/device-api/{id} path=/device-api/999999 status=404 "), line);
+        assertTrue(line.endsWith(" reason=sampled rate=1.0"), line);
+    }
+}
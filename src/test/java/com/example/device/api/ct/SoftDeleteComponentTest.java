@@ -0,0 +1,118 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.service.DevicePurgeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "device.delete.mode=SOFT",
+        "device.purge.cron=-",
+        "device.purge.retention=PT0S",
+        "device.purge.batch-size=1",
+        "device.purge.pause=PT0S"
+})
+class SoftDeleteComponentTest extends BaseComponentTest {
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    DevicePurgeService purgeService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * The repository only sees live devices, so tombstones are removed with plain SQL.
+     */
+    @AfterEach
+    void cleanDb() {
+        jdbcTemplate.update("DELETE FROM devices");
+    }
+
+    @Test
+    void delete_tombstonesDeviceAndFreesBrandAndName() throws Exception {
+        Device device = save("iPhone 15", "Apple", DeviceState.AVAILABLE);
+
+        mockMvc.perform(get("/device-api/" + device.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/device-api/" + device.getId()).header("If-Match", "\"0\""))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/device-api/" + device.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(delete("/device-api/" + device.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/device-api/search").param("brand", "Apple").param("name", "iPhone 15"))
+                .andExpect(status().isNotFound());
+        assertEquals(1, tombstones());
+
+        mockMvc.perform(post("/device-api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "iPhone 15", "brand": "Apple", "state": "AVAILABLE"}
+                                """))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void delete_inUseOrStale_rejected() throws Exception {
+        Device inUse = save("iPad Air", "Apple", DeviceState.IN_USE);
+        Device available = save("Galaxy S23", "Samsung", DeviceState.AVAILABLE);
+
+        mockMvc.perform(delete("/device-api/" + inUse.getId())).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/device-api/" + available.getId()).header("If-Match", "\"5\""))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals(0, tombstones());
+    }
+
+    @Test
+    void bulkDelete_thenPurge_removesRowsInBatches() throws Exception {
+        save("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        save("iPhone 16", "Apple", DeviceState.INACTIVE);
+        save("iPad Air", "Apple", DeviceState.IN_USE);
+
+        mockMvc.perform(post("/device-api/devices/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"filter": {"brand": "Apple"}}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.inUse").value(1));
+
+        assertEquals(1, repo.count());
+        assertEquals(2, tombstones());
+
+        assertEquals(2, purgeService.purge());
+        assertEquals(0, tombstones());
+        assertEquals(1, repo.count());
+    }
+
+    private long tombstones() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM devices WHERE deleted_at IS NOT NULL", Long.class);
+    }
+
+    private Device save(String name, String brand, DeviceState state) {
+        return repo.saveAndFlush(new Device().setName(name).setBrand(brand).setState(state));
+    }
+}
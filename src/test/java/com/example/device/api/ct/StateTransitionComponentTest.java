@@ -0,0 +1,114 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+class StateTransitionComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api/devices/state";
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void transition_byIds_countsAffectedAndSkipped() throws Exception {
+        Device iphone = save("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        Device galaxy = save("Galaxy S23", "Samsung", DeviceState.INACTIVE);
+
+        // warm the cache so the transition has to evict it
+        mockMvc.perform(get("/device-api/" + iphone.getId()))
+                .andExpect(jsonPath("$.state").value("AVAILABLE"));
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ids": [%d, %d, %d], "targetState": "INACTIVE"}
+                                """.formatted(iphone.getId(), galaxy.getId(), galaxy.getId() + 100)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1))
+                .andExpect(jsonPath("$.skipped").value(2));
+
+        mockMvc.perform(get("/device-api/" + iphone.getId()))
+                .andExpect(jsonPath("$.state").value("INACTIVE"))
+                .andExpect(header().string("ETag", "\"1\""));
+    }
+
+    @Test
+    void transition_byFilter_movesMatchingDevices() throws Exception {
+        save("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        save("iPad Air", "Apple", DeviceState.IN_USE);
+        save("Galaxy S23", "Samsung", DeviceState.AVAILABLE);
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"filter": {"brandPrefix": "app"}, "targetState": "IN_USE"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1))
+                .andExpect(jsonPath("$.skipped").value(1));
+
+        assertEquals(DeviceState.IN_USE, repo.findByBrandAndName("Apple", "iPhone 15").orElseThrow().getState());
+        assertEquals(DeviceState.AVAILABLE, repo.findByBrandAndName("Samsung", "Galaxy S23").orElseThrow().getState());
+    }
+
+    @Test
+    void transition_invalidSelection_badRequest() throws Exception {
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"targetState": "IN_USE"}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ids": [1], "filter": {"brand": "Apple"}, "targetState": "IN_USE"}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"filter": {}, "targetState": "IN_USE"}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ids": [1]}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Device save(String name, String brand, DeviceState state) {
+        return repo.saveAndFlush(new Device().setName(name).setBrand(brand).setState(state));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@ExtendWith(OutputCaptureExtension.class)
+@TestPropertySource(properties = {
+        // every statement is "slow", so each fingerprint is logged once
+        "device.jdbc.statements.slow-threshold=PT0S",
+        "device.jdbc.statements.slow-log-interval=PT1H",
+        "spring.jpa.show-sql=false"
+})
+class StatementStatisticsComponentTest extends BaseComponentTest {
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void statements_timedPerFingerprint_loggedWithoutValues(CapturedOutput output) throws Exception {
+        Device device = repo.saveAndFlush(new Device().setName("Secret Phone").setBrand("Acme").setState(DeviceState.AVAILABLE));
+
+        mockMvc.perform(get("/device-api/" + device.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/device-api/search").param("brand", "Acme").param("name", "Secret Phone"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/sqlstatements"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].sql", hasItem(startsWith("insert into devices"))))
+                .andExpect(jsonPath("$[0].count").isNumber())
+                .andExpect(jsonPath("$[0].percentilesMillis.p99").isNumber());
+
+        List<String> slow = output.getOut().lines().filter(line -> line.contains("Slow statement")).toList();
+        assertFalse(slow.isEmpty());
+        assertTrue(slow.stream().anyMatch(line -> line.contains("String(12)")), String.join("\n", slow));
+        assertTrue(slow.stream().noneMatch(line -> line.contains("Secret Phone")), String.join("\n", slow));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.service.DeviceStatisticsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+class UpsertDeviceComponentTest extends BaseComponentTest {
+
+    private static final String URL = "/device-api/devices";
+    private static final int CONCURRENT_CLIENTS = 8;
+    private static final int UPSERTS_PER_CLIENT = 20;
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper mapper;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    DeviceJdbcRepository jdbcRepository;
+    @Autowired
+    DeviceStatisticsService statisticsService;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void upsert_createsThenUpdates() throws Exception {
+        mockMvc.perform(put(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(" Pixel 8 ", "Google", DeviceState.AVAILABLE)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value("Pixel 8"))
+                .andExpect(jsonPath("$.state").value("AVAILABLE"));
+
+        mockMvc.perform(put(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Pixel 8", "Google", DeviceState.IN_USE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("IN_USE"));
+
+        mockMvc.perform(put(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("Pixel 8", "Google", DeviceState.IN_USE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("IN_USE"));
+
+        Device stored = repo.findByBrandAndName("Google", "Pixel 8").orElseThrow();
+        assertEquals(DeviceState.IN_USE, stored.getState());
+        assertEquals(1, repo.count());
+    }
+
+    @Test
+    void upsert_invalid() throws Exception {
+        mockMvc.perform(put(URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("ab", "Google", DeviceState.AVAILABLE)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void upsert_concurrentClientsCreateOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        try {
+            List<Callable<Integer>> clients = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+                DeviceState state = i % 2 == 0 ? DeviceState.AVAILABLE : DeviceState.INACTIVE;
+                clients.add(() -> mockMvc.perform(put(URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body("Galaxy S24", "Samsung", state)))
+                        .andReturn()
+                        .getResponse()
+                        .getStatus());
+            }
+
+            int created = 0;
+            for (Future<Integer> status : executor.invokeAll(clients)) {
+                int code = status.get();
+                if (code == 201) {
+                    created++;
+                } else {
+                    assertEquals(200, code);
+                }
+            }
+
+            assertEquals(1, created);
+            assertEquals(1, repo.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Every upsert that changes the state must report the state it replaced, otherwise the
+     * in-memory statistics drift from the table.
+     */
+    @Test
+    void upsert_concurrentStateChanges_keepStatistics() throws Exception {
+        statisticsService.reconcile();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        try {
+            List<Callable<Void>> clients = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+                int client = i;
+                clients.add(() -> {
+                    for (int n = 0; n < UPSERTS_PER_CLIENT; n++) {
+                        DeviceState state = DeviceState.values()[(client + n) % DeviceState.values().length];
+                        mockMvc.perform(put(URL)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(body("Galaxy S24", "Samsung", state)))
+                                .andExpect(status().is2xxSuccessful());
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> client : executor.invokeAll(clients)) {
+                client.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(jdbcRepository.countByStateAndBrand().getByState(),
+                statisticsService.getStatistics().getByState());
+    }
+
+    private String body(String name, String brand, DeviceState state) throws Exception {
+        return mapper.writeValueAsString(new CreateDeviceRequest()
+                .setName(name)
+                .setBrand(brand)
+                .setState(state));
+    }
+}
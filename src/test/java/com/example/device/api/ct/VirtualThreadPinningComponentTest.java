@@ -0,0 +1,170 @@
+package com.example.device.api.ct;
+
+import com.example.device.api.datasource.ConcurrencyLimitingDataSource;
+import com.example.device.api.repository.DeviceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the main request paths concurrently on virtual threads and fails if any of them
+ * pins its carrier, i.e. blocks inside {@code synchronized} or native code. A pinned
+ * virtual thread holds a carrier while it waits for the database, so a few of them
+ * are enough to stall all virtual threads.
+ *
+ * <p>The pool is smaller than the number of concurrent requests, so requests also
+ * wait for database permits.</p>
+ */
+@AutoConfigureMockMvc
+@ImportAutoConfiguration(MockMvcAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        // a pinned carrier can stall every request, fail fast instead of after 30 s
+        "device.datasource.concurrency-limit.acquire-timeout=PT10S",
+        // every request must reach the data source, none may be shed
+        "device.limiter.enabled=false"
+})
+class VirtualThreadPinningComponentTest extends BaseComponentTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int DEVICES = 50;
+
+    @Autowired(required = false)
+    MockMvc mockMvc;
+    @Autowired
+    DeviceRepository repo;
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanDb() {
+        repo.deleteAll();
+    }
+
+    @Test
+    void requestPaths_doNotPinCarrierThreads() throws Exception {
+        ConcurrencyLimitingDataSource limited = assertInstanceOf(ConcurrencyLimitingDataSource.class, dataSource);
+        List<RecordedEvent> pinned = new ArrayList<>();
+        List<Throwable> failures;
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, event -> {
+                synchronized (pinned) {
+                    pinned.add(event);
+                }
+            });
+            recording.startAsync();
+
+            failures = runConcurrently(this::deviceLifecycle);
+
+            recording.stop();
+        }
+
+        assertTrue(pinned.isEmpty(), () -> "Carrier pinned %d times:%n%s".formatted(pinned.size(), describe(pinned)));
+        assertTrue(failures.isEmpty(), () -> "%d requests failed, first: %s".formatted(failures.size(), failures.get(0)));
+        assertEquals(4, limited.getAvailablePermits(), "every connection must return its permit");
+    }
+
+    private void deviceLifecycle(int i) throws Exception {
+        String body = mockMvc.perform(post("/device-api/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Pixel %d", "brand": "Google", "state": "AVAILABLE"}
+                                """.formatted(i)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).path("id").asLong();
+
+        mockMvc.perform(get("/device-api/" + id)).andExpect(status().isOk());
+        mockMvc.perform(get("/device-api/search").param("brand", "Google").param("name", "Pixel " + i))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/device-api/devices").param("brand", "Google").param("count", "CACHED"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/device-api/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"state": "INACTIVE"}
+                                """))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/device-api/" + id)).andExpect(status().isNoContent());
+    }
+
+    /**
+     * @return failures of the tasks; pinning is reported first, as it usually causes them
+     */
+    private static List<Throwable> runConcurrently(Task task) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < DEVICES; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    task.run(n);
+                    return null;
+                }));
+            }
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        }
+    }
+
+    private static String describe(List<RecordedEvent> events) {
+        return events.stream()
+                .map(event -> event.getStackTrace() == null ? "<no stack trace>" : event.getStackTrace().getFrames()
+                        .stream()
+                        .limit(40)
+                        .map(VirtualThreadPinningComponentTest::frame)
+                        .collect(Collectors.joining("\n    ", "  pinned for " + event.getDuration() + ":\n    ", "")))
+                .distinct()
+                .limit(5)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run(int i) throws Exception;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.device.api.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource first;
+    @Mock
+    private DataSource second;
+    @Mock
+    private Connection connection;
+
+    private ReplicaRoutingDataSource.Replica firstReplica;
+    private ReplicaRoutingDataSource.Replica secondReplica;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setup() {
+        firstReplica = new ReplicaRoutingDataSource.Replica("replica-0", first);
+        secondReplica = new ReplicaRoutingDataSource.Replica("replica-1", second);
+        dataSource = new ReplicaRoutingDataSource(List.of(firstReplica, secondReplica), primary, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void getConnection_AlternatesBetweenReplicas() throws SQLException {
+        when(first.getConnection()).thenReturn(connection);
+        when(second.getConnection()).thenReturn(connection);
+
+        for (int i = 0; i < 4; i++) {
+            assertSame(connection, dataSource.getConnection());
+        }
+
+        assertEquals(2, firstReplica.getConnections());
+        assertEquals(2, secondReplica.getConnections());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_ReplicaFails_TakenOutOfRotation() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(second.getConnection()).thenReturn(connection);
+
+        assertSame(connection, dataSource.getConnection());
+        assertSame(connection, dataSource.getConnection());
+
+        assertFalse(firstReplica.isHealthy());
+        assertEquals(2, secondReplica.getConnections());
+        verify(first).getConnection();
+    }
+
+    @Test
+    void getConnection_NoHealthyReplica_FallsBackToPrimary() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(second.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(connection);
+
+        assertSame(connection, dataSource.getConnection());
+        assertSame(connection, dataSource.getConnection());
+
+        assertEquals(2, dataSource.getPrimaryConnections());
+    }
+
+    @Test
+    void checkReplicas_LaggingOrUnreachable_TakenOutThenBack() throws SQLException {
+        primaryAt("0/3000060");
+        Connection firstConnection = replicaReporting(first, false, true, false, 60.0);
+        when(second.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        dataSource.checkReplicas();
+
+        assertFalse(firstReplica.isHealthy());
+        assertFalse(secondReplica.isHealthy());
+        verify(firstConnection).close();
+
+        replicaReporting(first, false, true, false, 0.5);
+        dataSource.checkReplicas();
+
+        assertTrue(firstReplica.isHealthy());
+        assertFalse(secondReplica.isHealthy());
+    }
+
+    @Test
+    void checkReplicas_NotStreaming_TakenOutUnlessCaughtUp() throws SQLException {
+        primaryAt("0/3000060");
+        replicaReporting(first, false, false, false, 0.0);
+        replicaReporting(second, false, false, true, 600.0);
+
+        dataSource.checkReplicas();
+
+        assertFalse(firstReplica.isHealthy());
+        assertTrue(secondReplica.isHealthy());
+    }
+
+    @Test
+    void checkReplicas_CaughtUpOrNotStandby_HealthyWhateverTheReplayAge() throws SQLException {
+        primaryAt("0/3000060");
+        replicaReporting(first, false, true, true, 600.0);
+        replicaReporting(second, true, false, false, 0.0);
+
+        dataSource.checkReplicas();
+
+        assertTrue(firstReplica.isHealthy());
+        assertTrue(secondReplica.isHealthy());
+    }
+
+    @Test
+    void checkReplicas_PrimaryUnavailable_KeepsState() throws SQLException {
+        when(primary.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        dataSource.checkReplicas();
+
+        assertTrue(firstReplica.isHealthy());
+        assertTrue(secondReplica.isHealthy());
+        verify(first, never()).getConnection();
+    }
+
+    @Test
+    void close_ClosesReplicaPools() throws Exception {
+        var pool = mock(Closeable.class);
+        when(first.isWrapperFor(Closeable.class)).thenReturn(true);
+        when(first.unwrap(Closeable.class)).thenReturn(pool);
+
+        dataSource.close();
+
+        verify(pool).close();
+    }
+
+    private void primaryAt(String lsn) throws SQLException {
+        Connection primaryConnection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(primaryConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaRoutingDataSource.PRIMARY_WAL_LSN_QUERY)).thenReturn(rs);
+        when(rs.getString(1)).thenReturn(lsn);
+    }
+
+    private static Connection replicaReporting(DataSource replica, boolean notStandby, boolean streaming,
+                                               boolean caughtUp, double lagSeconds) throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(ReplicaRoutingDataSource.REPLICA_STATE_QUERY)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(rs);
+        lenient().when(rs.getBoolean(1)).thenReturn(notStandby);
+        lenient().when(rs.getBoolean(2)).thenReturn(streaming);
+        lenient().when(rs.getBoolean(3)).thenReturn(caughtUp);
+        lenient().when(rs.getDouble(4)).thenReturn(lagSeconds);
+        return connection;
+    }
+}
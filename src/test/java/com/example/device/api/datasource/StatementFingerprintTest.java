@@ -0,0 +1,39 @@
+package com.example.device.api.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class StatementFingerprintTest {
+
+    @Test
+    void of_ReplacesLiteralsAndCollapsesWhitespace() {
+        String fingerprint = StatementFingerprint.of("""
+                SELECT d1_0.id, d1_0.name
+                  FROM devices d1_0
+                 WHERE d1_0.brand = 'O''Neil' AND d1_0.version > 12 LIMIT 2.5
+                """);
+
+        assertEquals("SELECT d1_0.id, d1_0.name FROM devices d1_0 WHERE d1_0.brand = ? AND d1_0.version > ? LIMIT ?",
+                fingerprint);
+    }
+
+    @Test
+    void of_CollapsesPlaceholderLists() {
+        assertEquals(StatementFingerprint.of("DELETE FROM devices WHERE id IN (?)"),
+                StatementFingerprint.of("DELETE FROM devices WHERE id IN (?, ?,?)"));
+        assertEquals(StatementFingerprint.of("DELETE FROM devices WHERE id IN (1, 2)"),
+                StatementFingerprint.of("DELETE FROM devices WHERE id IN (3)"));
+    }
+
+    @Test
+    void id_IsStableAndDistinguishesStatements() {
+        String select = StatementFingerprint.of("SELECT * FROM devices WHERE id = ?");
+
+        assertEquals(StatementFingerprint.id(select), StatementFingerprint.id(select));
+        assertEquals(8, StatementFingerprint.id(select).length());
+        assertNotEquals(StatementFingerprint.id(select),
+                StatementFingerprint.id(StatementFingerprint.of("SELECT * FROM devices WHERE brand = ?")));
+    }
+}
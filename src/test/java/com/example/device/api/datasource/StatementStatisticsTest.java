@@ -0,0 +1,76 @@
+package com.example.device.api.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+class StatementStatisticsTest {
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatementStatistics statistics;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        statistics = new StatementStatistics(meterRegistry, Duration.ofMillis(200), Duration.ofHours(1), 2);
+    }
+
+    @Test
+    void record_GroupsByFingerprint() {
+        statistics.record("SELECT * FROM devices WHERE id = 1", FAST, Map.of(), 0);
+        statistics.record("SELECT * FROM devices  WHERE id = 2", FAST, Map.of(), 0);
+        statistics.record("SELECT * FROM devices WHERE id = ?", SLOW, Map.of(1, "Long"), 0);
+
+        List<StatementStatistics.FingerprintStatistics> snapshot = statistics.snapshot();
+
+        assertEquals(1, snapshot.size());
+        assertEquals("SELECT * FROM devices WHERE id = ?", snapshot.get(0).sql());
+        assertEquals(3, snapshot.get(0).count());
+        assertEquals(3, meterRegistry.get(StatementStatistics.METRIC)
+                .tag("fingerprint", snapshot.get(0).id()).timer().count());
+        assertTrue(snapshot.get(0).percentilesMillis().containsKey("p99"));
+    }
+
+    @Test
+    void record_BeyondMaxFingerprints_RecordedAsOther() {
+        statistics.record("SELECT 1 FROM devices", FAST, Map.of(), 0);
+        statistics.record("SELECT 1 FROM device_statistics", FAST, Map.of(), 0);
+        statistics.record("SELECT 1 FROM databasechangelog", FAST, Map.of(), 0);
+        statistics.record("SELECT 1 FROM databasechangeloglock", FAST, Map.of(), 0);
+
+        List<StatementStatistics.FingerprintStatistics> snapshot = statistics.snapshot();
+
+        assertEquals(3, snapshot.size());
+        assertEquals(2, meterRegistry.get(StatementStatistics.METRIC)
+                .tag("fingerprint", StatementStatistics.OTHER).timer().count());
+    }
+
+    @Test
+    void record_Slow_LogsShapesOncePerInterval(CapturedOutput output) {
+        statistics.record("UPDATE devices SET name = ? WHERE id = ?", SLOW, Map.of(1, "String(9)", 2, "Long"), 0);
+        statistics.record("UPDATE devices SET name = ? WHERE id = ?", SLOW, Map.of(1, "String(9)", 2, "Long"), 0);
+        statistics.record("UPDATE devices SET name = ? WHERE id = ?", FAST, Map.of(1, "String(9)", 2, "Long"), 0);
+
+        List<String> lines = output.getOut().lines().filter(line -> line.contains("Slow statement")).toList();
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("500 ms"));
+        assertTrue(lines.get(0).contains("String(9)"));
+        assertTrue(lines.get(0).contains("UPDATE devices SET name = ? WHERE id = ?"));
+    }
+}
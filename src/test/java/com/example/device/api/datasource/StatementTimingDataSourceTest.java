@@ -0,0 +1,115 @@
+package com.example.device.api.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({MockitoExtension.class, OutputCaptureExtension.class})
+class StatementTimingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    private StatementStatistics statistics;
+    private StatementTimingDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        statistics = new StatementStatistics(new SimpleMeterRegistry(), Duration.ZERO, Duration.ZERO, 100);
+        dataSource = new StatementTimingDataSource(target, statistics);
+    }
+
+    @Test
+    void preparedStatement_RecordedWithParameterShapes(CapturedOutput output) throws SQLException {
+        String sql = "UPDATE devices SET name = ?, brand = ? WHERE id = ANY (?)";
+        Array ids = mock(Array.class);
+        when(connection.createArrayOf("bigint", new Object[]{1L, 2L, 3L})).thenReturn(ids);
+        when(connection.prepareStatement(sql)).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenReturn(3);
+
+        try (Connection timed = dataSource.getConnection();
+             PreparedStatement statement = timed.prepareStatement(sql)) {
+            statement.setString(1, "iPhone 15");
+            statement.setNull(2, Types.VARCHAR);
+            statement.setArray(3, timed.createArrayOf("bigint", new Object[]{1L, 2L, 3L}));
+
+            assertEquals(3, statement.executeUpdate());
+            assertSame(timed, statement.getConnection());
+        }
+
+        verify(preparedStatement).setString(1, "iPhone 15");
+        verify(preparedStatement).close();
+        verify(connection).close();
+
+        List<StatementStatistics.FingerprintStatistics> snapshot = statistics.snapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals(sql, snapshot.get(0).sql());
+
+        String logged = output.getOut().lines().filter(line -> line.contains("Slow statement")).findFirst().orElseThrow();
+        assertTrue(logged.contains("{1=String(9), 2=null, 3=bigint[3]}"), logged);
+        assertFalse(logged.contains("iPhone"));
+    }
+
+    @Test
+    void statementBatch_RecordedOnceWithBatchSize(CapturedOutput output) throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeBatch()).thenReturn(new int[]{1, 1});
+
+        try (Connection timed = dataSource.getConnection()) {
+            Statement batch = timed.createStatement();
+            batch.addBatch("DELETE FROM devices WHERE id = 1");
+            batch.addBatch("DELETE FROM devices WHERE id = 2");
+            batch.executeBatch();
+        }
+
+        List<StatementStatistics.FingerprintStatistics> snapshot = statistics.snapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals("DELETE FROM devices WHERE id = ?", snapshot.get(0).sql());
+        assertEquals(1, snapshot.get(0).count());
+        assertTrue(output.getOut().contains("batch=2"));
+    }
+
+    @Test
+    void failingStatement_RecordedAndRethrown() throws SQLException {
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenThrow(new SQLException("canceling statement due to statement timeout"));
+
+        try (Connection timed = dataSource.getConnection()) {
+            PreparedStatement statement = timed.prepareStatement("SELECT * FROM devices");
+            assertThrows(SQLException.class, statement::executeQuery);
+        }
+
+        assertEquals(1, statistics.snapshot().get(0).count());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.device.api.exception;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeviceConstraintTranslatorTest {
+
+    @Test
+    void translate_BrandNameConflict_ReturnsAlreadyExists() {
+        DataIntegrityViolationException ex = violation("23505", "uk_devices_brand_name");
+
+        RuntimeException translated = DeviceConstraintTranslator.translate(ex, "iPhone", "Apple");
+
+        DeviceAlreadyExistsException conflict = assertInstanceOf(DeviceAlreadyExistsException.class, translated);
+        assertEquals("iPhone", conflict.getName());
+        assertEquals("Apple", conflict.getBrand());
+    }
+
+    @Test
+    void translate_OtherConstraint_ReturnsOriginal() {
+        DataIntegrityViolationException ex = violation("23505", "devices_pkey");
+
+        assertSame(ex, DeviceConstraintTranslator.translate(ex, "iPhone", "Apple"));
+    }
+
+    @Test
+    void isBrandNameConflict_OtherSqlState_False() {
+        assertFalse(DeviceConstraintTranslator.isBrandNameConflict(violation("23502", "uk_devices_brand_name")));
+    }
+
+    @Test
+    void isBrandNameConflict_NestedCause_True() {
+        RuntimeException wrapped = new RuntimeException("wrapper", violation("23505", "uk_devices_brand_name"));
+
+        assertTrue(DeviceConstraintTranslator.isBrandNameConflict(wrapped));
+    }
+
+    @Test
+    void isBrandNameConflict_NoServerMessage_False() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("duplicate key",
+                new PSQLException("duplicate key", PSQLState.UNIQUE_VIOLATION));
+
+        assertFalse(DeviceConstraintTranslator.isBrandNameConflict(ex));
+    }
+
+    private DataIntegrityViolationException violation(String sqlState, String constraint) {
+        ServerErrorMessage message = new ServerErrorMessage(
+                "SERROR\0C" + sqlState + "\0Mconstraint violated\0n" + constraint + "\0");
+        return new DataIntegrityViolationException("constraint violated", new PSQLException(message));
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.device.api.exception;
 
+import com.example.device.api.exception.constants.type.ErrorType;
 import com.example.device.api.exception.handler.GlobalExceptionHandler;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -76,6 +82,16 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
     }
 
+    @Test
+    void handleInvalidRequest_Returns400() {
+        var ex = new InvalidRequestException("Invalid pagination cursor");
+
+        var response = handler.handleInvalidRequest(ex, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid pagination cursor", response.getBody().getErrorMessage());
+    }
+
     @Test
     void handleEnumMismatch_Returns400() {
         MethodArgumentTypeMismatchException ex = mock(MethodArgumentTypeMismatchException.class);
@@ -105,4 +121,35 @@ class GlobalExceptionHandlerTest {
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
+
+    @Test
+    void handleHeartbeatBackpressure_Returns503WithRetryAfter() {
+        var ex = new HeartbeatBackpressureException(100, Duration.ofMillis(500));
+
+        var response = handler.handleHeartbeatBackpressure(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(ErrorType.UNAVAILABLE, response.getBody().getErrorType());
+    }
+
+    @Test
+    void handleDatabaseUnavailable_Returns503WithRetryAfter() {
+        var ex = new CannotCreateTransactionException("Could not open JPA EntityManager for transaction");
+
+        var response = handler.handleDatabaseUnavailable(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(ErrorType.UNAVAILABLE, response.getBody().getErrorType());
+    }
+
+    @Test
+    void handleDatabaseUnavailable_resourceFailure_Returns503() {
+        var ex = new DataAccessResourceFailureException("Connection refused");
+
+        var response = handler.handleDatabaseUnavailable(ex, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
 }
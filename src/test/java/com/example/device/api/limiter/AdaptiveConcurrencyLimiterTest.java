@@ -0,0 +1,50 @@
+package com.example.device.api.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_RejectsAtLimitUntilReleased() {
+        var limiter = new AdaptiveConcurrencyLimiter("read", new VegasLimit(2, 1, 10, 100));
+
+        Optional<AdaptiveConcurrencyLimiter.Permit> first = limiter.tryAcquire();
+        Optional<AdaptiveConcurrencyLimiter.Permit> second = limiter.tryAcquire();
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertEquals(2, limiter.getInFlight());
+
+        assertTrue(limiter.tryAcquire().isEmpty());
+        assertEquals(1, limiter.getRejected());
+
+        first.get().release(false);
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire().isPresent());
+    }
+
+    @Test
+    void release_Dropped_ShrinksLimit() {
+        var limiter = new AdaptiveConcurrencyLimiter("write", new VegasLimit(10, 1, 100, 100));
+
+        limiter.tryAcquire().orElseThrow().release(true);
+
+        assertEquals(9, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void ignore_FreesSlotWithoutSample() {
+        var limiter = new AdaptiveConcurrencyLimiter("write", new VegasLimit(10, 1, 100, 100));
+
+        limiter.tryAcquire().orElseThrow().ignore();
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getRejected());
+    }
+}
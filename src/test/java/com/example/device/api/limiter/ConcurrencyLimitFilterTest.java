@@ -0,0 +1,98 @@
+package com.example.device.api.limiter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    private AdaptiveConcurrencyLimiter readLimiter;
+    private AdaptiveConcurrencyLimiter writeLimiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        readLimiter = new AdaptiveConcurrencyLimiter("read", new VegasLimit(1, 1, 10, 100));
+        writeLimiter = new AdaptiveConcurrencyLimiter("write", new VegasLimit(10, 1, 100, 100));
+        filter = new ConcurrencyLimitFilter(readLimiter, writeLimiter, Duration.ofMillis(1500),
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void doFilter_UnderLimit_PassesAndReleases() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/1"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(0, readLimiter.getInFlight());
+    }
+
+    @Test
+    void doFilter_ReadLimitReached_Returns503AndKeepsWritesOpen() throws Exception {
+        readLimiter.tryAcquire().orElseThrow();
+
+        MockFilterChain readChain = new MockFilterChain();
+        MockHttpServletResponse readResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/devices"), readResponse, readChain);
+
+        assertNull(readChain.getRequest());
+        assertEquals(503, readResponse.getStatus());
+        assertEquals("2", readResponse.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(readResponse.getContentAsString().contains("SERVICE_UNAVAILABLE"));
+        assertEquals(1, readLimiter.getRejected());
+
+        MockFilterChain writeChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/device-api/devices"), new MockHttpServletResponse(), writeChain);
+
+        assertNotNull(writeChain.getRequest());
+    }
+
+    @Test
+    void doFilter_ExcludedPath_NotLimited() throws Exception {
+        readLimiter.tryAcquire().orElseThrow();
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/devices/export"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(0, readLimiter.getRejected());
+    }
+
+    @Test
+    void doFilter_Downstream503_CountsAsDropped() throws Exception {
+        FilterChain chain = (request, response) -> ((HttpServletResponse) response).setStatus(503);
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/device-api/1"), new MockHttpServletResponse(), chain);
+
+        assertEquals(9, writeLimiter.getLimit());
+        assertEquals(0, writeLimiter.getInFlight());
+    }
+
+    @Test
+    void doFilter_DownstreamThrows_ReleasesWithoutSample() {
+        FilterChain chain = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("DELETE", "/device-api/1"), new MockHttpServletResponse(), chain));
+
+        assertEquals(10, writeLimiter.getLimit());
+        assertEquals(0, writeLimiter.getInFlight());
+    }
+}
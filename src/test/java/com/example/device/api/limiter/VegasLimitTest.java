@@ -0,0 +1,89 @@
+package com.example.device.api.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VegasLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void onSample_NoQueueing_GrowsLimit() {
+        VegasLimit limit = new VegasLimit(10, 1, 100, 1000);
+
+        limit.onSample(RTT, 10, false);
+        assertEquals(10, limit.getLimit());
+
+        limit.onSample(RTT, 10, false);
+        assertEquals(16, limit.getLimit());
+    }
+
+    @Test
+    void onSample_AppLimited_KeepsLimit() {
+        VegasLimit limit = new VegasLimit(10, 1, 100, 1000);
+        limit.onSample(RTT, 10, false);
+
+        limit.onSample(RTT, 4, false);
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void onSample_LatencyGrows_ShrinksLimit() {
+        VegasLimit limit = new VegasLimit(20, 1, 100, 1000);
+        limit.onSample(RTT, 20, false);
+
+        limit.onSample(2 * RTT, 20, false);
+
+        assertEquals(18, limit.getLimit());
+    }
+
+    @Test
+    void onSample_Dropped_ShrinksLimitRegardlessOfLatency() {
+        VegasLimit limit = new VegasLimit(10, 9, 100, 1000);
+
+        limit.onSample(RTT, 10, true);
+        assertEquals(9, limit.getLimit());
+
+        limit.onSample(RTT, 10, true);
+        assertEquals(9, limit.getLimit());
+    }
+
+    @Test
+    void onSample_StaysWithinBounds() {
+        VegasLimit limit = new VegasLimit(95, 1, 100, 1000);
+        limit.onSample(RTT, 95, false);
+
+        limit.onSample(RTT, 95, false);
+
+        assertEquals(100, limit.getLimit());
+        assertEquals(5, new VegasLimit(1, 5, 10, 1).getLimit());
+    }
+
+    @Test
+    void onSample_SlowerBaseline_IsPickedUpByProbe() {
+        VegasLimit withoutProbe = new VegasLimit(50, 1, 100, 1_000_000);
+        VegasLimit withProbe = new VegasLimit(50, 1, 100, 1);
+        withoutProbe.onSample(RTT, 50, false);
+        withProbe.onSample(RTT, 50, false);
+
+        for (int i = 0; i < 200; i++) {
+            withoutProbe.onSample(2 * RTT, withoutProbe.getLimit(), false);
+            withProbe.onSample(2 * RTT, withProbe.getLimit(), false);
+        }
+
+        assertTrue(withoutProbe.getLimit() < 20, "limit " + withoutProbe.getLimit());
+        assertEquals(100, withProbe.getLimit());
+    }
+
+    @Test
+    void constructor_InvalidBounds_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(10, 0, 100, 10));
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(10, 20, 10, 10));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.device.api.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestLoggingConfigTest {
+
+    @Test
+    void parseSampleRates_SplitsOnLastEquals() {
+        Map<String, Double> rates = RequestLoggingConfig.parseSampleRates(
+                List.of("GET /device-api/{id}=0.05", " POST /device-api/{id}/heartbeat = 0.01 ", ""));
+
+        assertEquals(Map.of("GET /device-api/{id}", 0.05, "POST /device-api/{id}/heartbeat", 0.01), rates);
+    }
+
+    @Test
+    void parseSampleRates_MissingRate_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RequestLoggingConfig.parseSampleRates(List.of("GET /device-api/devices")));
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.device.api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestLoggingFilterTest {
+
+    private static final Duration SLOW = Duration.ofMinutes(1);
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("device.requests");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    void doFilter_Sampled_LogsOneStructuredLine() throws Exception {
+        var filter = new RequestLoggingFilter(1.0, Map.of(), SLOW);
+        var request = new MockHttpServletRequest("GET", "/device-api/42");
+        request.setQueryString("fields=id,\"name\"");
+
+        filter.doFilter(request, new MockHttpServletResponse(), route("/device-api/{id}", 200));
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.INFO, event.getLevel());
+        String line = event.getFormattedMessage();
+        assertTrue(line.startsWith("method=GET route=/device-api/{id} path=/device-api/42 query=\"fields=id,\\\"name\\\"\" status=200 durationMs="), line);
+        assertTrue(line.endsWith(" reason=sampled rate=1.0"), line);
+    }
+
+    @Test
+    void doFilter_EndpointNotSampled_LogsNothing() throws Exception {
+        var filter = new RequestLoggingFilter(1.0, Map.of("GET /device-api/{id}", 0.0), SLOW);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/42"), new MockHttpServletResponse(),
+                route("/device-api/{id}", 200));
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/devices"), new MockHttpServletResponse(),
+                route("/device-api/devices", 200));
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("route=/device-api/devices "));
+    }
+
+    @Test
+    void doFilter_ServerError_AlwaysLogged() throws Exception {
+        var filter = new RequestLoggingFilter(0.0, Map.of(), SLOW);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/42"), new MockHttpServletResponse(),
+                route("/device-api/{id}", 404));
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/42"), new MockHttpServletResponse(),
+                route("/device-api/{id}", 503));
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains(" status=503 "));
+        assertTrue(appender.list.get(0).getFormattedMessage().contains(" reason=error "));
+    }
+
+    @Test
+    void doFilter_Exception_LoggedAndRethrown() {
+        var filter = new RequestLoggingFilter(0.0, Map.of(), SLOW);
+        FilterChain chain = (request, response) -> {
+            throw new IOException("broken pipe");
+        };
+
+        assertThrows(IOException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("POST", "/device-api/devices"), new MockHttpServletResponse(), chain));
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertTrue(line.contains(" route=- "), line);
+        assertTrue(line.contains(" status=500 "), line);
+        assertTrue(line.endsWith(" error=IOException"), line);
+    }
+
+    @Test
+    void doFilter_Slow_AlwaysLogged() throws Exception {
+        var filter = new RequestLoggingFilter(0.0, Map.of(), Duration.ZERO);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/42"), new MockHttpServletResponse(),
+                route("/device-api/{id}", 200));
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains(" reason=slow "));
+    }
+
+    @Test
+    void doFilter_InfoDisabled_SkipsSampledButKeepsErrors() throws Exception {
+        logger.setLevel(Level.WARN);
+        var filter = new RequestLoggingFilter(1.0, Map.of(), SLOW);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/42"), new MockHttpServletResponse(),
+                route("/device-api/{id}", 200));
+        filter.doFilter(new MockHttpServletRequest("GET", "/device-api/42"), new MockHttpServletResponse(),
+                route("/device-api/{id}", 500));
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+    }
+
+    @Test
+    void doFilter_AsyncRequest_LoggedOnCompletion() throws Exception {
+        var filter = new RequestLoggingFilter(1.0, Map.of(), SLOW);
+        var request = new MockHttpServletRequest("GET", "/device-api/devices/export");
+        request.setAsyncSupported(true);
+        var response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/device-api/devices/export");
+            req.startAsync();
+        };
+
+        filter.doFilter(request, response, chain);
+        assertTrue(appender.list.isEmpty());
+
+        response.setStatus(200);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("route=/device-api/devices/export "));
+    }
+
+    /**
+     * Stands in for the dispatcher: sets the mapped route and the response status.
+     */
+    private static FilterChain route(String pattern, int status) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            ((HttpServletResponse) response).setStatus(status);
+        };
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.device.api.repository;
+
+import com.example.device.api.dto.responses.DeviceResolution;
+import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.dto.responses.DeviceStatisticsResponse;
+import com.example.device.api.entity.DeleteMode;
+import com.example.device.api.entity.Device;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.repository.specification.DeviceFilter;
+import com.example.device.api.utils.IfMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DeviceJdbcRepository.class)
+class DeviceJdbcRepositoryTest {
+
+    @Autowired
+    private DeviceRepository repository;
+
+    @Autowired
+    private DeviceJdbcRepository jdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Device d1, d2;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAll();
+
+        d1 = repository.save(new Device()
+                .setName("iPhone 15")
+                .setBrand("Apple")
+                .setState(DeviceState.AVAILABLE));
+
+        d2 = repository.save(new Device()
+                .setName("Galaxy S23")
+                .setBrand("Samsung")
+                .setState(DeviceState.INACTIVE));
+
+        repository.flush();
+    }
+
+    @Test
+    void upsert_InsertsUpdatesAndSkipsNoOp() {
+        DeviceJdbcRepository.Upserted created = jdbcRepository.upsert("Pixel 8", "Google", DeviceState.AVAILABLE)
+                .orElseThrow();
+        assertTrue(created.inserted());
+        assertNull(created.previousState());
+        assertNotNull(created.device().getId());
+        assertNotNull(created.device().getCreatedAt());
+
+        DeviceJdbcRepository.Upserted updated = jdbcRepository.upsert("iPhone 15", "Apple", DeviceState.IN_USE)
+                .orElseThrow();
+        assertFalse(updated.inserted());
+        assertEquals(d1.getId(), updated.device().getId());
+        assertEquals(DeviceState.IN_USE, updated.device().getState());
+        assertEquals(DeviceState.AVAILABLE, updated.previousState());
+
+        Optional<DeviceJdbcRepository.Upserted> unchanged =
+                jdbcRepository.upsert("Galaxy S23", "Samsung", DeviceState.INACTIVE);
+        assertTrue(unchanged.isEmpty());
+
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    void update_WritesGivenColumnsAndReturnsPrevious() {
+        DeviceJdbcRepository.Updated updated = jdbcRepository.update(d1.getId(), null, "Apple Inc", DeviceState.IN_USE, null)
+                .orElseThrow();
+
+        assertEquals(d1.getId(), updated.device().getId());
+        assertEquals("iPhone 15", updated.device().getName());
+        assertEquals("Apple Inc", updated.device().getBrand());
+        assertEquals(DeviceState.IN_USE, updated.device().getState());
+        assertNotNull(updated.device().getCreatedAt());
+        assertEquals("iPhone 15", updated.previousName());
+        assertEquals("Apple", updated.previousBrand());
+        assertEquals(DeviceState.AVAILABLE, updated.previousState());
+    }
+
+    @Test
+    void update_ExpectedVersion_GuardsAndIncrements() {
+        assertTrue(jdbcRepository.update(d1.getId(), null, null, DeviceState.INACTIVE, IfMatch.of(1L)).isEmpty());
+
+        DeviceJdbcRepository.Updated updated = jdbcRepository.update(d1.getId(), null, null, DeviceState.INACTIVE, IfMatch.of(0L))
+                .orElseThrow();
+        assertEquals(1L, updated.device().getVersion());
+
+        assertTrue(jdbcRepository.update(d1.getId(), null, null, DeviceState.AVAILABLE, IfMatch.of(0L)).isEmpty());
+        assertTrue(jdbcRepository.update(d1.getId(), null, null, DeviceState.AVAILABLE, IfMatch.of(4L, 1L)).isPresent());
+        assertTrue(jdbcRepository.update(d1.getId(), null, null, DeviceState.INACTIVE, IfMatch.ANY).isPresent());
+    }
+
+    @Test
+    void update_InUseNameChange_NotWritten() {
+        jdbcTemplate.update("UPDATE devices SET state = 'IN_USE' WHERE id = ?", d1.getId());
+
+        assertTrue(jdbcRepository.update(d1.getId(), "iPhone 16", "Apple", DeviceState.IN_USE, null).isEmpty());
+
+        DeviceJdbcRepository.Updated stateOnly = jdbcRepository.update(d1.getId(), "iPhone 15", "Apple",
+                DeviceState.AVAILABLE, null).orElseThrow();
+        assertEquals(DeviceState.AVAILABLE, stateOnly.device().getState());
+    }
+
+    @Test
+    void update_TakenBrandAndName_NotWritten() {
+        assertTrue(jdbcRepository.update(d1.getId(), "Galaxy S23", "Samsung", null, null).isEmpty());
+
+        assertTrue(jdbcRepository.update(d2.getId(), null, "Apple", null, null).isPresent());
+        assertTrue(jdbcRepository.update(d2.getId(), "iPhone 15", null, null, null).isEmpty());
+    }
+
+    @Test
+    void update_NoChangeOrMissing_NotWritten() {
+        assertTrue(jdbcRepository.update(d1.getId(), "iPhone 15", "Apple", DeviceState.AVAILABLE, null).isEmpty());
+        assertTrue(jdbcRepository.update(d1.getId() + 100, null, null, DeviceState.INACTIVE, null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> jdbcRepository.update(d1.getId(), null, null, null, null));
+    }
+
+    @Test
+    void transitionState_ByIds_WritesOnlyChangingDevices() {
+        DeviceJdbcRepository.StateTransition transition = jdbcRepository.transitionState(
+                new long[]{d1.getId(), d2.getId(), d2.getId() + 100}, DeviceState.INACTIVE);
+
+        assertEquals(2, transition.matched());
+        assertEquals(1, transition.transitioned().size());
+        DeviceJdbcRepository.Transitioned moved = transition.transitioned().get(0);
+        assertEquals(d1.getId(), moved.id());
+        assertEquals("iPhone 15", moved.name());
+        assertEquals("Apple", moved.brand());
+        assertEquals(DeviceState.AVAILABLE, moved.previousState());
+
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT version FROM devices WHERE id = ?", Long.class, d1.getId()));
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT version FROM devices WHERE id = ?", Long.class, d2.getId()));
+    }
+
+    @Test
+    void transitionState_ByFilter_MatchesEscapedCriteria() {
+        repository.saveAndFlush(new Device().setName("50%_off").setBrand("Apple").setState(DeviceState.AVAILABLE));
+
+        DeviceJdbcRepository.StateTransition transition = jdbcRepository.transitionState(
+                new DeviceFilter("Apple", null, null, "%_", null), DeviceState.IN_USE);
+
+        assertEquals(1, transition.matched());
+        assertEquals("50%_off", transition.transitioned().get(0).name());
+
+        DeviceJdbcRepository.StateTransition none = jdbcRepository.transitionState(
+                new DeviceFilter(null, null, DeviceState.IN_USE, null, "app"), DeviceState.IN_USE);
+        assertEquals(1, none.matched());
+        assertTrue(none.transitioned().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> jdbcRepository.transitionState(
+                new DeviceFilter(null, null, null, null, null), DeviceState.IN_USE));
+    }
+
+    @Test
+    void deleteByIds_KeepsInUseAndOmitsUnknown() {
+        jdbcTemplate.update("UPDATE devices SET state = 'IN_USE' WHERE id = ?", d2.getId());
+
+        List<DeviceJdbcRepository.DeleteCandidate> result =
+                jdbcRepository.deleteByIds(new long[]{d1.getId(), d2.getId(), d2.getId() + 100}, DeleteMode.HARD);
+
+        assertEquals(List.of(
+                new DeviceJdbcRepository.DeleteCandidate(d1.getId(), "iPhone 15", "Apple", DeviceState.AVAILABLE, true),
+                new DeviceJdbcRepository.DeleteCandidate(d2.getId(), "Galaxy S23", "Samsung", DeviceState.IN_USE, false)
+        ), result);
+        assertFalse(repository.existsById(d1.getId()));
+        assertTrue(repository.existsById(d2.getId()));
+    }
+
+    @Test
+    void deleteByFilter_PagesById() {
+        Device d3 = repository.saveAndFlush(new Device().setName("iPad Air").setBrand("Apple").setState(DeviceState.IN_USE));
+        DeviceFilter apple = new DeviceFilter(null, null, null, null, "app");
+
+        List<DeviceJdbcRepository.DeleteCandidate> first = jdbcRepository.deleteByFilter(apple, 0, 1, DeleteMode.HARD);
+        assertEquals(1, first.size());
+        assertEquals(d1.getId(), first.get(0).id());
+        assertTrue(first.get(0).deleted());
+
+        List<DeviceJdbcRepository.DeleteCandidate> second = jdbcRepository.deleteByFilter(apple, d1.getId(), 1, DeleteMode.HARD);
+        assertEquals(1, second.size());
+        assertEquals(d3.getId(), second.get(0).id());
+        assertFalse(second.get(0).deleted());
+
+        assertTrue(jdbcRepository.deleteByFilter(apple, d3.getId(), 1, DeleteMode.HARD).isEmpty());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void softDelete_HidesDeviceFromAllQueriesAndFreesBrandAndName() {
+        assertTrue(jdbcRepository.softDeleteById(d1.getId(), IfMatch.of(1L)).isEmpty());
+
+        DeviceJdbcRepository.DeleteCandidate deleted = jdbcRepository.softDeleteById(d1.getId(), IfMatch.of(0L)).orElseThrow();
+        assertEquals("iPhone 15", deleted.name());
+        assertTrue(jdbcRepository.softDeleteById(d1.getId(), null).isEmpty());
+
+        assertFalse(repository.existsById(d1.getId()));
+        assertTrue(repository.findResponseById(d1.getId()).isEmpty());
+        assertTrue(repository.findResponseByBrandAndName("Apple", "iPhone 15").isEmpty());
+        assertTrue(jdbcRepository.findResponsesByIds(new long[]{d1.getId()}).isEmpty());
+        assertFalse(jdbcRepository.resolveByBrandAndName(new String[]{"Apple"}, new String[]{"iPhone 15"})
+                .get(0).isFound());
+        assertEquals(1, jdbcRepository.countByStateAndBrand().getTotal());
+
+        DeviceJdbcRepository.Upserted recreated = jdbcRepository.upsert("iPhone 15", "Apple", DeviceState.IN_USE)
+                .orElseThrow();
+        assertTrue(recreated.inserted());
+        assertNotEquals(d1.getId(), recreated.device().getId());
+    }
+
+    @Test
+    void softDelete_InUse_NotWritten() {
+        jdbcTemplate.update("UPDATE devices SET state = 'IN_USE' WHERE id = ?", d1.getId());
+
+        assertTrue(jdbcRepository.softDeleteById(d1.getId(), null).isEmpty());
+        assertTrue(repository.existsById(d1.getId()));
+    }
+
+    @Test
+    void deleteByIds_Soft_TombstonesDevices() {
+        List<DeviceJdbcRepository.DeleteCandidate> result =
+                jdbcRepository.deleteByIds(new long[]{d1.getId(), d2.getId()}, DeleteMode.SOFT);
+
+        assertTrue(result.stream().allMatch(DeviceJdbcRepository.DeleteCandidate::deleted));
+        assertEquals(0, repository.count());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM devices WHERE deleted_at IS NOT NULL", Integer.class));
+    }
+
+    @Test
+    void purgeDeleted_RemovesOldTombstonesInBatches() {
+        jdbcRepository.deleteByIds(new long[]{d1.getId(), d2.getId()}, DeleteMode.SOFT);
+
+        assertEquals(0, jdbcRepository.purgeDeleted(Duration.ofHours(1), 10));
+
+        jdbcTemplate.update("UPDATE devices SET deleted_at = deleted_at - interval '2 hours'");
+        assertEquals(1, jdbcRepository.purgeDeleted(Duration.ofHours(1), 1));
+        assertEquals(1, jdbcRepository.purgeDeleted(Duration.ofHours(1), 10));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM devices", Integer.class));
+    }
+
+    @Test
+    void touchLastSeen_WritesOnlyNewerTimesOfLiveDevices() {
+        Timestamp t1 = Timestamp.valueOf("2030-01-01 10:00:00");
+        Timestamp t2 = Timestamp.valueOf("2030-01-01 10:00:05");
+        jdbcRepository.deleteByIds(new long[]{d2.getId()}, DeleteMode.SOFT);
+
+        assertEquals(List.of(DeviceSnapshot.of(d1)), jdbcRepository.touchLastSeen(
+                new long[]{d1.getId(), d2.getId(), d2.getId() + 100}, new Timestamp[]{t2, t2, t2}));
+        assertEquals(List.of(), jdbcRepository.touchLastSeen(new long[]{d1.getId()}, new Timestamp[]{t1}));
+
+        assertEquals(t2, lastSeen(d1.getId()));
+        assertNull(lastSeen(d2.getId()));
+        assertEquals(t2.toLocalDateTime(),
+                jdbcRepository.findResponsesByIds(new long[]{d1.getId()}).get(0).getLastSeenAt());
+    }
+
+    @Test
+    void findResponsesByIds_ReturnsExistingOrderedById() {
+        List<DeviceResponse> result = jdbcRepository.findResponsesByIds(
+                new long[]{d2.getId(), d1.getId(), d2.getId() + 100});
+
+        assertEquals(2, result.size());
+        assertEquals(d1.getId(), result.get(0).getId());
+        assertEquals("iPhone 15", result.get(0).getName());
+        assertEquals("Apple", result.get(0).getBrand());
+        assertEquals(DeviceState.AVAILABLE, result.get(0).getState());
+        assertNotNull(result.get(0).getCreatedAt());
+        assertEquals(d2.getId(), result.get(1).getId());
+    }
+
+    @Test
+    void findResponsesByIds_NoneFound() {
+        assertTrue(jdbcRepository.findResponsesByIds(new long[]{-1L, -2L}).isEmpty());
+    }
+
+    @Test
+    void resolveByBrandAndName_KeepsOrderAndMarksMissing() {
+        List<DeviceResolution> result = jdbcRepository.resolveByBrandAndName(
+                new String[]{"Samsung", "Nokia", "Apple", "Samsung"},
+                new String[]{"Galaxy S23", "3310", "iPhone 15", "Galaxy S23"});
+
+        assertEquals(4, result.size());
+
+        assertTrue(result.get(0).isFound());
+        assertEquals(d2.getId(), result.get(0).getDevice().getId());
+        assertEquals(DeviceState.INACTIVE, result.get(0).getDevice().getState());
+
+        assertFalse(result.get(1).isFound());
+        assertEquals("Nokia", result.get(1).getBrand());
+        assertEquals("3310", result.get(1).getName());
+        assertNull(result.get(1).getDevice());
+
+        assertEquals(d1.getId(), result.get(2).getDevice().getId());
+        assertEquals(d2.getId(), result.get(3).getDevice().getId());
+    }
+
+    @Test
+    void countByStateAndBrand_ReturnsBothHistograms() {
+        repository.saveAndFlush(new Device()
+                .setName("iPhone 14")
+                .setBrand("Apple")
+                .setState(DeviceState.INACTIVE));
+
+        DeviceStatisticsResponse result = jdbcRepository.countByStateAndBrand();
+
+        assertEquals(3, result.getTotal());
+        assertEquals(Map.of(DeviceState.AVAILABLE, 1L, DeviceState.INACTIVE, 2L), result.getByState());
+        assertEquals(Map.of("Apple", 2L, "Samsung", 1L), result.getByBrand());
+    }
+
+    @Test
+    void estimateCount_UsesPlannerStatistics() {
+        jdbcTemplate.execute("ANALYZE devices");
+
+        assertEquals(2, jdbcRepository.estimateCount(new DeviceFilter(null, null, null, null, null)));
+        assertEquals(1, jdbcRepository.estimateCount(
+                new DeviceFilter("Apple", "iPhone 15", DeviceState.AVAILABLE, null, null)));
+        assertTrue(jdbcRepository.estimateCount(new DeviceFilter(null, null, null, "galaxy", "sam")) >= 1);
+    }
+
+    private Timestamp lastSeen(long id) {
+        return jdbcTemplate.queryForObject("SELECT last_seen_at FROM devices WHERE id = ?", Timestamp.class, id);
+    }
+}
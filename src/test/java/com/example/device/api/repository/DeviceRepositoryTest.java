@@ -1,5 +1,6 @@
 package com.example.device.api.repository;
 
+import com.example.device.api.dto.responses.DeviceResponse;
 import com.example.device.api.entity.Device;
 import com.example.device.api.entity.DeviceState;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import com.example.device.api.repository.specification.DeviceFilter;
+import com.example.device.api.repository.specification.DeviceSpecifications;
+import com.example.device.api.utils.CursorUtils;
+import com.example.device.api.utils.PaginationUtils;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -58,22 +63,36 @@ class DeviceRepositoryTest {
     }
 
     @Test
-    void testExistsByNameAndBrand_Exists() {
-        assertTrue(repository.existsByNameAndBrand("iPhone 15", "Apple"));
+    void testFindByBrandAndName_Found() {
+        Optional<Device> result = repository.findByBrandAndName("Apple", "iPhone 15");
+
+        assertTrue(result.isPresent());
+        assertEquals("Apple", result.get().getBrand());
+        assertEquals("iPhone 15", result.get().getName());
     }
 
     @Test
-    void testExistsByNameAndBrand_NotExists() {
-        assertFalse(repository.existsByNameAndBrand("Non-existing", "Apple"));
+    void findResponseById_Found() {
+        Optional<DeviceResponse> result = repository.findResponseById(d2.getId());
+
+        assertTrue(result.isPresent());
+        assertEquals("Galaxy S23", result.get().getName());
+        assertEquals("Samsung", result.get().getBrand());
+        assertEquals(DeviceState.INACTIVE, result.get().getState());
+        assertNotNull(result.get().getCreatedAt());
     }
 
     @Test
-    void testFindByBrandAndName_Found() {
-        Optional<Device> result = repository.findByBrandAndName("Apple", "iPhone 15");
+    void findResponseById_NotFound() {
+        assertTrue(repository.findResponseById(-1L).isEmpty());
+    }
+
+    @Test
+    void findResponseByBrandAndName_Found() {
+        Optional<DeviceResponse> result = repository.findResponseByBrandAndName("Apple", "iPhone 14");
 
         assertTrue(result.isPresent());
-        assertEquals("Apple", result.get().getBrand());
-        assertEquals("iPhone 15", result.get().getName());
+        assertEquals(d3.getId(), result.get().getId());
     }
 
     @Test
@@ -84,9 +103,9 @@ class DeviceRepositoryTest {
     }
 
     @Test
-    void findFiltered_ByBrand() {
-        List<Device> list = repository.findFiltered(
-                "Apple", null, null,
+    void findResponses_ByBrand() {
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter("Apple", null, null, null),
                 PageRequest.of(0, 10)
         );
 
@@ -94,9 +113,9 @@ class DeviceRepositoryTest {
     }
 
     @Test
-    void findFiltered_ByName() {
-        List<Device> list = repository.findFiltered(
-                null, "Galaxy S23", null,
+    void findResponses_ByName() {
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter(null, "Galaxy S23", null, null),
                 PageRequest.of(0, 10)
         );
 
@@ -105,9 +124,9 @@ class DeviceRepositoryTest {
     }
 
     @Test
-    void findFiltered_ByState() {
-        List<Device> list = repository.findFiltered(
-                null, null, DeviceState.INACTIVE,
+    void findResponses_ByState() {
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter(null, null, DeviceState.INACTIVE, null),
                 PageRequest.of(0, 10)
         );
 
@@ -115,9 +134,9 @@ class DeviceRepositoryTest {
     }
 
     @Test
-    void findFiltered_ByBrandAndState() {
-        List<Device> list = repository.findFiltered(
-                "Apple", null, DeviceState.INACTIVE,
+    void findResponses_ByBrandAndState() {
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter("Apple", null, DeviceState.INACTIVE, null),
                 PageRequest.of(0, 10)
         );
 
@@ -126,9 +145,9 @@ class DeviceRepositoryTest {
     }
 
     @Test
-    void findFiltered_NoFilters() {
-        List<Device> list = repository.findFiltered(
-                null, null, null,
+    void findResponses_NoFilters() {
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter(null, null, null, null),
                 PageRequest.of(0, 10)
         );
 
@@ -136,14 +155,14 @@ class DeviceRepositoryTest {
     }
 
     @Test
-    void findFiltered_Pagination() {
-        List<Device> page1 = repository.findFiltered(
-                null, null, null,
+    void findResponses_Pagination() {
+        List<DeviceResponse> page1 = repository.findResponses(
+                DeviceSpecifications.filter(null, null, null, null),
                 PageRequest.of(0, 1)
         );
 
-        List<Device> page2 = repository.findFiltered(
-                null, null, null,
+        List<DeviceResponse> page2 = repository.findResponses(
+                DeviceSpecifications.filter(null, null, null, null),
                 PageRequest.of(1, 1)
         );
 
@@ -151,4 +170,122 @@ class DeviceRepositoryTest {
         assertEquals(1, page2.size());
         assertNotEquals(page1.getFirst().getId(), page2.getFirst().getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findResponses_OrderedNewestFirst() {
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter(null, null, null, null),
+                PaginationUtils.offsetPagination(0, 10)
+        );
+
+        assertEquals(List.of(d3.getId(), d2.getId(), d1.getId()),
+                list.stream().map(DeviceResponse::getId).toList());
+    }
+
+    @Test
+    void findResponses_ExactOffset() {
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter(null, null, null, null),
+                PaginationUtils.offsetPagination(1, 2)
+        );
+
+        assertEquals(List.of(d2.getId(), d1.getId()),
+                list.stream().map(DeviceResponse::getId).toList());
+    }
+
+    @Test
+    void findResponsesAfterCursor_ReturnsRowsAfterCursor() {
+        List<DeviceResponse> firstPage = repository.findResponses(
+                DeviceSpecifications.filter(null, null, null, null),
+                PaginationUtils.offsetPagination(0, 2)
+        );
+        DeviceResponse last = firstPage.getLast();
+
+        List<DeviceResponse> nextPage = repository.findResponses(
+                DeviceSpecifications.filter(null, null, null,
+                        new CursorUtils.Cursor(last.getCreatedAt(), last.getId())),
+                PaginationUtils.keysetPagination(10)
+        );
+
+        assertEquals(1, nextPage.size());
+        assertTrue(firstPage.stream().noneMatch(d -> d.getId().equals(nextPage.getFirst().getId())));
+    }
+
+    @Test
+    void findResponsesAfterCursor_AppliesFilters() {
+        DeviceResponse newest = repository.findResponses(
+                DeviceSpecifications.filter(null, null, null, null),
+                PaginationUtils.offsetPagination(0, 1)
+        ).getFirst();
+
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter("Apple", null, null,
+                        new CursorUtils.Cursor(newest.getCreatedAt(), newest.getId())),
+                PaginationUtils.keysetPagination(10)
+        );
+
+        assertTrue(list.stream().allMatch(d -> d.getBrand().equals("Apple")));
+        assertTrue(list.stream().noneMatch(d -> d.getId().equals(newest.getId())));
+    }
+
+    @Test
+    void testCountMatching() {
+        assertEquals(3, repository.countMatching(DeviceSpecifications.filter(null, null, null, null)));
+        assertEquals(2, repository.countMatching(DeviceSpecifications.filter("Apple", null, null, null)));
+        assertEquals(1, repository.countMatching(
+                DeviceSpecifications.filter("Apple", null, DeviceState.INACTIVE, null)));
+        assertEquals(0, repository.countMatching(DeviceSpecifications.filter("Nokia", null, null, null)));
+    }
+
+    @Test
+    void findResponses_NameContains_CaseInsensitive() {
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter(new DeviceFilter(null, null, null, "IPHONE", null), null),
+                PageRequest.of(0, 10)
+        );
+
+        assertEquals(2, list.size());
+        assertTrue(list.stream().allMatch(d -> d.getName().startsWith("iPhone")));
+    }
+
+    @Test
+    void findResponses_BrandPrefix() {
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter(new DeviceFilter(null, null, null, null, "sam"), null),
+                PageRequest.of(0, 10)
+        );
+
+        assertEquals(1, list.size());
+        assertEquals(d2.getId(), list.get(0).getId());
+
+        assertTrue(repository.findResponses(
+                DeviceSpecifications.filter(new DeviceFilter(null, null, null, null, "ung"), null),
+                PageRequest.of(0, 10)
+        ).isEmpty());
+    }
+
+    @Test
+    void findResponses_NameContains_EscapesWildcards() {
+        repository.save(new Device()
+                .setName("Pixel_8")
+                .setBrand("Google")
+                .setState(DeviceState.AVAILABLE));
+        repository.save(new Device()
+                .setName("Pixel 8")
+                .setBrand("Google")
+                .setState(DeviceState.AVAILABLE));
+
+        List<DeviceResponse> list = repository.findResponses(
+                DeviceSpecifications.filter(new DeviceFilter(null, null, null, "l_8", null), null),
+                PageRequest.of(0, 10)
+        );
+
+        assertEquals(1, list.size());
+        assertEquals("Pixel_8", list.get(0).getName());
+
+        assertTrue(repository.findResponses(
+                DeviceSpecifications.filter(new DeviceFilter(null, null, null, "%", null), null),
+                PageRequest.of(0, 10)
+        ).isEmpty());
+    }
+}
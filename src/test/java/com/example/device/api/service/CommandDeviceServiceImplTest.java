@@ -1,26 +1,45 @@
 package com.example.device.api.service;
 
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.requests.DeviceCriteriaRequest;
+import com.example.device.api.dto.requests.DeviceStateTransitionRequest;
 import com.example.device.api.dto.requests.PatchDeviceRequest;
 import com.example.device.api.dto.requests.UpdateDeviceRequest;
 import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.dto.responses.DeviceStateTransitionResponse;
+import com.example.device.api.dto.responses.DeviceUpsertResult;
 import com.example.device.api.entity.Device;
 import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
 import com.example.device.api.exception.DeviceAlreadyExistsException;
 import com.example.device.api.exception.DeviceNotFoundException;
 import com.example.device.api.exception.ForbiddenOperationException;
+import com.example.device.api.exception.InvalidRequestException;
+import com.example.device.api.exception.PreconditionFailedException;
 import com.example.device.api.mapper.DeviceMapper;
 import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.repository.specification.DeviceFilter;
 import com.example.device.api.service.impl.CommandDeviceServiceImpl;
+import com.example.device.api.utils.IfMatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -30,12 +49,18 @@ class CommandDeviceServiceImplTest {
     @Mock
     private DeviceRepository repository;
 
+    @Mock
+    private DeviceJdbcRepository jdbcRepository;
+
     @Mock
     private DeviceMapper mapper;
 
     @Mock
     private DeviceValidator validator;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CommandDeviceServiceImpl service;
 
@@ -53,7 +78,7 @@ class CommandDeviceServiceImplTest {
     @Test
     void updateDevice_Success() {
         UpdateDeviceRequest req = new UpdateDeviceRequest()
-                .setName("iPhone New")
+                .setName(" iPhone New ")
                 .setBrand("Apple")
                 .setState(DeviceState.INACTIVE);
 
@@ -63,29 +88,34 @@ class CommandDeviceServiceImplTest {
                 .setBrand("Apple")
                 .setState(DeviceState.INACTIVE);
 
-        when(repository.findById(10L)).thenReturn(Optional.of(existingDevice));
-        when(mapper.toResponse(existingDevice)).thenReturn(response);
+        when(jdbcRepository.update(10L, "iPhone New", "Apple", DeviceState.INACTIVE, null))
+                .thenReturn(Optional.of(new DeviceJdbcRepository.Updated(
+                        response, "iPhone", "Apple", DeviceState.AVAILABLE)));
 
-        DeviceResponse result = service.updateDevice(10L, req);
+        DeviceResponse result = service.updateDevice(10L, req, null);
 
         assertEquals(response, result);
-        assertEquals("iPhone New", existingDevice.getName());
-        assertEquals("Apple", existingDevice.getBrand());
-        assertEquals(DeviceState.INACTIVE, existingDevice.getState());
 
-        verify(validator).ensureNotInUseForNameBrandChange(existingDevice, "iPhone New", "Apple");
-        verify(validator).ensureNameBrandUnique(10L, "iPhone New", "Apple");
-        verify(repository).save(existingDevice);
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.updated(
+                new DeviceSnapshot(10L, "iPhone", "Apple", DeviceState.AVAILABLE),
+                new DeviceSnapshot(10L, "iPhone New", "Apple", DeviceState.INACTIVE)));
+        verifyNoInteractions(repository, validator);
     }
 
     @Test
     void updateDevice_NotFound() {
-        when(repository.findById(99L)).thenReturn(Optional.empty());
+        UpdateDeviceRequest req = new UpdateDeviceRequest()
+                .setName("iPhone")
+                .setBrand("Apple")
+                .setState(DeviceState.AVAILABLE);
+
+        when(jdbcRepository.update(99L, "iPhone", "Apple", DeviceState.AVAILABLE, null)).thenReturn(Optional.empty());
+        when(repository.findLockedById(99L)).thenReturn(Optional.empty());
 
         assertThrows(DeviceNotFoundException.class,
-                () -> service.updateDevice(99L, new UpdateDeviceRequest()));
+                () -> service.updateDevice(99L, req, null));
 
-        verifyNoInteractions(validator);
+        verifyNoInteractions(validator, eventPublisher);
     }
 
     @Test
@@ -97,14 +127,16 @@ class CommandDeviceServiceImplTest {
                 .setBrand("Apple")
                 .setState(DeviceState.IN_USE);
 
-        when(repository.findById(10L)).thenReturn(Optional.of(existingDevice));
+        when(jdbcRepository.update(10L, "New Name", "Apple", DeviceState.IN_USE, null)).thenReturn(Optional.empty());
+        when(repository.findLockedById(10L)).thenReturn(Optional.of(existingDevice));
         doThrow(new ForbiddenOperationException("Cannot change"))
                 .when(validator).ensureNotInUseForNameBrandChange(existingDevice, "New Name", "Apple");
 
         assertThrows(ForbiddenOperationException.class,
-                () -> service.updateDevice(10L, req));
+                () -> service.updateDevice(10L, req, null));
 
-        verify(repository, never()).save(any());
+        verify(jdbcRepository, times(1)).update(anyLong(), any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -114,15 +146,97 @@ class CommandDeviceServiceImplTest {
                 .setBrand("Apple")
                 .setState(DeviceState.AVAILABLE);
 
-        when(repository.findById(10L)).thenReturn(Optional.of(existingDevice));
-
+        when(jdbcRepository.update(10L, "iPhone X", "Apple", DeviceState.AVAILABLE, null)).thenReturn(Optional.empty());
+        when(repository.findLockedById(10L)).thenReturn(Optional.of(existingDevice));
         doThrow(new DeviceAlreadyExistsException("iPhone X", "Apple"))
                 .when(validator).ensureNameBrandUnique(10L, "iPhone X", "Apple");
 
         assertThrows(DeviceAlreadyExistsException.class,
-                () -> service.updateDevice(10L, req));
+                () -> service.updateDevice(10L, req, null));
+
+        verify(jdbcRepository, times(1)).update(anyLong(), any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateDevice_ConcurrentDuplicate_Translated() {
+        UpdateDeviceRequest req = new UpdateDeviceRequest()
+                .setName("iPhone X")
+                .setBrand("Apple")
+                .setState(DeviceState.AVAILABLE);
+
+        ServerErrorMessage message = new ServerErrorMessage(
+                "SERROR\0C23505\0Mduplicate key value violates unique constraint\0nuk_devices_brand_name\0");
+        when(jdbcRepository.update(10L, "iPhone X", "Apple", DeviceState.AVAILABLE, null))
+                .thenThrow(new DuplicateKeyException("duplicate key", new PSQLException(message)));
+
+        assertThrows(DeviceAlreadyExistsException.class,
+                () -> service.updateDevice(10L, req, null));
+
+        verifyNoInteractions(repository, eventPublisher);
+    }
+
+    @Test
+    void updateDevice_Unchanged_NoEvent() {
+        UpdateDeviceRequest req = new UpdateDeviceRequest()
+                .setName("iPhone")
+                .setBrand("Apple")
+                .setState(DeviceState.AVAILABLE);
+        DeviceResponse response = new DeviceResponse().setId(10L).setName("iPhone");
+
+        when(jdbcRepository.update(10L, "iPhone", "Apple", DeviceState.AVAILABLE, null)).thenReturn(Optional.empty());
+        when(repository.findLockedById(10L)).thenReturn(Optional.of(existingDevice));
+        when(mapper.toResponse(existingDevice)).thenReturn(response);
+
+        assertEquals(response, service.updateDevice(10L, req, null));
+
+        verify(jdbcRepository, times(1)).update(anyLong(), any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateDevice_ChangedConcurrently_RetriedUnderLock() {
+        UpdateDeviceRequest req = new UpdateDeviceRequest()
+                .setName("iPhone")
+                .setBrand("Apple")
+                .setState(DeviceState.INACTIVE);
+        DeviceResponse response = new DeviceResponse()
+                .setId(10L)
+                .setName("iPhone")
+                .setBrand("Apple")
+                .setState(DeviceState.INACTIVE);
 
-        verify(repository, never()).save(any());
+        when(jdbcRepository.update(10L, "iPhone", "Apple", DeviceState.INACTIVE, null))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new DeviceJdbcRepository.Updated(
+                        response, "iPhone", "Apple", DeviceState.AVAILABLE)));
+        when(repository.findLockedById(10L)).thenReturn(Optional.of(existingDevice));
+
+        assertEquals(response, service.updateDevice(10L, req, null));
+
+        verify(jdbcRepository, times(2)).update(10L, "iPhone", "Apple", DeviceState.INACTIVE, null);
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.updated(
+                new DeviceSnapshot(10L, "iPhone", "Apple", DeviceState.AVAILABLE),
+                new DeviceSnapshot(10L, "iPhone", "Apple", DeviceState.INACTIVE)));
+    }
+
+    @Test
+    void updateDevice_StaleVersion_PreconditionFailed() {
+        existingDevice.setVersion(3L);
+
+        UpdateDeviceRequest req = new UpdateDeviceRequest()
+                .setName("iPhone")
+                .setBrand("Apple")
+                .setState(DeviceState.INACTIVE);
+
+        when(jdbcRepository.update(10L, "iPhone", "Apple", DeviceState.INACTIVE, IfMatch.of(2L))).thenReturn(Optional.empty());
+        when(repository.findLockedById(10L)).thenReturn(Optional.of(existingDevice));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> service.updateDevice(10L, req, IfMatch.of(2L)));
+
+        verify(jdbcRepository, times(1)).update(anyLong(), any(), any(), any(), any());
+        verifyNoInteractions(validator, eventPublisher);
     }
 
     @Test
@@ -137,16 +251,17 @@ class CommandDeviceServiceImplTest {
                 .setBrand("Apple Pro")
                 .setState(DeviceState.INACTIVE);
 
-        when(repository.findById(10L)).thenReturn(Optional.of(existingDevice));
-        when(mapper.toResponse(existingDevice)).thenReturn(response);
+        when(jdbcRepository.update(10L, null, "Apple Pro", DeviceState.INACTIVE, null))
+                .thenReturn(Optional.of(new DeviceJdbcRepository.Updated(
+                        response, "iPhone", "Apple", DeviceState.AVAILABLE)));
 
-        DeviceResponse result = service.patchDevice(10L, req);
+        DeviceResponse result = service.patchDevice(10L, req, null);
 
-        assertEquals("Apple Pro", existingDevice.getBrand());
-        assertEquals(DeviceState.INACTIVE, existingDevice.getState());
         assertEquals(response, result);
 
-        verify(repository).save(existingDevice);
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.updated(
+                new DeviceSnapshot(10L, "iPhone", "Apple", DeviceState.AVAILABLE),
+                new DeviceSnapshot(10L, "iPhone", "Apple Pro", DeviceState.INACTIVE)));
     }
 
     @Test
@@ -154,7 +269,20 @@ class CommandDeviceServiceImplTest {
         when(repository.findById(99L)).thenReturn(Optional.empty());
 
         assertThrows(DeviceNotFoundException.class,
-                () -> service.patchDevice(99L, new PatchDeviceRequest()));
+                () -> service.patchDevice(99L, new PatchDeviceRequest(), null));
+
+        verifyNoInteractions(jdbcRepository, eventPublisher);
+    }
+
+    @Test
+    void patchDevice_EmptyStaleVersion_PreconditionFailed() {
+        existingDevice.setVersion(5L);
+        when(repository.findById(10L)).thenReturn(Optional.of(existingDevice));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> service.patchDevice(10L, new PatchDeviceRequest(), IfMatch.of(4L)));
+
+        verifyNoInteractions(jdbcRepository, eventPublisher);
     }
 
     @Test
@@ -164,31 +292,148 @@ class CommandDeviceServiceImplTest {
         PatchDeviceRequest req = new PatchDeviceRequest()
                 .setBrand("Samsung");
 
-        when(repository.findById(10L)).thenReturn(Optional.of(existingDevice));
+        when(jdbcRepository.update(10L, null, "Samsung", null, null)).thenReturn(Optional.empty());
+        when(repository.findLockedById(10L)).thenReturn(Optional.of(existingDevice));
 
         doThrow(new ForbiddenOperationException("Device IN_USE"))
                 .when(validator)
                 .ensureNotInUseForNameBrandChange(existingDevice, null, "Samsung");
 
         assertThrows(ForbiddenOperationException.class,
-                () -> service.patchDevice(10L, req));
+                () -> service.patchDevice(10L, req, null));
 
-        verify(repository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void patchDevice_NameBrandUniqueCheckOnlyIfBothProvided() {
+    void patchDevice_NameOnly_UniqueCheckUsesCurrentBrand() {
         PatchDeviceRequest req = new PatchDeviceRequest()
                 .setName("NewName");
 
-        when(repository.findById(10L)).thenReturn(Optional.of(existingDevice));
+        when(jdbcRepository.update(10L, "NewName", null, null, null)).thenReturn(Optional.empty());
+        when(repository.findLockedById(10L)).thenReturn(Optional.of(existingDevice));
+        doThrow(new DeviceAlreadyExistsException("NewName", "Apple"))
+                .when(validator).ensureNameBrandUnique(10L, "NewName", "Apple");
 
-        service.patchDevice(10L, req);
+        assertThrows(DeviceAlreadyExistsException.class,
+                () -> service.patchDevice(10L, req, null));
 
         verify(validator)
                 .ensureNotInUseForNameBrandChange(existingDevice, "NewName", null);
+    }
+
+    @Test
+    void upsertDevice_Created() {
+        DeviceResponse stored = new DeviceResponse(11L, "Pixel 8", "Google", DeviceState.AVAILABLE, null, null, 1L);
+        when(jdbcRepository.upsert("Pixel 8", "Google", DeviceState.AVAILABLE))
+                .thenReturn(Optional.of(new DeviceJdbcRepository.Upserted(stored, true, null)));
+
+        DeviceUpsertResult result = service.upsertDevice(upsertRequest(" Pixel 8 ", "Google", DeviceState.AVAILABLE));
+
+        assertTrue(result.created());
+        assertEquals(stored, result.device());
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.created(
+                new DeviceSnapshot(11L, "Pixel 8", "Google", DeviceState.AVAILABLE)));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void upsertDevice_Updated() {
+        DeviceResponse stored = new DeviceResponse(10L, "iPhone", "Apple", DeviceState.IN_USE, null, null, 1L);
+        when(jdbcRepository.upsert("iPhone", "Apple", DeviceState.IN_USE))
+                .thenReturn(Optional.of(new DeviceJdbcRepository.Upserted(stored, false, DeviceState.AVAILABLE)));
+
+        DeviceUpsertResult result = service.upsertDevice(upsertRequest("iPhone", "Apple", DeviceState.IN_USE));
+
+        assertFalse(result.created());
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.updated(
+                new DeviceSnapshot(10L, "iPhone", "Apple", DeviceState.AVAILABLE),
+                new DeviceSnapshot(10L, "iPhone", "Apple", DeviceState.IN_USE)));
+    }
+
+    @Test
+    void upsertDevice_CreatedConcurrently_RepeatsUpsert() {
+        DeviceResponse concurrent = new DeviceResponse(10L, "iPhone", "Apple", DeviceState.AVAILABLE, null, null, 1L);
+        DeviceResponse stored = new DeviceResponse(10L, "iPhone", "Apple", DeviceState.IN_USE, null, null, 2L);
+        when(jdbcRepository.upsert("iPhone", "Apple", DeviceState.IN_USE))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new DeviceJdbcRepository.Upserted(stored, false, DeviceState.AVAILABLE)));
+        when(repository.findResponseByBrandAndName("Apple", "iPhone")).thenReturn(Optional.of(concurrent));
+
+        DeviceUpsertResult result = service.upsertDevice(upsertRequest("iPhone", "Apple", DeviceState.IN_USE));
+
+        assertFalse(result.created());
+        assertEquals(stored, result.device());
+        verify(jdbcRepository, times(2)).upsert("iPhone", "Apple", DeviceState.IN_USE);
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.updated(
+                new DeviceSnapshot(10L, "iPhone", "Apple", DeviceState.AVAILABLE),
+                new DeviceSnapshot(10L, "iPhone", "Apple", DeviceState.IN_USE)));
+    }
+
+    @Test
+    void upsertDevice_Unchanged() {
+        DeviceResponse stored = new DeviceResponse(10L, "iPhone", "Apple", DeviceState.AVAILABLE, null, null, 1L);
+        when(jdbcRepository.upsert("iPhone", "Apple", DeviceState.AVAILABLE)).thenReturn(Optional.empty());
+        when(repository.findResponseByBrandAndName("Apple", "iPhone")).thenReturn(Optional.of(stored));
+
+        DeviceUpsertResult result = service.upsertDevice(upsertRequest("iPhone", "Apple", DeviceState.AVAILABLE));
+
+        assertFalse(result.created());
+        assertEquals(stored, result.device());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void transitionStates_ByIds_OneEventAndCounts() {
+        when(jdbcRepository.transitionState(new long[]{1L, 2L, 3L}, DeviceState.INACTIVE))
+                .thenReturn(new DeviceJdbcRepository.StateTransition(2, List.of(
+                        new DeviceJdbcRepository.Transitioned(1L, "iPhone", "Apple", DeviceState.AVAILABLE))));
+
+        DeviceStateTransitionResponse result = service.transitionStates(new DeviceStateTransitionRequest()
+                .setIds(new long[]{3L, 1L, 2L, 1L})
+                .setTargetState(DeviceState.INACTIVE));
+
+        assertEquals(1, result.getAffected());
+        assertEquals(2, result.getSkipped());
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.updated(
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.AVAILABLE),
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.INACTIVE)));
+    }
+
+    @Test
+    void transitionStates_ByFilter_NormalizesCriteria() {
+        DeviceFilter filter = new DeviceFilter("Apple", null, DeviceState.AVAILABLE, null, null);
+        when(jdbcRepository.transitionState(filter, DeviceState.IN_USE))
+                .thenReturn(new DeviceJdbcRepository.StateTransition(1, List.of()));
+
+        DeviceStateTransitionResponse result = service.transitionStates(new DeviceStateTransitionRequest()
+                .setFilter(new DeviceCriteriaRequest().setBrand(" Apple ").setState(DeviceState.AVAILABLE).setName(" "))
+                .setTargetState(DeviceState.IN_USE));
+
+        assertEquals(0, result.getAffected());
+        assertEquals(1, result.getSkipped());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void transitionStates_InvalidSelection_Rejected() {
+        assertThrows(InvalidRequestException.class, () -> service.transitionStates(new DeviceStateTransitionRequest()
+                .setTargetState(DeviceState.IN_USE)));
+        assertThrows(InvalidRequestException.class, () -> service.transitionStates(new DeviceStateTransitionRequest()
+                .setIds(new long[]{1L})
+                .setFilter(new DeviceCriteriaRequest().setBrand("Apple"))
+                .setTargetState(DeviceState.IN_USE)));
+        assertThrows(InvalidRequestException.class, () -> service.transitionStates(new DeviceStateTransitionRequest()
+                .setFilter(new DeviceCriteriaRequest().setBrand("  "))
+                .setTargetState(DeviceState.IN_USE)));
+
+        verifyNoInteractions(jdbcRepository, eventPublisher);
+    }
 
-        verify(validator, never())
-                .ensureNameBrandUnique(anyLong(), any(), any());
+    private CreateDeviceRequest upsertRequest(String name, String brand, DeviceState state) {
+        return new CreateDeviceRequest()
+                .setName(name)
+                .setBrand(brand)
+                .setState(state);
     }
 }
@@ -1,18 +1,31 @@
 package com.example.device.api.service;
 
+import com.example.device.api.dto.requests.BatchCreateDeviceRequest;
 import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.responses.BatchCreateDeviceResponse;
+import com.example.device.api.dto.responses.BatchCreateStatus;
+import com.example.device.api.dto.responses.DeviceResolution;
 import com.example.device.api.dto.responses.DeviceResponse;
 import com.example.device.api.entity.Device;
 import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
 import com.example.device.api.exception.DeviceAlreadyExistsException;
 import com.example.device.api.mapper.DeviceMapper;
 import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
 import com.example.device.api.service.impl.CreateDeviceServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,9 +36,15 @@ class CreateDeviceServiceImplTest {
     @Mock
     private DeviceRepository repository;
 
+    @Mock
+    private DeviceJdbcRepository jdbcRepository;
+
     @Mock
     private DeviceMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CreateDeviceServiceImpl service;
 
@@ -35,7 +54,6 @@ class CreateDeviceServiceImplTest {
         Device mappedDevice = sampleDevice();
         DeviceResponse expectedResponse = sampleResponse();
 
-        when(repository.existsByNameAndBrand("iPhone", "Apple")).thenReturn(false);
         when(mapper.toEntity(request)).thenReturn(mappedDevice);
         when(mapper.toResponse(mappedDevice)).thenReturn(expectedResponse);
 
@@ -44,24 +62,42 @@ class CreateDeviceServiceImplTest {
         assertNotNull(actual);
         assertEquals(expectedResponse, actual);
 
-        verify(repository).existsByNameAndBrand("iPhone", "Apple");
-        verify(repository).save(mappedDevice);
+        verify(repository).saveAndFlush(mappedDevice);
         verify(mapper).toEntity(request);
         verify(mapper).toResponse(mappedDevice);
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.created(DeviceSnapshot.of(mappedDevice)));
     }
 
     @Test
     void createDevice_AlreadyExists() {
         CreateDeviceRequest request = sampleRequest();
+        Device mappedDevice = sampleDevice();
+
+        when(mapper.toEntity(request)).thenReturn(mappedDevice);
+        when(repository.saveAndFlush(mappedDevice)).thenThrow(uniqueViolation("uk_devices_brand_name"));
+
+        DeviceAlreadyExistsException ex = assertThrows(DeviceAlreadyExistsException.class,
+                () -> service.createDevice(request));
+
+        assertTrue(ex.getMessage().contains("iPhone"));
+        verify(mapper, never()).toResponse(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createDevice_OtherIntegrityViolation_Rethrown() {
+        CreateDeviceRequest request = sampleRequest();
+        Device mappedDevice = sampleDevice();
+        DataIntegrityViolationException violation = uniqueViolation("devices_pkey");
 
-        when(repository.existsByNameAndBrand("iPhone", "Apple")).thenReturn(true);
+        when(mapper.toEntity(request)).thenReturn(mappedDevice);
+        when(repository.saveAndFlush(mappedDevice)).thenThrow(violation);
 
-        assertThrows(DeviceAlreadyExistsException.class,
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
                 () -> service.createDevice(request));
 
-        verify(repository).existsByNameAndBrand("iPhone", "Apple");
-        verifyNoInteractions(mapper);
-        verify(repository, never()).save(any());
+        assertSame(violation, ex);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -74,7 +110,6 @@ class CreateDeviceServiceImplTest {
         Device mappedDevice = sampleDevice();
         DeviceResponse expectedResponse = sampleResponse();
 
-        when(repository.existsByNameAndBrand("iPhone", "Apple")).thenReturn(false);
         when(mapper.toEntity(request)).thenReturn(mappedDevice);
         when(mapper.toResponse(mappedDevice)).thenReturn(expectedResponse);
 
@@ -83,8 +118,84 @@ class CreateDeviceServiceImplTest {
         assertNotNull(actual);
         assertEquals(expectedResponse, actual);
 
-        verify(repository).existsByNameAndBrand("iPhone", "Apple");
-        verify(repository).save(mappedDevice);
+        verify(repository).saveAndFlush(mappedDevice);
+    }
+
+    @Test
+    void createDevices_ReportsPerItemOutcomes() {
+        CreateDeviceRequest existing = sampleRequest();
+        CreateDeviceRequest fresh = new CreateDeviceRequest()
+                .setName(" Pixel 8 ")
+                .setBrand("Google")
+                .setState(DeviceState.AVAILABLE);
+        CreateDeviceRequest repeated = new CreateDeviceRequest()
+                .setName("Pixel 8")
+                .setBrand("Google ")
+                .setState(DeviceState.IN_USE);
+
+        DeviceResponse existingResponse = sampleResponse();
+        DeviceResponse freshResponse = new DeviceResponse()
+                .setId(2L)
+                .setName("Pixel 8")
+                .setBrand("Google")
+                .setState(DeviceState.AVAILABLE);
+
+        when(jdbcRepository.resolveByBrandAndName(
+                new String[]{"Apple", "Google", "Google"},
+                new String[]{"iPhone", "Pixel 8", "Pixel 8"}))
+                .thenReturn(List.of(
+                        new DeviceResolution("Apple", "iPhone", true, existingResponse),
+                        new DeviceResolution("Google", "Pixel 8", false, null),
+                        new DeviceResolution("Google", "Pixel 8", false, null)));
+        when(jdbcRepository.insertAbsent(
+                new String[]{"Pixel 8"}, new String[]{"Google"}, new String[]{"AVAILABLE"}))
+                .thenReturn(List.of(freshResponse));
+
+        BatchCreateDeviceResponse actual = service.createDevices(
+                new BatchCreateDeviceRequest().setDevices(List.of(existing, fresh, repeated)));
+
+        assertEquals(1, actual.getCreated());
+        assertEquals(2, actual.getRejected());
+        assertEquals(BatchCreateStatus.ALREADY_EXISTS, actual.getItems().get(0).getStatus());
+        assertEquals(existingResponse, actual.getItems().get(0).getDevice());
+        assertEquals(BatchCreateStatus.CREATED, actual.getItems().get(1).getStatus());
+        assertEquals(freshResponse, actual.getItems().get(1).getDevice());
+        assertEquals(BatchCreateStatus.DUPLICATE_IN_BATCH, actual.getItems().get(2).getStatus());
+        assertNull(actual.getItems().get(2).getDevice());
+        assertEquals(2, actual.getItems().get(2).getIndex());
+
+        verify(repository, never()).saveAll(any());
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.created(
+                List.of(new DeviceSnapshot(2L, "Pixel 8", "Google", DeviceState.AVAILABLE))));
+    }
+
+    @Test
+    void createDevices_CreatedConcurrently_ReportsAlreadyExists() {
+        CreateDeviceRequest raced = sampleRequest();
+        DeviceResponse racedResponse = sampleResponse();
+
+        when(jdbcRepository.resolveByBrandAndName(new String[]{"Apple"}, new String[]{"iPhone"}))
+                .thenReturn(List.of(new DeviceResolution("Apple", "iPhone", false, null)))
+                .thenReturn(List.of(new DeviceResolution("Apple", "iPhone", true, racedResponse)));
+        when(jdbcRepository.insertAbsent(
+                new String[]{"iPhone"}, new String[]{"Apple"}, new String[]{"AVAILABLE"}))
+                .thenReturn(List.of());
+
+        BatchCreateDeviceResponse actual = service.createDevices(
+                new BatchCreateDeviceRequest().setDevices(List.of(raced)));
+
+        assertEquals(0, actual.getCreated());
+        assertEquals(1, actual.getRejected());
+        assertEquals(BatchCreateStatus.ALREADY_EXISTS, actual.getItems().get(0).getStatus());
+        assertEquals(racedResponse, actual.getItems().get(0).getDevice());
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private DataIntegrityViolationException uniqueViolation(String constraint) {
+        ServerErrorMessage message = new ServerErrorMessage(
+                "SERROR\0C23505\0Mduplicate key value violates unique constraint\0n" + constraint + "\0");
+        return new DataIntegrityViolationException("duplicate key", new PSQLException(message));
     }
 
     private CreateDeviceRequest sampleRequest() {
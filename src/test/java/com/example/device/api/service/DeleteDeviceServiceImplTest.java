@@ -1,20 +1,39 @@
 package com.example.device.api.service;
 
+import com.example.device.api.dto.requests.BulkDeleteDeviceRequest;
+import com.example.device.api.dto.requests.DeviceCriteriaRequest;
+import com.example.device.api.dto.responses.BulkDeleteDeviceResponse;
+import com.example.device.api.dto.responses.BulkDeleteItemResult;
+import com.example.device.api.dto.responses.BulkDeleteStatus;
+import com.example.device.api.entity.DeleteMode;
 import com.example.device.api.entity.Device;
 import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
 import com.example.device.api.exception.DeviceNotFoundException;
 import com.example.device.api.exception.ForbiddenOperationException;
+import com.example.device.api.exception.InvalidRequestException;
+import com.example.device.api.exception.PreconditionFailedException;
 import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.repository.specification.DeviceFilter;
 import com.example.device.api.service.impl.DeleteDeviceServiceImpl;
+import com.example.device.api.utils.IfMatch;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -24,9 +43,18 @@ class DeleteDeviceServiceImplTest {
     @Mock
     private DeviceRepository repository;
 
+    @Mock
+    private DeviceJdbcRepository jdbcRepository;
+
     @Mock
     private DeviceValidator validator;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private DeleteDeviceServiceImpl deleteService;
 
@@ -38,11 +66,13 @@ class DeleteDeviceServiceImplTest {
 
         doNothing().when(validator).validateDeletable(device);
 
-        deleteService.deleteDevice(1L);
+        deleteService.deleteDevice(1L, null);
 
         verify(repository).findById(1L);
         verify(validator).validateDeletable(device);
         verify(repository).delete(device);
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.deleted(
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.AVAILABLE)));
     }
 
     @Test
@@ -50,13 +80,36 @@ class DeleteDeviceServiceImplTest {
         when(repository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(DeviceNotFoundException.class,
-                () -> deleteService.deleteDevice(1L));
+                () -> deleteService.deleteDevice(1L, null));
 
         verify(repository).findById(1L);
         verifyNoInteractions(validator);
         verify(repository, never()).delete(any());
     }
 
+    @Test
+    void deleteDevice_StaleVersion_PreconditionFailed() {
+        Device device = sampleDevice().setVersion(2L);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(device));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> deleteService.deleteDevice(1L, IfMatch.of(1L)));
+
+        verifyNoInteractions(validator, eventPublisher);
+        verify(repository, never()).delete(any());
+    }
+
+    @Test
+    void deleteDevice_MissingWithIfMatch_PreconditionFailed() {
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(PreconditionFailedException.class,
+                () -> deleteService.deleteDevice(1L, IfMatch.ANY));
+
+        verifyNoInteractions(validator, eventPublisher);
+    }
+
     @Test
     void deleteDevice_InUse_Forbidden() {
         Device device = sampleDevice();
@@ -69,7 +122,7 @@ class DeleteDeviceServiceImplTest {
 
         ForbiddenOperationException ex = assertThrows(
                 ForbiddenOperationException.class,
-                () -> deleteService.deleteDevice(1L)
+                () -> deleteService.deleteDevice(1L, null)
         );
 
         assertEquals("Device in use", ex.getMessage());
@@ -77,6 +130,110 @@ class DeleteDeviceServiceImplTest {
         verify(repository).findById(1L);
         verify(validator).validateDeletable(device);
         verify(repository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteDevice_Soft_OneUpdate() {
+        ReflectionTestUtils.setField(deleteService, "deleteMode", DeleteMode.SOFT);
+        when(jdbcRepository.softDeleteById(1L, IfMatch.of(3L))).thenReturn(Optional.of(
+                new DeviceJdbcRepository.DeleteCandidate(1L, "iPhone", "Apple", DeviceState.AVAILABLE, true)));
+
+        deleteService.deleteDevice(1L, IfMatch.of(3L));
+
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.deleted(
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.AVAILABLE)));
+        verifyNoInteractions(repository, validator);
+    }
+
+    @Test
+    void deleteDevice_Soft_NotWritten_ExplainedUnderLock() {
+        ReflectionTestUtils.setField(deleteService, "deleteMode", DeleteMode.SOFT);
+        Device device = sampleDevice().setState(DeviceState.IN_USE).setVersion(0L);
+
+        when(jdbcRepository.softDeleteById(1L, null)).thenReturn(Optional.empty());
+        when(repository.findLockedById(1L)).thenReturn(Optional.of(device));
+        doThrow(new ForbiddenOperationException("Device in use")).when(validator).validateDeletable(device);
+
+        assertThrows(ForbiddenOperationException.class, () -> deleteService.deleteDevice(1L, null));
+
+        when(repository.findLockedById(2L)).thenReturn(Optional.empty());
+        when(jdbcRepository.softDeleteById(2L, null)).thenReturn(Optional.empty());
+        assertThrows(DeviceNotFoundException.class, () -> deleteService.deleteDevice(2L, null));
+
+        verifyNoInteractions(eventPublisher);
+        verify(repository, never()).delete(any());
+    }
+
+    @Test
+    void deleteDevices_ByIds_ChunkedWithPerIdOutcome() {
+        ReflectionTestUtils.setField(deleteService, "chunkSize", 2);
+        runTransactions();
+
+        when(jdbcRepository.deleteByIds(new long[]{1L, 2L}, DeleteMode.HARD)).thenReturn(List.of(
+                new DeviceJdbcRepository.DeleteCandidate(2L, "iPhone", "Apple", DeviceState.AVAILABLE, true)));
+        when(jdbcRepository.deleteByIds(new long[]{3L}, DeleteMode.HARD)).thenReturn(List.of(
+                new DeviceJdbcRepository.DeleteCandidate(3L, "iPad", "Apple", DeviceState.IN_USE, false)));
+
+        BulkDeleteDeviceResponse result = deleteService.deleteDevices(
+                new BulkDeleteDeviceRequest().setIds(new long[]{3L, 2L, 1L, 2L}));
+
+        assertEquals(1, result.getDeleted());
+        assertEquals(1, result.getInUse());
+        assertEquals(1, result.getNotFound());
+        assertEquals(List.of(
+                new BulkDeleteItemResult(1L, BulkDeleteStatus.NOT_FOUND),
+                new BulkDeleteItemResult(2L, BulkDeleteStatus.DELETED),
+                new BulkDeleteItemResult(3L, BulkDeleteStatus.IN_USE)), result.getItems());
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.deleted(
+                new DeviceSnapshot(2L, "iPhone", "Apple", DeviceState.AVAILABLE)));
+        verify(transactionTemplate, times(1)).execute(any());
+        verifyNoInteractions(repository, validator);
+    }
+
+    @Test
+    void deleteDevices_ByFilter_OneTransactionPerChunk_TotalsOnly() {
+        ReflectionTestUtils.setField(deleteService, "chunkSize", 2);
+        runTransactions();
+        DeviceFilter filter = new DeviceFilter("Apple", null, null, null, null);
+
+        when(jdbcRepository.deleteByFilter(filter, 0L, 2, DeleteMode.HARD)).thenReturn(List.of(
+                new DeviceJdbcRepository.DeleteCandidate(4L, "iPhone", "Apple", DeviceState.AVAILABLE, true),
+                new DeviceJdbcRepository.DeleteCandidate(7L, "iPad", "Apple", DeviceState.IN_USE, false)));
+        when(jdbcRepository.deleteByFilter(filter, 7L, 2, DeleteMode.HARD)).thenReturn(List.of(
+                new DeviceJdbcRepository.DeleteCandidate(9L, "Mac", "Apple", DeviceState.INACTIVE, true)));
+        when(jdbcRepository.deleteByFilter(filter, 9L, 2, DeleteMode.HARD)).thenReturn(List.of());
+
+        BulkDeleteDeviceResponse result = deleteService.deleteDevices(
+                new BulkDeleteDeviceRequest().setFilter(new DeviceCriteriaRequest().setBrand(" Apple ")));
+
+        assertEquals(2, result.getDeleted());
+        assertEquals(1, result.getInUse());
+        assertEquals(0, result.getNotFound());
+        assertNull(result.getItems());
+        verify(transactionTemplate, times(3)).execute(any());
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.deleted(
+                new DeviceSnapshot(4L, "iPhone", "Apple", DeviceState.AVAILABLE)));
+        verify(eventPublisher).publishEvent(DeviceChangedEvent.deleted(
+                new DeviceSnapshot(9L, "Mac", "Apple", DeviceState.INACTIVE)));
+    }
+
+    @Test
+    void deleteDevices_InvalidSelection_Rejected() {
+        assertThrows(InvalidRequestException.class,
+                () -> deleteService.deleteDevices(new BulkDeleteDeviceRequest()));
+        assertThrows(InvalidRequestException.class, () -> deleteService.deleteDevices(new BulkDeleteDeviceRequest()
+                .setIds(new long[]{1L})
+                .setFilter(new DeviceCriteriaRequest().setBrand("Apple"))));
+        assertThrows(InvalidRequestException.class, () -> deleteService.deleteDevices(new BulkDeleteDeviceRequest()
+                .setFilter(new DeviceCriteriaRequest())));
+
+        verifyNoInteractions(jdbcRepository, eventPublisher);
+    }
+
+    private void runTransactions() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     private Device sampleDevice() {
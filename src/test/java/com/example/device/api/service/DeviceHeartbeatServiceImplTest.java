@@ -0,0 +1,121 @@
+package com.example.device.api.service;
+
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.event.DevicesSeenEvent;
+import com.example.device.api.exception.HeartbeatBackpressureException;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.service.impl.DeviceHeartbeatServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceHeartbeatServiceImplTest {
+
+    private static final DeviceSnapshot SEEN = new DeviceSnapshot(3L, "iPhone", "Apple", DeviceState.AVAILABLE);
+
+    @Mock
+    private DeviceJdbcRepository jdbcRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private DeviceHeartbeatServiceImpl heartbeatService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(heartbeatService, "maxPending", 2);
+        ReflectionTestUtils.setField(heartbeatService, "flushInterval", Duration.ofMillis(500));
+    }
+
+    @Test
+    void flush_CoalescesHeartbeatsPerDeviceSortedById() {
+        heartbeatService.recordHeartbeat(7L);
+        heartbeatService.recordHeartbeat(3L);
+        heartbeatService.recordHeartbeat(7L);
+        heartbeatService.recordHeartbeat(7L);
+
+        ArgumentCaptor<long[]> ids = ArgumentCaptor.forClass(long[].class);
+        ArgumentCaptor<Timestamp[]> times = ArgumentCaptor.forClass(Timestamp[].class);
+        when(jdbcRepository.touchLastSeen(ids.capture(), times.capture())).thenReturn(List.of(SEEN));
+
+        assertEquals(2, heartbeatService.flush());
+        assertArrayEquals(new long[]{3L, 7L}, ids.getValue());
+        assertEquals(2, times.getValue().length);
+        verify(eventPublisher).publishEvent(new DevicesSeenEvent(List.of(SEEN)));
+
+        assertEquals(0, heartbeatService.flush());
+        verify(jdbcRepository, times(1)).touchLastSeen(any(), any());
+    }
+
+    @Test
+    void flush_NoDeviceUpdated_NoEvent() {
+        heartbeatService.recordHeartbeat(7L);
+        when(jdbcRepository.touchLastSeen(any(), any())).thenReturn(List.of());
+
+        assertEquals(1, heartbeatService.flush());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void flush_NothingPending_NoStatement() {
+        assertEquals(0, heartbeatService.flush());
+        verifyNoInteractions(jdbcRepository);
+    }
+
+    @Test
+    void recordHeartbeat_BufferFull_RejectsNewDevicesOnly() {
+        heartbeatService.recordHeartbeat(1L);
+        heartbeatService.recordHeartbeat(2L);
+
+        HeartbeatBackpressureException ex =
+                assertThrows(HeartbeatBackpressureException.class, () -> heartbeatService.recordHeartbeat(3L));
+        assertEquals(Duration.ofMillis(500), ex.getRetryAfter());
+        assertDoesNotThrow(() -> heartbeatService.recordHeartbeat(2L));
+
+        when(jdbcRepository.touchLastSeen(any(), any())).thenReturn(List.of(SEEN));
+        heartbeatService.flush();
+
+        assertDoesNotThrow(() -> heartbeatService.recordHeartbeat(3L));
+    }
+
+    @Test
+    void flush_Failure_KeepsHeartbeatsForNextFlush() {
+        heartbeatService.recordHeartbeat(1L);
+        heartbeatService.recordHeartbeat(2L);
+
+        when(jdbcRepository.touchLastSeen(any(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of(SEEN));
+
+        assertEquals(0, heartbeatService.flush());
+        assertThrows(HeartbeatBackpressureException.class, () -> heartbeatService.recordHeartbeat(3L));
+
+        ArgumentCaptor<long[]> ids = ArgumentCaptor.forClass(long[].class);
+        assertEquals(2, heartbeatService.flush());
+        verify(jdbcRepository, times(2)).touchLastSeen(ids.capture(), any());
+        assertArrayEquals(new long[]{1L, 2L}, ids.getValue());
+    }
+}
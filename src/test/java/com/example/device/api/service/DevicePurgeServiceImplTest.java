@@ -0,0 +1,80 @@
+package com.example.device.api.service;
+
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.service.impl.DevicePurgeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DevicePurgeServiceImplTest {
+
+    private static final Duration RETENTION = Duration.ofHours(1);
+
+    @Mock
+    private DeviceJdbcRepository jdbcRepository;
+
+    @InjectMocks
+    private DevicePurgeServiceImpl purgeService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(purgeService, "retention", RETENTION);
+        ReflectionTestUtils.setField(purgeService, "batchSize", 100);
+        ReflectionTestUtils.setField(purgeService, "pause", Duration.ZERO);
+        ReflectionTestUtils.setField(purgeService, "maxBatches", 3);
+    }
+
+    @Test
+    void purge_StopsAtFirstPartialBatch() {
+        when(jdbcRepository.purgeDeleted(RETENTION, 100)).thenReturn(100, 40);
+
+        assertEquals(140, purgeService.purge());
+        verify(jdbcRepository, times(2)).purgeDeleted(RETENTION, 100);
+    }
+
+    @Test
+    void purge_StopsAtMaxBatches() {
+        when(jdbcRepository.purgeDeleted(RETENTION, 100)).thenReturn(100);
+
+        assertEquals(300, purgeService.purge());
+        verify(jdbcRepository, times(3)).purgeDeleted(RETENTION, 100);
+    }
+
+    @Test
+    void startPurge_RunsOnPurgeThreadOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(jdbcRepository.purgeDeleted(RETENTION, 100)).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            started.countDown();
+            release.await();
+            return 0;
+        });
+
+        purgeService.startPurge();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        purgeService.startPurge();
+        release.countDown();
+
+        assertEquals("device-purge", thread.get());
+        purgeService.stopPurge();
+        verify(jdbcRepository, times(1)).purgeDeleted(RETENTION, 100);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.device.api.service;
+
+import com.example.device.api.dto.responses.DeviceStatisticsResponse;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.event.DeviceChangedEvent;
+import com.example.device.api.event.DeviceSnapshot;
+import com.example.device.api.event.DevicesImportedEvent;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.service.impl.DeviceStatisticsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceStatisticsServiceImplTest {
+
+    @Mock
+    private DeviceJdbcRepository jdbcRepository;
+
+    @InjectMocks
+    private DeviceStatisticsServiceImpl statisticsService;
+
+    @Test
+    void reconcile_SeedsCounters() {
+        seed(Map.of(DeviceState.AVAILABLE, 2L, DeviceState.IN_USE, 1L),
+                Map.of("Apple", 2L, "Samsung", 1L));
+
+        DeviceStatisticsResponse result = statisticsService.getStatistics();
+
+        assertEquals(3, result.getTotal());
+        assertEquals(Map.of(DeviceState.AVAILABLE, 2L, DeviceState.IN_USE, 1L), result.getByState());
+        assertEquals(Map.of("Apple", 2L, "Samsung", 1L), result.getByBrand());
+    }
+
+    @Test
+    void onDevicesImported_Reconciles() {
+        seed(Map.of(DeviceState.AVAILABLE, 1L), Map.of("Apple", 1L));
+
+        when(jdbcRepository.countByStateAndBrand()).thenReturn(new DeviceStatisticsResponse(
+                3, Map.of(DeviceState.AVAILABLE, 3L), Map.of("Apple", 1L, "Google", 2L)));
+
+        statisticsService.onDevicesImported(new DevicesImportedEvent(0));
+        verify(jdbcRepository, times(1)).countByStateAndBrand();
+
+        statisticsService.onDevicesImported(new DevicesImportedEvent(2));
+
+        DeviceStatisticsResponse result = statisticsService.getStatistics();
+        assertEquals(3, result.getTotal());
+        assertEquals(Map.of("Apple", 1L, "Google", 2L), result.getByBrand());
+    }
+
+    @Test
+    void onDeviceChanged_AppliesCreateUpdateDelete() {
+        seed(Map.of(DeviceState.AVAILABLE, 1L), Map.of("Apple", 1L));
+
+        DeviceSnapshot iphone = new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.AVAILABLE);
+        DeviceSnapshot galaxy = new DeviceSnapshot(2L, "Galaxy", "Samsung", DeviceState.AVAILABLE);
+
+        statisticsService.onDeviceChanged(DeviceChangedEvent.created(galaxy));
+        statisticsService.onDeviceChanged(DeviceChangedEvent.updated(iphone,
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.IN_USE)));
+        statisticsService.onDeviceChanged(DeviceChangedEvent.updated(galaxy,
+                new DeviceSnapshot(2L, "Galaxy", "Google", DeviceState.AVAILABLE)));
+
+        DeviceStatisticsResponse result = statisticsService.getStatistics();
+
+        assertEquals(2, result.getTotal());
+        assertEquals(Map.of(DeviceState.AVAILABLE, 1L, DeviceState.IN_USE, 1L), result.getByState());
+        assertEquals(Map.of("Apple", 1L, "Google", 1L), result.getByBrand());
+
+        statisticsService.onDeviceChanged(DeviceChangedEvent.deleted(
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.IN_USE)));
+
+        result = statisticsService.getStatistics();
+
+        assertEquals(1, result.getTotal());
+        assertEquals(Map.of(DeviceState.AVAILABLE, 1L), result.getByState());
+        assertEquals(Map.of("Google", 1L), result.getByBrand());
+    }
+
+    @Test
+    void onDeviceChanged_PreviousStateUnknown_Reconciles() {
+        seed(Map.of(DeviceState.AVAILABLE, 1L), Map.of("Apple", 1L));
+
+        when(jdbcRepository.countByStateAndBrand()).thenReturn(new DeviceStatisticsResponse(
+                1, Map.of(DeviceState.IN_USE, 1L), Map.of("Apple", 1L)));
+
+        statisticsService.onDeviceChanged(DeviceChangedEvent.updated(
+                new DeviceSnapshot(1L, "iPhone", "Apple", null),
+                new DeviceSnapshot(1L, "iPhone", "Apple", DeviceState.IN_USE)));
+
+        DeviceStatisticsResponse result = statisticsService.getStatistics();
+        assertEquals(1, result.getTotal());
+        assertEquals(Map.of(DeviceState.IN_USE, 1L), result.getByState());
+        verify(jdbcRepository, times(2)).countByStateAndBrand();
+    }
+
+    @Test
+    void reconcile_CorrectsDrift() {
+        seed(Map.of(DeviceState.AVAILABLE, 1L), Map.of("Apple", 1L));
+
+        statisticsService.onDeviceChanged(DeviceChangedEvent.created(
+                new DeviceSnapshot(2L, "Galaxy", "Samsung", DeviceState.IN_USE)));
+
+        seed(Map.of(DeviceState.AVAILABLE, 5L), Map.of("Apple", 5L));
+
+        DeviceStatisticsResponse result = statisticsService.getStatistics();
+
+        assertEquals(5, result.getTotal());
+        assertEquals(Map.of(DeviceState.AVAILABLE, 5L), result.getByState());
+        assertEquals(Map.of("Apple", 5L), result.getByBrand());
+    }
+
+    @Test
+    void reconcile_Concurrent_AppliesCorrectionOnce() throws Exception {
+        CountDownLatch counting = new CountDownLatch(2);
+        when(jdbcRepository.countByStateAndBrand()).thenAnswer(invocation -> {
+            // without serialization both runs would count before either corrects
+            counting.countDown();
+            counting.await(300, TimeUnit.MILLISECONDS);
+            return new DeviceStatisticsResponse(2, Map.of(DeviceState.AVAILABLE, 2L), Map.of("Apple", 2L));
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> first = executor.submit(statisticsService::reconcile);
+            Future<?> second = executor.submit(statisticsService::reconcile);
+            first.get();
+            second.get();
+        }
+
+        DeviceStatisticsResponse result = statisticsService.getStatistics();
+        assertEquals(2, result.getTotal());
+        assertEquals(Map.of("Apple", 2L), result.getByBrand());
+    }
+
+    private void seed(Map<DeviceState, Long> byState, Map<String, Long> byBrand) {
+        long total = byState.values().stream().mapToLong(Long::longValue).sum();
+        when(jdbcRepository.countByStateAndBrand())
+                .thenReturn(new DeviceStatisticsResponse(total, byState, byBrand));
+        statisticsService.reconcile();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.device.api.service;
+
+import com.example.device.api.dto.requests.DeviceExportRequest;
+import com.example.device.api.dto.requests.ExportFormat;
+import com.example.device.api.dto.responses.DeviceResponse;
+import com.example.device.api.entity.DeviceState;
+import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.service.impl.ExportDeviceServiceImpl;
+import com.example.device.api.utils.PaginationUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportDeviceServiceImplTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Mock
+    private DeviceRepository repository;
+
+    private ExportDeviceServiceImpl exportDeviceService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        exportDeviceService = new ExportDeviceServiceImpl(repository, objectMapper);
+        ReflectionTestUtils.setField(exportDeviceService, "fetchSize", 500);
+    }
+
+    @Test
+    void exportDevices_Ndjson() throws Exception {
+        when(repository.streamResponses(any(), eq(PaginationUtils.NEWEST_FIRST), eq(500)))
+                .thenReturn(Stream.of(
+                        new DeviceResponse(2L, "Galaxy", "Samsung", DeviceState.IN_USE, CREATED_AT, null, 0L),
+                        new DeviceResponse(1L, "iPhone", "Apple", DeviceState.AVAILABLE, CREATED_AT, null, 0L)
+                ));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportDeviceService.exportDevices(
+                new DeviceExportRequest().setFormat(ExportFormat.NDJSON), out);
+
+        assertEquals(2, exported);
+        assertEquals("""
+                {"id":2,"name":"Galaxy","brand":"Samsung","state":"IN_USE","createdAt":"2025-01-01T10:00:00"}
+                {"id":1,"name":"iPhone","brand":"Apple","state":"AVAILABLE","createdAt":"2025-01-01T10:00:00"}
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportDevices_Csv() throws Exception {
+        when(repository.streamResponses(any(), eq(PaginationUtils.NEWEST_FIRST), eq(500)))
+                .thenReturn(Stream.of(
+                        new DeviceResponse(1L, "Pixel, 8", "Google \"G\"", DeviceState.AVAILABLE, CREATED_AT, null, 0L)
+                ));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportDeviceService.exportDevices(
+                new DeviceExportRequest().setFormat(ExportFormat.CSV), out);
+
+        assertEquals(1, exported);
+        assertEquals("id,name,brand,state,createdAt\r\n"
+                        + "1,\"Pixel, 8\",\"Google \"\"G\"\"\",AVAILABLE,2025-01-01T10:00\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportDevices_Empty() throws Exception {
+        when(repository.streamResponses(any(), any(), eq(500))).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportDeviceService.exportDevices(
+                new DeviceExportRequest().setFormat(ExportFormat.CSV).setBrand("  Apple "), out);
+
+        assertEquals(0, exported);
+        assertEquals("id,name,brand,state,createdAt\r\n", out.toString(StandardCharsets.UTF_8));
+        verify(repository).streamResponses(any(), eq(PaginationUtils.NEWEST_FIRST), eq(500));
+    }
+
+    @Test
+    void exportDevices_ClosesStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.streamResponses(any(), any(), eq(500)))
+                .thenReturn(Stream.<DeviceResponse>empty().onClose(() -> closed.set(true)));
+
+        exportDeviceService.exportDevices(new DeviceExportRequest(), new ByteArrayOutputStream());
+
+        assertTrue(closed.get());
+    }
+}
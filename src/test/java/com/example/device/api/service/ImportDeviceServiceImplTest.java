@@ -0,0 +1,136 @@
+package com.example.device.api.service;
+
+import com.example.device.api.dto.requests.CreateDeviceRequest;
+import com.example.device.api.dto.requests.ExportFormat;
+import com.example.device.api.dto.responses.DeviceImportRejection;
+import com.example.device.api.dto.responses.DeviceImportReport;
+import com.example.device.api.event.DevicesImportedEvent;
+import com.example.device.api.exception.InvalidRequestException;
+import com.example.device.api.repository.jdbc.DeviceImportJdbcRepository;
+import com.example.device.api.repository.jdbc.DeviceImportJdbcRepository.CopyWriter;
+import com.example.device.api.service.impl.ImportDeviceServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportDeviceServiceImplTest {
+
+    @Mock
+    private DeviceImportJdbcRepository importRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ImportDeviceServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImportDeviceServiceImpl(importRepository, new ObjectMapper(), eventPublisher);
+    }
+
+    @Test
+    void importDevices_CsvMapsHeaderAndStreamsRest() throws IOException {
+        AtomicReference<String> copied = captureCopy(List.of("id", "name", "brand", "state", "created_at"), 2);
+        when(importRepository.merge(eq(CreateDeviceRequest.ALLOWED_CHARACTERS), eq(3), eq(255), any()))
+                .thenReturn(1L);
+        List<DeviceImportRejection> rejections =
+                List.of(new DeviceImportRejection(2, "ab", "Apple", "Device name must have a valid length, max = 255"));
+        when(importRepository.findRejections(1000)).thenReturn(rejections);
+
+        DeviceImportReport report = service.importDevices(ExportFormat.CSV, stream("""
+                \uFEFFid,name,brand,state,createdAt\r
+                1,iPhone,Apple,AVAILABLE,2024-01-01T00:00\r
+                2,ab,Apple,IN_USE,\r
+                """));
+
+        assertEquals("1,iPhone,Apple,AVAILABLE,2024-01-01T00:00\r\n2,ab,Apple,IN_USE,\r\n", copied.get());
+        assertEquals(new DeviceImportReport(2, 1, 1, rejections), report);
+        verify(importRepository).createStaging();
+        verify(eventPublisher).publishEvent(new DevicesImportedEvent(1));
+    }
+
+    @Test
+    void importDevices_CsvUnknownColumn() {
+        InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+                () -> service.importDevices(ExportFormat.CSV, stream("name,brand,color\n")));
+
+        assertTrue(ex.getMessage().contains("'color'"));
+        verify(importRepository, never()).copyCsv(any(), any());
+    }
+
+    @Test
+    void importDevices_CsvMissingRequiredColumn() {
+        assertThrows(InvalidRequestException.class,
+                () -> service.importDevices(ExportFormat.CSV, stream("name,brand\n")));
+    }
+
+    @Test
+    void importDevices_Empty() {
+        assertThrows(InvalidRequestException.class,
+                () -> service.importDevices(ExportFormat.CSV, stream("")));
+    }
+
+    @Test
+    void importDevices_MalformedCsvIsBadRequest() {
+        when(importRepository.copyCsv(any(), any())).thenThrow(new DataIntegrityViolationException("copy",
+                new SQLException("unterminated CSV quoted field", "22P04")));
+
+        assertThrows(InvalidRequestException.class,
+                () -> service.importDevices(ExportFormat.CSV, stream("name,brand,state\n\"x,y,z\n")));
+    }
+
+    @Test
+    void importDevices_NdjsonTranscodedWithLineNumbers() throws IOException {
+        AtomicReference<String> copied = captureCopy(List.of("row_no", "name", "brand", "state", "error"), 3);
+
+        service.importDevices(ExportFormat.NDJSON, stream("""
+                {"name":"iPhone","brand":"Apple","state":"AVAILABLE","id":7}
+
+                {"name":"Say \\"hi\\"","brand":null}
+                not json
+                """));
+
+        assertEquals("1,\"iPhone\",\"Apple\",\"AVAILABLE\",\n"
+                + "3,\"Say \"\"hi\"\"\",,,\n"
+                + "4,,,,\"Malformed JSON\"\n", copied.get());
+    }
+
+    private AtomicReference<String> captureCopy(List<String> columns, long rows) {
+        AtomicReference<String> copied = new AtomicReference<>();
+        when(importRepository.copyCsv(eq(columns), any())).thenAnswer(invocation -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            invocation.<CopyWriter>getArgument(1).write(out);
+            copied.set(out.toString(StandardCharsets.UTF_8));
+            return rows;
+        });
+        return copied;
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,21 +1,31 @@
 package com.example.device.api.service;
 
+import com.example.device.api.cache.DeviceCacheConfig;
+import com.example.device.api.dto.requests.CountMode;
 import com.example.device.api.dto.requests.DeviceFilterRequest;
+import com.example.device.api.dto.requests.DeviceKey;
+import com.example.device.api.dto.responses.DeviceLookupResponse;
+import com.example.device.api.dto.responses.DeviceResolution;
 import com.example.device.api.dto.responses.DeviceResponse;
-import com.example.device.api.entity.Device;
 import com.example.device.api.entity.DeviceState;
 import com.example.device.api.exception.DeviceNotFoundException;
-import com.example.device.api.mapper.DeviceMapper;
+import com.example.device.api.exception.InvalidRequestException;
 import com.example.device.api.repository.DeviceRepository;
+import com.example.device.api.repository.jdbc.DeviceJdbcRepository;
+import com.example.device.api.repository.specification.DeviceFilter;
 import com.example.device.api.service.impl.QueryDeviceServiceImpl;
+import com.example.device.api.utils.CursorUtils;
 import com.example.device.api.utils.PaginationUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,58 +39,56 @@ class QueryDeviceServiceImplTest {
     private DeviceRepository repository;
 
     @Mock
-    private DeviceMapper mapper;
+    private DeviceJdbcRepository jdbcRepository;
+
+    @Mock
+    private CacheManager cacheManager;
 
     @InjectMocks
     private QueryDeviceServiceImpl queryDeviceService;
 
     @Test
     void getDeviceById_Success() {
-        Device device = sampleDevice();
         DeviceResponse response = sampleResponse();
 
-        when(repository.findById(1L)).thenReturn(Optional.of(device));
-        when(mapper.toResponse(device)).thenReturn(response);
+        when(repository.findResponseById(1L)).thenReturn(Optional.of(response));
 
         DeviceResponse actual = queryDeviceService.getDeviceById(1L);
 
         assertNotNull(actual);
         assertEquals(response, actual);
-        verify(repository).findById(1L);
-        verify(mapper).toResponse(device);
+        verify(repository).findResponseById(1L);
+        verify(repository, never()).findById(any());
     }
 
     @Test
     void getDeviceById_NotFound() {
-        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(repository.findResponseById(1L)).thenReturn(Optional.empty());
 
         assertThrows(DeviceNotFoundException.class,
                 () -> queryDeviceService.getDeviceById(1L));
 
-        verify(repository).findById(1L);
-        verifyNoInteractions(mapper);
+        verify(repository).findResponseById(1L);
     }
 
 
     @Test
     void getDeviceByBrandAndName_Success() {
-        Device device = sampleDevice();
         DeviceResponse response = sampleResponse();
 
-        when(repository.findByBrandAndName("Apple", "iPhone"))
-                .thenReturn(Optional.of(device));
-        when(mapper.toResponse(device)).thenReturn(response);
+        when(repository.findResponseByBrandAndName("Apple", "iPhone"))
+                .thenReturn(Optional.of(response));
 
         DeviceResponse actual =
                 queryDeviceService.getDeviceByBrandAndName(" Apple ", "  iPhone ");
 
         assertEquals(response, actual);
-        verify(repository).findByBrandAndName("Apple", "iPhone");
+        verify(repository).findResponseByBrandAndName("Apple", "iPhone");
     }
 
     @Test
     void getDeviceByBrandAndName_NotFound() {
-        when(repository.findByBrandAndName("Apple", "iPhone"))
+        when(repository.findResponseByBrandAndName("Apple", "iPhone"))
                 .thenReturn(Optional.empty());
 
         assertThrows(DeviceNotFoundException.class,
@@ -96,30 +104,133 @@ class QueryDeviceServiceImplTest {
                 .setLimit(10)
                 .setOffset(0);
 
-        Device d1 = sampleDevice();
         DeviceResponse r1 = sampleResponse();
 
         Pageable pageable = PaginationUtils.offsetPagination(0, 10);
 
-        when(repository.findFiltered("Apple", "iPhone", DeviceState.AVAILABLE, pageable))
-                .thenReturn(List.of(d1));
-        when(mapper.toResponse(d1)).thenReturn(r1);
+        when(repository.findResponses(any(), eq(pageable)))
+                .thenReturn(List.of(r1));
 
         List<DeviceResponse> result = queryDeviceService.getDevices(request);
 
         assertEquals(1, result.size());
         assertEquals(r1, result.getFirst());
 
-        verify(repository).findFiltered("Apple", "iPhone", DeviceState.AVAILABLE, pageable);
-        verify(mapper).toResponse(d1);
+        verify(repository).findResponses(any(), eq(pageable));
     }
 
-    private Device sampleDevice() {
-        return new Device()
-                .setId(1L)
-                .setName("iPhone")
-                .setBrand("Apple")
-                .setState(DeviceState.AVAILABLE);
+    @Test
+    void getDevices_WithCursor_UsesSeekQuery() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+        DeviceFilterRequest request = new DeviceFilterRequest()
+                .setState(DeviceState.AVAILABLE)
+                .setLimit(10)
+                .setOffset(50)
+                .setCursor(CursorUtils.encode(createdAt, 7L));
+
+        DeviceResponse r1 = sampleResponse();
+
+        when(repository.findResponses(any(), eq(PaginationUtils.keysetPagination(10))))
+                .thenReturn(List.of(r1));
+
+        List<DeviceResponse> result = queryDeviceService.getDevices(request);
+
+        assertEquals(List.of(r1), result);
+    }
+
+    @Test
+    void getDevices_InvalidCursor_Throws() {
+        DeviceFilterRequest request = new DeviceFilterRequest().setCursor("not-a-cursor");
+
+        assertThrows(InvalidRequestException.class,
+                () -> queryDeviceService.getDevices(request));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void countDevices_Exact() {
+        when(repository.countMatching(any())).thenReturn(42L);
+
+        long count = queryDeviceService.countDevices(
+                new DeviceFilterRequest().setBrand("Apple").setCount(CountMode.EXACT));
+
+        assertEquals(42L, count);
+        verifyNoInteractions(jdbcRepository, cacheManager);
+    }
+
+    @Test
+    void countDevices_Estimate() {
+        when(jdbcRepository.estimateCount(new DeviceFilter("Apple", null, DeviceState.AVAILABLE, null, null)))
+                .thenReturn(1000L);
+
+        long count = queryDeviceService.countDevices(new DeviceFilterRequest()
+                .setBrand(" Apple ")
+                .setState(DeviceState.AVAILABLE)
+                .setCount(CountMode.ESTIMATE));
+
+        assertEquals(1000L, count);
+        verify(repository, never()).countMatching(any());
+    }
+
+    @Test
+    void countDevices_Cached_CountsOncePerFilter() {
+        when(cacheManager.getCache(DeviceCacheConfig.DEVICE_COUNTS))
+                .thenReturn(new ConcurrentMapCache(DeviceCacheConfig.DEVICE_COUNTS));
+        when(repository.countMatching(any())).thenReturn(7L, 3L);
+
+        DeviceFilterRequest apple = new DeviceFilterRequest().setBrand("Apple").setCount(CountMode.CACHED);
+        DeviceFilterRequest samsung = new DeviceFilterRequest().setBrand("Samsung").setCount(CountMode.CACHED);
+
+        assertEquals(7L, queryDeviceService.countDevices(apple));
+        assertEquals(7L, queryDeviceService.countDevices(apple));
+        assertEquals(3L, queryDeviceService.countDevices(samsung));
+
+        verify(repository, times(2)).countMatching(any());
+    }
+
+    @Test
+    void getDevicesByIds_ReturnsFoundAndMissing() {
+        DeviceResponse d3 = sampleResponse().setId(3L);
+        DeviceResponse d7 = sampleResponse().setId(7L);
+
+        when(jdbcRepository.findResponsesByIds(new long[]{3L, 5L, 7L, 9L}))
+                .thenReturn(List.of(d3, d7));
+
+        DeviceLookupResponse result = queryDeviceService.getDevicesByIds(new long[]{9L, 3L, 7L, 3L, 5L, 9L});
+
+        assertEquals(List.of(d3, d7), result.getDevices());
+        assertArrayEquals(new long[]{5L, 9L}, result.getMissingIds());
+    }
+
+    @Test
+    void getDevicesByIds_NoneFound() {
+        when(jdbcRepository.findResponsesByIds(new long[]{1L, 2L})).thenReturn(List.of());
+
+        DeviceLookupResponse result = queryDeviceService.getDevicesByIds(new long[]{2L, 1L});
+
+        assertTrue(result.getDevices().isEmpty());
+        assertArrayEquals(new long[]{1L, 2L}, result.getMissingIds());
+    }
+
+    @Test
+    void resolveByBrandAndName_NormalizesAndKeepsOrder() {
+        List<DeviceResolution> expected = List.of(
+                new DeviceResolution("Apple", "iPhone", true, sampleResponse()),
+                new DeviceResolution("Nokia", "3310", false, null)
+        );
+
+        when(jdbcRepository.resolveByBrandAndName(
+                new String[]{"Apple", "Nokia"}, new String[]{"iPhone", "3310"}))
+                .thenReturn(expected);
+
+        List<DeviceResolution> result = queryDeviceService.resolveByBrandAndName(List.of(
+                new DeviceKey(" Apple ", "iPhone "),
+                new DeviceKey("Nokia", " 3310")
+        ));
+
+        assertEquals(expected, result);
     }
 
     private DeviceResponse sampleResponse() {
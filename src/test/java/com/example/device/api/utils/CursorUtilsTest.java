@@ -0,0 +1,48 @@
+package com.example.device.api.utils;
+
+import com.example.device.api.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilsTest {
+
+    @Test
+    void encodeDecode_RoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 23, 10, 31, 45, 123456000);
+
+        String token = CursorUtils.encode(createdAt, 42L);
+        CursorUtils.Cursor cursor = CursorUtils.decode(token);
+
+        assertEquals(createdAt, cursor.createdAt());
+        assertEquals(42L, cursor.id());
+    }
+
+    @Test
+    void encode_IsUrlSafe() {
+        String token = CursorUtils.encode(LocalDateTime.of(2025, 1, 1, 0, 0), 1L);
+
+        assertTrue(token.matches("^[A-Za-z0-9_-]+$"));
+    }
+
+    @Test
+    void decode_NotBase64_Throws() {
+        assertThrows(InvalidRequestException.class, () -> CursorUtils.decode("%%%"));
+    }
+
+    @Test
+    void decode_MissingSeparator_Throws() {
+        String token = java.util.Base64.getUrlEncoder().encodeToString("garbage".getBytes());
+
+        assertThrows(InvalidRequestException.class, () -> CursorUtils.decode(token));
+    }
+
+    @Test
+    void decode_InvalidId_Throws() {
+        String token = java.util.Base64.getUrlEncoder().encodeToString("2025-01-01T00:00|abc".getBytes());
+
+        assertThrows(InvalidRequestException.class, () -> CursorUtils.decode(token));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.device.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagUtilsTest {
+
+    @Test
+    void of_QuotesVersion() {
+        assertEquals("\"7\"", ETagUtils.of(7));
+    }
+
+    @Test
+    void parseIfMatch_RoundTrip() {
+        assertEquals(IfMatch.of(7L), ETagUtils.parseIfMatch(ETagUtils.of(7)));
+        assertEquals(IfMatch.of(0L), ETagUtils.parseIfMatch(" \"0\" "));
+    }
+
+    @Test
+    void parseIfMatch_Absent_NoCondition() {
+        assertNull(ETagUtils.parseIfMatch(null));
+        assertNull(ETagUtils.parseIfMatch(" "));
+    }
+
+    @Test
+    void parseIfMatch_Any_MatchesEveryVersion() {
+        IfMatch any = ETagUtils.parseIfMatch(" * ");
+
+        assertTrue(any.any());
+        assertTrue(any.matches(42));
+    }
+
+    @Test
+    void parseIfMatch_WeakOrForeignTag_NeverMatches() {
+        assertEquals(IfMatch.of(), ETagUtils.parseIfMatch("W/\"7\""));
+        assertEquals(IfMatch.of(), ETagUtils.parseIfMatch("\"abc\""));
+        assertEquals(IfMatch.of(), ETagUtils.parseIfMatch("7"));
+        assertEquals(IfMatch.of(), ETagUtils.parseIfMatch("\"-3\""));
+        assertFalse(IfMatch.of().matches(0));
+    }
+
+    @Test
+    void parseIfMatch_SeveralTags_MatchesAnyOfThem() {
+        IfMatch ifMatch = ETagUtils.parseIfMatch("\"1\", W/\"2\",\"3\" , \"1\"");
+
+        assertEquals(IfMatch.of(1L, 3L), ifMatch);
+        assertTrue(ifMatch.matches(3));
+        assertFalse(ifMatch.matches(2));
+        assertEquals("\"1\", \"3\"", ifMatch.toString());
+    }
+}
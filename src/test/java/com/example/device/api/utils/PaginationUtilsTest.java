@@ -17,7 +17,7 @@ class PaginationUtilsTest {
 
         assertEquals(2, pageable.getPageNumber());
         assertEquals(20, pageable.getPageSize());
-        assertEquals("createdAt: DESC", pageable.getSort().toString());
+        assertEquals("createdAt: DESC,id: DESC", pageable.getSort().toString());
     }
 
     @Test
@@ -35,6 +35,13 @@ class PaginationUtilsTest {
         assertEquals(2, pageable.getPageNumber());
     }
 
+    @Test
+    void offsetPagination_OffsetNotMultipleOfLimit_KeepsExactOffset() {
+        Pageable pageable = PaginationUtils.offsetPagination(45, 20);
+
+        assertEquals(45, pageable.getOffset());
+    }
+
     @Test
     void offsetPagination_NegativeOffset_SetsToZero() {
         Pageable pageable = PaginationUtils.offsetPagination(-10, 20);
@@ -68,5 +75,26 @@ class PaginationUtilsTest {
         assertTrue(Objects.requireNonNull(sort.getOrderFor("createdAt")).isDescending());
         assertEquals("createdAt", sort.iterator().next().getProperty());
     }
+
+    @Test
+    void offsetPagination_SortHasIdTieBreaker() {
+        Pageable pageable = PaginationUtils.offsetPagination(0, 50);
+
+        assertTrue(Objects.requireNonNull(pageable.getSort().getOrderFor("id")).isDescending());
+    }
+
+    @Test
+    void keysetPagination_NoOffset() {
+        Pageable pageable = PaginationUtils.keysetPagination(20);
+
+        assertEquals(0, pageable.getOffset());
+        assertEquals(20, pageable.getPageSize());
+        assertEquals(PaginationUtils.NEWEST_FIRST, pageable.getSort());
+    }
+
+    @Test
+    void keysetPagination_NonPositiveLimit_DefaultsTo100() {
+        assertEquals(100, PaginationUtils.keysetPagination(0).getPageSize());
+    }
 }
 